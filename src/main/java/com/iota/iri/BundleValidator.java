@@ -3,12 +3,17 @@ package com.iota.iri;
 import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.crypto.*;
 import com.iota.iri.model.Hash;
+import com.iota.iri.model.persistables.Bundle;
 import com.iota.iri.service.snapshot.Snapshot;
 import com.iota.iri.storage.Tangle;
 import com.iota.iri.utils.Converter;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 /**
  * Validates bundles.
@@ -17,6 +22,11 @@ import com.google.common.annotations.VisibleForTesting;
  * bundle will be accepted by the network, or none. All transactions in a bundle have the same bundle hash and are
  * chained together via their trunks.
  * </p>
+ * <p>
+ * The results of {@link #validate(Tangle, boolean, Snapshot, Hash)} are cached by the hash of the tail transaction, so
+ * bundles that are met again by the ledger, the tip selection or the API are not validated again. Only the verdict and
+ * the hashes of the bundle's transactions are cached, the transactions themselves are loaded again in one batch.
+ * </p>
  */
 public class BundleValidator {
 
@@ -38,6 +48,39 @@ public class BundleValidator {
         INVALID;
     }
 
+    /**
+     * Maximum amount of transactions that are loaded in one batch when a bundle is loaded.
+     */
+    private static final int MAX_PREFETCHED_BUNDLE_TRANSACTIONS = 1_000;
+
+    /**
+     * Amount of bundles (the bundle and its reattachments) sharing a bundle hash that are still loaded in one batch.
+     */
+    private static final int PREFETCHED_BUNDLE_INSTANCES = 4;
+
+    /**
+     * Maximum amount of transaction hashes held by the cached validation results, which limits the cache to a few
+     * megabytes. An invalid bundle counts as one transaction.
+     */
+    private static final long MAX_CACHED_VALIDATION_RESULT_TRANSACTIONS = 100_000;
+
+    /**
+     * Minimum amount of inputs of a bundle for their signatures to be verified concurrently.
+     */
+    private static final int MIN_INPUTS_FOR_PARALLEL_SIGNATURE_VALIDATION = 2;
+
+    /**
+     * Pool that verifies the signatures of bundle inputs, shared by all validations.
+     */
+    private static final ForkJoinPool SIGNATURE_VALIDATION_POOL = new ForkJoinPool(
+            Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Sponges and buffers of the threads that verify signatures, so a verification doesn't allocate memory.
+     */
+    private static final ThreadLocal<SignatureScratch> SIGNATURE_SCRATCH =
+            ThreadLocal.withInitial(SignatureScratch::new);
+
     /**
      * Instructs the validation code to validate the signatures of the bundle.
      */
@@ -84,6 +127,14 @@ public class BundleValidator {
      */
     public static final int MODE_SKIP_TAIL_TX_EXISTENCE = 1 << 6;
 
+    /**
+     * Results of the completed validations, mapped by the hash of the tail transaction.
+     */
+    private final Cache<Hash, ValidationResult> validationResults = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_VALIDATION_RESULT_TRANSACTIONS)
+            .<Hash, ValidationResult>weigher((tailHash, result) -> Math.max(1, result.bundleTxHashes.size()))
+            .build();
+
     /**
      * Fetches a bundle of transactions identified by the {@code tailHash} and validates the transactions. Bundle is a
      * group of transactions with the same bundle hash chained by their trunks.
@@ -148,23 +199,56 @@ public class BundleValidator {
      * @see #validate(Tangle, boolean, Snapshot, Hash)
      */
     private List<TransactionViewModel> validate(Tangle tangle, Snapshot initialSnapshot, Hash tailHash, int mode) throws Exception {
+        ValidationResult cachedResult = validationResults.getIfPresent(tailHash);
+        if (cachedResult != null) {
+            // a valid bundle passed at least the requested checks, an invalid one failed a subset of them
+            if (!cachedResult.isValid() && hasMode(mode, cachedResult.mode)) {
+                return Collections.EMPTY_LIST;
+            }
+            if (cachedResult.isValid() && hasMode(cachedResult.mode, mode)) {
+                List<TransactionViewModel> bundleTxs = TransactionViewModel.fromHashes(tangle,
+                        cachedResult.bundleTxHashes);
+                // the bundle is validated again if any of its transactions is gone, e.g. because it was pruned
+                if (bundleTxs.stream().allMatch(tx -> tx.getType() != TransactionViewModel.PREFILLED_SLOT)) {
+                    return Collections.unmodifiableList(bundleTxs);
+                }
+            }
+        }
+
         List<TransactionViewModel> bundleTxs = new LinkedList<>();
         switch (validate(tangle, tailHash, mode, bundleTxs)) {
             case VALID:
                 if (bundleTxs.get(0).getValidity() != 1) {
                     bundleTxs.get(0).setValidity(tangle, initialSnapshot, 1);
                 }
-                return bundleTxs;
+                List<Hash> bundleTxHashes = new ArrayList<>(bundleTxs.size());
+                for (TransactionViewModel bundleTx : bundleTxs) {
+                    bundleTxHashes.add(bundleTx.getHash());
+                }
+                validationResults.put(tailHash, new ValidationResult(bundleTxHashes, mode));
+                return Collections.unmodifiableList(bundleTxs);
             case INVALID:
                 if (!bundleTxs.isEmpty() && bundleTxs.get(0).getValidity() != -1) {
                     bundleTxs.get(0).setValidity(tangle, initialSnapshot, -1);
                 }
+                validationResults.put(tailHash, new ValidationResult(Collections.emptyList(), mode));
+                return Collections.EMPTY_LIST;
             case UNKNOWN:
             default:
                 return Collections.EMPTY_LIST;
         }
     }
 
+    /**
+     * Removes the cached validation results of the given tail transactions, e.g. because they were confirmed and will
+     * not be validated again.
+     *
+     * @param tailHashes the hashes of the tail transactions
+     */
+    public void evictValidationResults(Collection<Hash> tailHashes) {
+        validationResults.invalidateAll(tailHashes);
+    }
+
     private static int getMode(boolean enforceExtraRules) {
         if (enforceExtraRules) {
             return MODE_VALIDATE_ALL;
@@ -387,52 +471,100 @@ public class BundleValidator {
 
     /**
      * Validates the signatures of the given bundle transactions. The transactions must be ordered by index.
+     * The signatures of bundles with several inputs are verified concurrently, see
+     * {@link #validateSignatures(List, byte[], boolean)}.
      *
      * @param bundleTxs        a list of ordered (by index) bundle transactions
      * @param normalizedBundle the normalized bundle hash
      * @return whether all signatures were valid given the bundle hash and addresses
      */
     public static Validity validateSignatures(List<TransactionViewModel> bundleTxs, byte[] normalizedBundle) {
-        final Sponge addressInstance = SpongeFactory.create(SpongeFactory.Mode.KERL);
-        final byte[] addressTrits = new byte[TransactionViewModel.ADDRESS_TRINARY_SIZE];
-        final byte[] digestTrits = new byte[Curl.HASH_LENGTH];
-        TransactionViewModel tvm;
-        for (int j = 0; j < bundleTxs.size(); ) {
+        return validateSignatures(bundleTxs, normalizedBundle, true);
+    }
 
-            // iterate until next input transaction
-            tvm = bundleTxs.get(j);
+    /**
+     * Validates the signatures of the given bundle transactions. The transactions must be ordered by index.
+     * <p>
+     * The address of every input is derived from its signature fragments independently of the other inputs, so in
+     * parallel mode the inputs are spread across a pool that is shared by all validations. The calling thread verifies
+     * the first input itself, and the remaining verifications are cancelled as soon as one signature is invalid.
+     * </p>
+     *
+     * @param bundleTxs        a list of ordered (by index) bundle transactions
+     * @param normalizedBundle the normalized bundle hash
+     * @param parallel         <code>true</code> to verify the inputs concurrently, <code>false</code> to verify them
+     *                         one after another on the calling thread
+     * @return whether all signatures were valid given the bundle hash and addresses
+     */
+    public static Validity validateSignatures(List<TransactionViewModel> bundleTxs, byte[] normalizedBundle,
+                                              boolean parallel) {
+        // find the transactions of every input: the first one has the value, the others continue its signature
+        List<int[]> inputs = new ArrayList<>();
+        for (int j = 0; j < bundleTxs.size(); ) {
+            TransactionViewModel tvm = bundleTxs.get(j);
             if (tvm.value() >= 0) {
                 j++;
                 continue;
             }
-
-            // verify the signature of the input address by computing the address
-            addressInstance.reset();
-            int offset = 0, offsetNext = 0;
-            do {
-                offsetNext = (offset + ISS.NUMBER_OF_FRAGMENT_CHUNKS - 1) % (Curl.HASH_LENGTH / Converter.NUMBER_OF_TRITS_IN_A_TRYTE) + 1;
-                ISSInPlace.digest(SpongeFactory.Mode.KERL,
-                        normalizedBundle,
-                        offset % (Curl.HASH_LENGTH / Converter.NUMBER_OF_TRITS_IN_A_TRYTE),
-                        bundleTxs.get(j).trits(),
-                        TransactionViewModel.SIGNATURE_MESSAGE_FRAGMENT_TRINARY_OFFSET,
-                        digestTrits);
-                addressInstance.absorb(digestTrits, 0, Curl.HASH_LENGTH);
-                offset = offsetNext;
-            } //loop to traverse signature fragments divided between transactions
+            int start = j;
             while (++j < bundleTxs.size()
                     && bundleTxs.get(j).getAddressHash().equals(tvm.getAddressHash())
                     && bundleTxs.get(j).value() == 0);
+            inputs.add(new int[]{start, j});
+        }
 
-            addressInstance.squeeze(addressTrits, 0, addressTrits.length);
+        if (!parallel || inputs.size() < MIN_INPUTS_FOR_PARALLEL_SIGNATURE_VALIDATION) {
+            for (int[] input : inputs) {
+                if (!isSignatureValid(bundleTxs, normalizedBundle, input[0], input[1])) {
+                    return Validity.INVALID;
+                }
+            }
+            return Validity.VALID;
+        }
 
-            // verify the signature: compare the address against the computed address
-            // derived from the signature/bundle hash
-            if (!Arrays.equals(tvm.getAddressHash().trits(), addressTrits)) {
-                return Validity.INVALID;
+        List<ForkJoinTask<Boolean>> verifications = new ArrayList<>(inputs.size() - 1);
+        for (int[] input : inputs.subList(1, inputs.size())) {
+            verifications.add(SIGNATURE_VALIDATION_POOL.submit(
+                    () -> isSignatureValid(bundleTxs, normalizedBundle, input[0], input[1])));
+        }
+        boolean valid = isSignatureValid(bundleTxs, normalizedBundle, inputs.get(0)[0], inputs.get(0)[1]);
+        for (ForkJoinTask<Boolean> verification : verifications) {
+            if (valid && !verification.join()) {
+                valid = false;
+            }
+            if (!valid) {
+                verification.cancel(false);
             }
         }
-        return Validity.VALID;
+        return valid ? Validity.VALID : Validity.INVALID;
+    }
+
+    /**
+     * Verifies the signature of one input by deriving its address from the signature fragments of the transactions
+     * between <code>start</code> (inclusive) and <code>end</code> (exclusive).
+     */
+    private static boolean isSignatureValid(List<TransactionViewModel> bundleTxs, byte[] normalizedBundle, int start,
+                                            int end) {
+        SignatureScratch scratch = SIGNATURE_SCRATCH.get();
+        scratch.addressInstance.reset();
+        int offset = 0;
+        //loop to traverse signature fragments divided between transactions
+        for (int j = start; j < end; j++) {
+            ISSInPlace.digest(scratch.digestInstance,
+                    normalizedBundle,
+                    offset % (Curl.HASH_LENGTH / Converter.NUMBER_OF_TRITS_IN_A_TRYTE),
+                    bundleTxs.get(j).trits(),
+                    TransactionViewModel.SIGNATURE_MESSAGE_FRAGMENT_TRINARY_OFFSET,
+                    scratch.digestTrits,
+                    scratch.fragmentTrits);
+            scratch.addressInstance.absorb(scratch.digestTrits, 0, Curl.HASH_LENGTH);
+            offset = (offset + ISS.NUMBER_OF_FRAGMENT_CHUNKS - 1) % (Curl.HASH_LENGTH / Converter.NUMBER_OF_TRITS_IN_A_TRYTE) + 1;
+        }
+        scratch.addressInstance.squeeze(scratch.addressTrits, 0, scratch.addressTrits.length);
+
+        // verify the signature: compare the address against the computed address
+        // derived from the signature/bundle hash
+        return Arrays.equals(bundleTxs.get(start).getAddressHash().trits(), scratch.addressTrits);
     }
 
     /**
@@ -492,11 +624,13 @@ public class BundleValidator {
         final Map<Hash, TransactionViewModel> bundleTransactions = new HashMap<>();
         final Hash bundleHash = tail.getBundleHash();
         try {
+            Map<Hash, TransactionViewModel> prefetchedTransactions = prefetchBundleTransactions(tangle, tail);
             TransactionViewModel tx = tail;
             long i = tx.getCurrentIndex(), end = tx.lastIndex();
             do {
                 bundleTransactions.put(tx.getHash(), tx);
-                tx = tx.getTrunkTransaction(tangle);
+                TransactionViewModel trunk = prefetchedTransactions.get(tx.getTrunkTransactionHash());
+                tx = trunk != null ? trunk : tx.getTrunkTransaction(tangle);
             } while (
                 // if we are skipping the index checking, we must make sure that we are not
                 // having an empty bundle hash, as it would lead to an OOM where the genesis
@@ -510,4 +644,69 @@ public class BundleValidator {
         }
         return bundleTransactions;
     }
+
+    /**
+     * Loads the transactions that share the bundle hash of the {@code tail} in one batch, so that the trunks don't
+     * have to be read one by one. Nothing is loaded if the bundle hash is shared by considerably more transactions
+     * than the bundle consists of (e.g. many reattachments), as loading them would cost more than it saves.
+     *
+     * @param tangle connection to the persistence layer
+     * @param tail   should be the last transaction of the bundle
+     * @return the loaded transactions, mapped by their transaction hash
+     * @throws Exception if the transactions can't be loaded
+     */
+    private static Map<Hash, TransactionViewModel> prefetchBundleTransactions(Tangle tangle, TransactionViewModel tail)
+            throws Exception {
+        long maxTransactions = Math.min(MAX_PREFETCHED_BUNDLE_TRANSACTIONS,
+                (tail.lastIndex() + 1) * PREFETCHED_BUNDLE_INSTANCES);
+        int count = tangle.countHashes(Bundle.class, tail.getBundleHash());
+        if (count == 0 || count > maxTransactions) {
+            return Collections.emptyMap();
+        }
+
+        Map<Hash, TransactionViewModel> transactions = new HashMap<>();
+        List<Hash> hashes = tangle.loadHashes(Bundle.class, tail.getBundleHash(), 0, count);
+        for (TransactionViewModel transaction : TransactionViewModel.fromHashes(tangle, hashes)) {
+            transactions.put(transaction.getHash(), transaction);
+        }
+        return transactions;
+    }
+
+    /**
+     * The outcome of a completed validation together with the checks that were performed.
+     */
+    private static class ValidationResult {
+
+        /**
+         * The hashes of the transactions of the bundle in order of their index, empty if the bundle is invalid.
+         */
+        private final List<Hash> bundleTxHashes;
+
+        private final int mode;
+
+        private ValidationResult(List<Hash> bundleTxHashes, int mode) {
+            this.bundleTxHashes = bundleTxHashes;
+            this.mode = mode;
+        }
+
+        private boolean isValid() {
+            return !bundleTxHashes.isEmpty();
+        }
+    }
+
+    /**
+     * The preallocated sponges and buffers that are used to verify the signature of one input.
+     */
+    private static class SignatureScratch {
+
+        private final Sponge addressInstance = SpongeFactory.create(SpongeFactory.Mode.KERL);
+
+        private final Sponge digestInstance = SpongeFactory.create(SpongeFactory.Mode.KERL);
+
+        private final byte[] fragmentTrits = new byte[ISS.FRAGMENT_LENGTH];
+
+        private final byte[] digestTrits = new byte[Curl.HASH_LENGTH];
+
+        private final byte[] addressTrits = new byte[TransactionViewModel.ADDRESS_TRINARY_SIZE];
+    }
 }
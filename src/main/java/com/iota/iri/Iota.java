@@ -17,6 +17,7 @@ import com.iota.iri.service.snapshot.conditions.SnapshotDepthCondition;
 import com.iota.iri.service.spentaddresses.SpentAddressesException;
 import com.iota.iri.service.spentaddresses.SpentAddressesProvider;
 import com.iota.iri.service.spentaddresses.SpentAddressesService;
+import com.iota.iri.service.tipselection.TipPairPool;
 import com.iota.iri.service.tipselection.TipSelector;
 import com.iota.iri.service.transactionpruning.DepthPruningCondition;
 import com.iota.iri.service.transactionpruning.SizePruningCondition;
@@ -24,6 +25,7 @@ import com.iota.iri.service.transactionpruning.TransactionPruner;
 import com.iota.iri.service.validation.TransactionSolidifier;
 import com.iota.iri.service.validation.TransactionValidator;
 import com.iota.iri.storage.*;
+import com.iota.iri.storage.cache.BoundedTransactionCache;
 import com.iota.iri.storage.rocksDB.RocksDBPersistenceProvider;
 import com.iota.iri.utils.Pair;
 import com.iota.iri.zmq.ZmqMessageQueueProvider;
@@ -105,6 +107,7 @@ public class Iota {
     public final IotaConfig configuration;
     public final TipsViewModel tipsViewModel;
     public final TipSelector tipsSelector;
+    public final TipPairPool tipPairPool;
 
     public LocalSnapshotsPersistenceProvider localSnapshotsDb;
 
@@ -123,7 +126,7 @@ public class Iota {
             TransactionRequester transactionRequester, NeighborRouter neighborRouter,
             TransactionProcessingPipeline transactionProcessingPipeline, TipsRequester tipsRequester,
             TipsViewModel tipsViewModel, TipSelector tipsSelector, LocalSnapshotsPersistenceProvider localSnapshotsDb,
-            TransactionSolidifier transactionSolidifier) {
+            TransactionSolidifier transactionSolidifier, TipPairPool tipPairPool) {
         this.configuration = configuration;
 
         this.ledgerService = ledgerService;
@@ -150,6 +153,7 @@ public class Iota {
         this.transactionValidator = transactionValidator;
 
         this.tipsSelector = tipsSelector;
+        this.tipPairPool = tipPairPool;
     }
 
     private void initDependencies() throws SnapshotException, SpentAddressesException {
@@ -210,6 +214,9 @@ public class Iota {
         if (transactionPruner != null) {
             transactionPruner.start();
         }
+        if (tipPairPool != null) {
+            tipPairPool.start();
+        }
     }
 
     private void rescanDb() throws Exception {
@@ -244,6 +251,9 @@ public class Iota {
      */
     public void shutdown() throws Exception {
         // shutdown in reverse starting order (to not break any dependencies)
+        if (tipPairPool != null) {
+            tipPairPool.shutdown();
+        }
         milestoneSolidifier.shutdown();
         transactionSolidifier.shutdown();
         seenMilestonesRetriever.shutdown();
@@ -283,6 +293,9 @@ public class Iota {
                 throw new NotImplementedException("No such database type.");
             }
         }
+        if (configuration.getTxCacheSize() > 0) {
+            tangle.setTransactionCache(new BoundedTransactionCache(configuration.getTxCacheSize() * 1024L));
+        }
         if (configuration.isZmqEnabled()) {
             tangle.addMessageQueueProvider(new ZmqMessageQueueProvider(configuration));
         }
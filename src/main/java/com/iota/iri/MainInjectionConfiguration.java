@@ -135,16 +135,29 @@ public class MainInjectionConfiguration extends AbstractModule {
     @Singleton
     @Provides
     TipSelector provideTipSelector(Tangle tangle, SnapshotProvider snapshotProvider,
-                                   MilestoneSolidifier milestoneSolidifier, LedgerService ledgerService) {
+                                   MilestoneSolidifier milestoneSolidifier, LedgerService ledgerService,
+                                   TransactionSolidifier transactionSolidifier) {
         EntryPointSelector entryPointSelector = new EntryPointSelectorImpl(tangle, snapshotProvider,
                 milestoneSolidifier);
-        RatingCalculator ratingCalculator = new CumulativeWeightCalculator(tangle, snapshotProvider);
+        CumulativeWeightIndex ratingCalculator = new CumulativeWeightIndex(tangle, snapshotProvider,
+                milestoneSolidifier, new CumulativeWeightCalculator(tangle, snapshotProvider), configuration);
+        transactionSolidifier.addSolidTransactionListener(ratingCalculator::onTransactionSolid,
+                ratingCalculator::onTransactionNotStored);
         TailFinder tailFinder = new TailFinderImpl(tangle);
         Walker walker = new WalkerAlpha(tailFinder, tangle, new SecureRandom(), configuration);
         return new TipSelectorImpl(tangle, snapshotProvider, ledgerService, entryPointSelector, ratingCalculator,
                 walker, configuration);
     }
 
+    @Singleton
+    @Provides
+    TipPairPool provideTipPairPool(TipSelector tipSelector, SnapshotProvider snapshotProvider,
+                                   MilestoneSolidifier milestoneSolidifier) {
+        return configuration.getTipSelectionPoolSize() > 0
+                ? new TipPairPoolImpl(tipSelector, snapshotProvider, milestoneSolidifier, configuration)
+                : null;
+    }
+
     @Singleton
     @Provides
     Iota provideIota(SpentAddressesProvider spentAddressesProvider, SpentAddressesService spentAddressesService,
@@ -156,12 +169,12 @@ public class MainInjectionConfiguration extends AbstractModule {
             TransactionRequester transactionRequester, NeighborRouter neighborRouter,
             TransactionProcessingPipeline transactionProcessingPipeline, TipsRequester tipsRequester,
             TipsViewModel tipsViewModel, TipSelector tipsSelector, LocalSnapshotsPersistenceProvider localSnapshotsDb,
-            TransactionSolidifier transactionSolidifier) {
+            TransactionSolidifier transactionSolidifier, @Nullable TipPairPool tipPairPool) {
         return new Iota(configuration, spentAddressesProvider, spentAddressesService, snapshotProvider, snapshotService,
                 localSnapshotManager, milestoneService, seenMilestonesRetriever, ledgerService, transactionPruner,
                 milestoneSolidifier, bundleValidator, tangle, transactionValidator, transactionRequester,
                 neighborRouter, transactionProcessingPipeline, tipsRequester, tipsViewModel, tipsSelector,
-                localSnapshotsDb, transactionSolidifier);
+                localSnapshotsDb, transactionSolidifier, tipPairPool);
     }
 
     @Singleton
@@ -176,8 +189,9 @@ public class MainInjectionConfiguration extends AbstractModule {
                           SpentAddressesService spentAddressesService, Tangle tangle, BundleValidator bundleValidator,
                           SnapshotProvider snapshotProvider, LedgerService ledgerService, NeighborRouter neighborRouter, TipSelector tipsSelector,
                           TipsViewModel tipsViewModel, TransactionValidator transactionValidator,
-                          MilestoneSolidifier milestoneSolidifier, TransactionProcessingPipeline txPipeline, TransactionSolidifier transactionSolidifier) {
-        return new API(configuration, ixi, transactionRequester, spentAddressesService, tangle, bundleValidator, snapshotProvider, ledgerService, neighborRouter, tipsSelector, tipsViewModel, transactionValidator, milestoneSolidifier, txPipeline, transactionSolidifier);
+                          MilestoneSolidifier milestoneSolidifier, TransactionProcessingPipeline txPipeline, TransactionSolidifier transactionSolidifier,
+                          @Nullable TipPairPool tipPairPool) {
+        return new API(configuration, ixi, transactionRequester, spentAddressesService, tangle, bundleValidator, snapshotProvider, ledgerService, neighborRouter, tipsSelector, tipsViewModel, transactionValidator, milestoneSolidifier, txPipeline, transactionSolidifier, tipPairPool);
     }
 
     @Singleton
@@ -72,6 +72,27 @@ public interface APIConfig extends Config {
      */
     String getRemoteAuth();
 
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#API_READ_THREADS}
+     *
+     * @return {@value APIConfig.Descriptions#API_READ_THREADS}
+     */
+    int getApiReadThreads();
+
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#API_READ_QUEUE_SIZE}
+     *
+     * @return {@value APIConfig.Descriptions#API_READ_QUEUE_SIZE}
+     */
+    int getApiReadQueueSize();
+
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#MAX_CONCURRENT_FIND_TRANSACTIONS}
+     *
+     * @return {@value APIConfig.Descriptions#MAX_CONCURRENT_FIND_TRANSACTIONS}
+     */
+    int getMaxConcurrentFindTransactions();
+
     /**
      * These descriptions are used by JCommander when you enter <code>java iri.jar --help</code> at the command line.
      */
@@ -85,6 +106,9 @@ public interface APIConfig extends Config {
         String MAX_REQUESTS_LIST = "The maximal number of parameters one can place in an API call. If the number parameters exceeds this number an error will be returned";
         String MAX_GET_TRYTES = "The maximal number of trytes that may be returned by the \"getTrytes\" API call. If the number of transactions found exceeds this number an error will be returned.";
         String MAX_BODY_LENGTH = "The maximal number of characters the body of an API call may hold. If a request body length exceeds this number an error will be returned.";
+        String API_READ_THREADS = "The number of threads that concurrently process the read-only \"getTrytes\" and \"findTransactions\" API calls. 0 processes them on the thread that received the request.";
+        String API_READ_QUEUE_SIZE = "The maximal number of read-only API calls that may wait for a free thread, and of \"getTransactionsToApprove\" calls that may wait for the tip selection. Calls beyond this number are rejected with an error until the node catches up.";
+        String MAX_CONCURRENT_FIND_TRANSACTIONS = "The maximal number of \"findTransactions\" API calls that may be processed at the same time, so that they can't occupy all the threads of the read-only API calls. Calls beyond this number are rejected with an error.";
         String REMOTE = "Open the API interface to any host. Equivalent to \"--api-host 0.0.0.0\"";
     }
 }
@@ -40,6 +40,9 @@ public abstract class BaseIotaConfig implements IotaConfig {
     protected int maxGetTrytes = Defaults.MAX_GET_TRYTES;
     protected int maxBodyLength = Defaults.MAX_BODY_LENGTH;
     protected String remoteAuth = Defaults.REMOTE_AUTH;
+    protected int apiReadThreads = Defaults.API_READ_THREADS;
+    protected int apiReadQueueSize = Defaults.API_READ_QUEUE_SIZE;
+    protected int maxConcurrentFindTransactions = Defaults.MAX_CONCURRENT_FIND_TRANSACTIONS;
     
     //We don't have a REMOTE config but we have a remote flag. We must add a field for JCommander
     private boolean remote;
@@ -48,10 +51,12 @@ public abstract class BaseIotaConfig implements IotaConfig {
     protected String neighboringSocketAddress = Defaults.NEIGHBORING_SOCKET_ADDRESS;
     protected int neighboringSocketPort = Defaults.NEIGHBORING_SOCKET_PORT;
     protected int reconnectAttemptIntervalSeconds = Defaults.RECONNECT_ATTEMPT_INTERVAL_SECONDS;
+    protected int neighboringEventLoopThreads = Defaults.NEIGHBORING_EVENT_LOOP_THREADS;
     protected boolean autoTetheringEnabled = Defaults.AUTO_TETHERING_ENABLED;
     protected double pDropCacheEntry = Defaults.P_DROP_CACHE_ENTRY;
     protected int sendLimit = Defaults.SEND_LIMIT;
     protected int maxNeighbors = Defaults.MAX_NEIGHBORS;
+    protected int neighborSendQueueLimitBytes = Defaults.NEIGHBOR_SEND_QUEUE_LIMIT_BYTES;
     protected boolean dnsRefresherEnabled = Defaults.DNS_REFRESHER_ENABLED;
     protected boolean dnsResolutionEnabled = Defaults.DNS_RESOLUTION_ENABLED;
     protected List<String> neighbors = Collections.EMPTY_LIST;
@@ -64,6 +69,7 @@ public abstract class BaseIotaConfig implements IotaConfig {
     protected String dbLogPath = Defaults.DB_LOG_PATH;
     protected String dbConfigFile = Defaults.DB_CONFIG_FILE;
     protected int dbCacheSize = Defaults.DB_CACHE_SIZE; //KB
+    protected int txCacheSize = Defaults.TX_CACHE_SIZE; //KB
     protected String mainDb = Defaults.MAIN_DB;
     protected boolean revalidate = Defaults.REVALIDATE;
     protected boolean rescanDb = Defaults.RESCAN_DB;
@@ -79,6 +85,11 @@ public abstract class BaseIotaConfig implements IotaConfig {
     protected String zmqIpc = Defaults.ZMQ_IPC;
     protected int qSizeNode = Defaults.QUEUE_SIZE;
     protected int cacheSizeBytes = Defaults.CACHE_SIZE_BYTES;
+    protected int pipelineValidationThreads = Defaults.PIPELINE_VALIDATION_THREADS;
+    protected int pipelineReceivedThreads = Defaults.PIPELINE_RECEIVED_THREADS;
+    protected int pipelineReplyThreads = Defaults.PIPELINE_REPLY_THREADS;
+    protected int pipelineReceivedBatchSize = Defaults.PIPELINE_RECEIVED_BATCH_SIZE;
+    protected int pipelineReceivedBatchWindowMs = Defaults.PIPELINE_RECEIVED_BATCH_WINDOW_MS;
     /**
      * @deprecated This field was replaced by {@link #zmqEnableTcp} and {@link #zmqEnableIpc}. It is only needed
      * for backward compatibility to --zmq-enabled parameter with JCommander.
@@ -91,6 +102,8 @@ public abstract class BaseIotaConfig implements IotaConfig {
     protected double alpha = Defaults.ALPHA;
     protected int tipSelectionTimeoutSec = Defaults.TIP_SELECTION_TIMEOUT_SEC;
     private int maxAnalyzedTransactions = Defaults.BELOW_MAX_DEPTH_TRANSACTION_LIMIT;
+    protected int tipSelectionParallelWalks = Defaults.TIP_SELECTION_PARALLEL_WALKS;
+    protected int tipSelectionPoolSize = Defaults.TIP_SELECTION_POOL_SIZE;
 
     //PearlDiver
     protected int powThreads = Defaults.POW_THREADS;
@@ -274,6 +287,40 @@ public abstract class BaseIotaConfig implements IotaConfig {
         this.remoteAuth = remoteAuth;
     }
 
+    @Override
+    public int getApiReadThreads() {
+        return apiReadThreads;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--api-read-threads"}, description = APIConfig.Descriptions.API_READ_THREADS)
+    protected void setApiReadThreads(int apiReadThreads) {
+        this.apiReadThreads = apiReadThreads;
+    }
+
+    @Override
+    public int getApiReadQueueSize() {
+        return apiReadQueueSize;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--api-read-queue-size"}, description = APIConfig.Descriptions.API_READ_QUEUE_SIZE)
+    protected void setApiReadQueueSize(int apiReadQueueSize) {
+        this.apiReadQueueSize = apiReadQueueSize;
+    }
+
+    @Override
+    public int getMaxConcurrentFindTransactions() {
+        return maxConcurrentFindTransactions;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--max-concurrent-find-transactions"},
+            description = APIConfig.Descriptions.MAX_CONCURRENT_FIND_TRANSACTIONS)
+    protected void setMaxConcurrentFindTransactions(int maxConcurrentFindTransactions) {
+        this.maxConcurrentFindTransactions = maxConcurrentFindTransactions;
+    }
+
     @JsonProperty
     @Parameter(names = {"--neighboring-socket-address"}, description = NetworkConfig.Descriptions.NEIGHBORING_SOCKET_ADDRESS)
     public void setNeighboringSocketAddress(String neighboringSocketAddress) {
@@ -307,6 +354,18 @@ public abstract class BaseIotaConfig implements IotaConfig {
         this.reconnectAttemptIntervalSeconds = reconnectAttemptIntervalSeconds;
     }
 
+    @Override
+    public int getNeighboringEventLoopThreads() {
+        return neighboringEventLoopThreads;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--neighboring-event-loop-threads"},
+        description = NetworkConfig.Descriptions.NEIGHBORING_EVENT_LOOP_THREADS)
+    protected void setNeighboringEventLoopThreads(int neighboringEventLoopThreads) {
+        this.neighboringEventLoopThreads = neighboringEventLoopThreads;
+    }
+
     @Override
     public boolean isAutoTetheringEnabled() {
         return autoTetheringEnabled;
@@ -340,6 +399,18 @@ public abstract class BaseIotaConfig implements IotaConfig {
         this.maxNeighbors = maxNeighbors;
     }
 
+    @Override
+    public int getNeighborSendQueueLimitBytes() {
+        return neighborSendQueueLimitBytes;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--neighbor-send-queue-limit-bytes"},
+        description = NetworkConfig.Descriptions.NEIGHBOR_SEND_QUEUE_LIMIT_BYTES)
+    protected void setNeighborSendQueueLimitBytes(int neighborSendQueueLimitBytes) {
+        this.neighborSendQueueLimitBytes = neighborSendQueueLimitBytes;
+    }
+
     @Override
     public boolean isDnsRefresherEnabled() {
         return dnsRefresherEnabled;
@@ -427,6 +498,17 @@ public abstract class BaseIotaConfig implements IotaConfig {
     protected void setDbCacheSize(int dbCacheSize) {
         this.dbCacheSize = dbCacheSize;
     }
+
+    @Override
+    public int getTxCacheSize() {
+        return txCacheSize;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--tx-cache-size"}, description = DbConfig.Descriptions.TX_CACHE_SIZE)
+    protected void setTxCacheSize(int txCacheSize) {
+        this.txCacheSize = txCacheSize;
+    }
     
     @Override
     public String getMainDb() {
@@ -755,6 +837,66 @@ public abstract class BaseIotaConfig implements IotaConfig {
         this.cacheSizeBytes = cacheSizeBytes;
     }
 
+    @Override
+    public int getPipelineValidationThreads() {
+        return pipelineValidationThreads;
+    }
+
+    @JsonProperty
+    @Parameter(names = "--pipeline-validation-threads",
+        description = NetworkConfig.Descriptions.PIPELINE_VALIDATION_THREADS)
+    protected void setPipelineValidationThreads(int pipelineValidationThreads) {
+        this.pipelineValidationThreads = pipelineValidationThreads;
+    }
+
+    @Override
+    public int getPipelineReceivedThreads() {
+        return pipelineReceivedThreads;
+    }
+
+    @JsonProperty
+    @Parameter(names = "--pipeline-received-threads",
+        description = NetworkConfig.Descriptions.PIPELINE_RECEIVED_THREADS)
+    protected void setPipelineReceivedThreads(int pipelineReceivedThreads) {
+        this.pipelineReceivedThreads = pipelineReceivedThreads;
+    }
+
+    @Override
+    public int getPipelineReplyThreads() {
+        return pipelineReplyThreads;
+    }
+
+    @JsonProperty
+    @Parameter(names = "--pipeline-reply-threads",
+        description = NetworkConfig.Descriptions.PIPELINE_REPLY_THREADS)
+    protected void setPipelineReplyThreads(int pipelineReplyThreads) {
+        this.pipelineReplyThreads = pipelineReplyThreads;
+    }
+
+    @Override
+    public int getPipelineReceivedBatchSize() {
+        return pipelineReceivedBatchSize;
+    }
+
+    @JsonProperty
+    @Parameter(names = "--pipeline-received-batch-size",
+        description = NetworkConfig.Descriptions.PIPELINE_RECEIVED_BATCH_SIZE)
+    protected void setPipelineReceivedBatchSize(int pipelineReceivedBatchSize) {
+        this.pipelineReceivedBatchSize = pipelineReceivedBatchSize;
+    }
+
+    @Override
+    public int getPipelineReceivedBatchWindowMs() {
+        return pipelineReceivedBatchWindowMs;
+    }
+
+    @JsonProperty
+    @Parameter(names = "--pipeline-received-batch-window",
+        description = NetworkConfig.Descriptions.PIPELINE_RECEIVED_BATCH_WINDOW_MS)
+    protected void setPipelineReceivedBatchWindowMs(int pipelineReceivedBatchWindowMs) {
+        this.pipelineReceivedBatchWindowMs = pipelineReceivedBatchWindowMs;
+    }
+
     @Override
     public Hash getCoordinator() {
         return Defaults.COORDINATOR;
@@ -820,6 +962,30 @@ public abstract class BaseIotaConfig implements IotaConfig {
         this.maxAnalyzedTransactions = maxAnalyzedTransactions;
     }
 
+    @Override
+    public int getTipSelectionParallelWalks() {
+        return tipSelectionParallelWalks;
+    }
+
+    @JsonProperty
+    @Parameter(names = "--tip-selection-parallel-walks",
+        description = TipSelConfig.Descriptions.TIP_SELECTION_PARALLEL_WALKS)
+    protected void setTipSelectionParallelWalks(int tipSelectionParallelWalks) {
+        this.tipSelectionParallelWalks = tipSelectionParallelWalks;
+    }
+
+    @Override
+    public int getTipSelectionPoolSize() {
+        return tipSelectionPoolSize;
+    }
+
+    @JsonProperty
+    @Parameter(names = "--tip-selection-pool-size",
+        description = TipSelConfig.Descriptions.TIP_SELECTION_POOL_SIZE)
+    protected void setTipSelectionPoolSize(int tipSelectionPoolSize) {
+        this.tipSelectionPoolSize = tipSelectionPoolSize;
+    }
+
     @Override
     public int getPowThreads() {
         return powThreads;
@@ -857,14 +1023,19 @@ public abstract class BaseIotaConfig implements IotaConfig {
         int MAX_GET_TRYTES = 10_000;
         int MAX_BODY_LENGTH = 1_000_000;
         String REMOTE_AUTH = "";
+        int API_READ_THREADS = 8;
+        int API_READ_QUEUE_SIZE = 100;
+        int MAX_CONCURRENT_FIND_TRANSACTIONS = 4;
 
         //Network
         String NEIGHBORING_SOCKET_ADDRESS = "0.0.0.0";
         int NEIGHBORING_SOCKET_PORT = 15600;
         int RECONNECT_ATTEMPT_INTERVAL_SECONDS = 60;
+        int NEIGHBORING_EVENT_LOOP_THREADS = 0;
         boolean AUTO_TETHERING_ENABLED = false;
         int SEND_LIMIT = -1;
         int MAX_NEIGHBORS = 5;
+        int NEIGHBOR_SEND_QUEUE_LIMIT_BYTES = 512 * 1024;
         boolean DNS_REFRESHER_ENABLED = true;
         boolean DNS_RESOLUTION_ENABLED = true;
 
@@ -876,6 +1047,7 @@ public abstract class BaseIotaConfig implements IotaConfig {
         String DB_LOG_PATH = "mainnet.log";
         String DB_CONFIG_FILE = "rocksdb-config.properties";
         int DB_CACHE_SIZE = 100_000;
+        int TX_CACHE_SIZE = 50_000;
         String MAIN_DB = "rocksdb";
         boolean REVALIDATE = false;
         boolean RESCAN_DB = false;
@@ -887,6 +1059,11 @@ public abstract class BaseIotaConfig implements IotaConfig {
         int QUEUE_SIZE = 1_000;
         double P_DROP_CACHE_ENTRY = 0.02d;
         int CACHE_SIZE_BYTES = 150_000;
+        int PIPELINE_VALIDATION_THREADS = 1;
+        int PIPELINE_RECEIVED_THREADS = 1;
+        int PIPELINE_REPLY_THREADS = 1;
+        int PIPELINE_RECEIVED_BATCH_SIZE = 1;
+        int PIPELINE_RECEIVED_BATCH_WINDOW_MS = 5;
 
 
         //Zmq
@@ -900,6 +1077,8 @@ public abstract class BaseIotaConfig implements IotaConfig {
         int MAX_DEPTH = 15;
         double ALPHA = 0d;
         int TIP_SELECTION_TIMEOUT_SEC = 60;
+        int TIP_SELECTION_PARALLEL_WALKS = 0;
+        int TIP_SELECTION_POOL_SIZE = 0;
 
         //PearlDiver
         int POW_THREADS = 0;
@@ -33,6 +33,13 @@ public interface DbConfig extends Config {
      */
     int getDbCacheSize();
 
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#TX_CACHE_SIZE}
+     *
+     * @return {@value DbConfig.Descriptions#TX_CACHE_SIZE}
+     */
+    int getTxCacheSize();
+
     /**
      * Default Value: {@value BaseIotaConfig.Defaults#MAIN_DB}
      *
@@ -59,6 +66,7 @@ public interface DbConfig extends Config {
         String DB_PATH = "The folder where the DB saves its data.";
         String DB_LOG_PATH = "The folder where the DB logs info";
         String DB_CACHE_SIZE = "The size of the DB cache in KB";
+        String TX_CACHE_SIZE = "The size of the in-memory cache of parsed transactions in KB. 0 disables the cache.";
         String MAIN_DB = "The DB engine used to store the transactions. Currently only RocksDB is supported.";
         String REVALIDATE = "Reload from the db data about confirmed transaction (milestones), state of the ledger, " +
                 "and transaction metadata.";
@@ -29,6 +29,13 @@ public interface NetworkConfig extends Config {
      */
     int getReconnectAttemptIntervalSeconds();
 
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#NEIGHBORING_EVENT_LOOP_THREADS}
+     *
+     * @return {@value NetworkConfig.Descriptions#NEIGHBORING_EVENT_LOOP_THREADS}
+     */
+    int getNeighboringEventLoopThreads();
+
     /**
      * Default Value: {@value BaseIotaConfig.Defaults#AUTO_TETHERING_ENABLED}
      *
@@ -50,6 +57,13 @@ public interface NetworkConfig extends Config {
      */
     int getMaxNeighbors();
 
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#NEIGHBOR_SEND_QUEUE_LIMIT_BYTES}
+     *
+     * @return {@value NetworkConfig.Descriptions#NEIGHBOR_SEND_QUEUE_LIMIT_BYTES}
+     */
+    int getNeighborSendQueueLimitBytes();
+
     /**
      * Default Value: {@value BaseIotaConfig.Defaults#DNS_REFRESHER_ENABLED}
      *
@@ -89,21 +103,70 @@ public interface NetworkConfig extends Config {
      */
     int getCacheSizeBytes();
 
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#PIPELINE_VALIDATION_THREADS}
+     *
+     * @return {@value NetworkConfig.Descriptions#PIPELINE_VALIDATION_THREADS}
+     */
+    int getPipelineValidationThreads();
+
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#PIPELINE_RECEIVED_THREADS}
+     *
+     * @return {@value NetworkConfig.Descriptions#PIPELINE_RECEIVED_THREADS}
+     */
+    int getPipelineReceivedThreads();
+
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#PIPELINE_REPLY_THREADS}
+     *
+     * @return {@value NetworkConfig.Descriptions#PIPELINE_REPLY_THREADS}
+     */
+    int getPipelineReplyThreads();
+
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#PIPELINE_RECEIVED_BATCH_SIZE}
+     *
+     * @return {@value NetworkConfig.Descriptions#PIPELINE_RECEIVED_BATCH_SIZE}
+     */
+    int getPipelineReceivedBatchSize();
+
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#PIPELINE_RECEIVED_BATCH_WINDOW_MS}
+     *
+     * @return {@value NetworkConfig.Descriptions#PIPELINE_RECEIVED_BATCH_WINDOW_MS}
+     */
+    int getPipelineReceivedBatchWindowMs();
+
     interface Descriptions {
         String NEIGHBORING_SOCKET_ADDRESS = "The address to bind the TCP server socket to.";
         String NEIGHBORING_SOCKET_PORT = "The TCP Receiver Port.";
         String RECONNECT_ATTEMPT_INTERVAL_SECONDS = "The interval at which to reconnect to wanted neighbors.";
+        String NEIGHBORING_EVENT_LOOP_THREADS = "The number of threads that read from and write to connected " +
+                "neighbors, each with its own selector. 0 handles all neighbors on the thread which manages the " +
+                "connections.";
         String AUTO_TETHERING_ENABLED = "Whether to accept new connections from unknown neighbors. "
                 + "Unknown meaning neighbors which are not defined in the config and were not added via addNeighbors.";
         String SEND_LIMIT = "The maximum number of packets that may be sent by this node in a 1 second interval. If this number is below 0 then there is no limit.";
         String MAX_NEIGHBORS = "The maximum number of neighbors allowed to be connected.";
+        String NEIGHBOR_SEND_QUEUE_LIMIT_BYTES = "The maximum number of bytes of messages waiting to be sent to a " +
+                "neighbor. Further messages to the neighbor are dropped until the queued ones were written.";
         String DNS_REFRESHER_ENABLED = "Reconnect to neighbors that have dynamic IPs.";
         String DNS_RESOLUTION_ENABLED = "Enable using DNS for neighbor peering.";
         String NEIGHBORS = "Urls of neighbor iota nodes.";
-        String Q_SIZE_NODE = "The size of the REPLY, BROADCAST, and RECEIVE network queues.";
+        String Q_SIZE_NODE = "The size of the queue of each stage of the transaction processing pipeline. Once the " +
+                "queue of a stage is full, the previous stage waits for it and no more transactions are read from " +
+                "the neighbors.";
         String P_DROP_CACHE_ENTRY = DescriptionHelper.PROB_OF +
                 "dropping recently seen transactions out of the network cache. " +
                 "It may relieve cases of spam or transactions that weren't stored properly in the database";
         String CACHE_SIZE_BYTES = "The size of the network cache in bytes";
+        String PIPELINE_VALIDATION_THREADS = "The number of threads that validate received transactions.";
+        String PIPELINE_RECEIVED_THREADS = "The number of threads that store received transactions in the database.";
+        String PIPELINE_REPLY_THREADS = "The number of threads that reply to transaction requests of neighbors.";
+        String PIPELINE_RECEIVED_BATCH_SIZE = "The maximum number of received transactions that are stored in the " +
+                "database with a single write. 1 stores every transaction on its own.";
+        String PIPELINE_RECEIVED_BATCH_WINDOW_MS = "The maximum time in milliseconds to wait for more received " +
+                "transactions before a batch is written to the database.";
     }
 }
@@ -35,14 +35,34 @@ public interface TipSelConfig extends Config {
      */
     int getBelowMaxDepthTransactionLimit();
 
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#TIP_SELECTION_PARALLEL_WALKS}
+     *
+     * @return {@value TipSelConfig.Descriptions#TIP_SELECTION_PARALLEL_WALKS}
+     */
+    int getTipSelectionParallelWalks();
+
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#TIP_SELECTION_POOL_SIZE}
+     *
+     * @return {@value TipSelConfig.Descriptions#TIP_SELECTION_POOL_SIZE}
+     */
+    int getTipSelectionPoolSize();
+
     interface Descriptions {
 
         String MAX_DEPTH = "The maximal number of previous milestones from where you can perform the random walk";
         String ALPHA = "Parameter that defines the randomness of the tip selection. " +
                 "Should be a number between 0 to infinity, where 0 is most random and infinity is most deterministic.";
-        String TIP_SELECTION_TIMEOUT_SEC = "Defines the maximum number of seconds the tip-selection is allowed to be ongoing. "
-                + "If the threshold is exceeded, tip-selection is aborted.";
+        String TIP_SELECTION_TIMEOUT_SEC = "Defines the maximum number of seconds the tip-selection is allowed to be ongoing, "
+                + "including the time it waits for the previous tip-selections. If the threshold is exceeded, tip-selection is aborted.";
         String BELOW_MAX_DEPTH_TRANSACTION_LIMIT = "The maximal number of unconfirmed transactions that may be analyzed in " +
                 "order to find the latest milestone the transaction that we are stepping on during the walk approves";
+        String TIP_SELECTION_PARALLEL_WALKS = "The number of candidate walks that are performed concurrently for each " +
+                "of the two tips. The first consistent pair of tips is returned. 0 performs the two walks one after " +
+                "the other.";
+        String TIP_SELECTION_POOL_SIZE = "The number of tip pairs that are selected in advance for each requested " +
+                "depth and served by getTransactionsToApprove. The pairs are discarded when a new milestone is " +
+                "solidified. 0 disables the pool.";
     }
 }
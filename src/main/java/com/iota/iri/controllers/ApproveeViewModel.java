@@ -8,6 +8,8 @@ import com.iota.iri.storage.Persistable;
 import com.iota.iri.storage.Tangle;
 import com.iota.iri.utils.Pair;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -51,6 +53,24 @@ public class ApproveeViewModel implements HashesViewModel {
         return new ApproveeViewModel((Approvee) tangle.load(Approvee.class, hash), hash);
     }
 
+    /**
+     * Creates {@link Approvee} set controllers for all given {@link Hash} identifiers, whose sets are extracted from
+     * the database with one batched read.
+     *
+     * @param tangle The tangle reference for the database to find the {@link Approvee} sets in
+     * @param hashes The hash identifiers for the {@link Approvee} sets that need to be found
+     * @return The {@link ApproveeViewModel} controllers in the order of the hashes
+     * @throws Exception Thrown if the database cannot load the {@link Approvee} sets
+     */
+    public static List<ApproveeViewModel> loadAll(Tangle tangle, List<Hash> hashes) throws Exception {
+        List<Persistable> approvees = tangle.loadAll(Approvee.class, new ArrayList<>(hashes));
+        List<ApproveeViewModel> approveeViewModels = new ArrayList<>(hashes.size());
+        for (int i = 0; i < hashes.size(); i++) {
+            approveeViewModels.add(new ApproveeViewModel((Approvee) approvees.get(i), hashes.get(i)));
+        }
+        return approveeViewModels;
+    }
+
     /**
      * Fetches the first persistable {@link Approvee} set from the database and generates a new
      * {@link ApproveeViewModel} from it. If no {@link Approvee} sets exist in the database, it will return null.
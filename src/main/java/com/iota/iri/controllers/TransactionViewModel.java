@@ -135,6 +135,27 @@ public class TransactionViewModel {
         return transactionViewModel;
     }
 
+    /**
+     * Creates new controllers for the {@link Transaction} sets referenced by the given {@link Hash} identifiers. The
+     * transactions are loaded from the database in one batch instead of one read per hash.
+     *
+     * @param tangle The tangle reference for the database
+     * @param hashes The {@link Hash} identifiers to search with
+     * @return The {@link TransactionViewModel}s with their Metadata filled in, in the order of the hashes.
+     * @throws Exception Thrown if there is an error loading the {@link Transaction} objects from the database
+     */
+    public static List<TransactionViewModel> fromHashes(Tangle tangle, final List<Hash> hashes) throws Exception {
+        List<Persistable> transactions = tangle.loadAll(Transaction.class, new ArrayList<>(hashes));
+        List<TransactionViewModel> transactionViewModels = new ArrayList<>(hashes.size());
+        for (int i = 0; i < hashes.size(); i++) {
+            TransactionViewModel transactionViewModel = new TransactionViewModel(
+                    (Transaction) transactions.get(i), hashes.get(i));
+            fillMetadata(tangle, transactionViewModel);
+            transactionViewModels.add(transactionViewModel);
+        }
+        return transactionViewModels;
+    }
+
     /**
      * Constructor for a {@link Transaction} set controller interface. This controller is used to interact with and
      * manipulate a provided {@link Transaction} set.
@@ -276,6 +297,18 @@ public class TransactionViewModel {
         tangle.update(transaction, hash, item);
     }
 
+    /**
+     * Publishes the {@link Transaction} to the message queue providers like {@link #update(Tangle, Snapshot, String)}
+     * does, but without writing it to the database. This is used for transactions whose metadata was already stored
+     * together with the transaction itself.
+     *
+     * @param tangle The tangle reference for the message queue providers
+     * @param item   The string identifying the purpose of the update
+     */
+    public void publish(Tangle tangle, String item) {
+        tangle.publishTransaction(transaction, hash, item);
+    }
+
     /**
      * Retrieves the {@link TransactionViewModel} for the branch {@link Transaction} object referenced by this
      * {@link TransactionViewModel}. If the controller doesn't already exist, a new one is created from the branch
@@ -404,6 +437,35 @@ public class TransactionViewModel {
         return tangle.saveBatch(batch);
     }
 
+    /**
+     * Stores the given transactions with a single write to the database. Transactions which are solid entry points,
+     * already exist in the database or are contained more than once in the list are skipped like in
+     * {@link #store(Tangle, Snapshot)}.
+     *
+     * @param tangle          The tangle reference for the database.
+     * @param initialSnapshot snapshot that acts as genesis
+     * @param transactions    the transactions to store
+     * @return the transactions which were stored
+     * @throws Exception Thrown if there is an error fetching the batch or storing in the database.
+     */
+    public static List<TransactionViewModel> storeBatch(Tangle tangle, Snapshot initialSnapshot,
+            List<TransactionViewModel> transactions) throws Exception {
+        List<TransactionViewModel> newTransactions = new ArrayList<>(transactions.size());
+        List<Pair<Indexable, Persistable>> batch = new ArrayList<>();
+        Set<Hash> hashes = new HashSet<>();
+        for (TransactionViewModel transaction : transactions) {
+            if (!initialSnapshot.hasSolidEntryPoint(transaction.hash) && hashes.add(transaction.hash)
+                    && !exists(tangle, transaction.hash)) {
+                batch.addAll(transaction.getSaveBatch());
+                newTransactions.add(transaction);
+            }
+        }
+        if (newTransactions.isEmpty() || !tangle.saveBatch(batch)) {
+            return Collections.emptyList();
+        }
+        return newTransactions;
+    }
+
     /**
      * Creates a copy of the underlying {@link Transaction} object.
      *
@@ -804,7 +866,7 @@ public class TransactionViewModel {
      *
      * @param height The new height of the {@link Transaction}
      */
-    private void updateHeight(long height) throws Exception {
+    public void updateHeight(long height) throws Exception {
         transaction.height.set(height);
     }
 
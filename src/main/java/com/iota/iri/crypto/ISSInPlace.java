@@ -115,6 +115,24 @@ public class ISSInPlace {
 
     public static void digest(SpongeFactory.Mode mode, final byte[] normalizedBundleFragment, int nbOff,
             final byte[] signatureFragment, int sfOff, byte[] digest) {
+        digest(SpongeFactory.create(mode), normalizedBundleFragment, nbOff, signatureFragment, sfOff, digest,
+                new byte[FRAGMENT_LENGTH]);
+    }
+
+    /**
+     * Computes the digest of a signature fragment with a sponge and a scratch buffer provided by the caller, so
+     * repeated calls don't allocate memory.
+     *
+     * @param hash sponge used to hash the fragment, it is reset before use
+     * @param normalizedBundleFragment the normalized bundle hash
+     * @param nbOff offset of the fragment in the normalized bundle hash
+     * @param signatureFragment trits that contain the signature fragment
+     * @param sfOff offset of the signature fragment
+     * @param digest destination of the digest
+     * @param buffer scratch buffer of {@link #FRAGMENT_LENGTH} trits
+     */
+    public static void digest(Sponge hash, final byte[] normalizedBundleFragment, int nbOff,
+            final byte[] signatureFragment, int sfOff, byte[] digest, byte[] buffer) {
 
         if (normalizedBundleFragment.length - nbOff < (Curl.HASH_LENGTH / TRYTE_WIDTH / NUMBER_OF_SECURITY_LEVELS)) {
             throw new RuntimeException(
@@ -127,9 +145,11 @@ public class ISSInPlace {
         if (digest.length != Curl.HASH_LENGTH) {
             throw new IllegalArgumentException("Invalid digest array length.");
         }
+        if (buffer.length != FRAGMENT_LENGTH) {
+            throw new IllegalArgumentException("Invalid buffer length.");
+        }
 
-        final byte[] buffer = Arrays.copyOfRange(signatureFragment, sfOff, sfOff + FRAGMENT_LENGTH);
-        final Sponge hash = SpongeFactory.create(mode);
+        System.arraycopy(signatureFragment, sfOff, buffer, 0, FRAGMENT_LENGTH);
 
         for (int j = 0; j < NUMBER_OF_FRAGMENT_CHUNKS; j++) {
 
@@ -8,6 +8,7 @@ import java.math.BigInteger;
 import java.security.DigestException;
 import java.util.Arrays;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 /**
  * Kerl is a cryptographic hash function, from the sponge family. <br>
@@ -28,9 +29,53 @@ public final class Kerl implements Sponge {
     static final int MAX_POWERS_LONG = 40;
     private static final BigInteger[] RADIX_POWERS = IntStream.range(0, MAX_POWERS_LONG + 1).mapToObj(RADIX::pow).toArray(BigInteger[]::new);
 
+    /**
+     * Amount of 32 bit limbs of a 384 bit integer.
+     */
+    private static final int INT_LENGTH = BIT_HASH_LENGTH / Integer.SIZE;
+
+    /**
+     * Amount of 32 bit limbs that hold the offset value of 243 trits, which doesn't fit into 384 bits. This is the
+     * size of the scratch arrays of the conversions.
+     */
+    @VisibleForTesting
+    static final int OFFSET_INT_LENGTH = INT_LENGTH + 1;
+
+    private static final long INT_MASK = 0xFFFFFFFFL;
+
+    /**
+     * Maximum amount of trits whose value fits into a signed 32 bit integer.
+     */
+    @VisibleForTesting
+    static final int MAX_POWERS_INT = 19;
+
+    /**
+     * 3^19, the value of {@link #MAX_POWERS_INT} trits.
+     */
+    private static final long MAX_POWER_INT = 1162261467L;
+
+    private static final long[] RADIX_POWERS_INT = LongStream.iterate(1, power -> power * Converter.RADIX)
+            .limit(MAX_POWERS_INT + 1).toArray();
+
+    /**
+     * (3^242 - 1) / 2, the value of 242 trits set to 1, as little endian limbs.
+     */
+    private static final int[] HALF_3_242 = offsetOfTrits(HASH_LENGTH - 1, INT_LENGTH);
+
+    /**
+     * (3^243 - 1) / 2, the value of 243 trits set to 1, as little endian limbs.
+     */
+    private static final int[] HALF_3_243 = offsetOfTrits(HASH_LENGTH, OFFSET_INT_LENGTH);
+
     //delegate
     private final Keccak.Digest384 keccak;
 
+    /**
+     * Reusable state of the conversions, so absorbing and squeezing don't allocate memory.
+     */
+    private final byte[] byteState = new byte[BYTE_HASH_LENGTH];
+    private final int[] intState = new int[OFFSET_INT_LENGTH];
+
     protected Kerl() {
         this.keccak = new Keccak.Digest384();
     }
@@ -47,10 +92,9 @@ public final class Kerl implements Sponge {
         }
         for (int pos = offset; pos < offset + length; pos += HASH_LENGTH) {
             //convert to bytes && update
-            byte[] state = new byte[BYTE_HASH_LENGTH];
             trits[pos + HASH_LENGTH - 1] = 0;
-            bytesFromBigInt(bigIntFromTrits(trits, pos, HASH_LENGTH), state);
-            keccak.update(state);
+            bytesFromTrits(trits, pos, byteState, intState);
+            keccak.update(byteState, 0, BYTE_HASH_LENGTH);
         }
     }
 
@@ -69,19 +113,17 @@ public final class Kerl implements Sponge {
         try {
             for (int pos = offset; pos < offset + length; pos += HASH_LENGTH) {
 
-                byte[] state = new byte[BYTE_HASH_LENGTH];
-                keccak.digest(state, 0, BYTE_HASH_LENGTH);
+                keccak.digest(byteState, 0, BYTE_HASH_LENGTH);
 
                 //convert into trits
-                BigInteger value = new BigInteger(state);
-                tritsFromBigInt(value, trits, pos, Sponge.HASH_LENGTH);
+                tritsFromBytes(byteState, trits, pos, intState);
                 trits[pos + HASH_LENGTH - 1] = 0;
 
                 //calculate hash again
-                for (int i = state.length; i-- > 0; ) {
-                    state[i] = (byte) (state[i] ^ 0xFF);
+                for (int i = byteState.length; i-- > 0; ) {
+                    byteState[i] = (byte) (byteState[i] ^ 0xFF);
                 }
-                keccak.update(state);
+                keccak.update(byteState, 0, BYTE_HASH_LENGTH);
             }
         } catch (DigestException e) {
             e.printStackTrace(System.err);
@@ -92,6 +134,156 @@ public final class Kerl implements Sponge {
 
     //Bytes<->Trits Converters, used to convert 384bit to 243trits
 
+    /**
+     * <p>
+     * Converts the first 242 of 243 trits into the 384 bit two's complement big endian representation of their
+     * value. The last trit is ignored, like it is in the Kerl spec.
+     * </p>
+     * <p>
+     * Every trit is shifted by one, so the trits form a non-negative base 3 number: its value is the value of the
+     * trits plus (3^242 - 1) / 2. The number is built on 32 bit limbs with Horner's method, and the offset is
+     * subtracted modulo 2^384 afterwards, which yields the two's complement of negative values.
+     * </p>
+     *
+     * @param trits source of the trits
+     * @param offset position of the first trit
+     * @param destination array of at least {@link #BYTE_HASH_LENGTH} bytes
+     * @param limbs scratch array of at least {@link #OFFSET_INT_LENGTH} limbs
+     */
+    static void bytesFromTrits(final byte[] trits, final int offset, final byte[] destination, final int[] limbs) {
+        if (destination.length < BYTE_HASH_LENGTH) {
+            throw new IllegalArgumentException("Destination array has invalid size.");
+        }
+        final int size = HASH_LENGTH - 1;
+        for (int i = offset; i < offset + size; i++) {
+            if (trits[i] < -1 || trits[i] > 1) {
+                throw new IllegalArgumentException("not a trit: " + trits[i]);
+            }
+        }
+
+        Arrays.fill(limbs, 0, INT_LENGTH, 0);
+        // every step adds less than 31 bits, so only the limbs that are in use and the next one are multiplied
+        int length = 1;
+        for (int n = offset + size - 1; n >= offset; ) {
+            int count = 0;
+            long num = 0L;
+            while (n >= offset && count < MAX_POWERS_INT) {
+                num = 3 * num + trits[n--] + 1;
+                count++;
+            }
+            multiplyAdd(limbs, length, RADIX_POWERS_INT[count], num);
+            if (length < INT_LENGTH && limbs[length - 1] != 0) {
+                length++;
+            }
+        }
+
+        long borrow = 0;
+        for (int i = 0; i < INT_LENGTH; i++) {
+            long difference = (limbs[i] & INT_MASK) - (HALF_3_242[i] & INT_MASK) - borrow;
+            limbs[i] = (int) difference;
+            borrow = difference < 0 ? 1 : 0;
+        }
+
+        for (int i = 0; i < INT_LENGTH; i++) {
+            int limb = limbs[i];
+            for (int b = 0; b < Integer.BYTES; b++) {
+                destination[BYTE_HASH_LENGTH - 1 - i * Integer.BYTES - b] = (byte) (limb >>> (b * Byte.SIZE));
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Converts the 384 bit two's complement big endian integer into 243 trits.
+     * </p>
+     * <p>
+     * (3^243 - 1) / 2 is added to the value, so it becomes a non-negative base 3 number whose digits are the trits
+     * shifted by one. The digits are extracted by dividing the 32 bit limbs by the largest power of 3 that fits into a
+     * limb.
+     * </p>
+     *
+     * @param bytes array of at least {@link #BYTE_HASH_LENGTH} bytes
+     * @param destination destination of the trits
+     * @param offset position of the first trit
+     * @param limbs scratch array of at least {@link #OFFSET_INT_LENGTH} limbs
+     */
+    static void tritsFromBytes(final byte[] bytes, final byte[] destination, final int offset, final int[] limbs) {
+        if (destination.length - offset < HASH_LENGTH) {
+            throw new IllegalArgumentException("Destination array has invalid size");
+        }
+
+        for (int i = 0; i < INT_LENGTH; i++) {
+            int limb = 0;
+            for (int b = Integer.BYTES; b-- > 0; ) {
+                limb = (limb << Byte.SIZE) | (bytes[BYTE_HASH_LENGTH - 1 - i * Integer.BYTES - b] & 0xFF);
+            }
+            limbs[i] = limb;
+        }
+        limbs[INT_LENGTH] = bytes[0] < 0 ? -1 : 0;
+
+        long carry = 0;
+        for (int i = 0; i < OFFSET_INT_LENGTH; i++) {
+            long sum = (limbs[i] & INT_MASK) + (HALF_3_243[i] & INT_MASK) + carry;
+            limbs[i] = (int) sum;
+            carry = sum >>> Integer.SIZE;
+        }
+
+        int length = OFFSET_INT_LENGTH;
+        for (int i = 0; i < HASH_LENGTH; ) {
+            // the quotient shrinks with every division, so its leading zero limbs can be skipped
+            while (length > 0 && limbs[length - 1] == 0) {
+                length--;
+            }
+            int remainder = divideByMaxPower(limbs, length);
+            for (int count = 0; count < MAX_POWERS_INT && i < HASH_LENGTH; count++) {
+                destination[offset + i++] = (byte) (remainder % Converter.RADIX - 1);
+                remainder /= Converter.RADIX;
+            }
+        }
+    }
+
+    /**
+     * Multiplies the little endian limbs by a factor below 2^31 and adds a value below 2^31.
+     */
+    private static void multiplyAdd(final int[] limbs, final int length, final long factor, final long summand) {
+        long carry = summand;
+        for (int i = 0; i < length; i++) {
+            long product = (limbs[i] & INT_MASK) * factor + carry;
+            limbs[i] = (int) product;
+            carry = product >>> Integer.SIZE;
+        }
+    }
+
+    /**
+     * Divides the little endian limbs by 3^19. The divisor is a constant, so the JIT can replace the divisions by
+     * multiplications.
+     *
+     * @return the remainder of the division
+     */
+    private static int divideByMaxPower(final int[] limbs, final int length) {
+        long remainder = 0;
+        for (int i = length; i-- > 0; ) {
+            long dividend = (remainder << Integer.SIZE) | (limbs[i] & INT_MASK);
+            long quotient = dividend / MAX_POWER_INT;
+            limbs[i] = (int) quotient;
+            remainder = dividend - quotient * MAX_POWER_INT;
+        }
+        return (int) remainder;
+    }
+
+    /**
+     * Computes the value of the given amount of trits that are all set to 1.
+     */
+    private static int[] offsetOfTrits(final int size, final int length) {
+        int[] limbs = new int[length];
+        for (int i = 0; i < size; i++) {
+            multiplyAdd(limbs, length, Converter.RADIX, 1);
+        }
+        return limbs;
+    }
+
+    // BigInteger based converters, the reference the limb based converters are verified against
+
     static BigInteger bigIntFromTrits(final byte[] trits, final int offset, final int size) {
         for (int i = offset; i < offset + size; i++) {
             if (trits[i] < -1 || trits[i] > 1) {
@@ -3,9 +3,11 @@ package com.iota.iri.model.persistables;
 import com.iota.iri.model.Hash;
 import com.iota.iri.model.HashFactory;
 import com.iota.iri.storage.Persistable;
-import org.apache.commons.lang3.ArrayUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -18,6 +20,13 @@ import java.util.Set;
  *     including the <tt>Address</tt>, <tt>Tag</tt>, <tt>Branch</tt> and <tt>Trunk</tt>
  *     transaction components.
  * </p>
+ * <p>
+ *     The hashes are stored as fixed-width entries of {@link #ENTRY_SIZE} bytes: the hash followed by the delimiter
+ *     which the append merge operator of the database puts between two merged values. New hashes are therefore
+ *     appended to the stored entries with a merge instead of reading and rewriting the whole set. Since every entry
+ *     starts at a multiple of {@link #ENTRY_SIZE}, a range of entries can be read without decoding the others, see
+ *     {@link #read(byte[], int, int, int)}.
+ * </p>
  */
 public class Hashes implements Persistable {
 
@@ -27,13 +36,26 @@ public class Hashes implements Persistable {
     /**A delimeter for separating hashes within a byte stream*/
     private static final byte delimiter = ",".getBytes()[0];
 
+    /**The size of a stored entry, the hash and the delimiter that follows it (the last entry has no delimiter)*/
+    public static final int ENTRY_SIZE = Hash.SIZE_IN_BYTES + 1;
+
     /**Returns the bytes of the contained hash set*/
     @Override
     public byte[] bytes() {
-        return set.parallelStream()
-                .map(Hash::bytes)
-                .reduce((a,b) -> ArrayUtils.addAll(ArrayUtils.add(a, delimiter), b))
-                .orElse(new byte[0]);
+        if (set.isEmpty()) {
+            return new byte[0];
+        }
+
+        byte[] bytes = new byte[set.size() * ENTRY_SIZE - 1];
+        int offset = 0;
+        for (Hash hash : set) {
+            if (offset > 0) {
+                bytes[offset - 1] = delimiter;
+            }
+            System.arraycopy(hash.bytes(), 0, bytes, offset, Hash.SIZE_IN_BYTES);
+            offset += ENTRY_SIZE;
+        }
+        return bytes;
     }
 
     /**
@@ -45,13 +67,48 @@ public class Hashes implements Persistable {
     @Override
     public void read(byte[] bytes) {
         if(bytes != null) {
-            set = new LinkedHashSet<>(bytes.length / (1 + Hash.SIZE_IN_BYTES) + 1);
-            for (int i = 0; i < bytes.length; i += 1 + Hash.SIZE_IN_BYTES) {
+            set = new LinkedHashSet<>(bytes.length / ENTRY_SIZE + 1);
+            for (int i = 0; i < bytes.length; i += ENTRY_SIZE) {
                 set.add(HashFactory.TRANSACTION.create(bytes, i, Hash.SIZE_IN_BYTES));
             }
         }
     }
 
+    /**
+     * Gets the amount of entries in stored bytes of the given length. A hash that was merged more than once is
+     * counted once per merge.
+     *
+     * @param length the length of the stored bytes
+     * @return the amount of stored entries
+     */
+    public static int count(int length) {
+        return length <= 0 ? 0 : (length + 1) / ENTRY_SIZE;
+    }
+
+    /**
+     * Reads a range of entries from stored bytes without decoding the entries before or after it. The bytes may only
+     * hold the beginning of the stored value, entries which are not completely contained are not read.
+     *
+     * @param bytes the stored bytes
+     * @param length the amount of valid bytes in the array
+     * @param offset the amount of entries to skip
+     * @param limit the maximum amount of entries to read
+     * @return the hashes of the entries in stored order, an empty list if there are no entries in the range
+     */
+    public static List<Hash> read(byte[] bytes, int length, int offset, int limit) {
+        if (bytes == null || offset < 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        int end = Math.min(Math.min(length, bytes.length), (int) Math.min(Integer.MAX_VALUE,
+                ((long) offset + limit) * ENTRY_SIZE));
+        List<Hash> hashes = new ArrayList<>();
+        for (long i = (long) offset * ENTRY_SIZE; i + Hash.SIZE_IN_BYTES <= end; i += ENTRY_SIZE) {
+            hashes.add(HashFactory.TRANSACTION.create(bytes, (int) i, Hash.SIZE_IN_BYTES));
+        }
+        return hashes;
+    }
+
     @Override
     public byte[] metadata() {
         return new byte[0];
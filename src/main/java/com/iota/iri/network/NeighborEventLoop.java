@@ -0,0 +1,280 @@
+package com.iota.iri.network;
+
+import com.iota.iri.network.neighbor.Neighbor;
+import com.iota.iri.network.neighbor.NeighborState;
+import com.iota.iri.network.neighbor.impl.NeighborImpl;
+import com.iota.iri.network.pipeline.TransactionProcessingPipeline;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * A selector loop which reads from and writes to the neighbors which were handed over to it by the
+ * {@link NeighborRouterImpl}. Every loop runs on its own thread with its own {@link Selector}, so that the I/O of
+ * many neighbors is spread over several cores.
+ * </p>
+ * <p>
+ * The loop only handles neighbors which are ready for messages. Accepting, connecting, handshaking and reconnecting
+ * stays with the router, the loop hands a neighbor back to it via {@link ConnectionCloser} once its connection has to
+ * be closed.
+ * </p>
+ */
+class NeighborEventLoop implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(NeighborEventLoop.class);
+
+    /**
+     * Closes the connection of a neighbor which was removed from an event loop.
+     */
+    interface ConnectionCloser {
+
+        /**
+         * Closes the connection of the given neighbor.
+         *
+         * @param channel   the channel of the neighbor
+         * @param neighbor  the neighbor whose connection is closed
+         * @param reconnect whether the neighbor should be added to the reconnect pool
+         */
+        void close(SocketChannel channel, Neighbor neighbor, boolean reconnect);
+    }
+
+    /**
+     * A neighbor which waits to be registered with the selector of the loop.
+     */
+    private static class Registration {
+
+        private final SocketChannel channel;
+        private final NeighborImpl<?> neighbor;
+
+        private Registration(SocketChannel channel, NeighborImpl<?> neighbor) {
+            this.channel = channel;
+            this.neighbor = neighbor;
+        }
+    }
+
+    private final Selector selector;
+    private final TransactionProcessingPipeline txPipeline;
+    private final ConnectionCloser connectionCloser;
+    private final NeighborEventLoopMetrics metrics;
+
+    private final Queue<Registration> registrations = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean shutdown;
+
+    /**
+     * whether the loop stopped, either because it was shut down or because of an error.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * whether reading from the neighbors is paused because the transaction processing pipeline is saturated. only
+     * accessed by the loop.
+     */
+    private boolean readsPaused;
+
+    /**
+     * Creates a new {@link NeighborEventLoop}.
+     *
+     * @param name             the name of the loop
+     * @param selector         the selector used by the loop
+     * @param txPipeline       the transaction processing pipeline which is checked for saturation
+     * @param connectionCloser closes the connections of neighbors which are removed from the loop
+     */
+    NeighborEventLoop(String name, Selector selector, TransactionProcessingPipeline txPipeline,
+            ConnectionCloser connectionCloser) {
+        this.selector = selector;
+        this.txPipeline = txPipeline;
+        this.connectionCloser = connectionCloser;
+        this.metrics = new NeighborEventLoopMetrics(name);
+    }
+
+    /**
+     * Hands the given neighbor over to this loop. The channel must no longer be registered with any other selector
+     * which reads from or writes to it.
+     *
+     * @param channel  the channel of the neighbor
+     * @param neighbor the neighbor which is ready for messages
+     */
+    void register(SocketChannel channel, NeighborImpl<?> neighbor) {
+        Registration registration = new Registration(channel, neighbor);
+        metrics.addNeighbors(1);
+        registrations.offer(registration);
+        // the loop takes its registrations one last time after it stopped, the ones that came later are handed back
+        if (stopped && registrations.remove(registration)) {
+            metrics.addNeighbors(-1);
+            connectionCloser.close(channel, neighbor, !shutdown);
+            return;
+        }
+        selector.wakeup();
+    }
+
+    /**
+     * Stops the loop and closes the connections of all its neighbors.
+     */
+    void shutdown() {
+        shutdown = true;
+        selector.wakeup();
+    }
+
+    /**
+     * @return <code>false</code> if the loop stopped and doesn't take new neighbors anymore
+     */
+    boolean isRunning() {
+        return !stopped;
+    }
+
+    /**
+     * @return the metrics of the loop
+     */
+    NeighborEventLoopMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void run() {
+        log.info("starting neighbor event loop {}", metrics.getName());
+        try {
+            while (!shutdown) {
+                selector.select(readsPaused ? NeighborRouterImpl.PIPELINE_SATURATION_CHECK_INTERVAL_MS : 0);
+                if (shutdown) {
+                    break;
+                }
+
+                registerNewNeighbors();
+
+                boolean pipelineSaturated = txPipeline.isSaturated();
+                if (readsPaused && !pipelineSaturated) {
+                    NeighborRouterImpl.resumeReads(selector);
+                }
+                readsPaused = pipelineSaturated;
+
+                Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                while (iterator.hasNext()) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+                    long start = System.nanoTime();
+                    handleKey(key);
+                    metrics.recordEvent(System.nanoTime() - start);
+                }
+            }
+        } catch (IOException e) {
+            log.error("error occurred in the neighbor event loop {}", metrics.getName(), e);
+        } finally {
+            stopped = true;
+            closeAll();
+            log.info("neighbor event loop {} stopped", metrics.getName());
+        }
+    }
+
+    /**
+     * Registers the neighbors which were handed over since the last selection. The write interest is always
+     * registered, as messages might have been queued for the neighbor while it was handed over.
+     */
+    private void registerNewNeighbors() {
+        Registration registration;
+        while ((registration = registrations.poll()) != null) {
+            try {
+                registration.channel.register(selector, SelectionKey.OP_READ | SelectionKey.OP_WRITE,
+                        registration.neighbor);
+                registration.neighbor.setSelector(selector);
+            } catch (ClosedChannelException e) {
+                metrics.addNeighbors(-1);
+                connectionCloser.close(registration.channel, registration.neighbor, false);
+            }
+        }
+    }
+
+    /**
+     * Writes the queued messages of the neighbor and reads from it, depending on the readiness of its channel. The
+     * neighbor is removed from the loop if it was marked for disconnect or its connection failed.
+     *
+     * @param key the selected key of the neighbor
+     */
+    private void handleKey(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        Neighbor neighbor = (Neighbor) key.attachment();
+        if (neighbor.getState() == NeighborState.MARKED_FOR_DISCONNECT) {
+            remove(key, neighbor, false);
+            return;
+        }
+
+        try {
+            if (key.isWritable()) {
+                int written = NeighborRouterImpl.write(key, neighbor);
+                if (written == -1) {
+                    remove(key, neighbor, false);
+                    return;
+                }
+                metrics.recordWritten(written);
+            }
+
+            if (key.isReadable()) {
+                if (readsPaused) {
+                    // leave the data in the socket's receive buffer, so that TCP slows down the neighbor
+                    NeighborRouterImpl.removeInterest(key, SelectionKey.OP_READ);
+                    return;
+                }
+                int read = neighbor.read();
+                if (read == -1) {
+                    remove(key, neighbor, false);
+                    return;
+                }
+                metrics.recordRead(read);
+            }
+        } catch (IOException ex) {
+            log.warn("unable to read from or write to neighbor {}. reason: {}", neighbor.getHostAddressAndPort(),
+                    ex.getMessage());
+            remove(key, neighbor, true);
+        }
+    }
+
+    private void remove(SelectionKey key, Neighbor neighbor, boolean reconnect) {
+        key.cancel();
+        metrics.addNeighbors(-1);
+        connectionCloser.close((SocketChannel) key.channel(), neighbor, reconnect);
+    }
+
+    /**
+     * Closes the selector of the loop. If the loop stopped because of an error, its neighbors are handed back to be
+     * reconnected, otherwise their channels are simply closed.
+     */
+    private void closeAll() {
+        if (!selector.isOpen()) {
+            return;
+        }
+        registerNewNeighbors();
+        for (SelectionKey key : selector.keys()) {
+            if (!key.isValid()) {
+                continue;
+            }
+            if (shutdown) {
+                try {
+                    key.channel().close();
+                } catch (IOException e) {
+                    log.error("error while closing connection: {}", e.getMessage());
+                }
+            } else {
+                remove(key, (Neighbor) key.attachment(), true);
+            }
+        }
+        metrics.setNeighbors(0);
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.error("error occurred while trying to close the selector of neighbor event loop {}",
+                    metrics.getName(), e);
+        }
+    }
+}
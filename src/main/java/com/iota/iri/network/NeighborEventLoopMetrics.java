@@ -0,0 +1,118 @@
+package com.iota.iri.network;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the amount of neighbors, the handled I/O events and the transferred bytes of a selector loop of the
+ * {@link NeighborRouterImpl}.
+ */
+public class NeighborEventLoopMetrics {
+
+    private final String name;
+
+    private final AtomicInteger neighbors = new AtomicInteger();
+    private final LongAdder events = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder processingTimeNanos = new LongAdder();
+
+    /**
+     * Creates the metrics of a selector loop.
+     *
+     * @param name the name of the loop
+     */
+    public NeighborEventLoopMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a handled I/O event of a channel.
+     *
+     * @param nanos the time it took to handle the event in nanoseconds
+     */
+    public void recordEvent(long nanos) {
+        events.increment();
+        processingTimeNanos.add(nanos);
+    }
+
+    /**
+     * Records bytes which were read from a neighbor.
+     *
+     * @param bytes the amount of read bytes
+     */
+    public void recordRead(long bytes) {
+        bytesRead.add(bytes);
+    }
+
+    /**
+     * Records bytes which were written to a neighbor.
+     *
+     * @param bytes the amount of written bytes
+     */
+    public void recordWritten(long bytes) {
+        bytesWritten.add(bytes);
+    }
+
+    /**
+     * Sets the amount of neighbors which are handled by the loop.
+     *
+     * @param count the amount of neighbors
+     */
+    public void setNeighbors(int count) {
+        neighbors.set(count);
+    }
+
+    /**
+     * Adds the given delta to the amount of neighbors which are handled by the loop.
+     *
+     * @param delta the amount of added (positive) or removed (negative) neighbors
+     */
+    public void addNeighbors(int delta) {
+        neighbors.addAndGet(delta);
+    }
+
+    /**
+     * @return the name of the loop
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the amount of neighbors which are handled by the loop
+     */
+    public int getNeighbors() {
+        return neighbors.get();
+    }
+
+    /**
+     * @return the amount of I/O events handled by the loop
+     */
+    public long getEventCount() {
+        return events.sum();
+    }
+
+    /**
+     * @return the amount of bytes read from neighbors by the loop
+     */
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    /**
+     * @return the amount of bytes written to neighbors by the loop
+     */
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     * @return the average time it took the loop to handle an I/O event in microseconds
+     */
+    public long getAverageProcessingTimeMicros() {
+        long count = events.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(processingTimeNanos.sum() / count);
+    }
+}
@@ -6,6 +6,7 @@ import com.iota.iri.network.neighbor.Neighbor;
 import com.iota.iri.network.pipeline.TransactionProcessingPipeline;
 import com.iota.iri.network.pipeline.TransactionProcessingPipelineImpl;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 
@@ -76,6 +77,15 @@ public interface NeighborRouter {
      */
     Map<String, Neighbor> getConnectedNeighbors();
 
+    /**
+     * Gets the metrics of the selector loops which handle the neighbors. The first entry belongs to the loop which
+     * manages the connections, followed by the event loops set up by
+     * {@link BaseIotaConfig#getNeighboringEventLoopThreads()}.
+     *
+     * @return the metrics of the selector loops
+     */
+    List<NeighborEventLoopMetrics> getEventLoopMetrics();
+
     /**
      * Gossips the given transaction to the given neighbor.
      *
@@ -96,6 +106,18 @@ public interface NeighborRouter {
     void gossipTransactionTo(Neighbor neighbor, TransactionViewModel tvm, boolean useHashOfTVM)
             throws Exception;
 
+    /**
+     * Gossips the given transaction to the given neighbor, using a gossip packet body which was already encoded by
+     * {@link com.iota.iri.network.protocol.Protocol#createTransactionGossipBody(TransactionViewModel)}. This allows to
+     * broadcast a transaction to several neighbors while truncating and serializing it only once.
+     *
+     * @param neighbor   The {@link Neighbor} to gossip the transaction to
+     * @param tvm        The transaction to gossip
+     * @param gossipBody The shared body of the gossip packet of the transaction, it is not modified
+     * @throws Exception thrown when loading a hash of transaction to request fails
+     */
+    void gossipTransactionTo(Neighbor neighbor, TransactionViewModel tvm, ByteBuffer gossipBody) throws Exception;
+
     /**
      * Shut downs the {@link NeighborRouter} and all currently open connections.
      */
@@ -40,6 +40,11 @@ public class NeighborRouterImpl implements NeighborRouter {
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
     private static final SecureRandom rnd = new SecureRandom();
+
+    /**
+     * the interval in which the selector loop checks whether the transaction processing pipeline is still saturated
+     */
+    static final long PIPELINE_SATURATION_CHECK_INTERVAL_MS = 10;
     private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "Neighbor Router"));
 
     // external
@@ -52,6 +57,25 @@ public class NeighborRouterImpl implements NeighborRouter {
     private Selector selector;
     private ServerSocketChannel serverSocketChannel;
 
+    /**
+     * the metrics of the selector loop which manages the connections. it also reads from and writes to the neighbors
+     * if no event loops are used.
+     */
+    private final NeighborEventLoopMetrics routerLoopMetrics = new NeighborEventLoopMetrics("router");
+
+    /**
+     * the event loops which read from and write to the neighbors once their handshake is finished. empty if the
+     * neighbors are handled by the selector loop of the router itself.
+     */
+    private volatile List<NeighborEventLoop> eventLoops = Collections.emptyList();
+    private ExecutorService eventLoopExecutor;
+
+    /**
+     * tasks which are executed by the selector loop of the router, used by the event loops to hand back neighbors
+     * whose connection has to be closed.
+     */
+    private final Queue<Runnable> routerLoopTasks = new ConcurrentLinkedQueue<>();
+
     /**
      * a mapping of host address + port (identity) to fully handshaked/connected neighbor
      */
@@ -98,6 +122,12 @@ public class NeighborRouterImpl implements NeighborRouter {
      */
     private byte[] byteEncodedCooAddress;
 
+    /**
+     * whether reading from the neighbors is paused because the transaction processing pipeline is saturated. only
+     * accessed by the selector loop.
+     */
+    private boolean readsPaused;
+
     /**
      * Creates a {@link NeighborRouterImpl}.
      *
@@ -155,6 +185,8 @@ public class NeighborRouterImpl implements NeighborRouter {
             serverSocketChannel.socket().bind(tcpBindAddr);
             log.info("bound server TCP socket to {}", tcpBindAddr);
 
+            startEventLoops(networkConfig.getNeighboringEventLoopThreads());
+
             // parse neighbors from configuration
             initNeighbors();
 
@@ -168,11 +200,22 @@ public class NeighborRouterImpl implements NeighborRouter {
                     .toMillis(networkConfig.getReconnectAttemptIntervalSeconds());
 
             while (!shutdown.get()) {
-                selector.select(reconnectAttemptTimeout);
+                selector.select(readsPaused ? PIPELINE_SATURATION_CHECK_INTERVAL_MS : reconnectAttemptTimeout);
                 if (shutdown.get()) {
                     break;
                 }
 
+                Runnable task;
+                while ((task = routerLoopTasks.poll()) != null) {
+                    task.run();
+                }
+
+                boolean pipelineSaturated = txPipeline.isSaturated();
+                if (readsPaused && !pipelineSaturated) {
+                    resumeReads(selector);
+                }
+                readsPaused = pipelineSaturated;
+
                 // reinitialize connections to wanted neighbors
                 long now = System.currentTimeMillis();
                 if (forceReconnectAttempt.get() || now - lastReconnectAttempts > reconnectAttemptTimeout) {
@@ -183,6 +226,7 @@ public class NeighborRouterImpl implements NeighborRouter {
 
                 Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
                 while (iterator.hasNext()) {
+                    long start = System.nanoTime();
                     try {
                         SelectionKey key = iterator.next();
 
@@ -213,17 +257,28 @@ public class NeighborRouterImpl implements NeighborRouter {
                         }
 
                         if (key.isReadable()) {
+                            if (readsPaused && neighbor.getState() == NeighborState.READY_FOR_MESSAGES) {
+                                // leave the data in the socket's receive buffer, so that TCP slows down the neighbor
+                                removeInterest(key, SelectionKey.OP_READ);
+                                continue;
+                            }
                             handleRead(channel, identity, neighbor);
                         }
 
                     } finally {
                         iterator.remove();
+                        routerLoopMetrics.recordEvent(System.nanoTime() - start);
                     }
                 }
+
+                // all valid keys except the one of the server socket belong to neighbors
+                routerLoopMetrics.setNeighbors(
+                        (int) selector.keys().stream().filter(SelectionKey::isValid).count() - 1);
             }
         } catch (IOException e) {
             log.error("error occurred in the neighbor router", e);
         } finally {
+            stopEventLoops();
             try {
                 if (selector != null) {
                     // close all connections
@@ -242,6 +297,86 @@ public class NeighborRouterImpl implements NeighborRouter {
         }
     }
 
+    /**
+     * Starts the given amount of event loops, each with its own {@link Selector} and thread. Neighbors are handed over
+     * to the event loops once their handshake is finished.
+     *
+     * @param threads the amount of event loops to start, no event loop is started if it is not positive
+     * @throws IOException thrown when opening a {@link Selector} fails
+     */
+    private void startEventLoops(int threads) throws IOException {
+        if (threads <= 0) {
+            return;
+        }
+        List<NeighborEventLoop> loops = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            loops.add(new NeighborEventLoop("event-loop-" + (i + 1), Selector.open(), txPipeline,
+                    this::closeHandedOverConnection));
+        }
+        eventLoopExecutor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private int created;
+
+            @Override
+            public Thread newThread(Runnable r) {
+                return new Thread(r, "Neighbor Event Loop " + ++created);
+            }
+        });
+        loops.forEach(eventLoopExecutor::execute);
+        eventLoops = Collections.unmodifiableList(loops);
+        log.info("started {} neighbor event loops", threads);
+    }
+
+    private void stopEventLoops() {
+        eventLoops.forEach(NeighborEventLoop::shutdown);
+        if (eventLoopExecutor != null) {
+            eventLoopExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Hands the given neighbor over to the running event loop with the fewest neighbors. The neighbor stays with the
+     * selector loop of the router if no event loops are used or all of them stopped because of an error.
+     *
+     * @param channel  the channel of the neighbor
+     * @param neighbor the neighbor which finished its handshake
+     */
+    private void handOverToEventLoop(SocketChannel channel, Neighbor neighbor) {
+        NeighborEventLoop eventLoop = eventLoops.stream()
+                .filter(NeighborEventLoop::isRunning)
+                .min(Comparator.comparingInt(loop -> loop.getMetrics().getNeighbors()))
+                .orElse(null);
+        if (eventLoop == null) {
+            return;
+        }
+        channel.keyFor(selector).cancel();
+        eventLoop.register(channel, (NeighborImpl<?>) neighbor);
+    }
+
+    /**
+     * Closes the connection of a neighbor which was removed from an event loop. The connection is closed by the
+     * selector loop of the router, which is the only thread modifying the connected neighbors and the reconnect pool.
+     *
+     * @param channel   the channel of the neighbor
+     * @param neighbor  the neighbor whose connection is closed
+     * @param reconnect whether the neighbor should be added to the reconnect pool
+     */
+    private void closeHandedOverConnection(SocketChannel channel, Neighbor neighbor, boolean reconnect) {
+        routerLoopTasks.offer(() -> {
+            String identity = neighbor.getHostAddressAndPort();
+            if (neighbor.getState() == NeighborState.MARKED_FOR_DISCONNECT) {
+                allowedNeighbors.remove(identity);
+                closeNeighborConnection(channel, identity, selector);
+                removeFromReconnectPool(neighbor);
+                return;
+            }
+            closeNeighborConnection(channel, identity, selector);
+            if (reconnect) {
+                addToReconnectPool(neighbor);
+            }
+        });
+        selector.wakeup();
+    }
+
     /**
      * Handles a new incoming connection and if it passes some initial conditions (via
      * {@link NeighborRouterImpl#okToConnect(String, SocketChannel)}), will start the handshaking process by placing a
@@ -264,7 +399,8 @@ public class NeighborRouterImpl implements NeighborRouter {
             }
             configureSocket(newConn);
             Neighbor newNeighbor = new NeighborImpl<>(selector, newConn, remoteAddr.getAddress().getHostAddress(),
-                    Neighbor.UNKNOWN_REMOTE_SERVER_SOCKET_PORT, txPipeline);
+                    Neighbor.UNKNOWN_REMOTE_SERVER_SOCKET_PORT, txPipeline,
+                    networkConfig.getNeighborSendQueueLimitBytes());
             String domain = ipToDomainMapping.get(remoteAddr.getAddress().getHostAddress());
             if (domain != null) {
                 newNeighbor.setDomain(domain);
@@ -354,12 +490,10 @@ public class NeighborRouterImpl implements NeighborRouter {
      */
     private boolean handleWrite(SocketChannel channel, SelectionKey key, String identity, Neighbor neighbor) {
         try {
-            switch (neighbor.write()) {
+            int written = write(key, neighbor);
+            switch (written) {
                 case 0:
                     // nothing was written, because no message was available to be sent.
-                    // lets unregister this channel from write interests until at least
-                    // one message is back available for sending.
-                    key.interestOps(SelectionKey.OP_READ);
                     break;
                 case -1:
                     if (neighbor.getState() == NeighborState.HANDSHAKING) {
@@ -371,6 +505,7 @@ public class NeighborRouterImpl implements NeighborRouter {
                     return false;
                 default:
                     // bytes were written to the channel
+                    routerLoopMetrics.recordWritten(written);
             }
             return true;
         } catch (IOException ex) {
@@ -381,6 +516,69 @@ public class NeighborRouterImpl implements NeighborRouter {
         return false;
     }
 
+    /**
+     * Writes the next queued message of the given neighbor. If no message was available, the key is de-registered
+     * from write interests until the neighbor registers it again once a message is sent. As a message could have been
+     * queued right before the write interest was removed, the neighbor is asked to write once more afterwards.
+     *
+     * @param key      the selection key of the neighbor
+     * @param neighbor the neighbor to write to
+     * @return the amount of written bytes or -1 if the channel is closed
+     * @throws IOException thrown when writing to the channel fails
+     */
+    static int write(SelectionKey key, Neighbor neighbor) throws IOException {
+        int written = neighbor.write();
+        if (written != 0) {
+            return written;
+        }
+        removeInterest(key, SelectionKey.OP_WRITE);
+        written = neighbor.write();
+        if (written > 0) {
+            addInterest(key, SelectionKey.OP_WRITE);
+        }
+        return written;
+    }
+
+    /**
+     * Adds the given operations to the interest set of the key. Neighbors add the write interest from other threads
+     * when a message is sent, hence the interest set is only changed while holding the lock of the key.
+     *
+     * @param key the key to change
+     * @param ops the operations to add
+     */
+    static void addInterest(SelectionKey key, int ops) {
+        synchronized (key) {
+            key.interestOps(key.interestOps() | ops);
+        }
+    }
+
+    /**
+     * Removes the given operations from the interest set of the key, see {@link #addInterest(SelectionKey, int)}.
+     *
+     * @param key the key to change
+     * @param ops the operations to remove
+     */
+    static void removeInterest(SelectionKey key, int ops) {
+        synchronized (key) {
+            key.interestOps(key.interestOps() & ~ops);
+        }
+    }
+
+    /**
+     * Registers the read interest of all neighbors of the given selector again, which was removed while the
+     * transaction processing pipeline was saturated.
+     *
+     * @param selector the selector whose neighbors should be read from again
+     */
+    static void resumeReads(Selector selector) {
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid() && key.attachment() instanceof Neighbor
+                    && ((Neighbor) key.attachment()).getState() == NeighborState.READY_FOR_MESSAGES) {
+                addInterest(key, SelectionKey.OP_READ);
+            }
+        }
+    }
+
     /**
      * <p>
      * Handles the read readiness by the given channel by reading from the channel's receive buffer.
@@ -398,13 +596,19 @@ public class NeighborRouterImpl implements NeighborRouter {
         try {
             switch (neighbor.getState()) {
                 case READY_FOR_MESSAGES:
-                    if (neighbor.read() == -1) {
+                    int read = neighbor.read();
+                    if (read == -1) {
                         closeNeighborConnection(channel, identity, selector);
                         return false;
                     }
+                    routerLoopMetrics.recordRead(read);
                     break;
                 case HANDSHAKING:
-                    if (finalizeHandshake(identity, neighbor, channel) && availableNeighborSlotsFilled()) {
+                    if (!finalizeHandshake(identity, neighbor, channel)) {
+                        break;
+                    }
+                    handOverToEventLoop(channel, neighbor);
+                    if (availableNeighborSlotsFilled()) {
                         // if all known neighbors or max neighbors are connected we are
                         // no longer interested in any incoming connections
                         // (as long as no neighbor dropped the connection)
@@ -671,7 +875,7 @@ public class NeighborRouterImpl implements NeighborRouter {
         configureSocket(tcpChannel);
         tcpChannel.connect(addr);
         Neighbor neighbor = new NeighborImpl<>(selector, tcpChannel, addr.getAddress().getHostAddress(), addr.getPort(),
-                txPipeline);
+                txPipeline, networkConfig.getNeighborSendQueueLimitBytes());
         neighbor.setDomain(addr.getHostString());
         tcpChannel.register(selector, SelectionKey.OP_CONNECT, neighbor);
     }
@@ -909,9 +1113,29 @@ public class NeighborRouterImpl implements NeighborRouter {
         neighbor.getMetrics().incrSentTransactionsCount();
     }
 
+    @Override
+    public void gossipTransactionTo(Neighbor neighbor, TransactionViewModel tvm, ByteBuffer gossipBody)
+            throws Exception {
+        Hash hash = txRequester.transactionToRequest();
+        byte[] requestedHash = hash != null ? hash.bytes() : tvm.getHash().bytes();
+
+        neighbor.send(Protocol.createTransactionGossipPacket(gossipBody, requestedHash));
+        // tx might actually not be sent, we are merely putting it into the send queue
+        neighbor.getMetrics().incrSentTransactionsCount();
+    }
+
+    @Override
+    public List<NeighborEventLoopMetrics> getEventLoopMetrics() {
+        List<NeighborEventLoopMetrics> metrics = new ArrayList<>();
+        metrics.add(routerLoopMetrics);
+        eventLoops.forEach(loop -> metrics.add(loop.getMetrics()));
+        return metrics;
+    }
+
     @Override
     public void shutdown() {
         shutdown.set(true);
         executor.shutdownNow();
+        stopEventLoops();
     }
 }
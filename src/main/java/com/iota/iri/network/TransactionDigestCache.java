@@ -0,0 +1,265 @@
+package com.iota.iri.network;
+
+import com.iota.iri.model.Hash;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * The {@link TransactionDigestCache} maps the digests of recently seen transaction bytes (see
+ * {@link TransactionCacheDigester}) to the hashes of the transactions. Once the capacity is reached, the oldest entries
+ * are removed first.
+ *
+ * <p>
+ * The cache is split into segments which are selected by the digest. Each segment keeps its entries in an open
+ * addressing table of primitive <code>long</code> keys and remembers the order of insertion in a ring buffer. Lookups
+ * are optimistic reads which don't block and don't write to shared memory, insertions only lock the segment of the
+ * digest. The hit and miss counters are striped, so that concurrent lookups don't contend on them.
+ * </p>
+ * <p>
+ * The digest <code>0</code> marks empty slots and is never cached.
+ * </p>
+ */
+public class TransactionDigestCache {
+
+    private static final long EMPTY = 0;
+
+    /**
+     * Amount of segments, must be a power of two.
+     */
+    private static final int SEGMENTS = 16;
+    private static final int SEGMENT_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(SEGMENTS);
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    /**
+     * Creates a new {@link TransactionDigestCache}.
+     *
+     * @param capacity the maximum amount of entries in the cache
+     */
+    public TransactionDigestCache(int capacity) {
+        int segmentCapacity = capacity > 0 ? (capacity + SEGMENTS - 1) / SEGMENTS : 0;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Gets the hash of the transaction with the given digest.
+     *
+     * @param digest the digest of the transaction bytes
+     * @return the hash of the transaction or <code>null</code> if it is not cached
+     */
+    public Hash get(long digest) {
+        Hash hash = digest == EMPTY ? null : segmentFor(digest).get(digest);
+        if (hash == null) {
+            cacheMisses.increment();
+        } else {
+            cacheHits.increment();
+        }
+        return hash;
+    }
+
+    /**
+     * Adds the hash of the transaction with the given digest. If the digest is already cached, the existing entry is
+     * kept as it is.
+     *
+     * @param digest the digest of the transaction bytes
+     * @param hash   the hash of the transaction
+     */
+    public void put(long digest, Hash hash) {
+        if (digest != EMPTY) {
+            segmentFor(digest).put(digest, hash);
+        }
+    }
+
+    /**
+     * Gets the amount of cached entries.
+     *
+     * @return amount of cached entries
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the amount of cache hits.
+     *
+     * @return amount of cache hits
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Gets the amount of cache misses.
+     *
+     * @return amount of cache misses
+     */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * Resets the cache hits and misses stats back to 0.
+     */
+    public void resetCacheStats() {
+        cacheHits.reset();
+        cacheMisses.reset();
+    }
+
+    private Segment segmentFor(long digest) {
+        return segments[(int) (mix(digest) >>> SEGMENT_SHIFT)];
+    }
+
+    /**
+     * Spreads the bits of the digest, so that digests which only differ in a few bits don't end up in neighboring
+     * slots (finalizer of MurmurHash3).
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /**
+     * A part of the cache with its own lock. The table uses linear probing and entries are removed by shifting the
+     * following entries of their probe sequence back, so that no tombstones are needed.
+     */
+    private static class Segment {
+
+        private final StampedLock lock = new StampedLock();
+        private final long[] keys;
+        private final Hash[] values;
+        private final int mask;
+
+        /**
+         * The keys in the order they were inserted, {@link #ringHead} points to the oldest one once the ring is full.
+         */
+        private final long[] ring;
+        private int ringHead;
+        private int size;
+
+        private Segment(int capacity) {
+            int tableSize = capacity > 0 ? Integer.highestOneBit(capacity * 2 - 1) << 1 : 1;
+            keys = new long[tableSize];
+            values = new Hash[tableSize];
+            mask = tableSize - 1;
+            ring = new long[capacity];
+        }
+
+        private Hash get(long key) {
+            long stamp = lock.tryOptimisticRead();
+            Hash value = find(key);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    value = find(key);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return value;
+        }
+
+        private void put(long key, Hash value) {
+            if (ring.length == 0) {
+                return;
+            }
+            long stamp = lock.writeLock();
+            try {
+                if (slotOf(key) != -1) {
+                    return;
+                }
+                if (size == ring.length) {
+                    remove(ring[ringHead]);
+                }
+
+                int slot = indexFor(key);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = value;
+
+                ring[ringHead] = key;
+                ringHead = (ringHead + 1) % ring.length;
+                size++;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Looks up the value of the key. May be called without holding the lock, in which case the result has to be
+         * validated, so the probing is bounded by the table size.
+         */
+        private Hash find(long key) {
+            int slot = indexFor(key);
+            for (int i = 0; i <= mask; i++) {
+                long current = keys[slot];
+                if (current == key) {
+                    return values[slot];
+                }
+                if (current == EMPTY) {
+                    return null;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private int slotOf(long key) {
+            int slot = indexFor(key);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void remove(long key) {
+            int hole = slotOf(key);
+            if (hole == -1) {
+                return;
+            }
+
+            // move back every following entry of the cluster which may be stored at the position of the hole
+            for (int slot = (hole + 1) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                int home = indexFor(keys[slot]);
+                if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                    keys[hole] = keys[slot];
+                    values[hole] = values[slot];
+                    hole = slot;
+                }
+            }
+            keys[hole] = EMPTY;
+            values[hole] = null;
+            size--;
+        }
+
+        private int indexFor(long key) {
+            return (int) mix(key) & mask;
+        }
+    }
+}
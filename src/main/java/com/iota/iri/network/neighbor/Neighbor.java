@@ -54,6 +54,14 @@ public interface Neighbor {
      */
     void send(ByteBuffer buf);
 
+    /**
+     * Instructs the {@link Neighbor} to send the given buffers as one message to its destination channel. The buffers
+     * are written in order, so a message can be made up from parts which are shared with other messages.
+     *
+     * @param packet the {@link ByteBuffer}s containing the parts of the message to send
+     */
+    void send(ByteBuffer[] packet);
+
     /**
      * Gets the host address.
      * 
@@ -1,5 +1,6 @@
 package com.iota.iri.network.neighbor.impl;
 
+import com.iota.iri.conf.BaseIotaConfig;
 import com.iota.iri.network.neighbor.Neighbor;
 import com.iota.iri.network.neighbor.NeighborMetrics;
 import com.iota.iri.network.neighbor.NeighborState;
@@ -13,8 +14,10 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.*;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * {@link NeighborImpl} is an implementation of {@link Neighbor} using a {@link ByteChannel} as the source and
@@ -26,6 +29,17 @@ public class NeighborImpl<T extends SelectableChannel & ByteChannel> implements
 
     private static final Logger log = LoggerFactory.getLogger(NeighborImpl.class);
 
+    /**
+     * The size of the buffer which holds the bytes read from the channel, enough for several transaction gossip
+     * messages per read.
+     */
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * The maximum amount of queued messages which are written to the channel with a single gathering write.
+     */
+    private static final int MAX_MESSAGES_PER_WRITE = 64;
+
     /**
      * The current state whether the neighbor is parsing a header or reading a message.
      */
@@ -36,9 +50,16 @@ public class NeighborImpl<T extends SelectableChannel & ByteChannel> implements
     // next stage in the processing of incoming data
     private TransactionProcessingPipeline txPipeline;
 
-    // data to be written out to the neighbor
-    private BlockingQueue<ByteBuffer> sendQueue = new ArrayBlockingQueue<>(100);
-    private ByteBuffer currentToWrite;
+    // data to be written out to the neighbor, every entry holds the parts of one message
+    private Queue<ByteBuffer[]> sendQueue = new ConcurrentLinkedQueue<>();
+    // the amount of bytes in the send queue and in the current batch which weren't written yet
+    private AtomicLong queuedBytes = new AtomicLong();
+    private long maxQueuedBytes;
+    // the parts of the messages which are currently written out, the batch is only refilled once it's fully written
+    private ByteBuffer[] batch = new ByteBuffer[MAX_MESSAGES_PER_WRITE * 2];
+    private int batchLength;
+    // index of the first part of the batch which wasn't fully written yet
+    private int currentPart;
 
     private NeighborState state = NeighborState.HANDSHAKING;
     private ReadState readState = ReadState.PARSE_HEADER;
@@ -52,15 +73,20 @@ public class NeighborImpl<T extends SelectableChannel & ByteChannel> implements
     // we need the reference to the channel in order to register it for
     // write interests once messages to send are available.
     private T channel;
-    private Selector selector;
+    private volatile Selector selector;
 
     private NeighborMetrics metrics = new NeighborMetricsImpl();
+    // direct buffer holding the bytes read from the channel which weren't consumed by a message reader yet
+    private ByteBuffer readBuffer;
+    // the header reader is reused for all messages
+    private MessageReader headerReader;
     private MessageReader msgReader;
     private Handshake handshake = new Handshake();
     private Heartbeat heartbeat = new Heartbeat();
 
     /**
-     * Creates a new {@link NeighborImpl} using the given channel.
+     * Creates a new {@link NeighborImpl} using the given channel and the default send queue limit of
+     * {@value BaseIotaConfig.Defaults#NEIGHBOR_SEND_QUEUE_LIMIT_BYTES} bytes.
      * 
      * @param selector               the {@link Selector} which is associated with passed in channel
      * @param channel                the channel to use to read and write bytes from/to.
@@ -70,12 +96,31 @@ public class NeighborImpl<T extends SelectableChannel & ByteChannel> implements
      */
     public NeighborImpl(Selector selector, T channel, String hostAddress, int remoteServerSocketPort,
             TransactionProcessingPipeline txPipeline) {
+        this(selector, channel, hostAddress, remoteServerSocketPort, txPipeline,
+                BaseIotaConfig.Defaults.NEIGHBOR_SEND_QUEUE_LIMIT_BYTES);
+    }
+
+    /**
+     * Creates a new {@link NeighborImpl} using the given channel.
+     *
+     * @param selector               the {@link Selector} which is associated with passed in channel
+     * @param channel                the channel to use to read and write bytes from/to.
+     * @param hostAddress            the host address (IP address) of the neighbor
+     * @param remoteServerSocketPort the server socket port of the neighbor
+     * @param txPipeline             the transaction processing pipeline to submit newly received transactions to
+     * @param maxQueuedBytes         the maximum amount of bytes of messages waiting to be sent, further messages are
+     *                               dropped
+     */
+    public NeighborImpl(Selector selector, T channel, String hostAddress, int remoteServerSocketPort,
+            TransactionProcessingPipeline txPipeline, long maxQueuedBytes) {
+        this.maxQueuedBytes = maxQueuedBytes;
         this.hostAddress = hostAddress;
         this.remoteServerSocketPort = remoteServerSocketPort;
         this.selector = selector;
         this.channel = channel;
         this.txPipeline = txPipeline;
-        this.msgReader = MessageReaderFactory.create(ProtocolMessage.HEADER, ProtocolMessage.HEADER.getMaxLength());
+        this.headerReader = MessageReaderFactory.create(ProtocolMessage.HEADER, ProtocolMessage.HEADER.getMaxLength());
+        this.msgReader = headerReader;
     }
 
     @Override
@@ -88,33 +133,81 @@ public class NeighborImpl<T extends SelectableChannel & ByteChannel> implements
 
     @Override
     public Heartbeat heartbeat() throws IOException {
-        read();
+        // like the handshake, the heartbeat is read on its own unless bytes of it were already read into the buffer
+        if (readBuffer == null || readBuffer.position() == 0) {
+            readFromChannel();
+        } else {
+            read();
+        }
         return heartbeat;
     }
 
     @Override
     public int read() throws IOException {
+        // while handshaking, only the bytes of the handshake are read from the channel, so that the messages
+        // following it are only read once the neighbor is ready for them
+        if (state == NeighborState.HANDSHAKING) {
+            return readFromChannel();
+        }
+
+        if (readBuffer == null) {
+            readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        }
+        int bytesRead = channel.read(readBuffer);
+        readBuffer.flip();
+        try {
+            // handle all messages which are fully contained in the read bytes
+            while (true) {
+                msgReader.readMessage(readBuffer);
+                if (!msgReader.ready()) {
+                    break;
+                }
+                if (!processMessage()) {
+                    return -1;
+                }
+            }
+        } finally {
+            readBuffer.compact();
+        }
+        return bytesRead;
+    }
+
+    /**
+     * Reads the bytes of the current message directly from the channel, without reading any bytes of the next
+     * message.
+     *
+     * @return the amount of bytes read
+     * @throws IOException thrown when reading from the channel fails
+     */
+    private int readFromChannel() throws IOException {
         int bytesRead = msgReader.readMessage(channel);
         if (!msgReader.ready()) {
             return bytesRead;
         }
+        if (!processMessage()) {
+            return -1;
+        }
+        // execute another read as we likely already have the message in the network buffer
+        return readState == ReadState.HANDLE_MESSAGE ? readFromChannel() : bytesRead;
+    }
+
+    /**
+     * Processes the fully read header or message of the current message reader.
+     *
+     * @return whether the processing was successful or not
+     */
+    private boolean processMessage() {
         ByteBuffer msg = msgReader.getMessage();
         msg.flip();
         switch (readState) {
             case PARSE_HEADER:
-                if (!parseHeader(msg)) {
-                    return -1;
-                }
-                // execute another read as we likely already have the message in the network buffer
-                return read();
-
+                return parseHeader(msg);
             case HANDLE_MESSAGE:
                 handleMessage(msg);
-                break;
+                return true;
             default:
-                // do nothing
+                return true;
         }
-        return bytesRead;
     }
 
     /**
@@ -153,61 +246,149 @@ public class NeighborImpl<T extends SelectableChannel & ByteChannel> implements
     /**
      * Relays the message to the component in charge of handling this message.
      * 
+     * The pipeline takes over the buffers of transaction gossip messages and releases them once they are processed,
+     * the buffers of all other messages are released right away.
+     *
      * @param msg       the {@link ByteBuffer} containing the message (without header)
      */
     private void handleMessage(ByteBuffer msg) {
         switch (msgReader.getMessageType()) {
             case HANDSHAKE:
                 handshake = Handshake.fromByteBuffer(msg);
+                msgReader.release();
                 break;
             case TRANSACTION_GOSSIP:
                 txPipeline.process(this, msg);
                 break;
             case HEARTBEAT:
                 heartbeat = Heartbeat.fromByteBuffer(msg);
+                msgReader.release();
                 break;
             default:
-                // do nothing
+                msgReader.release();
         }
         // reset
         readState = ReadState.PARSE_HEADER;
-        msgReader = MessageReaderFactory.create(ProtocolMessage.HEADER, ProtocolMessage.HEADER.getMaxLength());
+        headerReader.getMessage().clear();
+        msgReader = headerReader;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Up to {@value #MAX_MESSAGES_PER_WRITE} queued messages are written with a single gathering write. If the batch
+     * couldn't be written fully, the next call continues it, before any further messages are taken from the queue.
+     * </p>
+     */
     @Override
     public int write() throws IOException {
-        // previous message wasn't fully sent yet
-        if (currentToWrite != null) {
-            return writeMsg();
+        // previous batch wasn't fully sent yet
+        if (currentPart == batchLength && !fillBatch()) {
+            return 0;
         }
 
-        currentToWrite = sendQueue.poll();
-        if (currentToWrite == null) {
-            return 0;
+        long written;
+        if (channel instanceof GatheringByteChannel) {
+            written = ((GatheringByteChannel) channel).write(batch, currentPart, batchLength - currentPart);
+        } else {
+            written = 0;
+            for (int i = currentPart; i < batchLength; i++) {
+                written += channel.write(batch[i]);
+                if (batch[i].hasRemaining()) {
+                    break;
+                }
+            }
+        }
+        queuedBytes.addAndGet(-written);
+
+        while (currentPart < batchLength && !batch[currentPart].hasRemaining()) {
+            // release the written buffer
+            batch[currentPart++] = null;
+        }
+        if (currentPart == batchLength) {
+            currentPart = 0;
+            batchLength = 0;
         }
-        return writeMsg();
+        return (int) written;
     }
 
-    private int writeMsg() throws IOException {
-        int written = channel.write(currentToWrite);
-        if (!currentToWrite.hasRemaining()) {
-            currentToWrite = null;
+    /**
+     * Takes queued messages into the empty batch, until it holds {@value #MAX_MESSAGES_PER_WRITE} messages.
+     *
+     * @return whether there was a message to write
+     */
+    private boolean fillBatch() {
+        int messages = 0;
+        ByteBuffer[] packet;
+        while (messages < MAX_MESSAGES_PER_WRITE && (packet = sendQueue.peek()) != null) {
+            if (batchLength + packet.length > batch.length) {
+                if (batchLength > 0) {
+                    break;
+                }
+                batch = Arrays.copyOf(batch, packet.length);
+            }
+            sendQueue.poll();
+            System.arraycopy(packet, 0, batch, batchLength, packet.length);
+            batchLength += packet.length;
+            messages++;
         }
-        return written;
+        return batchLength > 0;
     }
 
     @Override
     public void send(ByteBuffer buf) {
-        // re-register write interest
-        SelectionKey key = channel.keyFor(selector);
-        if (key != null && key.isValid() && (key.interestOps() & SelectionKey.OP_WRITE) == 0) {
-            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
-            selector.wakeup();
-        }
+        send(new ByteBuffer[] { buf });
+    }
 
-        if (!sendQueue.offer(buf)) {
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The packet is dropped if the bytes waiting to be sent would exceed the send queue limit of the neighbor. A packet
+     * which is larger than the limit is only queued when nothing else is waiting to be sent.
+     * </p>
+     */
+    @Override
+    public void send(ByteBuffer[] packet) {
+        long size = 0;
+        for (ByteBuffer part : packet) {
+            size += part.remaining();
+        }
+        long queued = queuedBytes.addAndGet(size);
+        if (queued > maxQueuedBytes && queued != size) {
+            queuedBytes.addAndGet(-size);
             metrics.incrDroppedSendPacketsCount();
+            return;
         }
+        sendQueue.offer(packet);
+
+        // re-register write interest after queueing the packet, so that a selector loop which removes the write
+        // interest at the same time still finds the packet when it tries to write once more.
+        Selector selector = this.selector;
+        SelectionKey key = channel.keyFor(selector);
+        if (key == null) {
+            return;
+        }
+        // the interest ops are changed by the selector loops too, they synchronize on the key as well
+        synchronized (key) {
+            if (!key.isValid() || (key.interestOps() & SelectionKey.OP_WRITE) != 0) {
+                return;
+            }
+            // keep the read interest as it is, the router removes it while the processing pipeline is saturated
+            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        }
+        selector.wakeup();
+    }
+
+    /**
+     * Sets the {@link Selector} which the channel was moved to. The channel must already be registered with the new
+     * selector, including the write interest if messages were sent while it was moved.
+     *
+     * @param selector the {@link Selector} which is now associated with the channel
+     */
+    public void setSelector(Selector selector) {
+        this.selector = selector;
     }
 
     @Override
@@ -3,10 +3,12 @@ package com.iota.iri.network.pipeline;
 import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.network.NeighborRouter;
 import com.iota.iri.network.neighbor.Neighbor;
+import com.iota.iri.network.protocol.Protocol;
 import com.iota.iri.service.validation.TransactionSolidifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 /**
@@ -33,7 +35,12 @@ public class BroadcastStage implements Stage {
 
     /**
      * Extracts the transaction and then broadcasts it to all neighbors. If the transaction originated from a neighbor,
-     * it is not sent to that given neighbor.
+     * it is not sent to that given neighbor. The transaction is truncated and serialized only once, the packets of all
+     * neighbors share the encoded body and only differ in their requested transaction hash.
+     *
+     * Afterwards the solid transactions that wait in the broadcast queue of the {@link TransactionSolidifier} are
+     * broadcast as well. They are not handed back to the queue of this stage, as this stage is the only one that takes
+     * from it and would block forever once it is full.
      * 
      * @param ctx the broadcast stage {@link ProcessingContext}
      * @return the same ctx as passed in
@@ -42,32 +49,35 @@ public class BroadcastStage implements Stage {
     public ProcessingContext process(ProcessingContext ctx) {
         BroadcastPayload payload = (BroadcastPayload) ctx.getPayload();
         Neighbor originNeighbor = payload.getOriginNeighbor();
-        TransactionViewModel tvm = payload.getTransactionViewModel();
+        broadcast(originNeighbor, payload.getTransactionViewModel());
 
+        // Check the transaction solidifier to see if there are solid transactions that need to be broadcast.
+        TransactionViewModel transactionToBroadcast;
+        while ((transactionToBroadcast = transactionSolidifier.getNextTxInBroadcastQueue()) != null) {
+            broadcast(originNeighbor, transactionToBroadcast);
+        }
+
+        ctx.setNextStage(TransactionProcessingPipeline.Stage.FINISH);
+        return ctx;
+    }
+
+    private void broadcast(Neighbor originNeighbor, TransactionViewModel tvm) {
         // racy
         Map<String, Neighbor> currentlyConnectedNeighbors = neighborRouter.getConnectedNeighbors();
+        ByteBuffer gossipBody = null;
         for (Neighbor neighbor : currentlyConnectedNeighbors.values()) {
             // don't send back to origin neighbor
             if (neighbor.equals(originNeighbor)) {
                 continue;
             }
             try {
-                neighborRouter.gossipTransactionTo(neighbor, tvm);
+                if (gossipBody == null) {
+                    gossipBody = Protocol.createTransactionGossipBody(tvm);
+                }
+                neighborRouter.gossipTransactionTo(neighbor, tvm, gossipBody);
             } catch (Exception e) {
                 log.error(e.getMessage());
             }
         }
-
-        // Check the transaction solidifier to see if there are solid transactions that need to be broadcast.
-        // If so, forward them to the BroadcastStageQueue to be processed.
-        TransactionViewModel transactionToBroadcast;
-        if((transactionToBroadcast = transactionSolidifier.getNextTxInBroadcastQueue()) != null){
-            ctx.setNextStage(TransactionProcessingPipeline.Stage.BROADCAST);
-            ctx.setPayload(new BroadcastPayload(payload.getOriginNeighbor(), transactionToBroadcast));
-            return ctx;
-        }
-
-        ctx.setNextStage(TransactionProcessingPipeline.Stage.FINISH);
-        return ctx;
     }
 }
@@ -3,10 +3,11 @@ package com.iota.iri.network.pipeline;
 import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.model.Hash;
 import com.iota.iri.model.HashFactory;
-import com.iota.iri.network.FIFOCache;
+import com.iota.iri.model.persistables.Transaction;
+import com.iota.iri.network.TransactionDigestCache;
 import com.iota.iri.network.TransactionCacheDigester;
 import com.iota.iri.network.protocol.Protocol;
-import com.iota.iri.network.protocol.ProtocolMessage;
+import com.iota.iri.network.protocol.message.MessageReaderFactory;
 import com.iota.iri.utils.Converter;
 import com.iota.iri.utils.TransactionTruncator;
 import org.slf4j.Logger;
@@ -21,21 +22,30 @@ import java.nio.ByteBuffer;
 public class PreProcessStage implements Stage {
 
     private static final Logger log = LoggerFactory.getLogger(PreProcessStage.class);
-    private FIFOCache<Long, Hash> recentlySeenBytesCache;
+    private TransactionDigestCache recentlySeenBytesCache;
+
+    /**
+     * Buffers for the expanded transaction and the requested hash of the currently processed payload, which are
+     * reused by all payloads processed on the same thread.
+     */
+    private final ThreadLocal<byte[]> txDataBytesBuffer = ThreadLocal.withInitial(() -> new byte[Transaction.SIZE]);
+    private final ThreadLocal<byte[]> reqHashBytesBuffer = ThreadLocal.withInitial(
+            () -> new byte[Protocol.GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH]);
 
     /**
      * Creates a new {@link PreProcessStage}.
      *
      * @param recentlySeenBytesCache The cache to use for checking whether a transaction is known
      */
-    public PreProcessStage(FIFOCache<Long, Hash> recentlySeenBytesCache) {
+    public PreProcessStage(TransactionDigestCache recentlySeenBytesCache) {
         this.recentlySeenBytesCache = recentlySeenBytesCache;
     }
 
     /**
      * Extracts the transaction gossip payload, expands it, computes the digest and then creates a new
      * {@link ProcessingContext} to the appropriate stage. If the transaction is not known, the transaction payload is
-     * also converted to its trits representation.
+     * also converted to its trits representation. The buffer of the payload is released to the message buffer pool
+     * afterwards.
      * 
      * @param ctx the pre process stage {@link ProcessingContext}
      * @return a {@link ProcessingContext} which either redirects to the {@link ReplyStage} or {@link HashingStage}
@@ -45,12 +55,18 @@ public class PreProcessStage implements Stage {
     public ProcessingContext process(ProcessingContext ctx) {
         PreProcessPayload payload = (PreProcessPayload) ctx.getPayload();
         ByteBuffer packetData = payload.getData();
-        byte[] data = packetData.array();
-
-        // expand received tx data
-        byte[] txDataBytes = TransactionTruncator.expandTransaction(data, ProtocolMessage.TRANSACTION_GOSSIP.getMaxLength());
-        // copy requested tx hash
-        byte[] reqHashBytes = Protocol.extractRequestedTxHash(data);
+        byte[] txDataBytes = txDataBytesBuffer.get();
+        byte[] reqHashBytes = reqHashBytesBuffer.get();
+        try {
+            // expand received tx data
+            TransactionTruncator.expandTransaction(packetData,
+                    packetData.remaining() - Protocol.GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH, txDataBytes);
+            // copy requested tx hash
+            Protocol.extractRequestedTxHash(packetData, reqHashBytes);
+        } finally {
+            // the data was copied out of the buffer
+            MessageReaderFactory.getMessageBufferPool().release(packetData);
+        }
 
         // increment all txs count
         payload.getOriginNeighbor().getMetrics().incrAllTransactionsCount();
@@ -12,9 +12,15 @@ import com.iota.iri.storage.Tangle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
 /**
- * The {@link ReceivedStage} stores the given transaction in the database, updates the arrival time and sender and then
- * submits to the {@link BroadcastStage}.
+ * The {@link ReceivedStage} stores the given transaction in the database together with its arrival time, sender and
+ * initial solidity, updates its status and then submits to the {@link BroadcastStage}.
  */
 public class ReceivedStage implements Stage {
 
@@ -46,8 +52,8 @@ public class ReceivedStage implements Stage {
     }
 
     /**
-     * Stores the given transaction in the database, updates it status
-     * ({@link TransactionSolidifier#updateStatus(TransactionViewModel)}) and updates the sender.
+     * Stores the given transaction in the database together with its arrival time, sender and initial solidity and
+     * updates its status ({@link TransactionSolidifier#updateStatus(TransactionViewModel)}).
      *
      * @param ctx the received stage {@link ProcessingContext}
      * @return a {@link ProcessingContext} which redirects to the {@link BroadcastStage}
@@ -55,23 +61,98 @@ public class ReceivedStage implements Stage {
     @Override
     public ProcessingContext process(ProcessingContext ctx) {
         ReceivedPayload payload = (ReceivedPayload) ctx.getPayload();
-        Neighbor originNeighbor = payload.getOriginNeighbor();
         TransactionViewModel tvm = payload.getTransactionViewModel();
 
         boolean stored;
+        boolean solidBeforeStore = false;
         try {
+            solidBeforeStore = prepareStore(payload);
             stored = tvm.store(tangle, snapshotProvider.getInitialSnapshot());
         } catch (Exception e) {
             log.error("error persisting newly received tx", e);
-            if (originNeighbor != null) {
-                originNeighbor.getMetrics().incrInvalidTransactionsCount();
+            if (solidBeforeStore) {
+                txSolidifier.revertSolidBeforeStore(tvm);
+            }
+            return abort(ctx);
+        }
+        return processStored(ctx, stored);
+    }
+
+    /**
+     * Stores the transactions of all given contexts with a single write to the database and then processes each of
+     * them like {@link #process(ProcessingContext)}.
+     *
+     * @param ctxs the received stage {@link ProcessingContext}s
+     * @return the {@link ProcessingContext}s which redirect to their next stage
+     */
+    public List<ProcessingContext> processBatch(List<ProcessingContext> ctxs) {
+        List<TransactionViewModel> tvms = new ArrayList<>(ctxs.size());
+        for (ProcessingContext ctx : ctxs) {
+            tvms.add(((ReceivedPayload) ctx.getPayload()).getTransactionViewModel());
+        }
+
+        Set<TransactionViewModel> storedTvms = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<TransactionViewModel> solidBeforeStoreTvms = new ArrayList<>();
+        try {
+            for (ProcessingContext ctx : ctxs) {
+                ReceivedPayload payload = (ReceivedPayload) ctx.getPayload();
+                if (prepareStore(payload)) {
+                    solidBeforeStoreTvms.add(payload.getTransactionViewModel());
+                }
             }
-            ctx.setNextStage(TransactionProcessingPipeline.Stage.ABORT);
-            return ctx;
+            storedTvms.addAll(TransactionViewModel.storeBatch(tangle, snapshotProvider.getInitialSnapshot(), tvms));
+        } catch (Exception e) {
+            log.error("error persisting newly received txs", e);
+            solidBeforeStoreTvms.forEach(txSolidifier::revertSolidBeforeStore);
+            ctxs.forEach(this::abort);
+            return ctxs;
+        }
+
+        for (int i = 0; i < ctxs.size(); i++) {
+            processStored(ctxs.get(i), storedTvms.contains(tvms.get(i)));
+        }
+        return ctxs;
+    }
+
+    /**
+     * Sets the arrival time, the sender and, if its parents are already solid, the solidity and height of a received
+     * transaction, so that they are written in the same batch as the transaction and its indexes instead of with
+     * separate updates after storing it.
+     *
+     * @param payload the payload of the received transaction
+     * @return <tt>true</tt> if the transaction was found to be solid, then the listeners of the solidifier were
+     *         already notified about it
+     * @throws Exception if the sender could not be set
+     */
+    private boolean prepareStore(ReceivedPayload payload) throws Exception {
+        TransactionViewModel tvm = payload.getTransactionViewModel();
+        tvm.setArrivalTime(System.currentTimeMillis());
+        // neighbor might be null because tx came from a broadcastTransaction command
+        if (payload.getOriginNeighbor() != null) {
+            tvm.updateSender(payload.getOriginNeighbor().getHostAddressAndPort());
+        }
+        try {
+            return txSolidifier.quickSetSolidBeforeStore(tvm);
+        } catch (Exception e) {
+            // the solidity is checked again by updateStatus once the transaction is stored
+            log.error("error checking the solidity of newly received tx", e);
+            return false;
         }
+    }
+
+    /**
+     * Updates the status of a transaction after it was stored in the database.
+     *
+     * @param ctx    the received stage {@link ProcessingContext}
+     * @param stored whether the transaction was newly stored
+     * @return a {@link ProcessingContext} which redirects to the {@link SolidifyStage} or {@link MilestoneStage}
+     */
+    private ProcessingContext processStored(ProcessingContext ctx, boolean stored) {
+        ReceivedPayload payload = (ReceivedPayload) ctx.getPayload();
+        Neighbor originNeighbor = payload.getOriginNeighbor();
+        TransactionViewModel tvm = payload.getTransactionViewModel();
 
         if (stored) {
-            tvm.setArrivalTime(System.currentTimeMillis());
             try {
                 txSolidifier.updateStatus(tvm);
 
@@ -83,11 +164,8 @@ public class ReceivedStage implements Stage {
                     transactionRequester.requestTrunkAndBranch(tvm);
                 }
 
-                // neighbor might be null because tx came from a broadcastTransaction command
-                if (originNeighbor != null) {
-                    tvm.updateSender(originNeighbor.getHostAddressAndPort());
-                }
-                tvm.update(tangle, snapshotProvider.getInitialSnapshot(), "arrivalTime|sender");
+                // the arrival time and sender were already stored with the transaction
+                tvm.publish(tangle, "arrivalTime|sender");
             } catch (Exception e) {
                 log.error("error updating newly received tx", e);
             }
@@ -116,4 +194,13 @@ public class ReceivedStage implements Stage {
         ctx.setPayload(new SolidifyPayload(originNeighbor, tvm));
         return ctx;
     }
-}
\ No newline at end of file
+
+    private ProcessingContext abort(ProcessingContext ctx) {
+        Neighbor originNeighbor = ((ReceivedPayload) ctx.getPayload()).getOriginNeighbor();
+        if (originNeighbor != null) {
+            originNeighbor.getMetrics().incrInvalidTransactionsCount();
+        }
+        ctx.setNextStage(TransactionProcessingPipeline.Stage.ABORT);
+        return ctx;
+    }
+}
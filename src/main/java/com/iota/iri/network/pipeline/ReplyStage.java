@@ -5,7 +5,7 @@ import com.iota.iri.controllers.TipsViewModel;
 import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.model.Hash;
 import com.iota.iri.model.HashFactory;
-import com.iota.iri.network.FIFOCache;
+import com.iota.iri.network.TransactionDigestCache;
 import com.iota.iri.network.NeighborRouter;
 import com.iota.iri.network.TransactionCacheDigester;
 import com.iota.iri.network.neighbor.Neighbor;
@@ -35,7 +35,7 @@ public class ReplyStage implements Stage {
     private TipsViewModel tipsViewModel;
     private MilestoneSolidifier milestoneSolidifier;
     private SnapshotProvider snapshotProvider;
-    private FIFOCache<Long, Hash> recentlySeenBytesCache;
+    private TransactionDigestCache recentlySeenBytesCache;
     private SecureRandom rnd = new SecureRandom();
 
     /**
@@ -47,13 +47,13 @@ public class ReplyStage implements Stage {
      * @param tipsViewModel          the {@link TipsViewModel} to load the random tips from
      * @param milestoneSolidifier the {@link MilestoneSolidifier} to load the latest milestone from
      * @param snapshotProvider       the {@link SnapshotProvider} to check the latest solid milestone from
-     * @param recentlySeenBytesCache the {@link FIFOCache} to use to cache the replied transaction
+     * @param recentlySeenBytesCache the {@link TransactionDigestCache} to use to cache the replied transaction
      * @param rnd                    the {@link SecureRandom} used to get random values to randomize chances for not
      *                               replying at all or not requesting a not stored requested transaction from neighbors
      */
     public ReplyStage(NeighborRouter neighborRouter, NodeConfig config, Tangle tangle, TipsViewModel tipsViewModel,
             MilestoneSolidifier milestoneSolidifier, SnapshotProvider snapshotProvider,
-            FIFOCache<Long, Hash> recentlySeenBytesCache, SecureRandom rnd) {
+            TransactionDigestCache recentlySeenBytesCache, SecureRandom rnd) {
         this.neighborRouter = neighborRouter;
         this.config = config;
         this.tangle = tangle;
@@ -73,11 +73,11 @@ public class ReplyStage implements Stage {
      * @param tipsViewModel          the {@link TipsViewModel} to load the random tips from
      * @param milestoneSolidifier the {@link MilestoneSolidifier} to load the latest milestone from
      * @param snapshotProvider       the {@link SnapshotProvider} to check the latest solid milestone from
-     * @param recentlySeenBytesCache the {@link FIFOCache} to use to cache the replied transaction
+     * @param recentlySeenBytesCache the {@link TransactionDigestCache} to use to cache the replied transaction
      */
     public ReplyStage(NeighborRouter neighborRouter, NodeConfig config, Tangle tangle, TipsViewModel tipsViewModel,
             MilestoneSolidifier milestoneSolidifier, SnapshotProvider snapshotProvider,
-            FIFOCache<Long, Hash> recentlySeenBytesCache) {
+            TransactionDigestCache recentlySeenBytesCache) {
         this.neighborRouter = neighborRouter;
         this.config = config;
         this.tangle = tangle;
@@ -0,0 +1,110 @@
+package com.iota.iri.network.pipeline;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the queue depth, throughput and processing latency of a stage of the
+ * {@link TransactionProcessingPipelineImpl}.
+ */
+public class StageMetrics {
+
+    private final String name;
+    private final int workers;
+    private final BlockingQueue<ProcessingContext> queue;
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder processingTimeNanos = new LongAdder();
+
+    /**
+     * Creates the metrics of a stage.
+     *
+     * @param name    the name of the stage
+     * @param workers the amount of threads processing the stage
+     * @param queue   the queue of the stage
+     */
+    public StageMetrics(String name, int workers, BlockingQueue<ProcessingContext> queue) {
+        this.name = name;
+        this.workers = workers;
+        this.queue = queue;
+    }
+
+    /**
+     * Records a processed {@link ProcessingContext}.
+     *
+     * @param nanos the time it took to process the context in nanoseconds
+     */
+    public void recordProcessed(long nanos) {
+        recordProcessed(1, nanos);
+    }
+
+    /**
+     * Records a batch of processed {@link ProcessingContext}s.
+     *
+     * @param count the amount of contexts in the batch
+     * @param nanos the time it took to process the whole batch in nanoseconds
+     */
+    public void recordProcessed(int count, long nanos) {
+        processed.add(count);
+        processingTimeNanos.add(nanos);
+    }
+
+    /**
+     * Records a {@link ProcessingContext} which was dropped because the queue of the stage was full.
+     */
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * @return the name of the stage
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the amount of threads processing the stage
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * @return the amount of contexts waiting in the queue of the stage
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return the maximum amount of contexts the queue of the stage can hold
+     */
+    public int getQueueCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    /**
+     * @return the amount of contexts processed by the stage
+     */
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    /**
+     * @return the amount of contexts dropped because the queue of the stage was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the average time it took the stage to process a context in microseconds
+     */
+    public long getAverageProcessingTimeMicros() {
+        long count = processed.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(processingTimeNanos.sum() / count);
+    }
+}
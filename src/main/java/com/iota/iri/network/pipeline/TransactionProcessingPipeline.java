@@ -3,6 +3,7 @@ package com.iota.iri.network.pipeline;
 import com.iota.iri.network.neighbor.Neighbor;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 
 /**
@@ -51,13 +52,30 @@ public interface TransactionProcessingPipeline {
     BlockingQueue<ProcessingContext> getValidationStageQueue();
 
     /**
-     * Submits the given data from the given neighbor into the pre processing stage of the pipeline.
+     * Submits the given data from the given neighbor into the pre processing stage of the pipeline. The data is
+     * dropped if the pipeline is saturated. The pipeline takes over the buffer and releases it to the
+     * {@link com.iota.iri.network.protocol.message.MessageReaderFactory#getMessageBufferPool()} once it is processed.
      *
      * @param neighbor the {@link Neighbor} from which the data originated from
      * @param data     the data to process
      */
     void process(Neighbor neighbor, ByteBuffer data);
 
+    /**
+     * Checks whether the pipeline can't take any more data from neighbors. Data should not be read from the neighbors
+     * as long as the pipeline is saturated.
+     *
+     * @return whether the queue of the pre processing stage is full
+     */
+    boolean isSaturated();
+
+    /**
+     * Gets the metrics of all stages which have their own queue, in the order of the pipeline.
+     *
+     * @return the metrics of the stages
+     */
+    List<StageMetrics> getStageMetrics();
+
     /**
      * Submits the given transactions trits into the hashing stage of the pipeline.
      *
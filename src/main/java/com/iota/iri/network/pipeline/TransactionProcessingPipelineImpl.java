@@ -9,9 +9,9 @@ import com.iota.iri.controllers.TipsViewModel;
 import com.iota.iri.crypto.batched.BatchedHasher;
 import com.iota.iri.crypto.batched.BatchedHasherFactory;
 import com.iota.iri.crypto.batched.HashRequest;
-import com.iota.iri.model.Hash;
 import com.iota.iri.model.persistables.Transaction;
-import com.iota.iri.network.FIFOCache;
+import com.iota.iri.network.protocol.message.MessageReaderFactory;
+import com.iota.iri.network.TransactionDigestCache;
 import com.iota.iri.network.NeighborRouter;
 import com.iota.iri.network.TransactionRequester;
 import com.iota.iri.network.TransactionCacheDigester;
@@ -21,13 +21,15 @@ import com.iota.iri.storage.Tangle;
 import com.iota.iri.utils.Converter;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
-import com.iota.iri.utils.IotaUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,17 +53,15 @@ import org.slf4j.LoggerFactory;
  * <li><strong>Broadcast</strong>: broadcasts the given transaction to all connected {@link Neighbor} instances except
  * the neighbor from which the transaction originated from.</li>
  * </ul>
+ * Every stage takes its transactions from a queue of limited size. If a stage can't keep up, the stages before it
+ * wait until there is space in its queue again, until finally the {@link NeighborRouter} stops reading from the
+ * neighbors. The validation, reply and received stages can be processed by multiple threads, and the received stage
+ * can store its transactions in batches.
  */
 public class TransactionProcessingPipelineImpl implements TransactionProcessingPipeline {
 
     private static final Logger log = LoggerFactory.getLogger(TransactionProcessingPipelineImpl.class);
-    private ExecutorService stagesThreadPool = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
-
-    /**
-     * List of stages that will be ignored when determining thread count
-     */
-    private static final List IGNORED_STAGES = IotaUtils.createImmutableList(Stage.MULTIPLE, Stage.ABORT, Stage.FINISH);
-    private static final int NUMBER_OF_THREADS = Stage.values().length - IGNORED_STAGES.size();
+    private ExecutorService stagesThreadPool = Executors.newCachedThreadPool();
 
     // stages of the protocol protocol
     private PreProcessStage preProcessStage;
@@ -74,13 +74,24 @@ public class TransactionProcessingPipelineImpl implements TransactionProcessingP
     private SolidifyStage solidifyStage;
     private MilestoneStage milestoneStage;
 
-    private BlockingQueue<ProcessingContext> milestoneStageQueue = new LinkedBlockingQueue<>();
-    private BlockingQueue<ProcessingContext> preProcessStageQueue = new LinkedBlockingQueue<>();
-    private BlockingQueue<ProcessingContext> validationStageQueue = new LinkedBlockingQueue<>();
-    private BlockingQueue<ProcessingContext> receivedStageQueue = new LinkedBlockingQueue<>();
-    private BlockingQueue<ProcessingContext> replyStageQueue = new LinkedBlockingQueue<>();
-    private BlockingQueue<ProcessingContext> broadcastStageQueue = new LinkedBlockingQueue<>();
-    private BlockingQueue<ProcessingContext> solidifyStageQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<ProcessingContext> milestoneStageQueue;
+    private final BlockingQueue<ProcessingContext> preProcessStageQueue;
+    private final BlockingQueue<ProcessingContext> validationStageQueue;
+    private final BlockingQueue<ProcessingContext> receivedStageQueue;
+    private final BlockingQueue<ProcessingContext> replyStageQueue;
+    private final BlockingQueue<ProcessingContext> broadcastStageQueue;
+    private final BlockingQueue<ProcessingContext> solidifyStageQueue;
+
+    private final StageMetrics preProcessStageMetrics;
+    private final StageMetrics validationStageMetrics;
+    private final StageMetrics replyStageMetrics;
+    private final StageMetrics receivedStageMetrics;
+    private final StageMetrics broadcastStageMetrics;
+    private final StageMetrics solidifyStageMetrics;
+    private final StageMetrics milestoneStageMetrics;
+
+    private final int receivedStageBatchSize;
+    private final long receivedStageBatchWindowMs;
 
     /**
      * Creates a {@link TransactionProcessingPipeline}.
@@ -97,7 +108,7 @@ public class TransactionProcessingPipelineImpl implements TransactionProcessingP
             TipsViewModel tipsViewModel, MilestoneSolidifier milestoneSolidifier,
             TransactionRequester transactionRequester, TransactionSolidifier txSolidifier,
             MilestoneService milestoneService) {
-        FIFOCache<Long, Hash> recentlySeenBytesCache = new FIFOCache<>(config.getCacheSizeBytes());
+        TransactionDigestCache recentlySeenBytesCache = new TransactionDigestCache(config.getCacheSizeBytes());
         this.preProcessStage = new PreProcessStage(recentlySeenBytesCache);
         this.replyStage = new ReplyStage(neighborRouter, config, tangle, tipsViewModel, milestoneSolidifier,
                 snapshotProvider, recentlySeenBytesCache);
@@ -109,72 +120,166 @@ public class TransactionProcessingPipelineImpl implements TransactionProcessingP
         this.hashingStage = new HashingStage(batchedHasher);
         this.solidifyStage = new SolidifyStage(txSolidifier, tipsViewModel, tangle);
         this.milestoneStage = new MilestoneStage(milestoneSolidifier, snapshotProvider, txSolidifier);
+
+        // a queue size below 1 means that the queues are unbounded
+        int queueCapacity = config.getqSizeNode() > 0 ? config.getqSizeNode() : Integer.MAX_VALUE;
+        this.milestoneStageQueue = new LinkedBlockingQueue<>(queueCapacity);
+        this.preProcessStageQueue = new LinkedBlockingQueue<>(queueCapacity);
+        this.validationStageQueue = new LinkedBlockingQueue<>(queueCapacity);
+        this.receivedStageQueue = new LinkedBlockingQueue<>(queueCapacity);
+        this.replyStageQueue = new LinkedBlockingQueue<>(queueCapacity);
+        this.broadcastStageQueue = new LinkedBlockingQueue<>(queueCapacity);
+        this.solidifyStageQueue = new LinkedBlockingQueue<>(queueCapacity);
+
+        this.preProcessStageMetrics = new StageMetrics("pre-process", 1, preProcessStageQueue);
+        this.validationStageMetrics = new StageMetrics("validation",
+                Math.max(1, config.getPipelineValidationThreads()), validationStageQueue);
+        this.replyStageMetrics = new StageMetrics("reply", Math.max(1, config.getPipelineReplyThreads()),
+                replyStageQueue);
+        this.receivedStageMetrics = new StageMetrics("received", Math.max(1, config.getPipelineReceivedThreads()),
+                receivedStageQueue);
+        this.broadcastStageMetrics = new StageMetrics("broadcast", 1, broadcastStageQueue);
+        this.solidifyStageMetrics = new StageMetrics("solidify", 1, solidifyStageQueue);
+        this.milestoneStageMetrics = new StageMetrics("milestone", 1, milestoneStageQueue);
+
+        this.receivedStageBatchSize = config.getPipelineReceivedBatchSize();
+        this.receivedStageBatchWindowMs = config.getPipelineReceivedBatchWindowMs();
     }
 
     @Override
     public void start() {
         stagesThreadPool.submit(batchedHasher);
-        addStage("pre-process", preProcessStageQueue, preProcessStage);
-        addStage("validation", validationStageQueue, validationStage);
-        addStage("reply", replyStageQueue, replyStage);
-        addStage("received", receivedStageQueue, receivedStage);
-        addStage("broadcast", broadcastStageQueue, broadcastStage);
-        addStage("solidify", solidifyStageQueue, solidifyStage);
-        addStage("milestone", milestoneStageQueue, milestoneStage);
+        addStage(preProcessStageMetrics, preProcessStageQueue, preProcessStage);
+        addStage(validationStageMetrics, validationStageQueue, validationStage);
+        addStage(replyStageMetrics, replyStageQueue, replyStage);
+        if (receivedStageBatchSize > 1) {
+            for (int i = 0; i < receivedStageMetrics.getWorkers(); i++) {
+                stagesThreadPool.submit(() -> processReceivedStageBatches(receivedStageBatchSize,
+                        receivedStageBatchWindowMs));
+            }
+        } else {
+            addStage(receivedStageMetrics, receivedStageQueue, receivedStage);
+        }
+        addStage(broadcastStageMetrics, broadcastStageQueue, broadcastStage);
+        addStage(solidifyStageMetrics, solidifyStageQueue, solidifyStage);
+        addStage(milestoneStageMetrics, milestoneStageQueue, milestoneStage);
     }
 
     /**
-     * Adds the given stage to the processing pipeline.
+     * Adds the given stage to the processing pipeline. The stage is processed by as many threads as defined by its
+     * {@link StageMetrics}.
      * 
-     * @param name  the name of the stage
-     * @param queue the queue from which contexts are taken to process within the stage
-     * @param stage the stage with the processing logic
+     * @param metrics the metrics of the stage, which also hold the name and the amount of threads
+     * @param queue   the queue from which contexts are taken to process within the stage
+     * @param stage   the stage with the processing logic
      */
-    private void addStage(String name, BlockingQueue<ProcessingContext> queue,
+    private void addStage(StageMetrics metrics, BlockingQueue<ProcessingContext> queue,
             com.iota.iri.network.pipeline.Stage stage) {
-        stagesThreadPool.submit(new Thread(() -> {
-            try {
-                while (!Thread.currentThread().isInterrupted()) {
-                    ProcessingContext ctx = stage.process(queue.take());
-
-                    switch (ctx.getNextStage()) {
-                        case REPLY:
-                            replyStageQueue.put(ctx);
-                            break;
-                        case HASHING:
-                            hashAndValidate(ctx);
-                            break;
-                        case RECEIVED:
-                            receivedStageQueue.put(ctx);
-                            break;
-                        case MULTIPLE:
-                            MultiStagePayload payload = (MultiStagePayload) ctx.getPayload();
-                            replyStageQueue.put(payload.getLeft());
-                            receivedStageQueue.put(payload.getRight());
-                            break;
-                        case BROADCAST:
-                            broadcastStageQueue.put(ctx);
-                            break;
-                        case SOLIDIFY:
-                            solidifyStageQueue.put(ctx);
-                            break;
-                        case MILESTONE:
-                            milestoneStageQueue.put(ctx);
-                            break;
-                        case ABORT:
-                            break;
-                        case FINISH:
-                            break;
-                        default:
-                            // do nothing
+        for (int i = 0; i < metrics.getWorkers(); i++) {
+            String threadName = metrics.getWorkers() == 1 ? String.format("%s-stage", metrics.getName())
+                    : String.format("%s-stage-%d", metrics.getName(), i);
+            stagesThreadPool.submit(new Thread(() -> processStage(metrics, queue, stage), threadName));
+        }
+    }
+
+    /**
+     * Takes the contexts from the queue of a stage, processes them and puts them into the queue of their next stage.
+     * Putting a context into a full queue blocks until the next stage caught up, so that a slow stage slows down the
+     * stages before it instead of letting its queue grow.
+     */
+    private void processStage(StageMetrics metrics, BlockingQueue<ProcessingContext> queue,
+            com.iota.iri.network.pipeline.Stage stage) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                ProcessingContext ctx = queue.take();
+                long start = System.nanoTime();
+                ctx = stage.process(ctx);
+                metrics.recordProcessed(System.nanoTime() - start);
+                forward(ctx);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            log.info("{}-stage shutdown", metrics.getName());
+        }
+    }
+
+    /**
+     * Puts the given context into the queue of its next stage.
+     *
+     * @param ctx the processed {@link ProcessingContext}
+     * @throws InterruptedException if interrupted while waiting for space in the queue of the next stage
+     */
+    private void forward(ProcessingContext ctx) throws InterruptedException {
+        switch (ctx.getNextStage()) {
+            case REPLY:
+                replyStageQueue.put(ctx);
+                break;
+            case HASHING:
+                hashAndValidate(ctx);
+                break;
+            case RECEIVED:
+                receivedStageQueue.put(ctx);
+                break;
+            case MULTIPLE:
+                MultiStagePayload payload = (MultiStagePayload) ctx.getPayload();
+                replyStageQueue.put(payload.getLeft());
+                receivedStageQueue.put(payload.getRight());
+                break;
+            case BROADCAST:
+                broadcastStageQueue.put(ctx);
+                break;
+            case SOLIDIFY:
+                solidifyStageQueue.put(ctx);
+                break;
+            case MILESTONE:
+                milestoneStageQueue.put(ctx);
+                break;
+            case ABORT:
+                break;
+            case FINISH:
+                break;
+            default:
+                // do nothing
+        }
+    }
+
+    /**
+     * Takes the contexts from the received stage queue in batches, so that their transactions are stored with a single
+     * write to the database. A batch is closed once it reaches the batch size or no further context arrived within
+     * the batch window.
+     */
+    private void processReceivedStageBatches(int batchSize, long batchWindowMs) {
+        List<ProcessingContext> batch = new ArrayList<>(batchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(receivedStageQueue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchWindowMs);
+                while (batch.size() < batchSize) {
+                    if (receivedStageQueue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
                     }
+                    ProcessingContext ctx = receivedStageQueue.poll(deadline - System.nanoTime(),
+                            TimeUnit.NANOSECONDS);
+                    if (ctx == null) {
+                        break;
+                    }
+                    batch.add(ctx);
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            } finally {
-                log.info("{}-stage shutdown", name);
+
+                long start = System.nanoTime();
+                List<ProcessingContext> processed = receivedStage.processBatch(batch);
+                receivedStageMetrics.recordProcessed(batch.size(), System.nanoTime() - start);
+                for (ProcessingContext ctx : processed) {
+                    forward(ctx);
+                }
+                batch.clear();
             }
-        }, String.format("%s-stage", name)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            log.info("{}-stage shutdown", receivedStageMetrics.getName());
+        }
     }
 
     @Override
@@ -199,13 +304,25 @@ public class TransactionProcessingPipelineImpl implements TransactionProcessingP
 
     @Override
     public void process(Neighbor neighbor, ByteBuffer data) {
-        try {
-            preProcessStageQueue.put(new ProcessingContext(new PreProcessPayload(neighbor, data)));
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+        // the neighbor router stops reading while the pipeline is saturated, so this only drops the few messages
+        // which were already read from the network
+        if (!preProcessStageQueue.offer(new ProcessingContext(new PreProcessPayload(neighbor, data)))) {
+            MessageReaderFactory.getMessageBufferPool().release(data);
+            preProcessStageMetrics.recordDropped();
         }
     }
 
+    @Override
+    public boolean isSaturated() {
+        return preProcessStageQueue.remainingCapacity() == 0;
+    }
+
+    @Override
+    public List<StageMetrics> getStageMetrics() {
+        return Arrays.asList(preProcessStageMetrics, validationStageMetrics, replyStageMetrics, receivedStageMetrics,
+                solidifyStageMetrics, milestoneStageMetrics, broadcastStageMetrics);
+    }
+
     @Override
     public void process(byte[] txTrits) {
         byte[] txBytes = new byte[Transaction.SIZE];
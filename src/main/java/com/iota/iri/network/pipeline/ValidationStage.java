@@ -5,7 +5,7 @@ import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.model.Hash;
 import com.iota.iri.model.HashFactory;
 import com.iota.iri.model.TransactionHash;
-import com.iota.iri.network.FIFOCache;
+import com.iota.iri.network.TransactionDigestCache;
 import com.iota.iri.network.neighbor.Neighbor;
 
 import static com.iota.iri.model.Hash.SIZE_IN_TRITS;
@@ -18,15 +18,15 @@ import static com.iota.iri.model.Hash.SIZE_IN_TRITS;
 public class ValidationStage implements Stage {
 
     private TransactionValidator txValidator;
-    private FIFOCache<Long, Hash> recentlySeenBytesCache;
+    private TransactionDigestCache recentlySeenBytesCache;
 
     /**
      * Creates a new {@link ValidationStage}.
      * 
      * @param txValidator            the {@link TransactionValidator} to use to validate the transaction
-     * @param recentlySeenBytesCache the {@link FIFOCache} to cache the validate transaction as recently seen
+     * @param recentlySeenBytesCache the {@link TransactionDigestCache} to cache the validate transaction as recently seen
      */
-    public ValidationStage(TransactionValidator txValidator, FIFOCache<Long, Hash> recentlySeenBytesCache) {
+    public ValidationStage(TransactionValidator txValidator, TransactionDigestCache recentlySeenBytesCache) {
         this.txValidator = txValidator;
         this.recentlySeenBytesCache = recentlySeenBytesCache;
     }
@@ -97,16 +97,54 @@ public class Protocol {
      * @return a {@link ByteBuffer} containing the transaction gossip packet.
      */
     public static ByteBuffer createTransactionGossipPacket(TransactionViewModel tvm, byte[] requestedHash) {
-        byte[] truncatedTx = TransactionTruncator.truncateTransaction(tvm.getBytes());
-        final short payloadLengthBytes = (short) (truncatedTx.length + GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH);
-        ByteBuffer buf = ByteBuffer.allocate(ProtocolMessage.HEADER.getMaxLength() + payloadLengthBytes);
-        addProtocolHeader(buf, ProtocolMessage.TRANSACTION_GOSSIP, payloadLengthBytes);
-        buf.put(truncatedTx);
+        byte[] txBytes = tvm.getBytes();
+        ByteBuffer buf = ByteBuffer.allocate(
+                ProtocolMessage.HEADER.getMaxLength() + transactionGossipPayloadLength(txBytes));
+        putTransactionGossipBody(buf, txBytes);
         buf.put(requestedHash, 0, GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH);
         buf.flip();
         return buf;
     }
 
+    /**
+     * Creates the part of a transaction gossip packet which is the same for all neighbors, which is the header and
+     * the truncated transaction. The requested transaction hash is left out, so the body can be encoded once and
+     * shared by the packets sent to all neighbors (see {@link #createTransactionGossipPacket(ByteBuffer, byte[])}).
+     *
+     * @param tvm The transaction to add into the packet
+     * @return a read-only {@link ByteBuffer} containing the header and the truncated transaction
+     */
+    public static ByteBuffer createTransactionGossipBody(TransactionViewModel tvm) {
+        byte[] txBytes = tvm.getBytes();
+        ByteBuffer buf = ByteBuffer.allocate(ProtocolMessage.HEADER.getMaxLength()
+                + transactionGossipPayloadLength(txBytes) - GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH);
+        putTransactionGossipBody(buf, txBytes);
+        buf.flip();
+        return buf.asReadOnlyBuffer();
+    }
+
+    /**
+     * Creates a transaction gossip packet from a shared body and the hash requested from the receiving neighbor. The
+     * body is not copied, the returned buffers are meant to be written with a single gathering write.
+     *
+     * @param gossipBody    The body created by {@link #createTransactionGossipBody(TransactionViewModel)}
+     * @param requestedHash The hash of the requested transaction
+     * @return the buffers which make up the transaction gossip packet, in order
+     */
+    public static ByteBuffer[] createTransactionGossipPacket(ByteBuffer gossipBody, byte[] requestedHash) {
+        return new ByteBuffer[] { gossipBody.duplicate(),
+                ByteBuffer.wrap(requestedHash, 0, GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH).slice() };
+    }
+
+    private static int transactionGossipPayloadLength(byte[] txBytes) {
+        return TransactionTruncator.truncatedLength(txBytes) + GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH;
+    }
+
+    private static void putTransactionGossipBody(ByteBuffer buf, byte[] txBytes) {
+        addProtocolHeader(buf, ProtocolMessage.TRANSACTION_GOSSIP, (short) transactionGossipPayloadLength(txBytes));
+        TransactionTruncator.truncateTransaction(txBytes, buf);
+    }
+
     /**
      * Creates a new heartbeat packet.
      *
@@ -158,4 +196,17 @@ public class Protocol {
         return reqHashBytes;
     }
 
+    /**
+     * Copies the requested transaction hash from the end of the given transaction gossip packet data into the given
+     * destination byte array. The position of the buffer is not modified.
+     *
+     * @param source       the transaction gossip packet data
+     * @param reqHashBytes the array to copy the requested transaction hash into
+     */
+    public static void extractRequestedTxHash(ByteBuffer source, byte[] reqHashBytes) {
+        ByteBuffer reqHash = source.duplicate();
+        reqHash.position(source.limit() - Protocol.GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH);
+        reqHash.get(reqHashBytes, 0, Protocol.GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH);
+    }
+
 }
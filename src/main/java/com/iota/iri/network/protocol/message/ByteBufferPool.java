@@ -0,0 +1,93 @@
+package com.iota.iri.network.protocol.message;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * A {@link ByteBufferPool} recycles direct {@link ByteBuffer}s of a fixed capacity, so that reading messages from
+ * neighbors doesn't allocate a new buffer per message.
+ * </p>
+ * <p>
+ * Buffers are taken with {@link #acquire(int)} and have to be handed back with {@link #release(ByteBuffer)} exactly
+ * once, after which they must no longer be used. If the pool is empty, a new buffer is allocated. Released buffers
+ * are dropped if the pool already holds its maximum amount of buffers. The pool is thread-safe.
+ * </p>
+ */
+public class ByteBufferPool {
+
+    private final int bufferCapacity;
+    private final int maxPooledBuffers;
+
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledBuffers = new AtomicInteger();
+
+    /**
+     * Creates a new empty {@link ByteBufferPool}.
+     *
+     * @param bufferCapacity   the capacity of the buffers in the pool
+     * @param maxPooledBuffers the max amount of released buffers which are kept for later use
+     */
+    public ByteBufferPool(int bufferCapacity, int maxPooledBuffers) {
+        this.bufferCapacity = bufferCapacity;
+        this.maxPooledBuffers = maxPooledBuffers;
+    }
+
+    /**
+     * Takes a buffer from the pool, or allocates a new one if the pool is empty.
+     *
+     * @param length the amount of bytes the buffer is used for, at most {@link #getBufferCapacity()}
+     * @return a direct buffer with a position of 0 and a limit of the given length
+     */
+    public ByteBuffer acquire(int length) {
+        if (length > bufferCapacity) {
+            throw new IllegalArgumentException(
+                    String.format("length %d exceeds the buffer capacity of %d bytes", length, bufferCapacity));
+        }
+        ByteBuffer buf = buffers.poll();
+        if (buf == null) {
+            buf = ByteBuffer.allocateDirect(bufferCapacity);
+        } else {
+            pooledBuffers.decrementAndGet();
+            buf.clear();
+        }
+        buf.limit(length);
+        return buf;
+    }
+
+    /**
+     * Hands the given buffer back to the pool. Buffers which weren't taken from a pool of this capacity are ignored.
+     *
+     * @param buf the buffer to release
+     */
+    public void release(ByteBuffer buf) {
+        if (buf == null || !buf.isDirect() || buf.capacity() != bufferCapacity) {
+            return;
+        }
+        if (pooledBuffers.incrementAndGet() > maxPooledBuffers) {
+            pooledBuffers.decrementAndGet();
+            return;
+        }
+        buffers.offer(buf);
+    }
+
+    /**
+     * Gets the capacity of the buffers in the pool.
+     *
+     * @return the capacity of the buffers in the pool
+     */
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    /**
+     * Gets the amount of buffers which are currently kept in the pool.
+     *
+     * @return the amount of buffers which are currently kept in the pool
+     */
+    public int size() {
+        return pooledBuffers.get();
+    }
+}
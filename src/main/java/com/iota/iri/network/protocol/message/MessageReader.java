@@ -7,7 +7,8 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
 
 /**
- * A {@link MessageReader} reads up to N defined bytes from a {@link ReadableByteChannel}.
+ * A {@link MessageReader} reads up to N defined bytes from a {@link ReadableByteChannel} or from a buffer which holds
+ * bytes that were already read from a channel.
  */
 public interface MessageReader {
 
@@ -27,6 +28,15 @@ public interface MessageReader {
      */
     int readMessage(ReadableByteChannel channel) throws IOException;
 
+    /**
+     * Copies bytes from the given source buffer into the {@link ByteBuffer}, until either the message is complete or
+     * the source has no bytes remaining. The position of the source is advanced by the amount of copied bytes.
+     *
+     * @param source the buffer to read from
+     * @return how many bytes have been read into the buffer.
+     */
+    int readMessage(ByteBuffer source);
+
     /**
      * Gets the {@link ByteBuffer} holding the message.
      * 
@@ -41,4 +51,10 @@ public interface MessageReader {
      */
     ProtocolMessage getMessageType();
 
+    /**
+     * Hands the {@link ByteBuffer} holding the message back to the pool it was taken from. The message must no longer
+     * be used afterwards. Messages which are passed on to other components are released by them instead.
+     */
+    void release();
+
 }
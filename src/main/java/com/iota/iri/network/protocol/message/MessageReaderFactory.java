@@ -9,6 +9,17 @@ import com.iota.iri.network.protocol.message.impl.MessageReaderImpl;
  */
 public class MessageReaderFactory {
 
+    /**
+     * The max amount of released message buffers which are kept for later messages.
+     */
+    private static final int MAX_POOLED_MESSAGE_BUFFERS = 1024;
+
+    /**
+     * Recycles the buffers of all messages, which are at most as big as a transaction gossip message.
+     */
+    private static final ByteBufferPool messageBufferPool = new ByteBufferPool(
+            ProtocolMessage.TRANSACTION_GOSSIP.getMaxLength(), MAX_POOLED_MESSAGE_BUFFERS);
+
     /**
      * Creates a new {@link MessageReader} for the given message type.
      * 
@@ -37,7 +48,20 @@ public class MessageReaderFactory {
      * @return a {@link MessageReader} for the given message type
      */
     public static MessageReader create(ProtocolMessage protoMsg, short messageLength) {
-        return new MessageReaderImpl(protoMsg, messageLength);
+        if (protoMsg == ProtocolMessage.HEADER || messageLength > messageBufferPool.getBufferCapacity()) {
+            return new MessageReaderImpl(protoMsg, messageLength);
+        }
+        return new MessageReaderImpl(protoMsg, messageLength, messageBufferPool);
+    }
+
+    /**
+     * Gets the pool which holds the buffers of the messages read by the created {@link MessageReader}s. Components
+     * which take over a message release its buffer to this pool once they processed it.
+     *
+     * @return the pool of message buffers
+     */
+    public static ByteBufferPool getMessageBufferPool() {
+        return messageBufferPool;
     }
 
 }
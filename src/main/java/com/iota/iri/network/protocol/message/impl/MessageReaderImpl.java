@@ -1,6 +1,7 @@
 package com.iota.iri.network.protocol.message.impl;
 
 import com.iota.iri.network.protocol.ProtocolMessage;
+import com.iota.iri.network.protocol.message.ByteBufferPool;
 import com.iota.iri.network.protocol.message.MessageReader;
 
 import java.io.IOException;
@@ -14,6 +15,7 @@ public class MessageReaderImpl implements MessageReader {
 
     private ByteBuffer msgBuf;
     private ProtocolMessage protoMsg;
+    private ByteBufferPool pool;
 
     /**
      * Creates a new {@link MessageReaderImpl}.
@@ -25,6 +27,18 @@ public class MessageReaderImpl implements MessageReader {
         this.msgBuf = ByteBuffer.allocate(msgLength);
     }
 
+    /**
+     * Creates a new {@link MessageReaderImpl} which reads the message into a buffer taken from the given pool.
+     * @param protoMsg the message type
+     * @param msgLength the message length
+     * @param pool the pool to take the buffer from and to release it to
+     */
+    public MessageReaderImpl(ProtocolMessage protoMsg, short msgLength, ByteBufferPool pool) {
+        this.protoMsg = protoMsg;
+        this.msgBuf = pool.acquire(msgLength);
+        this.pool = pool;
+    }
+
     @Override
     public boolean ready() {
         return !msgBuf.hasRemaining();
@@ -35,6 +49,19 @@ public class MessageReaderImpl implements MessageReader {
         return channel.read(msgBuf);
     }
 
+    @Override
+    public int readMessage(ByteBuffer source) {
+        int length = Math.min(source.remaining(), msgBuf.remaining());
+        if (length == 0) {
+            return 0;
+        }
+        int sourceLimit = source.limit();
+        source.limit(source.position() + length);
+        msgBuf.put(source);
+        source.limit(sourceLimit);
+        return length;
+    }
+
     @Override
     public ByteBuffer getMessage() {
         return msgBuf;
@@ -44,4 +71,12 @@ public class MessageReaderImpl implements MessageReader {
     public ProtocolMessage getMessageType() {
         return protoMsg;
     }
+
+    @Override
+    public void release() {
+        if (pool != null) {
+            pool.release(msgBuf);
+            pool = null;
+        }
+    }
 }
@@ -7,10 +7,7 @@ import com.iota.iri.service.validation.TransactionValidator;
 import com.iota.iri.service.validation.TransactionSolidifier;
 import com.iota.iri.conf.APIConfig;
 import com.iota.iri.conf.IotaConfig;
-import com.iota.iri.controllers.AddressViewModel;
-import com.iota.iri.controllers.BundleViewModel;
 import com.iota.iri.controllers.MilestoneViewModel;
-import com.iota.iri.controllers.TagViewModel;
 import com.iota.iri.controllers.TipsViewModel;
 import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.crypto.PearlDiver;
@@ -45,6 +42,7 @@ import com.iota.iri.service.milestone.MilestoneSolidifier;
 import com.iota.iri.service.restserver.RestConnector;
 import com.iota.iri.service.snapshot.SnapshotProvider;
 import com.iota.iri.service.spentaddresses.SpentAddressesService;
+import com.iota.iri.service.tipselection.TipPairPool;
 import com.iota.iri.service.tipselection.TipSelector;
 import com.iota.iri.service.tipselection.impl.TipSelectionCancelledException;
 import com.iota.iri.service.tipselection.impl.WalkValidatorImpl;
@@ -69,9 +67,16 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -119,6 +124,7 @@ public class API {
                                                  + "The subtangle has not been updated yet.";
     
     private static final String OVER_MAX_ERROR_MESSAGE = "Could not complete request";
+    private static final String TOO_MANY_REQUESTS = "Too many requests are processed, try again later";
     private static final String INVALID_PARAMS = "Invalid parameters";
 
     private static final char ZERO_LENGTH_ALLOWED = 'Y';
@@ -129,6 +135,12 @@ public class API {
 
     private static final long MAX_TIMESTAMP_VALUE = (long) (Math.pow(3, 27) - 1) / 2; // max positive 27-trits value
 
+    /**
+     * Commands that only read from the database. They are processed concurrently on the {@link #readExecService}.
+     */
+    private static final Set<ApiCommand> READ_COMMANDS = EnumSet.of(ApiCommand.GET_TRYTES,
+            ApiCommand.FIND_TRANSACTIONS);
+
     //endregion ////////////////////////////////////////////////////////////////////////////////////////////////////////
     
     private static int counterGetTxToApprove = 0;
@@ -149,6 +161,7 @@ public class API {
     private final NeighborRouter neighborRouter;
     private final TransactionProcessingPipeline txPipeline;
     private final TipSelector tipsSelector;
+    private final TipPairPool tipPairPool;
     private final TipsViewModel tipsViewModel;
     private final TransactionValidator transactionValidator;
     private final TransactionSolidifier transactionSolidifier;
@@ -174,7 +187,20 @@ public class API {
 
     private RestConnector connector;
 
-    private final ExecutorService tipSelExecService = Executors.newSingleThreadExecutor(r -> new Thread(r, "tip-selection"));
+    /**
+     * Performs the tip selection walks one at a time. Requests beyond the read queue size are rejected.
+     */
+    private final ExecutorService tipSelExecService;
+
+    /**
+     * Bounded executor for the {@link #READ_COMMANDS}, <code>null</code> if they are processed on the request thread.
+     */
+    private final ExecutorService readExecService;
+
+    /**
+     * Limits the amount of read commands of a type that are processed at the same time.
+     */
+    private final Map<ApiCommand, Semaphore> readCommandLimits = new EnumMap<>(ApiCommand.class);
 
     /**
      * Starts loading the IOTA API, parameters do not have to be initialized.
@@ -195,6 +221,7 @@ public class API {
      * @param milestoneSolidifier Service that tracks the latest milestone
      * @param txPipeline Network service for routing transaction requests and broadcasts
      * @param transactionSolidifier Holds transaction pipeline, including broadcast transactions
+     * @param tipPairPool Serves precomputed tips, <code>null</code> if tips are always selected on request
      *
      */
     public API(IotaConfig configuration, IXI ixi, TransactionRequester transactionRequester,
@@ -202,7 +229,7 @@ public class API {
             SnapshotProvider snapshotProvider, LedgerService ledgerService, NeighborRouter neighborRouter,
             TipSelector tipsSelector, TipsViewModel tipsViewModel, TransactionValidator transactionValidator,
             MilestoneSolidifier milestoneSolidifier, TransactionProcessingPipeline txPipeline,
-            TransactionSolidifier transactionSolidifier) {
+            TransactionSolidifier transactionSolidifier, TipPairPool tipPairPool) {
         this.configuration = configuration;
         this.ixi = ixi;
         
@@ -215,6 +242,7 @@ public class API {
         this.neighborRouter = neighborRouter;
         this.txPipeline = txPipeline;
         this.tipsSelector = tipsSelector;
+        this.tipPairPool = tipPairPool;
         this.tipsViewModel = tipsViewModel;
         this.transactionValidator = transactionValidator;
         this.transactionSolidifier = transactionSolidifier;
@@ -225,6 +253,24 @@ public class API {
         maxGetTrytes = configuration.getMaxGetTrytes();
 
         features = Feature.calculateFeatureNames(configuration);
+
+        int readThreads = configuration.getApiReadThreads();
+        readExecService = readThreads > 0
+                ? new ThreadPoolExecutor(readThreads, readThreads, 0L, TimeUnit.MILLISECONDS,
+                        configuration.getApiReadQueueSize() > 0
+                                ? new ArrayBlockingQueue<>(configuration.getApiReadQueueSize())
+                                : new SynchronousQueue<>(),
+                        r -> new Thread(r, "api-read"))
+                : null;
+        tipSelExecService = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                configuration.getApiReadQueueSize() > 0
+                        ? new ArrayBlockingQueue<>(configuration.getApiReadQueueSize())
+                        : new SynchronousQueue<>(),
+                r -> new Thread(r, "tip-selection"));
+        if (configuration.getMaxConcurrentFindTransactions() > 0) {
+            readCommandLimits.put(ApiCommand.FIND_TRANSACTIONS,
+                    new Semaphore(configuration.getMaxConcurrentFindTransactions()));
+        }
         
         commandRoute = new HashMap<>();
         commandRoute.put(ApiCommand.ADD_NEIGHBORS, addNeighbors());
@@ -320,6 +366,9 @@ public class API {
 
             ApiCommand apiCommand = ApiCommand.findByName(command);
             if (apiCommand != null) {
+                if (READ_COMMANDS.contains(apiCommand)) {
+                    return processReadCommand(apiCommand, request);
+                }
                 return commandRoute.get(apiCommand).apply(request);
             } else {
                 AbstractResponse response = ixi.processCommand(command, request);
@@ -341,6 +390,49 @@ public class API {
         }
     }
 
+    /**
+     * Processes one of the {@link #READ_COMMANDS}. Read commands don't block each other, they are processed
+     * concurrently on the {@link #readExecService}. To shed load, the command is rejected with an {@link ErrorResponse}
+     * if too many read commands are already waiting for a thread, or if the limit of concurrent commands of its type
+     * is reached.
+     *
+     * @param apiCommand the read command
+     * @param request the request of the command
+     * @return The result of the command
+     */
+    private AbstractResponse processReadCommand(ApiCommand apiCommand, Map<String, Object> request) {
+        Semaphore limit = readCommandLimits.get(apiCommand);
+        if (limit != null && !limit.tryAcquire()) {
+            log.debug("Rejecting command '{}', too many of them are processed", apiCommand);
+            return ErrorResponse.create(TOO_MANY_REQUESTS);
+        }
+
+        Future<AbstractResponse> response = null;
+        try {
+            if (readExecService == null) {
+                return commandRoute.get(apiCommand).apply(request);
+            }
+            response = readExecService.submit(() -> commandRoute.get(apiCommand).apply(request));
+            return response.get();
+        } catch (RejectedExecutionException e) {
+            log.debug("Rejecting command '{}', too many read commands are waiting", apiCommand);
+            return ErrorResponse.create(TOO_MANY_REQUESTS);
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            return ExceptionResponse.create(e.getLocalizedMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            if (limit != null) {
+                limit.release();
+            }
+        }
+    }
+
     /**
      * Check if a list of addresses was ever spent from, in the current epoch, or in previous epochs.
      * If an address has a pending transaction, it is also marked as spend.
@@ -574,19 +666,19 @@ public class API {
       * @return {@link com.iota.iri.service.dto.GetTrytesResponse}
       **/
     @Document(name="getTrytes")
-    private synchronized AbstractResponse getTrytesStatement(List<String> hashes) throws Exception {
-        final List<String> elements = new LinkedList<>();
-        for (final String hash : hashes) {
-            final TransactionViewModel transactionViewModel = TransactionViewModel.fromHash(tangle, HashFactory.TRANSACTION.create(hash));
-            if (transactionViewModel != null) {
-                elements.add(Converter.trytes(transactionViewModel.trits()));
-            } else {
-                elements.add(null);
-            }
-        }
-        if (elements.size() > maxGetTrytes){
+    private AbstractResponse getTrytesStatement(List<String> hashes) throws Exception {
+        if (hashes.size() > maxGetTrytes){
             return ErrorResponse.create(OVER_MAX_ERROR_MESSAGE);
         }
+
+        final List<Hash> transactionHashes = hashes.stream()
+                .map(HashFactory.TRANSACTION::create)
+                .collect(Collectors.toList());
+        final List<String> elements = new LinkedList<>();
+        for (final TransactionViewModel transactionViewModel : TransactionViewModel.fromHashes(tangle,
+                transactionHashes)) {
+            elements.add(Converter.trytes(transactionViewModel.trits()));
+        }
         return GetTrytesResponse.create(elements);
     }
 
@@ -638,7 +730,7 @@ public class API {
       * @return {@link com.iota.iri.service.dto.GetTransactionsToApproveResponse}
       **/
     @Document(name="getTransactionsToApprove")
-    private synchronized AbstractResponse getTransactionsToApproveStatement(int depth, Optional<Hash> reference) {
+    private AbstractResponse getTransactionsToApproveStatement(int depth, Optional<Hash> reference) {
         if (depth < 0 || depth > configuration.getMaxDepth()) {
             return ErrorResponse.create("Invalid depth input");
         }
@@ -655,6 +747,7 @@ public class API {
 
     /**
      * Gets tips which can be used by new transactions to approve.
+     * Requests without a reference are served from the {@link TipPairPool} if it holds a pair for the depth.
      * If debug is enabled, statistics on tip selection will be gathered.
      *
      * @param depth     The milestone depth for finding the transactions to approve.
@@ -668,16 +761,32 @@ public class API {
             throw new IllegalStateException(INVALID_SUBTANGLE);
         }
 
-        Future<List<Hash>> tipSelection = null;
-        List<Hash> tips;
+        List<Hash> tips = tipPairPool != null && !reference.isPresent() ? tipPairPool.poll(depth) : null;
+        if (tips != null) {
+            if (log.isDebugEnabled()) {
+                gatherStatisticsOnTipSelection();
+            }
+            return tips;
+        }
+
+        // the timeout includes the time spent waiting for the previous walks, a walk that is still queued when it
+        // expires is cancelled before it starts
+        Future<List<Hash>> tipSelection;
         try {
             tipSelection = tipSelExecService.submit(() -> tipsSelector.getTransactionsToApprove(depth, reference));
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException(TOO_MANY_REQUESTS);
+        }
+        try {
             tips = tipSelection.get(configuration.getTipSelectionTimeoutSec(), TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            tipSelection.cancel(true);
+            throw e;
         } catch (TimeoutException ex) {
             // interrupt the tip-selection thread so that it aborts
             tipSelection.cancel(true);
-            throw new TipSelectionCancelledException(String.format("tip-selection exceeded timeout of %d seconds",
-                    configuration.getTipSelectionTimeoutSec()));
+            throw new TipSelectionCancelledException(String.format(
+                    "tip-selection exceeded timeout of %d seconds", configuration.getTipSelectionTimeoutSec()));
         }
 
         if (log.isDebugEnabled()) {
@@ -695,7 +804,7 @@ public class API {
      * If the {@link #getCounterGetTxToApprove()} is a power of 100, a log is send and counters are reset.
      * </p>
      */
-    private void gatherStatisticsOnTipSelection() {
+    private synchronized void gatherStatisticsOnTipSelection() {
         API.incCounterGetTxToApprove();
         if ((getCounterGetTxToApprove() % 100) == 0) {
             String sb = "Last 100 getTxToApprove consumed "
@@ -779,7 +888,9 @@ public class API {
                 transactionRequester.numberOfTransactionsToRequest(),
                 features,
                 configuration.getCoordinator().toString(),
-                tangle.getPersistanceSize());
+                tangle.getPersistanceSize(),
+                txPipeline.getStageMetrics(),
+                neighborRouter.getEventLoopMetrics());
     }
 
     /**
@@ -813,8 +924,9 @@ public class API {
                 .collect(Collectors.toList());
 
         boolean[] inclusionStates = new boolean[trans.size()];
+        List<TransactionViewModel> transactionViewModels = TransactionViewModel.fromHashes(tangle, trans);
         for(int i = 0; i < trans.size(); i++){
-            inclusionStates[i] = TransactionViewModel.fromHash(tangle, trans.get(i)).snapshotIndex() > 0;
+            inclusionStates[i] = transactionViewModels.get(i).snapshotIndex() > 0;
         }
 
         return GetInclusionStatesResponse.create(inclusionStates);
@@ -892,6 +1004,12 @@ public class API {
       *
       * <b>Using multiple transaction fields returns transactions hashes at the intersection of those values.</b>
       *
+      * <p>
+      * If the optional <tt>cursor</tt> field is given, the transactions are returned in pages of at most
+      * {@link APIConfig#getMaxFindTransactions()} hashes instead of failing when there are more. An empty cursor
+      * requests the first page, and each page contains the cursor of the next one until all transactions were returned.
+      * </p>
+      *
       * @param request The map with input fields
       *                Must contain at least one of 'bundles', 'addresses', 'tags' or 'approvees'.
       * @return {@link com.iota.iri.service.dto.FindTransactionsResponse}.
@@ -899,96 +1017,62 @@ public class API {
       *                   or the total transactions to find exceeds {@link APIConfig#getMaxFindTransactions()}.
       **/
     @Document(name="findTransactions")
-    private synchronized AbstractResponse findTransactionsStatement(final Map<String, Object> request) throws Exception {
+    private AbstractResponse findTransactionsStatement(final Map<String, Object> request) throws Exception {
+        final TransactionFinder finder = new TransactionFinder(tangle);
 
-        final Set<Hash> foundTransactions = new HashSet<>();
-        boolean containsKey = false;
-
-        final Set<Hash> bundlesTransactions = new HashSet<>();
         if (request.containsKey("bundles")) {
             final Set<String> bundles = getParameterAsSet(request, "bundles", HASH_SIZE);
-            for (final String bundle : bundles) {
-                bundlesTransactions.addAll(
-                        BundleViewModel.load(tangle, HashFactory.BUNDLE.create(bundle))
-                        .getHashes());
-            }
-            foundTransactions.addAll(bundlesTransactions);
-            containsKey = true;
+            finder.bundles(bundles.stream().map(HashFactory.BUNDLE::create).collect(Collectors.toList()));
         }
 
-        final Set<Hash> addressesTransactions = new HashSet<>();
         if (request.containsKey("addresses")) {
             final Set<String> addresses = getParameterAsSet(request, "addresses", HASH_SIZE);
-            for (final String address : addresses) {
-                addressesTransactions.addAll(
-                        AddressViewModel.load(tangle, HashFactory.ADDRESS.create(address))
-                        .getHashes());
-            }
-            foundTransactions.addAll(addressesTransactions);
-            containsKey = true;
+            finder.addresses(addresses.stream().map(HashFactory.ADDRESS::create).collect(Collectors.toList()));
         }
 
-        final Set<Hash> tagsTransactions = new HashSet<>();
         if (request.containsKey("tags")) {
             final Set<String> tags = getParameterAsSet(request, "tags", 0);
+            final List<Hash> tagHashes = new ArrayList<>();
+            final List<Hash> obsoleteTagHashes = new ArrayList<>();
             for (String tag : tags) {
                 tag = padTag(tag);
-                tagsTransactions.addAll(
-                        TagViewModel.load(tangle, HashFactory.TAG.create(tag))
-                        .getHashes());
+                tagHashes.add(HashFactory.TAG.create(tag));
+                obsoleteTagHashes.add(HashFactory.OBSOLETETAG.create(tag));
             }
-            if (tagsTransactions.isEmpty()) {
-                for (String tag : tags) {
-                    tag = padTag(tag);
-                    tagsTransactions.addAll(
-                            TagViewModel.loadObsolete(tangle, HashFactory.OBSOLETETAG.create(tag))
-                            .getHashes());
-                }
-            }
-            foundTransactions.addAll(tagsTransactions);
-            containsKey = true;
+            finder.tags(tagHashes, obsoleteTagHashes);
         }
 
-        final Set<Hash> approveeTransactions = new HashSet<>();
-
         if (request.containsKey("approvees")) {
             final Set<String> approvees = getParameterAsSet(request, "approvees", HASH_SIZE);
-            for (final String approvee : approvees) {
-                approveeTransactions.addAll(
-                        TransactionViewModel.fromHash(tangle, HashFactory.TRANSACTION.create(approvee))
-                        .getApprovers(tangle)
-                        .getHashes());
-            }
-            foundTransactions.addAll(approveeTransactions);
-            containsKey = true;
+            finder.approvees(approvees.stream().map(HashFactory.TRANSACTION::create).collect(Collectors.toList()));
         }
 
-        if (!containsKey) {
+        if (finder.isEmpty()) {
             throw new ValidationException(INVALID_PARAMS);
         }
 
         //Using multiple of these input fields returns the intersection of the values.
-        if (request.containsKey("bundles")) {
-            foundTransactions.retainAll(bundlesTransactions);
-        }
-        if (request.containsKey("addresses")) {
-            foundTransactions.retainAll(addressesTransactions);
-        }
-        if (request.containsKey("tags")) {
-            foundTransactions.retainAll(tagsTransactions);
-        }
-        if (request.containsKey("approvees")) {
-            foundTransactions.retainAll(approveeTransactions);
+        if (request.containsKey("cursor")) {
+            final Object cursor = request.get("cursor");
+            if (cursor != null && !(cursor instanceof String)) {
+                throw new ValidationException("Invalid cursor input");
+            }
+            final TransactionFinder.Page page = finder.find(StringUtils.isEmpty((String) cursor) ? null : (String) cursor,
+                    maxFindTxs);
+            return FindTransactionsResponse.create(toStrings(page.getHashes()), page.getCursor());
         }
-        if (foundTransactions.size() > maxFindTxs){
+
+        final TransactionFinder.Page page = finder.find(null, maxFindTxs + 1);
+        if (page.getHashes().size() > maxFindTxs){
             return ErrorResponse.create(OVER_MAX_ERROR_MESSAGE);
         }
+        return FindTransactionsResponse.create(toStrings(page.getHashes()));
+    }
 
-        final List<String> elements = foundTransactions.stream()
+    private List<String> toStrings(List<Hash> hashes) {
+        return hashes.stream()
                 .map(Hash::toString)
                 .collect(Collectors.toCollection(LinkedList::new));
-
-        return FindTransactionsResponse.create(elements);
     }
 
     /**
@@ -1096,7 +1180,7 @@ public class API {
             }
 
             final Set<Hash> visitedHashes = new HashSet<>();
-            final Map<Hash, Long> diff = new HashMap<>();
+            Map<Hash, Long> diff = new HashMap<>();
 
             // Calculate the difference created by the non-verified transactions which tips approve.
             // This difference is put in a map with address -> value changed
@@ -1104,7 +1188,13 @@ public class API {
                 if (!TransactionViewModel.exists(tangle, tip)) {
                     return ErrorResponse.create("Tip not found: " + tip.toString());
                 }
-                if (!ledgerService.isBalanceDiffConsistent(visitedHashes, diff, tip)) {
+                // the difference of a single tip is cached until the next milestone
+                if (hashes.size() == 1) {
+                    diff = ledgerService.getUnconfirmedBalanceDiff(tip);
+                    if (diff == null) {
+                        return ErrorResponse.create("Tips are not consistent");
+                    }
+                } else if (!ledgerService.isBalanceDiffConsistent(visitedHashes, diff, tip)) {
                     return ErrorResponse.create("Tips are not consistent");
                 }
             }
@@ -1390,7 +1480,11 @@ public class API {
      * Does not remove the instance, so the server may be restarted without having to recreate it.
      */
     public void shutDown() {
-        tipSelExecService.shutdownNow();
+        // the walks that are still waiting are cancelled, so that their requests don't wait for them forever
+        tipSelExecService.shutdownNow().forEach(walk -> ((Future<?>) walk).cancel(true));
+        if (readExecService != null) {
+            readExecService.shutdownNow();
+        }
         if (connector != null) {
             connector.stop();
         }
@@ -0,0 +1,321 @@
+package com.iota.iri.service;
+
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.model.Hash;
+import com.iota.iri.model.persistables.Address;
+import com.iota.iri.model.persistables.Approvee;
+import com.iota.iri.model.persistables.Bundle;
+import com.iota.iri.model.persistables.ObsoleteTag;
+import com.iota.iri.model.persistables.Tag;
+import com.iota.iri.storage.Tangle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Finds the transactions that match all criteria of a {@code findTransactions} call without materializing the
+ * indexes of the criteria.
+ * </p>
+ * <p>
+ * The criterion with the fewest index entries drives the search: its index entries are read in chunks, and the
+ * candidates are checked against the remaining criteria by looking at the fields of the transactions themselves. The
+ * search stops as soon as a page is full, and the position of the last examined index entry is returned as a cursor
+ * that allows to continue the search where it stopped.
+ * </p>
+ * <p>
+ * The index entries of a key are only ever appended, so the cursor stays valid while new transactions arrive. New
+ * transactions of a key that was already passed are not returned by the following pages.
+ * </p>
+ */
+public class TransactionFinder {
+
+    /**
+     * Amount of index entries that are read and examined at once.
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String CURSOR_SEPARATOR = ":";
+
+    private final Tangle tangle;
+
+    private final List<Criterion> criteria = new ArrayList<>();
+
+    /**
+     * Creates a finder without any criteria.
+     *
+     * @param tangle the database interface that contains the indexes
+     */
+    public TransactionFinder(Tangle tangle) {
+        this.tangle = tangle;
+    }
+
+    /**
+     * Only finds transactions of one of the given bundles.
+     *
+     * @param bundles bundle hashes
+     * @return the finder itself
+     */
+    public TransactionFinder bundles(Collection<Hash> bundles) {
+        criteria.add(new Criterion("bundles", Bundle.class, bundles, TransactionViewModel::getBundleHash));
+        return this;
+    }
+
+    /**
+     * Only finds transactions of one of the given addresses.
+     *
+     * @param addresses address hashes
+     * @return the finder itself
+     */
+    public TransactionFinder addresses(Collection<Hash> addresses) {
+        criteria.add(new Criterion("addresses", Address.class, addresses, TransactionViewModel::getAddressHash));
+        return this;
+    }
+
+    /**
+     * Only finds transactions with one of the given tags. If no transaction has one of the tags, the obsolete tags are
+     * searched instead.
+     *
+     * @param tags tag hashes
+     * @param obsoleteTags the same tags as obsolete tag hashes
+     * @return the finder itself
+     * @throws Exception if the index can't be read
+     */
+    public TransactionFinder tags(Collection<Hash> tags, Collection<Hash> obsoleteTags) throws Exception {
+        Criterion criterion = new Criterion("tags", Tag.class, tags, TransactionViewModel::getTagValue);
+        if (criterion.countEntries(tangle) == 0) {
+            criterion = new Criterion("tags", ObsoleteTag.class, obsoleteTags,
+                    TransactionViewModel::getObsoleteTagValue);
+        }
+        criteria.add(criterion);
+        return this;
+    }
+
+    /**
+     * Only finds transactions that directly approve one of the given transactions.
+     *
+     * @param approvees transaction hashes
+     * @return the finder itself
+     */
+    public TransactionFinder approvees(Collection<Hash> approvees) {
+        criteria.add(new Criterion("approvees", Approvee.class, approvees,
+                TransactionViewModel::getTrunkTransactionHash, TransactionViewModel::getBranchTransactionHash));
+        return this;
+    }
+
+    /**
+     * @return <code>true</code> if no criterion was added
+     */
+    public boolean isEmpty() {
+        return criteria.isEmpty();
+    }
+
+    /**
+     * Finds the next transactions that match all criteria.
+     *
+     * @param cursor the cursor of the previous page, or <code>null</code> to start with the first page
+     * @param limit maximum amount of transactions that are returned
+     * @return the found transactions and the cursor of the next page
+     * @throws ValidationException if the cursor is invalid
+     * @throws Exception if the transactions can't be loaded
+     */
+    public Page find(String cursor, int limit) throws Exception {
+        Position position = cursor == null ? new Position(findSmallestCriterion(), 0, 0) : parseCursor(cursor);
+        Criterion driver = position.criterion;
+        // a transaction can approve two of the approvees, so duplicates have to be filtered
+        boolean verify = criteria.size() > 1 || driver.fields.size() > 1 && driver.keys.size() > 1;
+
+        List<Hash> hashes = new ArrayList<>();
+        int keyIndex = position.keyIndex;
+        int offset = position.offset;
+        // an index can hold a transaction twice, e.g. the approvee index if the trunk is the branch, so the found
+        // hashes are deduplicated. Such entries are stored next to each other, so the entry that ended the previous
+        // page is known as well.
+        Set<Hash> found = new HashSet<>();
+        if (offset > 0 && keyIndex < driver.keys.size()) {
+            found.addAll(tangle.loadHashes(driver.model, driver.keys.get(keyIndex), offset - 1, 1));
+        }
+        while (keyIndex < driver.keys.size()) {
+            Hash key = driver.keys.get(keyIndex);
+            List<Hash> candidates = tangle.loadHashes(driver.model, key, offset, CHUNK_SIZE);
+            List<TransactionViewModel> transactions = verify
+                    ? TransactionViewModel.fromHashes(tangle, candidates)
+                    : null;
+            for (int i = 0; i < candidates.size(); i++) {
+                offset++;
+                if ((!verify || matches(transactions.get(i), driver, keyIndex)) && found.add(candidates.get(i))) {
+                    hashes.add(candidates.get(i));
+                    if (hashes.size() == limit) {
+                        return new Page(hashes, formatCursor(new Position(driver, keyIndex, offset)));
+                    }
+                }
+            }
+            if (candidates.size() < CHUNK_SIZE) {
+                keyIndex++;
+                offset = 0;
+            }
+        }
+        return new Page(hashes, null);
+    }
+
+    private boolean matches(TransactionViewModel transaction, Criterion driver, int keyIndex) {
+        if (transaction.getType() == TransactionViewModel.PREFILLED_SLOT) {
+            return false;
+        }
+        for (Criterion criterion : criteria) {
+            if (criterion != driver && !criterion.matches(transaction, criterion.keys.size())) {
+                return false;
+            }
+        }
+        // the transaction was already found with one of the previous keys
+        return !driver.matches(transaction, keyIndex);
+    }
+
+    private Criterion findSmallestCriterion() throws Exception {
+        Criterion smallest = null;
+        long smallestSize = Long.MAX_VALUE;
+        for (Criterion criterion : criteria) {
+            long size = criterion.countEntries(tangle);
+            if (size < smallestSize) {
+                smallest = criterion;
+                smallestSize = size;
+            }
+        }
+        return smallest;
+    }
+
+    private String formatCursor(Position position) {
+        return position.criterion.name + CURSOR_SEPARATOR + position.keyIndex + CURSOR_SEPARATOR + position.offset;
+    }
+
+    private Position parseCursor(String cursor) throws ValidationException {
+        String[] parts = cursor.split(CURSOR_SEPARATOR);
+        if (parts.length == 3) {
+            for (Criterion criterion : criteria) {
+                if (criterion.name.equals(parts[0])) {
+                    try {
+                        int keyIndex = Integer.parseInt(parts[1]);
+                        int offset = Integer.parseInt(parts[2]);
+                        if (keyIndex >= 0 && keyIndex <= criterion.keys.size() && offset >= 0) {
+                            return new Position(criterion, keyIndex, offset);
+                        }
+                    } catch (NumberFormatException e) {
+                        break;
+                    }
+                }
+            }
+        }
+        throw new ValidationException("Invalid cursor input");
+    }
+
+    /**
+     * A page of found transactions.
+     */
+    public static class Page {
+
+        private final List<Hash> hashes;
+
+        private final String cursor;
+
+        private Page(List<Hash> hashes, String cursor) {
+            this.hashes = hashes;
+            this.cursor = cursor;
+        }
+
+        /**
+         * @return the found transactions, in the order of the index entries
+         */
+        public List<Hash> getHashes() {
+            return hashes;
+        }
+
+        /**
+         * @return the cursor of the next page, or <code>null</code> if all transactions were found
+         */
+        public String getCursor() {
+            return cursor;
+        }
+    }
+
+    /**
+     * The values of one request parameter together with the index that contains their transactions.
+     */
+    private static class Criterion {
+
+        private final String name;
+
+        private final Class<?> model;
+
+        /**
+         * The keys in a stable order, so the key indexes of a cursor stay valid.
+         */
+        private final List<Hash> keys;
+
+        /**
+         * The position of every key in {@link #keys}.
+         */
+        private final Map<Hash, Integer> keyIndexes = new HashMap<>();
+
+        /**
+         * The fields of a transaction that are stored in the index.
+         */
+        private final List<Function<TransactionViewModel, Hash>> fields;
+
+        @SafeVarargs
+        private Criterion(String name, Class<?> model, Collection<Hash> keys,
+                          Function<TransactionViewModel, Hash>... fields) {
+            this.name = name;
+            this.model = model;
+            this.keys = new ArrayList<>(keys);
+            this.keys.sort(Comparator.comparing(Hash::toString));
+            for (int i = 0; i < this.keys.size(); i++) {
+                keyIndexes.put(this.keys.get(i), i);
+            }
+            this.fields = Arrays.asList(fields.clone());
+        }
+
+        private long countEntries(Tangle tangle) throws Exception {
+            long entries = 0;
+            for (Hash key : keys) {
+                entries += tangle.countHashes(model, key);
+            }
+            return entries;
+        }
+
+        /**
+         * Checks if one of the fields of the transaction is one of the first keys.
+         */
+        private boolean matches(TransactionViewModel transaction, int keyCount) {
+            for (Function<TransactionViewModel, Hash> field : fields) {
+                Integer keyIndex = keyIndexes.get(field.apply(transaction));
+                if (keyIndex != null && keyIndex < keyCount) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class Position {
+
+        private final Criterion criterion;
+
+        private final int keyIndex;
+
+        private final int offset;
+
+        private Position(Criterion criterion, int keyIndex, int offset) {
+            this.criterion = criterion;
+            this.keyIndex = keyIndex;
+            this.offset = offset;
+        }
+    }
+}
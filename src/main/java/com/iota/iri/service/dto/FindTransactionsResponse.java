@@ -24,6 +24,12 @@ public class FindTransactionsResponse extends AbstractResponse {
     */
 	private String [] hashes;
 
+	/**
+	 * The cursor of the next page if the transactions were requested in pages, <code>null</code> otherwise or if all
+	 * transactions were returned.
+	 */
+	private String cursor;
+
 	/**
 	 * Creates a new {@link FindTransactionsResponse}
 	 * 
@@ -35,6 +41,20 @@ public class FindTransactionsResponse extends AbstractResponse {
 		res.hashes = elements.toArray(new String[] {});
 		return res;
 	}
+
+	/**
+	 * Creates a new {@link FindTransactionsResponse} for a page of transactions
+	 *
+	 * @param elements {@link #hashes}
+	 * @param cursor {@link #cursor}
+	 * @return an {@link FindTransactionsResponse} filled with the hashes and the cursor of the next page
+	 */
+	public static AbstractResponse create(List<String> elements, String cursor) {
+		FindTransactionsResponse res = new FindTransactionsResponse();
+		res.hashes = elements.toArray(new String[] {});
+		res.cursor = cursor;
+		return res;
+	}
 	
     
 	/**
@@ -44,4 +64,12 @@ public class FindTransactionsResponse extends AbstractResponse {
 	public String[] getHashes() {
 		return hashes;
 	}
+
+	/**
+	 *
+	 * @return {@link #cursor}
+	 */
+	public String getCursor() {
+		return cursor;
+	}
 }
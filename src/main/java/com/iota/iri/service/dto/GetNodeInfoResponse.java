@@ -1,9 +1,13 @@
 package com.iota.iri.service.dto;
 
 import com.iota.iri.model.Hash;
+import com.iota.iri.network.NeighborEventLoopMetrics;
+import com.iota.iri.network.pipeline.StageMetrics;
 import com.iota.iri.service.API;
 import com.iota.iri.service.Feature;
 
+import java.util.List;
+
 /**
  * 
  * Contains information about the result of a successful {@code getNodeInfo} API call.
@@ -128,6 +132,20 @@ public class GetNodeInfoResponse extends AbstractResponse {
      */
     private long dbSizeInBytes;
 
+    /**
+     * The queue depth, throughput and latency of the stages of the transaction processing pipeline.
+     *
+     * @see PipelineStage
+     */
+    private PipelineStage[] pipelineStages;
+
+    /**
+     * The neighbors, handled I/O events and transferred bytes of the selector loops handling the neighbors.
+     *
+     * @see NeighborEventLoop
+     */
+    private NeighborEventLoop[] neighborEventLoops;
+
     /**
      * Creates a new {@link GetNodeInfoResponse}
      * 
@@ -152,13 +170,16 @@ public class GetNodeInfoResponse extends AbstractResponse {
      * @param features {@link #features}
      * @param coordinatorAddress {@link #coordinatorAddress}
      * @param dbSizeInBytes {@link #dbSizeInBytes}
+     * @param pipelineStages {@link #pipelineStages}
+     * @param neighborEventLoops {@link #neighborEventLoops}
      * @return a {@link GetNodeInfoResponse} filled with all the provided parameters
      */
 	public static AbstractResponse create(String appName, String appVersion, int jreAvailableProcessors, long jreFreeMemory,
 	        String jreVersion, long maxMemory, long totalMemory, Hash latestMilestone, int latestMilestoneIndex,
 	        Hash latestSolidSubtangleMilestone, int latestSolidSubtangleMilestoneIndex, int milestoneStartIndex,
 	        int lastSnapshottedMilestoneIndex, int neighbors, int packetsQueueSize, long currentTimeMillis, int tips, 
-	        int numberOfTransactionsToRequest,  String[] features, String coordinatorAddress, long dbSizeInBytes) {
+	        int numberOfTransactionsToRequest,  String[] features, String coordinatorAddress, long dbSizeInBytes,
+	        List<StageMetrics> pipelineStages, List<NeighborEventLoopMetrics> neighborEventLoops) {
 		final GetNodeInfoResponse res = new GetNodeInfoResponse();
 		res.appName = appName;
 		res.appVersion = appVersion;
@@ -186,6 +207,9 @@ public class GetNodeInfoResponse extends AbstractResponse {
 		res.features = features;
 		res.coordinatorAddress = coordinatorAddress;
 		res.dbSizeInBytes = dbSizeInBytes;
+		res.pipelineStages = pipelineStages.stream().map(PipelineStage::createFrom).toArray(PipelineStage[]::new);
+		res.neighborEventLoops = neighborEventLoops.stream().map(NeighborEventLoop::createFrom)
+		        .toArray(NeighborEventLoop[]::new);
 		return res;
 	}
 
@@ -348,4 +372,225 @@ public class GetNodeInfoResponse extends AbstractResponse {
 	public String getCoordinatorAddress() {
 		return coordinatorAddress;
 	}
+
+	/**
+	 *
+	 * @return {@link #pipelineStages}
+	 */
+	public PipelineStage[] getPipelineStages() {
+		return pipelineStages;
+	}
+
+	/**
+	 *
+	 * @return {@link #neighborEventLoops}
+	 */
+	public NeighborEventLoop[] getNeighborEventLoops() {
+		return neighborEventLoops;
+	}
+
+    /**
+     * A plain DTO of the metrics of a stage of the transaction processing pipeline.
+     */
+    @SuppressWarnings("unused")
+    public static class PipelineStage {
+
+        /**
+         * The name of the stage.
+         */
+        private String name;
+
+        /**
+         * The amount of threads processing the stage.
+         */
+        private int workers;
+
+        /**
+         * The amount of transactions waiting to be processed by the stage.
+         */
+        private int queueSize;
+
+        /**
+         * The maximum amount of transactions waiting to be processed by the stage.
+         */
+        private int queueCapacity;
+
+        /**
+         * The amount of transactions processed by the stage.
+         */
+        private long numberOfProcessedTransactions;
+
+        /**
+         * The amount of transactions dropped because the queue of the stage was full.
+         */
+        private long numberOfDroppedTransactions;
+
+        /**
+         * The average time in microseconds it took the stage to process a transaction.
+         */
+        private long averageProcessingTimeMicros;
+
+        /**
+         * Creates a new PipelineStage DTO from the metrics of a stage.
+         *
+         * @param metrics the metrics of the stage
+         * @return a new instance of {@link PipelineStage}
+         */
+        public static PipelineStage createFrom(StageMetrics metrics) {
+            PipelineStage stage = new PipelineStage();
+            stage.name = metrics.getName();
+            stage.workers = metrics.getWorkers();
+            stage.queueSize = metrics.getQueueSize();
+            stage.queueCapacity = metrics.getQueueCapacity();
+            stage.numberOfProcessedTransactions = metrics.getProcessedCount();
+            stage.numberOfDroppedTransactions = metrics.getDroppedCount();
+            stage.averageProcessingTimeMicros = metrics.getAverageProcessingTimeMicros();
+            return stage;
+        }
+
+        /**
+         * {@link #name}
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * {@link #workers}
+         */
+        public int getWorkers() {
+            return workers;
+        }
+
+        /**
+         * {@link #queueSize}
+         */
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        /**
+         * {@link #queueCapacity}
+         */
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        /**
+         * {@link #numberOfProcessedTransactions}
+         */
+        public long getNumberOfProcessedTransactions() {
+            return numberOfProcessedTransactions;
+        }
+
+        /**
+         * {@link #numberOfDroppedTransactions}
+         */
+        public long getNumberOfDroppedTransactions() {
+            return numberOfDroppedTransactions;
+        }
+
+        /**
+         * {@link #averageProcessingTimeMicros}
+         */
+        public long getAverageProcessingTimeMicros() {
+            return averageProcessingTimeMicros;
+        }
+    }
+
+    /**
+     * A plain DTO of the metrics of a selector loop handling neighbors.
+     */
+    @SuppressWarnings("unused")
+    public static class NeighborEventLoop {
+
+        /**
+         * The name of the loop.
+         */
+        private String name;
+
+        /**
+         * The amount of neighbors handled by the loop.
+         */
+        private int neighbors;
+
+        /**
+         * The amount of I/O events handled by the loop.
+         */
+        private long numberOfEvents;
+
+        /**
+         * The amount of bytes read from neighbors by the loop.
+         */
+        private long bytesRead;
+
+        /**
+         * The amount of bytes written to neighbors by the loop.
+         */
+        private long bytesWritten;
+
+        /**
+         * The average time in microseconds it took the loop to handle an I/O event.
+         */
+        private long averageProcessingTimeMicros;
+
+        /**
+         * Creates a new NeighborEventLoop DTO from the metrics of a loop.
+         *
+         * @param metrics the metrics of the loop
+         * @return a new instance of {@link NeighborEventLoop}
+         */
+        public static NeighborEventLoop createFrom(NeighborEventLoopMetrics metrics) {
+            NeighborEventLoop loop = new NeighborEventLoop();
+            loop.name = metrics.getName();
+            loop.neighbors = metrics.getNeighbors();
+            loop.numberOfEvents = metrics.getEventCount();
+            loop.bytesRead = metrics.getBytesRead();
+            loop.bytesWritten = metrics.getBytesWritten();
+            loop.averageProcessingTimeMicros = metrics.getAverageProcessingTimeMicros();
+            return loop;
+        }
+
+        /**
+         * {@link #name}
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * {@link #neighbors}
+         */
+        public int getNeighbors() {
+            return neighbors;
+        }
+
+        /**
+         * {@link #numberOfEvents}
+         */
+        public long getNumberOfEvents() {
+            return numberOfEvents;
+        }
+
+        /**
+         * {@link #bytesRead}
+         */
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        /**
+         * {@link #bytesWritten}
+         */
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        /**
+         * {@link #averageProcessingTimeMicros}
+         */
+        public long getAverageProcessingTimeMicros() {
+            return averageProcessingTimeMicros;
+        }
+    }
 }
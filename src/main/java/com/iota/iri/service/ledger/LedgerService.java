@@ -88,6 +88,24 @@ public interface LedgerService {
      */
     boolean isBalanceDiffConsistent(Set<Hash> approvedHashes, Map<Hash, Long> diff, Hash tip) throws LedgerException;
 
+    /**
+     * <p>
+     * Returns the balance changes of the unconfirmed transactions that are referenced by the given tip, relative to the
+     * latest snapshot.
+     * </p>
+     * <p>
+     * The result is calculated like {@link #isBalanceDiffConsistent(Set, Map, Hash)} with an empty {@code diff} and
+     * set of {@code approvedHashes}, but it is cached until the latest snapshot changes, so repeated requests for the
+     * same tip do not have to traverse the tangle again.
+     * </p>
+     *
+     * @param tip the tip that will have its approvees checked
+     * @return the unmodifiable balance changes, or {@code null} if the tip is not solid or its balance changes are not
+     *         consistent
+     * @throws LedgerException if anything unexpected happens while calculating the balance changes
+     */
+    Map<Hash, Long> getUnconfirmedBalanceDiff(Hash tip) throws LedgerException;
+
     /**
      * <p>
      * Generates the accumulated balance changes of the transactions that are directly or indirectly referenced by the
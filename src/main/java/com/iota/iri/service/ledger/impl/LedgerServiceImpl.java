@@ -18,6 +18,7 @@ import com.iota.iri.storage.Tangle;
 import com.iota.iri.utils.dag.DAGHelper;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,7 +28,8 @@ import org.slf4j.LoggerFactory;
  * Creates a service instance that allows us to perform ledger state specific operations.
  * </p>
  * <p>
- * This class is stateless and does not hold any domain specific models.
+ * This class does not hold any domain specific models. It only caches the balance changes of the unconfirmed
+ * transactions referenced by tips until the next milestone is applied.
  * </p>
  */
 public class LedgerServiceImpl implements LedgerService {
@@ -58,6 +60,19 @@ public class LedgerServiceImpl implements LedgerService {
 
     private final BundleValidator bundleValidator;
 
+    /**
+     * Maximum amount of tips whose balance changes are cached until the latest snapshot changes.
+     */
+    private static final int MAX_CACHED_BALANCE_DIFFS = 1_000;
+
+    /**
+     * Balance changes of the unconfirmed transactions referenced by the tips, relative to the latest snapshot with the
+     * hash {@link #balanceDiffsSnapshotHash}. An empty {@link Optional} marks a tip whose changes are inconsistent.
+     */
+    private final Map<Hash, Optional<Map<Hash, Long>>> balanceDiffs = new ConcurrentHashMap<>();
+
+    private volatile Hash balanceDiffsSnapshotHash;
+
     /**
      * @param tangle Tangle object which acts as a database interface
      * @param snapshotProvider snapshot provider which gives us access to the relevant snapshots
@@ -151,6 +166,46 @@ public class LedgerServiceImpl implements LedgerService {
         return isConsistent;
     }
 
+    @Override
+    public Map<Hash, Long> getUnconfirmedBalanceDiff(Hash tip) throws LedgerException {
+        snapshotProvider.getLatestSnapshot().lockRead();
+        try {
+            Hash snapshotHash = snapshotProvider.getLatestSnapshot().getHash();
+            if (!snapshotHash.equals(balanceDiffsSnapshotHash)) {
+                synchronized (balanceDiffs) {
+                    if (!snapshotHash.equals(balanceDiffsSnapshotHash)) {
+                        balanceDiffs.clear();
+                        balanceDiffsSnapshotHash = snapshotHash;
+                    }
+                }
+            }
+
+            Optional<Map<Hash, Long>> balanceDiff = balanceDiffs.get(tip);
+            if (balanceDiff == null) {
+                // a tip that is not solid yet might become consistent before the next milestone
+                if (!TransactionViewModel.fromHash(tangle, tip).isSolid()) {
+                    return null;
+                }
+
+                Map<Hash, Long> diff = new HashMap<>();
+                balanceDiff = isBalanceDiffConsistent(new HashSet<>(), diff, tip)
+                        ? Optional.of(Collections.unmodifiableMap(diff))
+                        : Optional.empty();
+                if (balanceDiffs.size() >= MAX_CACHED_BALANCE_DIFFS) {
+                    balanceDiffs.clear();
+                }
+                balanceDiffs.put(tip, balanceDiff);
+            }
+            return balanceDiff.orElse(null);
+        } catch (LedgerException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LedgerException("failed to calculate the balance changes of " + tip, e);
+        } finally {
+            snapshotProvider.getLatestSnapshot().unlockRead();
+        }
+    }
+
     @Override
     public Map<Hash, Long> generateBalanceDiff(Set<Hash> visitedTransactions, Hash startTransaction, int milestoneIndex,
             boolean enforceExtraRules)
@@ -258,7 +313,8 @@ public class LedgerServiceImpl implements LedgerService {
                 snapshotProvider.getLatestSnapshot().lockRead();
                 try {
                     Hash tail = transactionViewModel.getHash();
-                    Map<Hash, Long> balanceChanges = generateBalanceDiff(new HashSet<>(), tail,
+                    Set<Hash> visitedTransactions = new HashSet<>();
+                    Map<Hash, Long> balanceChanges = generateBalanceDiff(visitedTransactions, tail,
                             snapshotProvider.getLatestSnapshot().getIndex(), false);
                     successfullyProcessed = balanceChanges != null;
                     if (successfullyProcessed) {
@@ -267,6 +323,8 @@ public class LedgerServiceImpl implements LedgerService {
                         if (successfullyProcessed) {
                             milestoneService.updateMilestoneIndexOfMilestoneTransactions(milestone.getHash(),
                                     milestone.index());
+                            // the ledger skips confirmed bundles from now on
+                            bundleValidator.evictValidationResults(visitedTransactions);
 
                             if (!balanceChanges.isEmpty()) {
                                 new StateDiffViewModel(balanceChanges, milestone.getHash()).store(tangle);
@@ -0,0 +1,36 @@
+package com.iota.iri.service.tipselection;
+
+import java.util.List;
+
+import com.iota.iri.model.Hash;
+
+/**
+ * Keeps a small pool of precomputed tip pairs for each requested depth, so that requests for tips don't have to wait
+ * for a tip selection.
+ *
+ * <p>
+ * The pairs are selected in the background by a {@link TipSelector} and are only valid as long as the latest solid
+ * milestone does not change. Every pair is handed out only once.
+ * </p>
+ */
+public interface TipPairPool {
+
+    /**
+     * Takes a precomputed pair of tips from the pool. Requesting a depth also tells the pool to keep pairs for this
+     * depth in stock.
+     *
+     * @param depth the depth that the tips were selected from
+     * @return the trunk and branch to approve, or <code>null</code> if no valid pair is available
+     */
+    List<Hash> poll(int depth);
+
+    /**
+     * Starts the background worker that fills the pool.
+     */
+    void start();
+
+    /**
+     * Stops the background worker and clears the pool.
+     */
+    void shutdown();
+}
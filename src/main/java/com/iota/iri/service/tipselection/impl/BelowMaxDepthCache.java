@@ -0,0 +1,92 @@
+package com.iota.iri.service.tipselection.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.iota.iri.model.Hash;
+
+/**
+ * Thread safe cache of the below max depth checks of {@link WalkValidatorImpl}, shared by all walks of the node.
+ *
+ * <p>
+ * A transaction that is above max depth stays above it until a new milestone gets solid, so every verdict is stored
+ * together with the index of the latest solid milestone it was calculated for. Verdicts of older milestones are
+ * ignored and the whole cache is cleared as soon as it is used with a newer milestone index. A transaction that is
+ * below max depth might not be anymore once a transaction it references gets confirmed, which is why
+ * {@link WalkValidatorImpl} only stores the verdicts of transactions that are above max depth.
+ * </p>
+ */
+public class BelowMaxDepthCache {
+
+    /**
+     * Maximum amount of verdicts that are kept for a single milestone.
+     */
+    private static final int MAX_SIZE = 100_000;
+
+    private final Map<Hash, Verdict> verdicts = new ConcurrentHashMap<>();
+
+    private volatile int milestoneIndex = -1;
+
+    /**
+     * Looks up a previous below max depth check.
+     *
+     * @param hash hash of the checked transaction
+     * @param milestoneIndex index of the latest solid milestone that the check is performed for
+     * @return <code>true</code> if the transaction is below max depth, <code>false</code> if it is not and
+     *         <code>null</code> if it is unknown
+     */
+    public Boolean get(Hash hash, int milestoneIndex) {
+        if (!isCurrent(milestoneIndex)) {
+            return null;
+        }
+        Verdict verdict = verdicts.get(hash);
+        return verdict == null || verdict.milestoneIndex != milestoneIndex ? null : verdict.belowMaxDepth;
+    }
+
+    /**
+     * Stores the result of a below max depth check.
+     *
+     * @param hash hash of the checked transaction
+     * @param milestoneIndex index of the latest solid milestone that the check was performed for
+     * @param belowMaxDepth the result of the check
+     */
+    public void put(Hash hash, int milestoneIndex, boolean belowMaxDepth) {
+        if (isCurrent(milestoneIndex) && verdicts.size() < MAX_SIZE) {
+            verdicts.put(hash, new Verdict(milestoneIndex, belowMaxDepth));
+        }
+    }
+
+    /**
+     * @return the amount of cached verdicts
+     */
+    public int size() {
+        return verdicts.size();
+    }
+
+    /**
+     * Checks if the cache holds the verdicts for the given milestone and clears it if the milestone is newer than the
+     * cached ones.
+     */
+    private boolean isCurrent(int milestoneIndex) {
+        if (milestoneIndex == this.milestoneIndex) {
+            return true;
+        }
+        synchronized (this) {
+            if (milestoneIndex > this.milestoneIndex) {
+                this.milestoneIndex = milestoneIndex;
+                verdicts.clear();
+            }
+            return milestoneIndex == this.milestoneIndex;
+        }
+    }
+
+    private static class Verdict {
+        private final int milestoneIndex;
+        private final boolean belowMaxDepth;
+
+        private Verdict(int milestoneIndex, boolean belowMaxDepth) {
+            this.milestoneIndex = milestoneIndex;
+            this.belowMaxDepth = belowMaxDepth;
+        }
+    }
+}
@@ -0,0 +1,528 @@
+package com.iota.iri.service.tipselection.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import com.iota.iri.conf.TipSelConfig;
+import com.iota.iri.controllers.MilestoneViewModel;
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.model.Hash;
+import com.iota.iri.service.milestone.MilestoneSolidifier;
+import com.iota.iri.service.snapshot.SnapshotProvider;
+import com.iota.iri.service.tipselection.RatingCalculator;
+import com.iota.iri.storage.Tangle;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of {@link RatingCalculator} that keeps the cumulative weights of the recent subtangle in memory.
+ *
+ * <p>
+ * Instead of walking the subtangle above the entry point on every request, the weights are updated incrementally:
+ * whenever a transaction becomes solid ({@link #onTransactionSolid(TransactionViewModel)}), it is linked to its
+ * trunk and branch and the weight of every transaction it references is increased by one. Since the future cone of a
+ * transaction is always part of the future cone of the entry point it references, these weights are the same as the
+ * ones calculated by {@link CumulativeWeightCalculator}.
+ * </p>
+ * <p>
+ * To keep these updates from walking the whole indexed subtangle, every transaction is labeled with the first solid
+ * milestone found to reference it. A transaction that references a milestone references everything labeled with that
+ * milestone or an older one, so instead of increasing their weights one by one, a counter of the milestone is
+ * increased and the walk stops there. The weight of a transaction is the sum of its own weight and the counters of
+ * its label and all newer milestones.
+ * </p>
+ * <p>
+ * Once the latest solid milestone changes, everything that is not referencing the oldest entry point that tip
+ * selection can still choose (the milestone {@code maxDepth} below the latest solid milestone) is pruned. Entry points
+ * whose future cone is not completely known (e.g. right after a restart) are delegated to the {@code fallback}
+ * calculator.
+ * </p>
+ */
+public class CumulativeWeightIndex implements RatingCalculator {
+
+    private static final Logger log = LoggerFactory.getLogger(CumulativeWeightIndex.class);
+
+    private final Tangle tangle;
+    private final SnapshotProvider snapshotProvider;
+    private final MilestoneSolidifier milestoneSolidifier;
+    private final RatingCalculator fallback;
+    private final TipSelConfig config;
+
+    private final Map<Hash, Node> nodes = new HashMap<>();
+
+    /**
+     * Solid transactions whose parent is about to become solid, keyed by the hash of that parent.
+     */
+    private final Map<Hash, List<SolidTransaction>> waitingForParent = new HashMap<>();
+
+    /**
+     * The amount of transactions that reference a milestone, but were not added to the weights of the transactions
+     * labeled with it or an older milestone, keyed by the milestone index.
+     */
+    private final TreeMap<Integer, Integer> milestoneReferences = new TreeMap<>();
+
+    /**
+     * The latest solid milestone index of the last pruning.
+     */
+    private int prunedAtMilestoneIndex = -1;
+
+    /**
+     * The index of the newest milestone whose past cone was labeled.
+     */
+    private int labeledMilestoneIndex = -1;
+
+    /**
+     * Identifies the current walk over the nodes, so visited nodes don't have to be collected.
+     */
+    private int walk;
+
+    /**
+     * Transactions that were added before this milestone index might have been pruned without checking their future
+     * cone, so only entry points that were added after it are guaranteed to have a complete future cone.
+     */
+    private int completeFromMilestoneIndex = -1;
+
+    /**
+     * Constructor for the Cumulative Weight Index
+     *
+     * @param tangle Tangle object which acts as a database interface
+     * @param snapshotProvider accesses ledger's snapshots
+     * @param milestoneSolidifier used to get the latest milestone index
+     * @param fallback calculator for entry points whose future cone is not known
+     * @param config configuration for the max depth of tip selection
+     */
+    public CumulativeWeightIndex(Tangle tangle, SnapshotProvider snapshotProvider,
+            MilestoneSolidifier milestoneSolidifier, RatingCalculator fallback, TipSelConfig config) {
+        this.tangle = tangle;
+        this.snapshotProvider = snapshotProvider;
+        this.milestoneSolidifier = milestoneSolidifier;
+        this.fallback = fallback;
+        this.config = config;
+    }
+
+    @Override
+    public Map<Hash, Integer> calculate(Hash entryPoint) throws Exception {
+        synchronized (this) {
+            pruneIfNeeded();
+
+            Node entryPointNode = nodes.get(entryPoint);
+            if (entryPointNode != null && entryPointNode.addedAtMilestoneIndex >= completeFromMilestoneIndex) {
+                return collectRatings(entryPointNode);
+            }
+        }
+
+        log.debug("future cone of entry point {} is not indexed, calculating cumulative weights", entryPoint);
+        return fallback.calculate(entryPoint);
+    }
+
+    /**
+     * Adds a transaction that just became solid to the index.
+     *
+     * <p>
+     * Transactions are usually solidified after their parents, but a solidity check can mark a whole subtangle as
+     * solid starting from the top. Parents that are neither indexed nor solid yet will therefore follow shortly, and
+     * the transaction is only added once they arrive.
+     * </p>
+     *
+     * @param transactionViewModel the transaction that was marked as solid
+     */
+    public void onTransactionSolid(TransactionViewModel transactionViewModel) {
+        Hash hash = transactionViewModel.getHash();
+        if (snapshotProvider.getInitialSnapshot().hasSolidEntryPoint(hash)) {
+            return;
+        }
+
+        Hash trunk = transactionViewModel.getTrunkTransactionHash();
+        Hash branch = transactionViewModel.getBranchTransactionHash();
+        SolidTransaction transaction = new SolidTransaction(hash, trunk, isBecomingSolid(trunk), branch,
+                isBecomingSolid(branch));
+
+        synchronized (this) {
+            try {
+                pruneIfNeeded();
+            } catch (Exception e) {
+                log.error("failed to prune the cumulative weight index", e);
+            }
+            add(transaction);
+        }
+    }
+
+    /**
+     * Removes a transaction that was added by {@link #onTransactionSolid(TransactionViewModel)} before it was
+     * persisted, but could not be persisted. The weight it added to the transactions it references is taken back.
+     *
+     * @param transactionViewModel the transaction that was not stored
+     */
+    public synchronized void onTransactionNotStored(TransactionViewModel transactionViewModel) {
+        Hash hash = transactionViewModel.getHash();
+        stopWaiting(transactionViewModel.getTrunkTransactionHash(), hash);
+        stopWaiting(transactionViewModel.getBranchTransactionHash(), hash);
+
+        Node node = nodes.get(hash);
+        // approvers are only solid if the transaction is in the database, so it was stored before after all
+        if (node == null || !node.approvers.isEmpty()) {
+            return;
+        }
+        updateWeightOfReferencedTransactions(node, -1, node.labeledMilestoneIndexWhenAdded);
+        nodes.remove(hash);
+        unlink(node);
+    }
+
+    /**
+     * @return the amount of transactions in the index
+     */
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    /**
+     * A parent that is not indexed yet is only worth waiting for if it is not solid in the database: solid
+     * transactions are indexed before their solid flag is persisted, so a solid parent that is not indexed is older
+     * than the index.
+     */
+    private boolean isBecomingSolid(Hash parent) {
+        if (snapshotProvider.getInitialSnapshot().hasSolidEntryPoint(parent)) {
+            return false;
+        }
+        synchronized (this) {
+            if (nodes.containsKey(parent)) {
+                return false;
+            }
+        }
+        try {
+            return !TransactionViewModel.fromHash(tangle, parent).isSolid();
+        } catch (Exception e) {
+            log.error("failed to load parent " + parent, e);
+            return false;
+        }
+    }
+
+    private void add(SolidTransaction first) {
+        Deque<SolidTransaction> transactions = new ArrayDeque<>(Collections.singleton(first));
+        SolidTransaction transaction;
+        while ((transaction = transactions.poll()) != null) {
+            if (nodes.containsKey(transaction.hash)) {
+                continue;
+            }
+
+            Node trunk = nodes.get(transaction.trunk);
+            Node branch = nodes.get(transaction.branch);
+            if (trunk == null && transaction.trunkBecomingSolid) {
+                waitFor(transaction.trunk, transaction);
+                continue;
+            }
+            if (branch == null && transaction.branchBecomingSolid) {
+                waitFor(transaction.branch, transaction);
+                continue;
+            }
+
+            Node node = new Node(transaction.hash, prunedAtMilestoneIndex, labeledMilestoneIndex);
+            node.trunk = trunk;
+            node.branch = branch;
+            if (trunk != null) {
+                trunk.approvers.add(node);
+            }
+            if (branch != null && branch != trunk) {
+                branch.approvers.add(node);
+            }
+            nodes.put(node.hash, node);
+            updateWeightOfReferencedTransactions(node, 1, labeledMilestoneIndex);
+
+            List<SolidTransaction> children = waitingForParent.remove(node.hash);
+            if (children != null) {
+                transactions.addAll(children);
+            }
+        }
+    }
+
+    private void waitFor(Hash parent, SolidTransaction transaction) {
+        transaction.addedAtMilestoneIndex = prunedAtMilestoneIndex;
+        waitingForParent.computeIfAbsent(parent, hash -> new ArrayList<>(1)).add(transaction);
+    }
+
+    private void stopWaiting(Hash parent, Hash hash) {
+        List<SolidTransaction> children = waitingForParent.get(parent);
+        if (children != null && children.removeIf(child -> child.hash.equals(hash)) && children.isEmpty()) {
+            waitingForParent.remove(parent);
+        }
+    }
+
+    /**
+     * Changes the weights of the transactions referenced by the given node by <code>delta</code>. Unlabeled
+     * transactions are changed directly. Of the labeled ones, only those that are labeled with a newer milestone than
+     * the newest referenced milestone are changed directly, the others are covered by the counter of that milestone.
+     * Labels newer than <code>labeledMilestoneIndex</code> are treated as missing, so a change can be taken back with
+     * the labels that existed when it was made.
+     */
+    private void updateWeightOfReferencedTransactions(Node node, int delta, int labeledMilestoneIndex) {
+        walk++;
+        Deque<Node> stack = new ArrayDeque<>();
+        // the labeled transactions are examined from the newest label to the oldest, milestones before the other
+        // transactions of their label since these are covered by the milestone
+        PriorityQueue<Node> labeled = new PriorityQueue<>(
+                Comparator.comparingInt((Node labeledNode) -> labeledNode.label).reversed()
+                        .thenComparing(labeledNode -> !labeledNode.milestone));
+        pushIfNotVisited(stack, labeled, node.trunk, labeledMilestoneIndex);
+        pushIfNotVisited(stack, labeled, node.branch, labeledMilestoneIndex);
+
+        Node current;
+        while ((current = stack.pollLast()) != null) {
+            current.weight += delta;
+            pushIfNotVisited(stack, labeled, current.trunk, labeledMilestoneIndex);
+            pushIfNotVisited(stack, labeled, current.branch, labeledMilestoneIndex);
+        }
+
+        int referencedMilestoneIndex = 0;
+        while ((current = labeled.poll()) != null && current.label > referencedMilestoneIndex) {
+            if (current.milestone) {
+                referencedMilestoneIndex = current.label;
+            } else {
+                current.weight += delta;
+                pushIfNotVisited(stack, labeled, current.trunk, labeledMilestoneIndex);
+                pushIfNotVisited(stack, labeled, current.branch, labeledMilestoneIndex);
+            }
+        }
+        // the counter is gone if the milestone got older than every label, then it doesn't apply to any transaction
+        if (referencedMilestoneIndex != 0
+                && (delta > 0 || milestoneReferences.containsKey(referencedMilestoneIndex))) {
+            milestoneReferences.merge(referencedMilestoneIndex, delta,
+                    (references, change) -> references + change == 0 ? null : references + change);
+        }
+    }
+
+    /**
+     * Queues a node of a walk, unlabeled ones on the stack and labeled ones in the priority queue.
+     */
+    private void pushIfNotVisited(Deque<Node> stack, PriorityQueue<Node> labeled, Node node,
+            int labeledMilestoneIndex) {
+        if (node != null && node.visitedInWalk != walk) {
+            node.visitedInWalk = walk;
+            if (node.label == 0 || node.label > labeledMilestoneIndex) {
+                stack.add(node);
+            } else {
+                labeled.add(node);
+            }
+        }
+    }
+
+    /**
+     * Labels the unlabeled past cone of the given milestone with its index.
+     */
+    private void labelPastCone(Node milestone, int milestoneIndex) {
+        milestone.milestone = true;
+        Deque<Node> stack = new ArrayDeque<>(Collections.singleton(milestone));
+        Node current;
+        while ((current = stack.pollLast()) != null) {
+            if (current.label == 0) {
+                current.label = milestoneIndex;
+                pushIfPresent(stack, current.trunk);
+                pushIfPresent(stack, current.branch);
+            }
+        }
+    }
+
+    private static void pushIfPresent(Deque<Node> stack, Node node) {
+        if (node != null) {
+            stack.add(node);
+        }
+    }
+
+    /**
+     * @return the cumulative weight of the given node
+     */
+    private static int getWeight(Node node, TreeMap<Integer, Integer> weightsOfLabels) {
+        Map.Entry<Integer, Integer> weightOfLabel = node.label == 0 ? null : weightsOfLabels.ceilingEntry(node.label);
+        return weightOfLabel == null ? node.weight : node.weight + weightOfLabel.getValue();
+    }
+
+    /**
+     * Sums up the counters of the milestones from the newest milestone to the oldest, so the weight added to the
+     * transactions of a label is the sum of the nearest newer or equal milestone.
+     */
+    private TreeMap<Integer, Integer> calculateWeightsOfLabels() {
+        TreeMap<Integer, Integer> weightsOfLabels = new TreeMap<>();
+        int weight = 0;
+        for (Map.Entry<Integer, Integer> references : milestoneReferences.descendingMap().entrySet()) {
+            weight += references.getValue();
+            weightsOfLabels.put(references.getKey(), weight);
+        }
+        return weightsOfLabels;
+    }
+
+    private SubtangleGraph collectRatings(Node entryPoint) {
+        TreeMap<Integer, Integer> weightsOfLabels = calculateWeightsOfLabels();
+        int entryPointWeight = getWeight(entryPoint, weightsOfLabels);
+        SubtangleGraph.Builder builder = new SubtangleGraph.Builder(entryPointWeight);
+        List<Node> subtangle = new ArrayList<>(entryPointWeight);
+        builder.add(entryPoint.hash);
+        subtangle.add(entryPoint);
+
+        for (int id = 0; id < subtangle.size(); id++) {
+            for (Node approver : subtangle.get(id).approvers) {
+                if (builder.addApprover(id, approver.hash) == subtangle.size()) {
+                    subtangle.add(approver);
+                }
+            }
+        }
+
+        SubtangleGraph hashWeightMap = builder.build();
+        for (int id = 0; id < subtangle.size(); id++) {
+            hashWeightMap.setRating(id, getWeight(subtangle.get(id), weightsOfLabels));
+        }
+        return hashWeightMap;
+    }
+
+    /**
+     * Removes everything that can't be part of the subtangle of an entry point anymore. Entry points are never chosen
+     * more than {@code maxDepth} milestones below the latest solid milestone, and each milestone references the
+     * previous one, so only the future cone of the oldest possible entry point has to be kept.
+     */
+    private void pruneIfNeeded() throws Exception {
+        int latestSolidMilestoneIndex = snapshotProvider.getLatestSnapshot().getIndex();
+        if (latestSolidMilestoneIndex == prunedAtMilestoneIndex) {
+            return;
+        }
+        prunedAtMilestoneIndex = latestSolidMilestoneIndex;
+
+        int oldestEntryPointIndex = Math.max(latestSolidMilestoneIndex - config.getMaxDepth() - 1,
+                snapshotProvider.getInitialSnapshot().getIndex());
+        labelMilestones(Math.max(labeledMilestoneIndex + 1, oldestEntryPointIndex), latestSolidMilestoneIndex);
+        MilestoneViewModel oldestEntryPoint = MilestoneViewModel.findClosestNextMilestone(tangle,
+                oldestEntryPointIndex, milestoneSolidifier.getLatestMilestoneIndex());
+        Node root = nodes.get(oldestEntryPoint != null
+                ? oldestEntryPoint.getHash()
+                : snapshotProvider.getLatestSnapshot().getHash());
+
+        int sizeBefore = nodes.size();
+        if (root != null && root.addedAtMilestoneIndex >= completeFromMilestoneIndex) {
+            SubtangleGraph futureCone = collectRatings(root);
+            removeNodes(node -> !futureCone.containsKey(node.hash));
+        } else {
+            // we don't know the future cone of the entry point yet, so we fall back to the time of arrival
+            completeFromMilestoneIndex = Math.max(completeFromMilestoneIndex, oldestEntryPointIndex);
+            removeNodes(node -> node.addedAtMilestoneIndex < completeFromMilestoneIndex);
+        }
+        waitingForParent.values().removeIf(children -> children.get(0).addedAtMilestoneIndex < oldestEntryPointIndex);
+        // counters of milestones that are older than every remaining label don't apply to any transaction anymore
+        int oldestLabel = nodes.values().stream().mapToInt(node -> node.label).filter(label -> label != 0).min()
+                .orElse(Integer.MAX_VALUE);
+        milestoneReferences.headMap(oldestLabel).clear();
+
+        log.debug("pruned {} transactions from the cumulative weight index at milestone #{}, {} remaining",
+                sizeBefore - nodes.size(), latestSolidMilestoneIndex, nodes.size());
+    }
+
+    /**
+     * Labels the past cones of the solid milestones in the given range, in the order of their index. Milestones that
+     * are not indexed are skipped, their past cones are labeled with the next indexed milestone.
+     */
+    private void labelMilestones(int fromIndex, int toIndex) throws Exception {
+        for (int milestoneIndex = fromIndex; milestoneIndex <= toIndex; milestoneIndex++) {
+            MilestoneViewModel milestone = MilestoneViewModel.get(tangle, milestoneIndex);
+            Node node = milestone == null ? null : nodes.get(milestone.getHash());
+            if (node != null && node.label == 0) {
+                labelPastCone(node, milestoneIndex);
+            }
+        }
+        labeledMilestoneIndex = Math.max(labeledMilestoneIndex, toIndex);
+    }
+
+    private void removeNodes(Predicate<Node> condition) {
+        Iterator<Node> iterator = nodes.values().iterator();
+        while (iterator.hasNext()) {
+            Node node = iterator.next();
+            if (condition.test(node)) {
+                iterator.remove();
+                unlink(node);
+            }
+        }
+    }
+
+    private static void unlink(Node node) {
+        for (Node approver : node.approvers) {
+            if (approver.trunk == node) {
+                approver.trunk = null;
+            }
+            if (approver.branch == node) {
+                approver.branch = null;
+            }
+        }
+        if (node.trunk != null) {
+            node.trunk.approvers.remove(node);
+        }
+        if (node.branch != null) {
+            node.branch.approvers.remove(node);
+        }
+    }
+
+    /**
+     * A transaction in the index, linked to its indexed parents and approvers.
+     */
+    private static class Node {
+        private final Hash hash;
+        private final int addedAtMilestoneIndex;
+
+        /**
+         * The index of the newest milestone whose past cone was labeled when this transaction was added.
+         */
+        private final int labeledMilestoneIndexWhenAdded;
+        private final List<Node> approvers = new ArrayList<>(2);
+        private Node trunk;
+        private Node branch;
+
+        /**
+         * The weight that was added directly to this transaction, not counting the references of the milestones.
+         */
+        private int weight = 1;
+
+        /**
+         * The index of the first milestone that was found to reference this transaction, 0 if there is none yet.
+         */
+        private int label;
+
+        /**
+         * Whether this transaction is the milestone of its label.
+         */
+        private boolean milestone;
+
+        private int visitedInWalk;
+
+        private Node(Hash hash, int addedAtMilestoneIndex, int labeledMilestoneIndexWhenAdded) {
+            this.hash = hash;
+            this.addedAtMilestoneIndex = addedAtMilestoneIndex;
+            this.labeledMilestoneIndexWhenAdded = labeledMilestoneIndexWhenAdded;
+        }
+    }
+
+    /**
+     * A solid transaction that is not indexed yet.
+     */
+    private static class SolidTransaction {
+        private final Hash hash;
+        private final Hash trunk;
+        private final boolean trunkBecomingSolid;
+        private final Hash branch;
+        private final boolean branchBecomingSolid;
+        private int addedAtMilestoneIndex;
+
+        private SolidTransaction(Hash hash, Hash trunk, boolean trunkBecomingSolid, Hash branch,
+                boolean branchBecomingSolid) {
+            this.hash = hash;
+            this.trunk = trunk;
+            this.trunkBecomingSolid = trunkBecomingSolid;
+            this.branch = branch;
+            this.branchBecomingSolid = branchBecomingSolid;
+        }
+    }
+}
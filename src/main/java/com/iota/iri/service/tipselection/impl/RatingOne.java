@@ -1,9 +1,6 @@
 package com.iota.iri.service.tipselection.impl;
 
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 
 import com.iota.iri.controllers.ApproveeViewModel;
@@ -25,26 +22,17 @@ public class RatingOne implements RatingCalculator {
 
     @Override
     public Map<Hash, Integer> calculate(Hash entryPoint) throws Exception {
-        Map<Hash, Integer> rating = new HashMap<>();
+        SubtangleGraph.Builder builder = new SubtangleGraph.Builder(0);
+        builder.add(entryPoint);
 
-        Queue<Hash> queue = new LinkedList<>();
-        queue.add(entryPoint);
-        rating.put(entryPoint, 1);
-
-        Hash hash;
-
-        //traverse all transactions that reference entryPoint
-        while ((hash = queue.poll()) != null) {
-            Set<Hash> approvers = ApproveeViewModel.load(tangle, hash).getHashes();
+        //traverse all transactions that reference entryPoint, each one is added with a rating of "1"
+        for (int id = 0; id < builder.size(); id++) {
+            Set<Hash> approvers = ApproveeViewModel.load(tangle, builder.getHash(id)).getHashes();
             for (Hash tx : approvers) {
-                if (!rating.containsKey(tx)) {
-                    //add to rating w/ value "1"
-                    rating.put(tx, 1);
-                    queue.add(tx);
-                }
+                builder.addApprover(id, tx);
             }
         }
-        return rating;
+        return builder.build();
     }
 
 
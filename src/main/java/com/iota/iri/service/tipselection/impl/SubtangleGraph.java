@@ -0,0 +1,318 @@
+package com.iota.iri.service.tipselection.impl;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.iota.iri.model.Hash;
+
+/**
+ * A compact, read-only view of the subtangle above an entry point together with the rating of each transaction.
+ *
+ * <p>
+ * Transactions are interned to consecutive int ids (the entry point being {@code 0}), their approvers are stored
+ * in a single int array in compressed sparse row format and the ratings in an {@code int[]}. This lets tip selection
+ * walk the subtangle without loading approvers from the database, boxing ratings or allocating {@link Hash} sets.
+ * </p>
+ * <p>
+ * The graph also acts as the {@code Map<Hash, Integer>} of ratings returned by a
+ * {@link com.iota.iri.service.tipselection.RatingCalculator}. The set of transactions is fixed, so only the ratings
+ * of existing transactions can be changed through {@link #put(Hash, Integer)}.
+ * </p>
+ */
+public class SubtangleGraph extends AbstractMap<Hash, Integer> {
+
+    /**
+     * Id returned for transactions that are not part of the subtangle.
+     */
+    public static final int NO_ID = -1;
+
+    private final Hash[] hashes;
+    private final int[] idTable;
+    private final int[] approverOffsets;
+    private final int[] approvers;
+    private final int[] ratings;
+
+    private SubtangleGraph(Hash[] hashes, int[] idTable, int[] approverOffsets, int[] approvers) {
+        this.hashes = hashes;
+        this.idTable = idTable;
+        this.approverOffsets = approverOffsets;
+        this.approvers = approvers;
+        this.ratings = new int[hashes.length];
+        Arrays.fill(ratings, 1);
+    }
+
+    /**
+     * @param hash hash of a transaction
+     * @return the id of the transaction, or {@link #NO_ID} if it is not part of the subtangle
+     */
+    public int getId(Hash hash) {
+        return find(hashes, idTable, hash);
+    }
+
+    /**
+     * @param id id of a transaction
+     * @return the hash of the transaction
+     */
+    public Hash getHash(int id) {
+        return hashes[id];
+    }
+
+    /**
+     * @param id id of a transaction
+     * @return the amount of approvers of the transaction inside of the subtangle
+     */
+    public int getApproverCount(int id) {
+        return approverOffsets[id + 1] - approverOffsets[id];
+    }
+
+    /**
+     * @param id id of a transaction
+     * @param index position of the approver, between {@code 0} and {@link #getApproverCount(int)}
+     * @return the id of the approver
+     */
+    public int getApprover(int id, int index) {
+        return approvers[approverOffsets[id] + index];
+    }
+
+    /**
+     * @param id id of a transaction
+     * @return the rating of the transaction
+     */
+    public int getRating(int id) {
+        return ratings[id];
+    }
+
+    /**
+     * @param id id of a transaction
+     * @param rating the new rating of the transaction
+     */
+    public void setRating(int id, int rating) {
+        ratings[id] = rating;
+    }
+
+    @Override
+    public int size() {
+        return hashes.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Hash && getId((Hash) key) != NO_ID;
+    }
+
+    @Override
+    public Integer get(Object key) {
+        int id = key instanceof Hash ? getId((Hash) key) : NO_ID;
+        return id == NO_ID ? null : ratings[id];
+    }
+
+    /**
+     * Changes the rating of a transaction of the subtangle.
+     *
+     * @throws UnsupportedOperationException if the transaction is not part of the subtangle
+     */
+    @Override
+    public Integer put(Hash key, Integer value) {
+        int id = getId(key);
+        if (id == NO_ID) {
+            throw new UnsupportedOperationException("transactions can't be added to the subtangle");
+        }
+        int previous = ratings[id];
+        ratings[id] = value;
+        return previous;
+    }
+
+    @Override
+    public Set<Entry<Hash, Integer>> entrySet() {
+        return new AbstractSet<Entry<Hash, Integer>>() {
+            @Override
+            public Iterator<Entry<Hash, Integer>> iterator() {
+                return new Iterator<Entry<Hash, Integer>>() {
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < hashes.length;
+                    }
+
+                    @Override
+                    public Entry<Hash, Integer> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int id = next++;
+                        return new SimpleImmutableEntry<>(hashes[id], ratings[id]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return hashes.length;
+            }
+        };
+    }
+
+    private static int find(Hash[] hashes, int[] idTable, Hash hash) {
+        int mask = idTable.length - 1;
+        for (int slot = spread(hash.hashCode()) & mask; idTable[slot] != 0; slot = (slot + 1) & mask) {
+            int id = idTable[slot] - 1;
+            if (hashes[id].equals(hash)) {
+                return id;
+            }
+        }
+        return NO_ID;
+    }
+
+    private static int spread(int hashCode) {
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    /**
+     * Builds a {@link SubtangleGraph} while traversing the subtangle breadth first.
+     *
+     * <p>
+     * The approvers of the transactions have to be added in ascending order of their ids, which is the order in which
+     * a breadth first traversal visits them:
+     * </p>
+     * <pre>
+     *     builder.add(entryPoint);
+     *     for (int id = 0; id &lt; builder.size(); id++) {
+     *         for (Hash approver : approversOf(builder.getHash(id))) {
+     *             builder.addApprover(id, approver);
+     *         }
+     *     }
+     * </pre>
+     */
+    public static class Builder {
+
+        private Hash[] hashes;
+        private int[] idTable;
+        private int size;
+
+        private int[] approverOffsets;
+        private int[] approvers;
+        private int approverCount;
+        private int lastId;
+
+        /**
+         * Creates a builder for a subtangle.
+         *
+         * @param expectedSize estimated amount of transactions in the subtangle
+         */
+        public Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            hashes = new Hash[capacity];
+            idTable = new int[tableSizeFor(capacity)];
+            approverOffsets = new int[capacity + 1];
+            approvers = new int[capacity * 2];
+        }
+
+        /**
+         * @return the amount of transactions added so far
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @param id id of a transaction
+         * @return the hash of the transaction
+         */
+        public Hash getHash(int id) {
+            return hashes[id];
+        }
+
+        /**
+         * Adds a transaction to the subtangle.
+         *
+         * @param hash hash of the transaction
+         * @return the id of the transaction, which is the existing one if it was already added
+         */
+        public int add(Hash hash) {
+            int id = find(hashes, idTable, hash);
+            if (id != NO_ID) {
+                return id;
+            }
+
+            if (size == hashes.length) {
+                hashes = Arrays.copyOf(hashes, size * 2);
+            }
+            id = size++;
+            hashes[id] = hash;
+            if (size * 2 > idTable.length) {
+                rehash(idTable.length * 2);
+            } else {
+                insert(idTable, spread(hash.hashCode()), id);
+            }
+            return id;
+        }
+
+        /**
+         * Adds a transaction to the subtangle and records it as approver of the transaction with the given id.
+         *
+         * @param id id of the approved transaction, not lower than the id of any previous call
+         * @param approver hash of the approver
+         * @return the id of the approver
+         */
+        public int addApprover(int id, Hash approver) {
+            if (id < lastId) {
+                throw new IllegalArgumentException("approvers have to be added in ascending order of the ids");
+            }
+            finishApproversUntil(id);
+
+            int approverId = add(approver);
+            if (approverCount == approvers.length) {
+                approvers = Arrays.copyOf(approvers, approverCount * 2);
+            }
+            approvers[approverCount++] = approverId;
+            return approverId;
+        }
+
+        /**
+         * @return the graph of all added transactions, with a rating of {@code 1} for each of them
+         */
+        public SubtangleGraph build() {
+            finishApproversUntil(size);
+            return new SubtangleGraph(Arrays.copyOf(hashes, size), idTable, Arrays.copyOf(approverOffsets, size + 1),
+                    Arrays.copyOf(approvers, approverCount));
+        }
+
+        /**
+         * Closes the approver lists of all transactions before the given id.
+         */
+        private void finishApproversUntil(int id) {
+            if (approverOffsets.length < id + 2) {
+                approverOffsets = Arrays.copyOf(approverOffsets, Math.max(id + 2, approverOffsets.length * 2));
+            }
+            while (lastId < id) {
+                approverOffsets[++lastId] = approverCount;
+            }
+        }
+
+        private void rehash(int tableSize) {
+            idTable = new int[tableSize];
+            for (int id = 0; id < size; id++) {
+                insert(idTable, spread(hashes[id].hashCode()), id);
+            }
+        }
+
+        private static void insert(int[] idTable, int hashCode, int id) {
+            int mask = idTable.length - 1;
+            int slot = hashCode & mask;
+            while (idTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            idTable[slot] = id + 1;
+        }
+
+        private static int tableSizeFor(int capacity) {
+            return Integer.highestOneBit(Math.max(capacity * 2 - 1, 1)) << 1;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.iota.iri.service.tipselection.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.iota.iri.conf.TipSelConfig;
+import com.iota.iri.model.Hash;
+import com.iota.iri.service.milestone.MilestoneSolidifier;
+import com.iota.iri.service.snapshot.SnapshotProvider;
+import com.iota.iri.service.tipselection.TipPairPool;
+import com.iota.iri.service.tipselection.TipSelector;
+import com.iota.iri.utils.log.interval.IntervalLogger;
+import com.iota.iri.utils.thread.DedicatedScheduledExecutorService;
+import com.iota.iri.utils.thread.SilentScheduledExecutorService;
+
+/**
+ * Implementation of {@link TipPairPool} that refills the pools of the requested depths in a background worker.
+ *
+ * <p>
+ * All pairs are dropped when the latest solid milestone changes, and pairs that were not requested within
+ * {@link #MAX_PAIR_AGE} are replaced, so that the served tips are still likely to be tips. Depths that were not
+ * requested for {@link #DEPTH_IDLE_TIMEOUT} are not refilled anymore.
+ * </p>
+ */
+public class TipPairPoolImpl implements TipPairPool {
+
+    /**
+     * Interval (in milliseconds) in which the background worker checks the pools.
+     */
+    private static final int REFILL_INTERVAL = 100;
+
+    /**
+     * Time (in milliseconds) after which a pair is considered too old to be served.
+     */
+    private static final long MAX_PAIR_AGE = 10_000;
+
+    /**
+     * Time (in milliseconds) after which a depth that was not requested anymore is removed from the pool.
+     */
+    private static final long DEPTH_IDLE_TIMEOUT = 60_000;
+
+    private static final IntervalLogger log = new IntervalLogger(TipPairPoolImpl.class);
+
+    private final TipSelector tipSelector;
+    private final SnapshotProvider snapshotProvider;
+    private final MilestoneSolidifier milestoneSolidifier;
+    private final TipSelConfig config;
+
+    private final SilentScheduledExecutorService executorService = new DedicatedScheduledExecutorService(
+            "Tip Pair Pool", log.delegate());
+
+    /**
+     * The pools of tip pairs, keyed by depth.
+     */
+    private final Map<Integer, Queue<TipPair>> pools = new ConcurrentHashMap<>();
+
+    /**
+     * The time of the last request for each depth.
+     */
+    private final Map<Integer, Long> lastRequests = new ConcurrentHashMap<>();
+
+    private volatile int poolMilestoneIndex = -1;
+
+    /**
+     * Creates the pool.
+     *
+     * @param tipSelector selects the tips that are put into the pool
+     * @param snapshotProvider gives access to the latest solid milestone index
+     * @param milestoneSolidifier gives access to the latest milestone index, to check if the node is synchronized
+     * @param config configuration for the size of the pool and the max depth
+     */
+    public TipPairPoolImpl(TipSelector tipSelector, SnapshotProvider snapshotProvider,
+            MilestoneSolidifier milestoneSolidifier, TipSelConfig config) {
+        this.tipSelector = tipSelector;
+        this.snapshotProvider = snapshotProvider;
+        this.milestoneSolidifier = milestoneSolidifier;
+        this.config = config;
+    }
+
+    @Override
+    public List<Hash> poll(int depth) {
+        long now = System.currentTimeMillis();
+        lastRequests.put(depth, now);
+
+        Queue<TipPair> pool = pools.get(depth);
+        if (pool == null) {
+            return null;
+        }
+
+        int latestSolidMilestoneIndex = snapshotProvider.getLatestSnapshot().getIndex();
+        TipPair tipPair;
+        while ((tipPair = pool.poll()) != null) {
+            if (tipPair.isValid(latestSolidMilestoneIndex, now)) {
+                return tipPair.tips;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void start() {
+        executorService.silentScheduleWithFixedDelay(this::refillPools, 0, REFILL_INTERVAL,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        executorService.shutdownNow();
+        pools.clear();
+    }
+
+    /**
+     * Tops up the pools of all depths that were requested recently. Stops as soon as the latest solid milestone
+     * changes, since all pairs are invalidated then.
+     */
+    @VisibleForTesting
+    void refillPools() {
+        int latestSolidMilestoneIndex = snapshotProvider.getLatestSnapshot().getIndex();
+        if (latestSolidMilestoneIndex != poolMilestoneIndex) {
+            pools.clear();
+            poolMilestoneIndex = latestSolidMilestoneIndex;
+        }
+        if (!isNodeSynchronized()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        lastRequests.forEach((depth, lastRequest) -> {
+            if (now - lastRequest > DEPTH_IDLE_TIMEOUT || depth < 0 || depth > config.getMaxDepth()) {
+                lastRequests.remove(depth);
+                pools.remove(depth);
+                return;
+            }
+
+            Queue<TipPair> pool = pools.computeIfAbsent(depth, key -> new ConcurrentLinkedQueue<>());
+            pool.removeIf(tipPair -> !tipPair.isValid(latestSolidMilestoneIndex, now));
+            while (pool.size() < config.getTipSelectionPoolSize() && !Thread.currentThread().isInterrupted()
+                    && snapshotProvider.getLatestSnapshot().getIndex() == latestSolidMilestoneIndex) {
+                try {
+                    List<Hash> tips = tipSelector.getTransactionsToApprove(depth, Optional.empty());
+                    pool.offer(new TipPair(tips, latestSolidMilestoneIndex, System.currentTimeMillis()));
+                } catch (Exception e) {
+                    log.debug("failed to select tips for the pool: " + e.getMessage());
+                    break;
+                }
+            }
+        });
+    }
+
+    private boolean isNodeSynchronized() {
+        return snapshotProvider.getLatestSnapshot().getIndex() != snapshotProvider.getInitialSnapshot().getIndex()
+                && snapshotProvider.getLatestSnapshot().getIndex() >= milestoneSolidifier.getLatestMilestoneIndex() - 1;
+    }
+
+    /**
+     * A pair of tips together with the state it was selected in.
+     */
+    private static class TipPair {
+        private final List<Hash> tips;
+        private final int milestoneIndex;
+        private final long createdAt;
+
+        private TipPair(List<Hash> tips, int milestoneIndex, long createdAt) {
+            this.tips = tips;
+            this.milestoneIndex = milestoneIndex;
+            this.createdAt = createdAt;
+        }
+
+        private boolean isValid(int latestSolidMilestoneIndex, long now) {
+            return milestoneIndex == latestSolidMilestoneIndex && now - createdAt <= MAX_PAIR_AGE;
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.iota.iri.service.tipselection.impl;
 
 import java.security.InvalidAlgorithmParameterException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.iota.iri.conf.TipSelConfig;
@@ -38,6 +46,16 @@ public class TipSelectorImpl implements TipSelector {
     private final SnapshotProvider snapshotProvider;
     private final TipSelConfig config;
 
+    /**
+     * Pool for the concurrent walks, <code>null</code> if the walks are performed on the calling thread.
+     */
+    private final ForkJoinPool walkPool;
+
+    /**
+     * Results of the below max depth checks, shared by all walks until the next milestone gets solid.
+     */
+    private final BelowMaxDepthCache belowMaxDepthCache = new BelowMaxDepthCache();
+
     /**
      * Constructor for Tip Selector.
      *
@@ -67,6 +85,11 @@ public class TipSelectorImpl implements TipSelector {
         this.tangle = tangle;
         this.snapshotProvider = snapshotProvider;
         this.config = config;
+
+        this.walkPool = config.getTipSelectionParallelWalks() > 0
+                ? new ForkJoinPool(Math.min(2 * config.getTipSelectionParallelWalks(),
+                        Runtime.getRuntime().availableProcessors()))
+                : null;
     }
 
     /**
@@ -82,6 +105,8 @@ public class TipSelectorImpl implements TipSelector {
      *     otherwise start again from <CODE>entryPoint</CODE>.
      * <li><b>Validate:</b> check that both tips are not contradicting.
      * </ol>
+     * If {@link TipSelConfig#getTipSelectionParallelWalks()} is set, the walks are performed concurrently instead,
+     * see {@link #getTransactionsToApproveInParallel(int, Optional)}.
      * @param depth  The depth that the transactions will be found from.
      * @param reference  An optional transaction hash to be referenced by tips.
      * @return  Transactions to approve
@@ -89,22 +114,22 @@ public class TipSelectorImpl implements TipSelector {
      */
     @Override
     public List<Hash> getTransactionsToApprove(int depth, Optional<Hash> reference) throws Exception {
+        if (walkPool != null) {
+            return getTransactionsToApproveInParallel(depth, reference);
+        }
+
         try {
             snapshotProvider.getLatestSnapshot().lockRead();
 
             //preparation
             Hash entryPoint = entryPointSelector.getEntryPoint(depth);
-            Map<Hash, Integer> rating;
-            if(config.getAlpha() == 0) {
-                rating = new RatingOne(tangle).calculate(entryPoint);
-            } else {
-                rating = ratingCalculator.calculate(entryPoint);
-            }
+            Map<Hash, Integer> rating = calculateRating(entryPoint);
 
             //random walk
             List<Hash> tips = new LinkedList<>();
             //ISSUE #786: walkValidator should become a stateless dependency
-            WalkValidator walkValidator = new WalkValidatorImpl(tangle, snapshotProvider, ledgerService, config);
+            WalkValidator walkValidator = new WalkValidatorImpl(tangle, snapshotProvider, ledgerService, config,
+                belowMaxDepthCache);
             Hash tip = walker.walk(entryPoint, rating, walkValidator);
             tips.add(tip);
 
@@ -128,6 +153,138 @@ public class TipSelectorImpl implements TipSelector {
         }
     }
 
+    /**
+     * Performs {@link TipSelConfig#getTipSelectionParallelWalks()} walks from the entry point and as many walks from
+     * the reference (or the entry point) concurrently on the {@link #walkPool}. The walks share the read-only
+     * rating, but each one uses its own {@link WalkValidator}, so the tips are checked for consistency as pairs while
+     * the walks finish, and the first consistent pair is returned.
+     *
+     * <p>
+     * The latest snapshot can't stay locked by the calling thread while it waits for the walks, as the pool threads
+     * would be blocked by a waiting writer. Each walk locks it on its own instead.
+     * </p>
+     *
+     * @param depth The depth that the transactions will be found from.
+     * @param reference An optional transaction hash to be referenced by tips.
+     * @return Transactions to approve
+     * @throws Exception If DB fails to retrieve transactions or no walk could be finished
+     */
+    private List<Hash> getTransactionsToApproveInParallel(int depth, Optional<Hash> reference) throws Exception {
+        //preparation
+        Hash entryPoint;
+        Map<Hash, Integer> rating;
+        try {
+            snapshotProvider.getLatestSnapshot().lockRead();
+
+            entryPoint = entryPointSelector.getEntryPoint(depth);
+            rating = calculateRating(entryPoint);
+            if (reference.isPresent()) {
+                checkReference(reference.get(), rating,
+                        new WalkValidatorImpl(tangle, snapshotProvider, ledgerService, config, belowMaxDepthCache));
+            }
+        } finally {
+            snapshotProvider.getLatestSnapshot().unlockRead();
+        }
+
+        //random walks
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CompletionService<Hash> completionService = new ExecutorCompletionService<>(walkPool);
+        List<Future<Hash>> firstWalks = new ArrayList<>();
+        List<Future<Hash>> secondWalks = new ArrayList<>();
+        for (int i = 0; i < config.getTipSelectionParallelWalks(); i++) {
+            firstWalks.add(completionService.submit(() -> walkConcurrently(entryPoint, rating, cancelled)));
+            secondWalks.add(completionService.submit(
+                    () -> walkConcurrently(reference.orElse(entryPoint), rating, cancelled)));
+        }
+
+        try {
+            List<Hash> firstTips = new ArrayList<>();
+            List<Hash> secondTips = new ArrayList<>();
+            Exception walkFailure = null;
+            for (int finished = 0; finished < firstWalks.size() + secondWalks.size(); finished++) {
+                Future<Hash> walk = completionService.take();
+                Hash tip;
+                try {
+                    tip = walk.get();
+                } catch (ExecutionException e) {
+                    walkFailure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    continue;
+                }
+
+                //validate
+                List<Hash> tips = firstWalks.contains(walk)
+                        ? findConsistentPair(tip, secondTips, firstTips, false)
+                        : findConsistentPair(tip, firstTips, secondTips, true);
+                if (tips != null) {
+                    return tips;
+                }
+            }
+
+            if (walkFailure != null && (firstTips.isEmpty() || secondTips.isEmpty())) {
+                throw walkFailure;
+            }
+            throw new IllegalStateException(TIPS_NOT_CONSISTENT);
+        } finally {
+            cancelled.set(true);
+            firstWalks.forEach(walk -> walk.cancel(true));
+            secondWalks.forEach(walk -> walk.cancel(true));
+        }
+    }
+
+    /**
+     * Pairs a new tip with the tips of the other walks and records it.
+     *
+     * @param tip the tip of the walk that just finished
+     * @param otherTips the tips of the finished walks that started from the other starting point
+     * @param tips the tips of the finished walks that started from the same starting point as the new tip
+     * @param second <code>true</code> if the new tip is the second of the pair
+     * @return the first consistent pair, or <code>null</code> if there is none
+     * @throws Exception if the consistency check fails
+     */
+    private List<Hash> findConsistentPair(Hash tip, List<Hash> otherTips, List<Hash> tips, boolean second)
+            throws Exception {
+        tips.add(tip);
+        try {
+            snapshotProvider.getLatestSnapshot().lockRead();
+
+            for (Hash otherTip : otherTips) {
+                List<Hash> pair = second ? Arrays.asList(otherTip, tip) : Arrays.asList(tip, otherTip);
+                if (ledgerService.tipsConsistent(pair)) {
+                    return new LinkedList<>(pair);
+                }
+            }
+            return null;
+        } finally {
+            snapshotProvider.getLatestSnapshot().unlockRead();
+        }
+    }
+
+    private Hash walkConcurrently(Hash entryPoint, Map<Hash, Integer> rating, AtomicBoolean cancelled)
+            throws Exception {
+        WalkValidator walkValidator = new WalkValidatorImpl(tangle, snapshotProvider, ledgerService, config,
+                belowMaxDepthCache);
+        try {
+            snapshotProvider.getLatestSnapshot().lockRead();
+
+            //the walker only checks for interrupts of its own thread, the validator is called on every step
+            return walker.walk(entryPoint, rating, hash -> {
+                if (cancelled.get()) {
+                    throw new InterruptedException();
+                }
+                return walkValidator.isValid(hash);
+            });
+        } finally {
+            snapshotProvider.getLatestSnapshot().unlockRead();
+        }
+    }
+
+    private Map<Hash, Integer> calculateRating(Hash entryPoint) throws Exception {
+        if (config.getAlpha() == 0) {
+            return new RatingOne(tangle).calculate(entryPoint);
+        }
+        return ratingCalculator.calculate(entryPoint);
+    }
+
     //Because walkValidator currently can't be mocked, it is easier to test this private method directly
     @VisibleForTesting
     void checkReference(Hash reference, Map<Hash, Integer> rating, WalkValidator walkValidator)
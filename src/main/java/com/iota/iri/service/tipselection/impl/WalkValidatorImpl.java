@@ -32,7 +32,7 @@ public class WalkValidatorImpl implements WalkValidator {
     private final LedgerService ledgerService;
     private final TipSelConfig config;
 
-    private Set<Hash> maxDepthOkMemoization;
+    private final BelowMaxDepthCache belowMaxDepthCache;
     private Map<Hash, Long> myDiff;
     private Set<Hash> myApprovedHashes;
 
@@ -45,12 +45,25 @@ public class WalkValidatorImpl implements WalkValidator {
      */
     public WalkValidatorImpl(Tangle tangle, SnapshotProvider snapshotProvider, LedgerService ledgerService,
                              TipSelConfig config) {
+        this(tangle, snapshotProvider, ledgerService, config, new BelowMaxDepthCache());
+    }
+
+    /**
+     * Constructor of Walk Validator that shares the results of the below max depth checks with other validators.
+     * @param tangle Tangle object which acts as a database interface.
+     * @param snapshotProvider grants access to snapshots od the ledger state.
+     * @param ledgerService allows to perform ledger related logic.
+     * @param config configurations to set internal parameters.
+     * @param belowMaxDepthCache cache for the results of the below max depth checks.
+     */
+    public WalkValidatorImpl(Tangle tangle, SnapshotProvider snapshotProvider, LedgerService ledgerService,
+                             TipSelConfig config, BelowMaxDepthCache belowMaxDepthCache) {
         this.tangle = tangle;
         this.snapshotProvider = snapshotProvider;
         this.ledgerService = ledgerService;
         this.config = config;
+        this.belowMaxDepthCache = belowMaxDepthCache;
 
-        maxDepthOkMemoization = new HashSet<>();
         myDiff = new HashMap<>();
         myApprovedHashes = new HashSet<>();
     }
@@ -68,8 +81,7 @@ public class WalkValidatorImpl implements WalkValidator {
         } else if (!transactionViewModel.isSolid()) {
             log.debug("Validation failed: {} is not solid", transactionHash);
             return false;
-        } else if (belowMaxDepth(transactionViewModel.getHash(),
-                snapshotProvider.getLatestSnapshot().getIndex() - config.getMaxDepth())) {
+        } else if (belowMaxDepth(transactionViewModel.getHash(), snapshotProvider.getLatestSnapshot().getIndex())) {
             log.debug("Validation failed: {} is below max depth", transactionHash);
             return false;
         } else if (!ledgerService.isBalanceDiffConsistent(myApprovedHashes, myDiff, transactionViewModel.getHash())) {
@@ -79,14 +91,25 @@ public class WalkValidatorImpl implements WalkValidator {
         return true;
     }
 
-    private boolean belowMaxDepth(Hash tip, int lowerAllowedSnapshotIndex) throws Exception {
+    private boolean belowMaxDepth(Hash tip, int milestoneIndex) throws Exception {
+        int lowerAllowedSnapshotIndex = milestoneIndex - config.getMaxDepth();
         //if tip is confirmed stop
         if (TransactionViewModel.fromHash(tangle, tip).snapshotIndex() >= lowerAllowedSnapshotIndex) {
             return false;
         }
+        Boolean cachedVerdict = belowMaxDepthCache.get(tip, milestoneIndex);
+        if (cachedVerdict != null) {
+            return cachedVerdict;
+        }
+        // below max depth verdicts are not cached, as they change when a referenced transaction gets confirmed
+        return belowMaxDepth(tip, milestoneIndex, lowerAllowedSnapshotIndex);
+    }
+
+    private boolean belowMaxDepth(Hash tip, int milestoneIndex, int lowerAllowedSnapshotIndex) throws Exception {
         //if tip unconfirmed, check if any referenced tx is confirmed below maxDepth
-        Queue<Hash> nonAnalyzedTransactions = new LinkedList<>(Collections.singleton(tip));
+        Queue<Hash> nonAnalyzedTransactions = new ArrayDeque<>(Collections.singleton(tip));
         Set<Hash> analyzedTransactions = new HashSet<>();
+        List<Hash> unconfirmedTransactions = new ArrayList<>();
         Hash hash;
         final int maxAnalyzedTransactions = config.getBelowMaxDepthTransactionLimit();
         while ((hash = nonAnalyzedTransactions.poll()) != null) {
@@ -104,15 +127,19 @@ public class WalkValidatorImpl implements WalkValidator {
                             lowerAllowedSnapshotIndex);
                     return true;
                 }
-                if (transaction.snapshotIndex() == 0) {
-                    if (!maxDepthOkMemoization.contains(hash)) {
-                        nonAnalyzedTransactions.offer(transaction.getTrunkTransactionHash());
-                        nonAnalyzedTransactions.offer(transaction.getBranchTransactionHash());
-                    }
+                //only transactions above max depth are cached, so their history doesn't have to be walked again
+                if (transaction.snapshotIndex() == 0
+                        && (hash.equals(tip) || belowMaxDepthCache.get(hash, milestoneIndex) == null)) {
+                    unconfirmedTransactions.add(hash);
+                    nonAnalyzedTransactions.offer(transaction.getTrunkTransactionHash());
+                    nonAnalyzedTransactions.offer(transaction.getBranchTransactionHash());
                 }
             }
         }
-        maxDepthOkMemoization.add(tip);
+        //the whole history of the analyzed transactions is above max depth, so none of them is below max depth
+        for (Hash unconfirmedTransaction : unconfirmedTransactions) {
+            belowMaxDepthCache.put(unconfirmedTransaction, milestoneIndex, false);
+        }
         return false;
     }
 }
@@ -75,6 +75,14 @@ public class WalkerAlpha implements Walker {
             throw new IllegalStateException("entry point failed consistency check: " + entryPoint.toString());
         }
 
+        if (ratings instanceof SubtangleGraph) {
+            SubtangleGraph subtangle = (SubtangleGraph) ratings;
+            int entryPointId = subtangle.getId(entryPoint);
+            if (entryPointId != SubtangleGraph.NO_ID) {
+                return walk(entryPointId, subtangle, walkValidator);
+            }
+        }
+
         Optional<Hash> nextStep;
         Deque<Hash> traversedTails = new LinkedList<>();
         traversedTails.add(entryPoint);
@@ -94,6 +102,91 @@ public class WalkerAlpha implements Walker {
         return traversedTails.getLast();
     }
 
+    /**
+     * Performs the walk on the ids of the subtangle. The approvers are taken from the graph, which only contains the
+     * transactions that existed when the ratings were calculated, so no filtering or database lookups are needed.
+     */
+    private Hash walk(int entryPointId, SubtangleGraph subtangle, WalkValidator walkValidator) throws Exception {
+        int[] candidates = new int[16];
+        double[] weights = new double[16];
+        int currentId = entryPointId;
+        Hash current = subtangle.getHash(entryPointId);
+        int traversedTails = 1;
+
+        //Walk
+        while (true) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+
+            int candidateCount = subtangle.getApproverCount(currentId);
+            if (candidates.length < candidateCount) {
+                candidates = new int[candidateCount];
+                weights = new double[candidateCount];
+            }
+            for (int i = 0; i < candidateCount; i++) {
+                candidates[i] = subtangle.getApprover(currentId, i);
+            }
+
+            Hash nextTail = null;
+            while (nextTail == null && candidateCount > 0) {
+                int selected = select(subtangle, candidates, weights, candidateCount);
+                Optional<Hash> tail = findTailIfValid(subtangle.getHash(candidates[selected]), walkValidator);
+                if (tail.isPresent()) {
+                    nextTail = tail.get();
+                }
+                //if next tail is not valid, re-select while removing it from the candidates
+                candidates[selected] = candidates[--candidateCount];
+            }
+
+            //no valid approver = tip
+            if (nextTail == null) {
+                break;
+            }
+            current = nextTail;
+            currentId = subtangle.getId(nextTail);
+            traversedTails++;
+            //a tail that was attached after the ratings were calculated can't have any approvers in the subtangle
+            if (currentId == SubtangleGraph.NO_ID) {
+                break;
+            }
+        }
+
+        log.debug("{} tails traversed to find tip", traversedTails);
+        tangle.publish("mctn %d", traversedTails);
+
+        return current;
+    }
+
+    private int select(SubtangleGraph subtangle, int[] candidates, double[] weights, int candidateCount) {
+        //Check if alpha was set to 0. If so, weight calculations are skipped and a random approver will be selected.
+        if (alpha == 0) {
+            return random.nextInt(candidateCount);
+        }
+
+        //transition probability function (normalize ratings based on Hmax)
+        int maxRating = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            maxRating = Math.max(maxRating, subtangle.getRating(candidates[i]));
+        }
+        double weightsSum = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            weights[i] = Math.exp(alpha * (subtangle.getRating(candidates[i]) - maxRating));
+            weightsSum += weights[i];
+        }
+
+        //select the next transaction
+        double target = random.nextDouble() * weightsSum;
+        int approverIndex;
+        for (approverIndex = 0; approverIndex < candidateCount - 1; approverIndex++) {
+            target -= weights[approverIndex];
+            if (target <= 0) {
+                break;
+            }
+        }
+        return approverIndex;
+    }
+
     private Optional<Hash> selectApprover(Hash tailHash, Map<Hash, Integer> ratings, WalkValidator walkValidator) throws Exception {
         Set<Hash> approvers = getApprovers(tailHash);
         return findNextValidTail(ratings, approvers, walkValidator);
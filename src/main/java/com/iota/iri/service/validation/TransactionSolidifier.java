@@ -6,6 +6,8 @@ import com.iota.iri.model.Hash;
 import com.iota.iri.service.validation.impl.TransactionSolidifierImpl;
 import com.iota.iri.network.TransactionRequester;
 
+import java.util.function.Consumer;
+
 /**
  * Solidification tool. Transactions placed into the solidification queue will be checked for solidity. Any missing
  * reference transactions will be placed into the {@link TransactionRequester}. If a transaction is found to be solid
@@ -67,16 +69,18 @@ public interface TransactionSolidifier {
      * It iterates through all approved transactions until it finds one that is missing in the database or until it
      * reached solid transactions on all traversed subtangles. In case of a missing transactions it issues a transaction
      * request and returns false. If no missing transaction is found, it marks the processed transactions as solid in
-     * the database and returns true.
+     * the database and returns true. A transaction that is found to be not solid is remembered together with its
+     * missing transactions, so checking it again only continues from the transactions that arrived in the meantime.
      *
      * Since this operation can potentially take a long time to terminate if it would have to traverse big parts of the
      * tangle, it is possible to limit the amount of transactions that are allowed to be processed, while looking for
      * unsolid / missing approvees. This can be useful when trying to "interrupt" the solidification of one transaction
      * (if it takes too many steps) to give another one the chance to be solidified instead (i.e. prevent blocks in the
-     * solidification threads).
+     * solidification threads). An interrupted check is remembered as well, and the next check of the same transaction
+     * continues where it stopped.
      *
      * @param hash hash of the transactions that shall get checked
-     * @param maxProcessedTransactions the maximum amount of transactions that are allowed to be traversed
+     * @param maxProcessedTransactions the maximum amount of transactions that are allowed to be traversed by this check
      * @return true if the transaction is solid and false otherwise
      * @throws Exception if anything goes wrong while trying to solidify the transaction
      */
@@ -96,7 +100,10 @@ public interface TransactionSolidifier {
      *     (if they're present there).</li>
      *     <li>Attempts to quickly solidify {@code transactionViewModel} by checking whether its direct parents
      *     are solid. If solid we add it to the queue transaction solidification thread to help it propagate the
-     *     solidification to the approving child transactions.</li>
+     *     solidification to the approving child transactions. If {@code transactionViewModel} was already stored as
+     *     solid (see {@link #quickSetSolidBeforeStore(TransactionViewModel)}), it is only added to the queues.</li>
+     *     <li>Checks the transactions again that were waiting for {@code transactionViewModel} to arrive. This
+     *     happens after the solid transaction listeners were notified about {@code transactionViewModel}.</li>
      *     <li>Requests missing direct parent (trunk & branch) transactions that are needed to solidify
      *     {@code transactionViewModel}.</li>
      * </ol>
@@ -115,9 +122,52 @@ public interface TransactionSolidifier {
      */
     boolean quickSetSolid(TransactionViewModel transactionViewModel) throws Exception;
 
+    /**
+     * Checks whether both parents of a transaction which is not stored yet are solid, and if so sets the solidity and
+     * height of the transaction, so that they are written together with it. The solid transaction listeners are
+     * notified right away, before the solid transaction is stored. If it can't be stored afterwards, the caller has to
+     * tell the listeners with {@link #revertSolidBeforeStore(TransactionViewModel)}. The other queues are only updated
+     * by {@link #updateStatus(TransactionViewModel)} once the transaction was stored.
+     *
+     * @param transactionViewModel transaction which is about to be stored
+     * @return <tt>true</tt> if we made the transaction solid, else <tt>false</tt>.
+     * @throws Exception if an error occurred while loading the parents
+     */
+    boolean quickSetSolidBeforeStore(TransactionViewModel transactionViewModel) throws Exception;
+
+    /**
+     * Tells the listeners that a transaction which was found to be solid by
+     * {@link #quickSetSolidBeforeStore(TransactionViewModel)} could not be stored, so they can forget about it.
+     *
+     * @param transactionViewModel transaction which could not be stored
+     */
+    void revertSolidBeforeStore(TransactionViewModel transactionViewModel);
+
     /**
      * Adds the given transaction to the internal propagation thread.
      * @param hash the transaction to be placed into propagation
      */
     void addToPropagationQueue(Hash hash);
-}
\ No newline at end of file
+
+    /**
+     * Registers a listener that gets notified about every transaction that this solidifier marks as solid. The
+     * listener is called right after the solid flag of the transaction was set and before it is persisted, so
+     * transactions that are found solid in the database were already announced. This includes transactions that are
+     * stored as solid right away ({@link #quickSetSolidBeforeStore(TransactionViewModel)}). Transactions waiting for a
+     * newly stored transaction are only checked again after the listeners were notified about it.
+     *
+     * @param listener consumer of the transactions that became solid
+     */
+    void addSolidTransactionListener(Consumer<TransactionViewModel> listener);
+
+    /**
+     * Registers a listener like {@link #addSolidTransactionListener(Consumer)}, together with a listener that gets
+     * notified about the transactions that were announced before they were stored but could not be stored (see
+     * {@link #revertSolidBeforeStore(TransactionViewModel)}).
+     *
+     * @param listener consumer of the transactions that became solid
+     * @param notStoredListener consumer of the announced transactions that could not be stored
+     */
+    void addSolidTransactionListener(Consumer<TransactionViewModel> listener,
+            Consumer<TransactionViewModel> notStoredListener);
+}
@@ -0,0 +1,159 @@
+package com.iota.iri.service.validation.impl;
+
+import com.iota.iri.model.Hash;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * Keeps the results of unsuccessful solidity checks, so that a transaction which is checked again does not have to
+ * walk its whole past cone again.
+ * </p>
+ * <p>
+ * For every tracked transaction, the frontier stores the hashes that were analyzed while walking its past cone and
+ * the missing transactions which stopped it from becoming solid. A later check only has to continue from the missing
+ * transactions that arrived in the meantime, and from the transactions it did not get to analyze because it reached its
+ * limit. The frontier also knows which tracked transactions wait for a missing
+ * transaction, so an arriving transaction only triggers the checks of its dependents.
+ * </p>
+ * <p>
+ * The walks are only valid for the solid entry points they were made with. All walks are discarded once the initial
+ * snapshot changes. The amount of hashes that are kept is limited, the oldest walks are discarded first.
+ * </p>
+ */
+class SolidificationFrontier {
+
+    private final int maxTrackedHashes;
+
+    private final LinkedHashMap<Hash, Walk> walks = new LinkedHashMap<>();
+
+    private final Map<Hash, Set<Hash>> waitingTransactions = new HashMap<>();
+
+    private int trackedHashes;
+
+    private int snapshotIndex = -1;
+
+    /**
+     * Creates an empty frontier.
+     *
+     * @param maxTrackedHashes maximum amount of analyzed hashes that are kept for all walks together
+     */
+    SolidificationFrontier(int maxTrackedHashes) {
+        this.maxTrackedHashes = maxTrackedHashes;
+    }
+
+    /**
+     * Removes the walk of the given transaction from the frontier, so the caller can continue it. The walk has to be
+     * handed back with {@link #track(Hash, Walk, int)} if the transaction is still not solid afterwards.
+     *
+     * @param hash the transaction whose walk is requested
+     * @param snapshotIndex index of the current initial snapshot
+     * @return the walk or <code>null</code> if the transaction is not tracked
+     */
+    synchronized Walk take(Hash hash, int snapshotIndex) {
+        if (this.snapshotIndex != snapshotIndex) {
+            clear();
+            this.snapshotIndex = snapshotIndex;
+            return null;
+        }
+        return remove(hash);
+    }
+
+    /**
+     * Stores the walk of a transaction that is not solid yet or that was interrupted. Walks that are larger than the
+     * limit of the frontier are dropped.
+     *
+     * @param hash the transaction that was checked
+     * @param walk the result of the check
+     * @param snapshotIndex index of the initial snapshot the walk was made with
+     */
+    synchronized void track(Hash hash, Walk walk, int snapshotIndex) {
+        if (this.snapshotIndex != snapshotIndex || walk.size() > maxTrackedHashes) {
+            return;
+        }
+        remove(hash);
+        while (trackedHashes + walk.size() > maxTrackedHashes) {
+            remove(walks.keySet().iterator().next());
+        }
+
+        walks.put(hash, walk);
+        trackedHashes += walk.size();
+        for (Hash missingHash : walk.missing) {
+            waitingTransactions.computeIfAbsent(missingHash, key -> new HashSet<>()).add(hash);
+        }
+    }
+
+    /**
+     * Returns the tracked transactions that wait for the given transaction.
+     *
+     * @param hash a transaction that might have been missing
+     * @return the hashes of the waiting transactions
+     */
+    synchronized Set<Hash> getWaitingTransactions(Hash hash) {
+        Set<Hash> waiting = waitingTransactions.get(hash);
+        return waiting == null ? Collections.emptySet() : new HashSet<>(waiting);
+    }
+
+    /**
+     * @return the amount of tracked transactions
+     */
+    synchronized int size() {
+        return walks.size();
+    }
+
+    private Walk remove(Hash hash) {
+        Walk walk = walks.remove(hash);
+        if (walk != null) {
+            trackedHashes -= walk.size();
+            for (Hash missingHash : walk.missing) {
+                Set<Hash> waiting = waitingTransactions.get(missingHash);
+                if (waiting != null && waiting.remove(hash) && waiting.isEmpty()) {
+                    waitingTransactions.remove(missingHash);
+                }
+            }
+        }
+        return walk;
+    }
+
+    private void clear() {
+        walks.clear();
+        waitingTransactions.clear();
+        trackedHashes = 0;
+    }
+
+    /**
+     * The past cone of a transaction that was analyzed by a solidity check.
+     */
+    static class Walk {
+
+        /**
+         * The transactions that were analyzed, in the order they were found. Solid entry points are not included.
+         */
+        final LinkedHashSet<Hash> analyzed = new LinkedHashSet<>();
+
+        /**
+         * The analyzed transactions that are missing in the database.
+         */
+        final Set<Hash> missing = new HashSet<>();
+
+        /**
+         * The transactions that were found but not analyzed yet, because the check reached its limit.
+         */
+        final Deque<Hash> pending = new ArrayDeque<>();
+
+        /**
+         * @return the amount of hashes that are kept for this walk
+         */
+        int size() {
+            return analyzed.size() + pending.size();
+        }
+    }
+}
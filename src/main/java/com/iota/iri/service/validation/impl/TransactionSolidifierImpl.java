@@ -1,11 +1,13 @@
 package com.iota.iri.service.validation.impl;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.iota.iri.controllers.ApproveeViewModel;
 import com.iota.iri.controllers.TipsViewModel;
 import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.model.Hash;
 import com.iota.iri.network.pipeline.TransactionProcessingPipeline;
 import com.iota.iri.network.TransactionRequester;
+import com.iota.iri.service.snapshot.Snapshot;
 import com.iota.iri.service.snapshot.SnapshotProvider;
 import com.iota.iri.service.validation.TransactionSolidifier;
 import com.iota.iri.storage.Tangle;
@@ -15,6 +17,7 @@ import com.iota.iri.utils.thread.SilentScheduledExecutorService;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Consumer;
 
 import static com.iota.iri.controllers.TransactionViewModel.PREFILLED_SLOT;
 import static com.iota.iri.controllers.TransactionViewModel.fromHash;
@@ -72,6 +75,23 @@ public class TransactionSolidifierImpl implements TransactionSolidifier {
 
     private TransactionPropagator transactionPropagator;
 
+    /**
+     * The walks of the transactions that were found to be not solid by {@link #checkSolidity(Hash, int)}, which are
+     * continued by later checks instead of being repeated.
+     */
+    private final SolidificationFrontier solidificationFrontier =
+            new SolidificationFrontier(SOLIDIFICATION_TRANSACTIONS_LIMIT);
+
+    /**
+     * Listeners that get notified when a transaction is marked solid.
+     */
+    private final List<Consumer<TransactionViewModel>> solidTransactionListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Listeners that get notified when a transaction that was announced before it was stored could not be stored.
+     */
+    private final List<Consumer<TransactionViewModel>> notStoredTransactionListeners = new CopyOnWriteArrayList<>();
+
     /**
      * Constructor for the solidifier.
      * @param tangle                    The DB reference
@@ -200,27 +220,56 @@ public class TransactionSolidifierImpl implements TransactionSolidifier {
      */
     @Override
     public boolean checkSolidity(Hash hash, int maxProcessedTransactions) throws Exception {
+        Snapshot initialSnapshot = snapshotProvider.getInitialSnapshot();
+        int snapshotIndex = initialSnapshot.getIndex();
+        SolidificationFrontier.Walk walk = solidificationFrontier.take(hash, snapshotIndex);
         if(fromHash(tangle, hash).isSolid()) {
             return true;
         }
-        LinkedHashSet<Hash> analyzedHashes = new LinkedHashSet<>(snapshotProvider.getInitialSnapshot().getSolidEntryPoints().keySet());
-        maxProcessedTransactions = Math.addExact(maxProcessedTransactions, analyzedHashes.size());
-        boolean solid = true;
-        final Deque<Hash> nonAnalyzedTransactions = new ArrayDeque<>(Collections.singleton(hash));
+
+        final Deque<Hash> nonAnalyzedTransactions = new ArrayDeque<>();
+        if (walk == null) {
+            walk = new SolidificationFrontier.Walk();
+            nonAnalyzedTransactions.offer(hash);
+        } else {
+            // continue the previous walk from where it was interrupted and from the transactions that arrived since
+            nonAnalyzedTransactions.addAll(walk.pending);
+            walk.pending.clear();
+            for (Iterator<Hash> iterator = walk.missing.iterator(); iterator.hasNext(); ) {
+                Hash missingHash = iterator.next();
+                TransactionViewModel transaction = fromHash(tangle, missingHash);
+                if (transaction.getType() == PREFILLED_SLOT && !initialSnapshot.hasSolidEntryPoint(missingHash)) {
+                    checkRequester(missingHash);
+                } else {
+                    iterator.remove();
+                    if (isUnsolidWithoutEntryPoint(transaction, missingHash)) {
+                        nonAnalyzedTransactions.offer(transaction.getTrunkTransactionHash());
+                        nonAnalyzedTransactions.offer(transaction.getBranchTransactionHash());
+                    }
+                }
+            }
+        }
+
+        int previouslyAnalyzed = walk.analyzed.size();
         Hash hashPointer;
         while ((hashPointer = nonAnalyzedTransactions.poll()) != null) {
-            if (!analyzedHashes.add(hashPointer)) {
+            if (initialSnapshot.hasSolidEntryPoint(hashPointer) || !walk.analyzed.add(hashPointer)) {
                 continue;
             }
 
-            if (analyzedHashes.size() >= maxProcessedTransactions) {
+            if (walk.analyzed.size() - previouslyAnalyzed >= maxProcessedTransactions) {
+                // keep the walk, so the next check continues where this one stopped
+                walk.analyzed.remove(hashPointer);
+                walk.pending.add(hashPointer);
+                walk.pending.addAll(nonAnalyzedTransactions);
+                solidificationFrontier.track(hash, walk, snapshotIndex);
                 return false;
             }
 
             TransactionViewModel transaction = fromHash(tangle, hashPointer);
             if (isUnsolidWithoutEntryPoint(transaction, hashPointer)) {
                 if (transaction.getType() == PREFILLED_SLOT) {
-                    solid = false;
+                    walk.missing.add(hashPointer);
                     checkRequester(hashPointer);
                 } else {
                     nonAnalyzedTransactions.offer(transaction.getTrunkTransactionHash());
@@ -228,11 +277,12 @@ public class TransactionSolidifierImpl implements TransactionSolidifier {
                 }
             }
         }
-        if (solid) {
-            updateTransactions(analyzedHashes);
+        if (walk.missing.isEmpty()) {
+            updateTransactions(walk.analyzed);
+            return true;
         }
-        analyzedHashes.clear();
-        return  solid;
+        solidificationFrontier.track(hash, walk, snapshotIndex);
+        return false;
     }
 
 
@@ -258,6 +308,7 @@ public class TransactionSolidifierImpl implements TransactionSolidifier {
 
                 if(!tvm.isSolid()){
                     tvm.updateSolid(true);
+                    notifySolidTransactionListeners(tvm);
                     tvm.update(tangle, snapshotProvider.getInitialSnapshot(), "solid|height");
                 }
 
@@ -312,11 +363,50 @@ public class TransactionSolidifierImpl implements TransactionSolidifier {
         tipsViewModel.removeTipHash(transactionViewModel.getTrunkTransactionHash());
         tipsViewModel.removeTipHash(transactionViewModel.getBranchTransactionHash());
 
-        if(quickSetSolid(transactionViewModel)) {
+        if(transactionViewModel.isSolid()) {
+            // the solidity and height were stored together with the transaction, and the listeners were already
+            // notified before it was stored
+            tipsViewModel.setSolid(transactionViewModel.getHash());
+            transactionPropagator.addToPropagationQueue(transactionViewModel.getHash());
+            addToBroadcastQueue(transactionViewModel);
+        } else if(quickSetSolid(transactionViewModel)) {
             transactionViewModel.update(tangle, snapshotProvider.getInitialSnapshot(), "solid|height");
             tipsViewModel.setSolid(transactionViewModel.getHash());
             transactionPropagator.addToPropagationQueue(transactionViewModel.getHash());
         }
+
+        // the waiting transactions are only checked once the listeners know about the solidity of this one
+        for (Hash waitingTransaction : solidificationFrontier.getWaitingTransactions(transactionViewModel.getHash())) {
+            addToSolidificationQueue(waitingTransaction);
+        }
+    }
+
+    @Override
+    public boolean quickSetSolidBeforeStore(TransactionViewModel transactionViewModel) throws Exception {
+        if(transactionViewModel.isSolid()) {
+            return false;
+        }
+        // the parents are not cached in the transaction, as a missing parent might be stored in the same batch
+        TransactionViewModel trunk = TransactionViewModel.fromHash(tangle,
+                transactionViewModel.getTrunkTransactionHash());
+        if (!checkApproovee(trunk) || !checkApproovee(TransactionViewModel.fromHash(tangle,
+                transactionViewModel.getBranchTransactionHash()))) {
+            return false;
+        }
+
+        long height;
+        if (trunk.getHeight() != 0) {
+            height = trunk.getHeight() + 1;
+        } else if (snapshotProvider.getInitialSnapshot().hasSolidEntryPoint(trunk.getHash())) {
+            height = 1L;
+        } else {
+            // the height of the trunk is unknown, it is calculated by updateHeights once the transaction is stored
+            return false;
+        }
+        transactionViewModel.updateSolid(true);
+        transactionViewModel.updateHeight(height);
+        notifySolidTransactionListeners(transactionViewModel);
+        return true;
     }
 
 
@@ -332,6 +422,7 @@ public class TransactionSolidifierImpl implements TransactionSolidifier {
             }
             if(solid) {
                 transactionViewModel.updateSolid(true);
+                notifySolidTransactionListeners(transactionViewModel);
                 transactionViewModel.updateHeights(tangle, snapshotProvider.getInitialSnapshot());
                 transactionPropagator.addToPropagationQueue(transactionViewModel.getHash());
                 addToBroadcastQueue(transactionViewModel);
@@ -341,6 +432,48 @@ public class TransactionSolidifierImpl implements TransactionSolidifier {
         return false;
     }
 
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void addSolidTransactionListener(Consumer<TransactionViewModel> listener) {
+        solidTransactionListeners.add(listener);
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void addSolidTransactionListener(Consumer<TransactionViewModel> listener,
+            Consumer<TransactionViewModel> notStoredListener) {
+        solidTransactionListeners.add(listener);
+        notStoredTransactionListeners.add(notStoredListener);
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void revertSolidBeforeStore(TransactionViewModel transactionViewModel) {
+        for (Consumer<TransactionViewModel> listener : notStoredTransactionListeners) {
+            try {
+                listener.accept(transactionViewModel);
+            } catch (Exception e) {
+                log.error("Error while notifying listener about transaction that was not stored", e);
+            }
+        }
+    }
+
+    private void notifySolidTransactionListeners(TransactionViewModel transactionViewModel) {
+        for (Consumer<TransactionViewModel> listener : solidTransactionListeners) {
+            try {
+                listener.accept(transactionViewModel);
+            } catch (Exception e) {
+                log.error("Error while notifying listener about solid transaction", e);
+            }
+        }
+    }
+
     /**
      * If the the {@code approvee} is missing, request it from a neighbor.
      * @param approovee transaction we check.
@@ -369,50 +502,90 @@ public class TransactionSolidifierImpl implements TransactionSolidifier {
          * A queue for processing transactions with the {@link #propagateSolidTransactions()} call. This will check
          * approving transactions with {@link #quickSetSolid(TransactionViewModel)}.
          */
-        private BlockingQueue<Hash> solidTransactions = new ArrayBlockingQueue<>(MAX_SIZE);
+        private final Queue<Hash> solidTransactions = new ConcurrentLinkedQueue<>();
 
+        /**
+         * The hashes in the {@link #solidTransactions} queue, to find duplicates without scanning the queue.
+         */
+        private final Set<Hash> queuedTransactions = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Defines the minimum number of transactions that will be processed in a single run of the
+         * {@link TransactionPropagator#propagateSolidTransactions()} call.
+         */
+        private static final int PROPAGATION_QUEUE_MIN_PROCESS = 10;
 
         /**
          * Defines the maximum number of transactions that will be processed in a single run of the
          * {@link TransactionPropagator#propagateSolidTransactions()} call. This is to stop the propagator from potentially
          * stalling out solidification with an endless addition of new transactions to propagate.
          */
-        private static final int PROPAGATION_QUEUE_MAX_PROCESS = 10;
+        private static final int PROPAGATION_QUEUE_MAX_PROCESS = 1000;
 
         /**
-         * Add to the propagation queue where it will be processed to help solidify approving transactions faster
-         * @param hash      The transaction hash to be removed
+         * Each run of the {@link TransactionPropagator#propagateSolidTransactions()} call processes this fraction of
+         * the queued transactions, so a growing backlog is worked off in larger batches.
+         */
+        private static final int PROPAGATION_QUEUE_BACKLOG_DIVISOR = 10;
+
+        /**
+         * Add to the propagation queue where it will be processed to help solidify approving transactions faster. If
+         * the queue is full, the oldest transaction is dropped.
+         *
+         * @param hash      The transaction hash to be added
          * @throws Exception
          */
         public void addToPropagationQueue(Hash hash) throws Exception{
-            if(!solidTransactions.contains(hash)) {
-                if (solidTransactions.size() >= MAX_SIZE) {
-                    solidTransactions.remove();
+            if (queuedTransactions.add(hash)) {
+                if (queuedTransactions.size() > MAX_SIZE) {
+                    Hash oldest = solidTransactions.poll();
+                    if (oldest != null) {
+                        queuedTransactions.remove(oldest);
+                    }
                 }
                 solidTransactions.offer(hash);
             }
         }
 
+        /**
+         * Takes a batch of transactions from the queue, loads their approvers in batched reads and tries to solidify
+         * them with {@link #quickSetSolid(TransactionViewModel)}.
+         */
         @VisibleForTesting
         void propagateSolidTransactions() {
-            int processed = 0;
-            while(!Thread.currentThread().isInterrupted() && solidTransactions.peek() != null
-                    && processed < PROPAGATION_QUEUE_MAX_PROCESS) {
-                try {
-                    ++processed;
-                    Hash hash = solidTransactions.poll();
-                    TransactionViewModel transaction = fromHash(tangle, hash);
-                    Set<Hash> approvers = transaction.getApprovers(tangle).getHashes();
-                    for(Hash h: approvers) {
-                        TransactionViewModel tx = fromHash(tangle, h);
-                        if (quietQuickSetSolid(tx)) {
-                            tx.update(tangle, snapshotProvider.getInitialSnapshot(), "solid|height");
-                            tipsViewModel.setSolid(h);
-                        }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            int batchSize = Math.min(PROPAGATION_QUEUE_MAX_PROCESS, Math.max(PROPAGATION_QUEUE_MIN_PROCESS,
+                    queuedTransactions.size() / PROPAGATION_QUEUE_BACKLOG_DIVISOR));
+            List<Hash> hashes = new ArrayList<>(batchSize);
+            Hash hash;
+            while (hashes.size() < batchSize && (hash = solidTransactions.poll()) != null) {
+                queuedTransactions.remove(hash);
+                hashes.add(hash);
+            }
+            if (hashes.isEmpty()) {
+                return;
+            }
+
+            try {
+                // a transaction that approves several of the solid transactions is only checked once
+                Set<Hash> approvers = new LinkedHashSet<>();
+                for (ApproveeViewModel approveeViewModel : ApproveeViewModel.loadAll(tangle, hashes)) {
+                    approvers.addAll(approveeViewModel.getHashes());
+                }
+                for (TransactionViewModel tx : TransactionViewModel.fromHashes(tangle, new ArrayList<>(approvers))) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                    if (quietQuickSetSolid(tx)) {
+                        tx.update(tangle, snapshotProvider.getInitialSnapshot(), "solid|height");
+                        tipsViewModel.setSolid(tx.getHash());
                     }
-                } catch (Exception e) {
-                    log.error("Error while propagating solidity upwards", e);
                 }
+            } catch (Exception e) {
+                log.error("Error while propagating solidity upwards", e);
             }
         }
 
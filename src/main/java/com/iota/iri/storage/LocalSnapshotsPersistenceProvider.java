@@ -1,5 +1,6 @@
 package com.iota.iri.storage;
 
+import com.iota.iri.model.Hash;
 import com.iota.iri.model.LocalSnapshot;
 import com.iota.iri.model.persistables.SpentAddress;
 import com.iota.iri.utils.Pair;
@@ -123,6 +124,30 @@ public class LocalSnapshotsPersistenceProvider implements PersistenceProvider {
         return provider.get(model, index);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Persistable> getAll(Class<?> model, List<Indexable> indexes) throws Exception {
+        return provider.getAll(model, indexes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Hash> getHashes(Class<?> model, Indexable index, int offset, int limit) throws Exception {
+        return provider.getHashes(model, index, offset, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countHashes(Class<?> model, Indexable index) throws Exception {
+        return provider.countHashes(model, index);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -4,6 +4,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
+import com.iota.iri.model.Hash;
+import com.iota.iri.model.persistables.Hashes;
 import com.iota.iri.utils.Pair;
 
 /**
@@ -99,6 +101,41 @@ public interface PersistenceProvider {
      */
     Persistable get(Class<?> model, Indexable index) throws Exception;
 
+    /**
+     * Retrieves the {@code model} types indexed with the {@code indexes} keys in one batched read, together with their
+     * metadata.
+     *
+     * @param model the table/column family to look at
+     * @param indexes the keys
+     * @return The stored values in the order of the keys, values which are not stored don't {@link Persistable#exists()}
+     * @throws Exception if we encounter a problem with the DB
+     */
+    List<Persistable> getAll(Class<?> model, List<Indexable> indexes) throws Exception;
+
+    /**
+     * Reads a range of the hashes that are stored in a {@link Hashes} model, without loading and decoding the
+     * complete set. Hashes that were merged more than once under the same key are returned once per merge.
+     *
+     * @param model the table/column family to look at, must store {@link Hashes}
+     * @param index the key
+     * @param offset the amount of stored hashes to skip
+     * @param limit the maximum amount of hashes to return
+     * @return the hashes in the order they were stored, an empty list if there are no hashes in the range
+     * @throws Exception if we encounter a problem with the DB
+     */
+    List<Hash> getHashes(Class<?> model, Indexable index, int offset, int limit) throws Exception;
+
+    /**
+     * Counts the hashes that are stored in a {@link Hashes} model, without loading them. Hashes that were merged
+     * more than once under the same key are counted once per merge.
+     *
+     * @param model the table/column family to look at, must store {@link Hashes}
+     * @param index the key
+     * @return the amount of stored hashes
+     * @throws Exception if we encounter a problem with the DB
+     */
+    int countHashes(Class<?> model, Indexable index) throws Exception;
+
     /**
      * Checks with a degree of certainity whether we have a value indexed at a
      * given key. Unlike {@link #exists} it can return false positives, but it should be much more efficient
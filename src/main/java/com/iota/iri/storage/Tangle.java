@@ -44,10 +44,29 @@ public class Tangle {
     private final List<PersistenceProvider> persistenceProviders = new ArrayList<>();
     private final List<MessageQueueProvider> messageQueueProviders = new ArrayList<>();
 
+    private TransactionCache transactionCache;
+
     public void addPersistenceProvider(PersistenceProvider provider) {
         this.persistenceProviders.add(provider);
     }
 
+    /**
+     * Sets the {@link TransactionCache} that is consulted before loading a {@link Transaction} from the
+     * {@link PersistenceProvider}s. All saved, updated and deleted transactions are written through to it.
+     *
+     * @param transactionCache the cache to use, or <code>null</code> to disable caching
+     */
+    public void setTransactionCache(TransactionCache transactionCache) {
+        this.transactionCache = transactionCache;
+    }
+
+    /**
+     * @return the {@link TransactionCache} in use, or <code>null</code> if transactions are not cached
+     */
+    public TransactionCache getTransactionCache() {
+        return transactionCache;
+    }
+
     /**
      *
      * @see PersistenceProvider#init()
@@ -77,12 +96,22 @@ public class Tangle {
         log.info("Shutting down Tangle MessageQueue Providers... ");
         this.messageQueueProviders.forEach(MessageQueueProvider::shutdown);
         this.messageQueueProviders.clear();
+        if (transactionCache != null) {
+            transactionCache.clear();
+        }
     }
 
     /**
      * @see PersistenceProvider#get(Class, Indexable)
      */
     public Persistable load(Class<?> model, Indexable index) throws Exception {
+        if (isCached(model)) {
+            Transaction cached = transactionCache.get(index);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         LinkedList<Persistable> outlist = new LinkedList<>();
         for (PersistenceProvider provider : this.persistenceProviders) {
             Persistable result = provider.get(model, index);
@@ -94,6 +123,9 @@ public class Tangle {
                 } else {
                     // If it is a non-mergeable result then there is no need to ask another provider again.
                     // return immediately
+                    if (isCached(model) && ((Transaction) result).parsed.get()) {
+                        transactionCache.put(index, (Transaction) result);
+                    }
                     return result;
                 }
             }
@@ -116,6 +148,63 @@ public class Tangle {
         return p;
     }
 
+    /**
+     * Loads the {@code model} types indexed with the {@code indexes} keys with one batched read per
+     * {@link PersistenceProvider}, instead of one read per key. Cached transactions are not read again.
+     *
+     * @param model the table/column family to look at
+     * @param indexes the keys
+     * @return the loaded values in the order of the keys, values which are not stored don't
+     *         {@link Persistable#exists()}
+     * @throws Exception if a provider fails to load the values
+     * @see PersistenceProvider#getAll(Class, List)
+     */
+    public List<Persistable> loadAll(Class<?> model, List<Indexable> indexes) throws Exception {
+        Persistable[] results = new Persistable[indexes.size()];
+        List<Integer> missing = new ArrayList<>(indexes.size());
+        for (int i = 0; i < indexes.size(); i++) {
+            results[i] = isCached(model) ? transactionCache.get(indexes.get(i)) : null;
+            if (results[i] == null) {
+                missing.add(i);
+            }
+        }
+
+        for (PersistenceProvider provider : this.persistenceProviders) {
+            if (missing.isEmpty()) {
+                break;
+            }
+
+            List<Persistable> loaded = provider.getAll(model,
+                    missing.stream().map(indexes::get).collect(Collectors.toList()));
+            List<Integer> stillMissing = new ArrayList<>();
+            for (int i = 0; i < missing.size(); i++) {
+                int position = missing.get(i);
+                Persistable result = loaded.get(i);
+                if (result == null || !result.exists()) {
+                    stillMissing.add(position);
+                } else if (result.canMerge()) {
+                    // mergeable results are completed by the other providers, like in load(Class, Indexable)
+                    results[position] = results[position] == null ? result : results[position].mergeInto(result);
+                    stillMissing.add(position);
+                } else {
+                    if (isCached(model) && ((Transaction) result).parsed.get()) {
+                        transactionCache.put(indexes.get(position), (Transaction) result);
+                    }
+                    results[position] = result;
+                }
+            }
+            missing = stillMissing;
+        }
+
+        //For backwards compatibility. Should be solve with issue #1591
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = (Persistable) model.newInstance();
+            }
+        }
+        return Arrays.asList(results);
+    }
+
     /**
      * @see PersistenceProvider#saveBatch(List)
      */
@@ -128,6 +217,13 @@ public class Tangle {
                 exists = provider.saveBatch(models);
             }
         }
+        if (transactionCache != null) {
+            for (Pair<Indexable, Persistable> model : models) {
+                if (model.hi instanceof Transaction) {
+                    transactionCache.put(model.low, (Transaction) model.hi);
+                }
+            }
+        }
         return exists;
     }
 
@@ -143,6 +239,9 @@ public class Tangle {
                    exists = provider.save(model, index);
                 }
             }
+            if (transactionCache != null && model instanceof Transaction) {
+                transactionCache.put(index, (Transaction) model);
+            }
             return exists;
     }
 
@@ -153,6 +252,13 @@ public class Tangle {
         for(PersistenceProvider provider: persistenceProviders) {
             provider.deleteBatch(models);
         }
+        if (transactionCache != null) {
+            for (Pair<Indexable, ? extends Class<? extends Persistable>> model : models) {
+                if (isCached(model.hi)) {
+                    transactionCache.invalidate(model.low);
+                }
+            }
+        }
     }
 
     /**
@@ -162,6 +268,9 @@ public class Tangle {
             for(PersistenceProvider provider: persistenceProviders) {
                 provider.delete(model, index);
             }
+            if (isCached(model)) {
+                transactionCache.invalidate(index);
+            }
     }
 
     /**
@@ -192,10 +301,25 @@ public class Tangle {
         updateMessageQueueProvider(model, index, item);
     }
 
+    /**
+     * Publishes the model to all {@link com.iota.iri.zmq.MessageQueueProvider} like {@link #update} does, without
+     * updating the {@link PersistenceProvider}.
+     *
+     * @param model with transaction data
+     * @param index {@link Hash} identifier of the {@link Transaction} set
+     * @param item identifying the purpose of the update
+     */
+    public void publishTransaction(Persistable model, Indexable index, String item) {
+        updateMessageQueueProvider(model, index, item);
+    }
+
     private void updatePersistenceProvider(Persistable model, Indexable index, String item) throws Exception {
         for(PersistenceProvider provider: this.persistenceProviders) {
                 provider.update(model, index, item);
         }
+        if (transactionCache != null && model instanceof Transaction) {
+            transactionCache.put(index, (Transaction) model);
+        }
     }
 
     private void updateMessageQueueProvider(Persistable model, Indexable index, String item) {
@@ -275,6 +399,32 @@ public class Tangle {
             return false;
     }
 
+    /**
+     * @see PersistenceProvider#getHashes(Class, Indexable, int, int)
+     */
+    public List<Hash> loadHashes(Class<?> model, Indexable index, int offset, int limit) throws Exception {
+        for (PersistenceProvider provider : this.persistenceProviders) {
+            List<Hash> hashes = provider.getHashes(model, index, offset, limit);
+            if (!hashes.isEmpty()) {
+                return hashes;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @see PersistenceProvider#countHashes(Class, Indexable)
+     */
+    public int countHashes(Class<?> model, Indexable index) throws Exception {
+        int count = 0;
+        for (PersistenceProvider provider : this.persistenceProviders) {
+            if ((count = provider.countHashes(model, index)) != 0) {
+                break;
+            }
+        }
+        return count;
+    }
+
     /**
      * @see PersistenceProvider#mayExist(Class, Indexable)
      */
@@ -359,6 +509,9 @@ public class Tangle {
         for(PersistenceProvider provider: persistenceProviders) {
             provider.clear(column);
         }
+        if (isCached(column)) {
+            transactionCache.clear();
+        }
     }
 
     /**
@@ -368,6 +521,13 @@ public class Tangle {
         for(PersistenceProvider provider: persistenceProviders) {
             provider.clearMetadata(column);
         }
+        if (isCached(column)) {
+            transactionCache.clear();
+        }
+    }
+
+    private boolean isCached(Class<?> model) {
+        return transactionCache != null && model == Transaction.class;
     }
 
     /**
@@ -0,0 +1,70 @@
+package com.iota.iri.storage;
+
+import com.iota.iri.model.persistables.Transaction;
+
+/**
+ * An in-memory cache of {@link Transaction} objects that sits in front of the {@link PersistenceProvider}s of the
+ * {@link Tangle}. It holds the parsed transaction together with its metadata, so that frequently loaded transactions
+ * do not have to be read and decoded from the database every time.
+ *
+ * <p>
+ * The {@link Tangle} keeps the cache consistent with the database: it writes through every saved or updated
+ * transaction and invalidates every deleted one.
+ * </p>
+ */
+public interface TransactionCache {
+
+    /**
+     * Looks up a cached transaction.
+     *
+     * @param index the hash of the transaction
+     * @return a copy of the cached transaction, or {@code null} if it is not cached
+     */
+    Transaction get(Indexable index);
+
+    /**
+     * Adds or replaces the cached version of a transaction. The transaction is expected to be persisted together with
+     * its metadata. Transactions that don't {@link Transaction#exists()} are not cached.
+     *
+     * @param index the hash of the transaction
+     * @param transaction the transaction including its metadata
+     */
+    void put(Indexable index, Transaction transaction);
+
+    /**
+     * Removes a transaction from the cache.
+     *
+     * @param index the hash of the transaction
+     */
+    void invalidate(Indexable index);
+
+    /**
+     * Removes all transactions from the cache.
+     */
+    void clear();
+
+    /**
+     * @return the amount of transactions that are currently cached
+     */
+    int size();
+
+    /**
+     * @return the estimated amount of memory used by the cached transactions in bytes
+     */
+    long getEstimatedSizeInBytes();
+
+    /**
+     * @return the amount of lookups that were answered from the cache
+     */
+    long getCacheHits();
+
+    /**
+     * @return the amount of lookups that had to go to the database
+     */
+    long getCacheMisses();
+
+    /**
+     * @return the amount of transactions that were removed to stay within the size limit
+     */
+    long getEvictions();
+}
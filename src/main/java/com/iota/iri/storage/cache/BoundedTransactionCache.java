@@ -0,0 +1,254 @@
+package com.iota.iri.storage.cache;
+
+import com.iota.iri.model.Hash;
+import com.iota.iri.model.HashFactory;
+import com.iota.iri.model.TransactionHash;
+import com.iota.iri.model.persistables.Transaction;
+import com.iota.iri.storage.Indexable;
+import com.iota.iri.storage.TransactionCache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A thread safe {@link TransactionCache} whose capacity is limited by the estimated memory of its entries.
+ *
+ * <p>
+ * Once the limit is reached, entries are evicted with a second chance (clock) policy: entries are visited in the
+ * order they were added, an entry that was read since the last visit is moved to the back of the queue and all other
+ * entries are removed. This approximates a LRU cache without having to lock on every read.
+ * </p>
+ * <p>
+ * The cache never hands out the instances it stores. Transactions are copied when they are added and when they are
+ * read, so that changes made through a {@link com.iota.iri.controllers.TransactionViewModel} only become visible to
+ * other readers once they are written to the {@link com.iota.iri.storage.Tangle}.
+ * </p>
+ */
+public class BoundedTransactionCache implements TransactionCache {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedTransactionCache.class);
+
+    /**
+     * Estimated memory used by an entry besides the transaction bytes: the 6 hashes of the metadata, the atomic
+     * fields, the map and queue nodes and the object headers.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 1024;
+
+    private final long maxSizeInBytes;
+
+    private final Map<Hash, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> evictionQueue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Amount of entries in the {@link #evictionQueue} that were already removed from {@link #entries}.
+     */
+    private final AtomicInteger staleEntries = new AtomicInteger();
+    private final AtomicLong sizeInBytes = new AtomicLong();
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSizeInBytes the maximum estimated memory in bytes that the cached transactions may use
+     */
+    public BoundedTransactionCache(long maxSizeInBytes) {
+        this.maxSizeInBytes = maxSizeInBytes;
+    }
+
+    @Override
+    public Transaction get(Indexable index) {
+        Entry entry = entries.get(toKey(index));
+        if (entry == null) {
+            cacheMisses.increment();
+            logCacheStats();
+            return null;
+        }
+        entry.referenced = true;
+        cacheHits.increment();
+        logCacheStats();
+        return copy(entry.transaction);
+    }
+
+    @Override
+    public void put(Indexable index, Transaction transaction) {
+        if (transaction == null || !transaction.exists()) {
+            invalidate(index);
+            return;
+        }
+
+        Transaction copy = copy(transaction);
+        // the metadata was persisted together with the transaction, it behaves like one that was read from the db
+        copy.parsed.set(true);
+        Entry entry = new Entry(toKey(index), copy);
+        retire(entries.put(entry.key, entry));
+        evictionQueue.offer(entry);
+        sizeInBytes.addAndGet(entry.sizeInBytes);
+
+        evictIfNeeded();
+    }
+
+    @Override
+    public void invalidate(Indexable index) {
+        retire(entries.remove(toKey(index)));
+    }
+
+    @Override
+    public void clear() {
+        entries.keySet().forEach(hash -> retire(entries.remove(hash)));
+        purgeStaleEntries();
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public long getEstimatedSizeInBytes() {
+        return sizeInBytes.get();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Marks an entry that was removed from {@link #entries} as stale, so that the eviction ignores it.
+     *
+     * @param entry the removed entry, may be <code>null</code>
+     */
+    private void retire(Entry entry) {
+        if (entry != null) {
+            entry.removed = true;
+            sizeInBytes.addAndGet(-entry.sizeInBytes);
+            if (staleEntries.incrementAndGet() > entries.size()) {
+                purgeStaleEntries();
+            }
+        }
+    }
+
+    /**
+     * Removes stale entries from the {@link #evictionQueue}. Without this, invalidated transactions (for example the
+     * ones removed by the pruner) would be kept in the queue until the cache is full.
+     */
+    private void purgeStaleEntries() {
+        Iterator<Entry> iterator = evictionQueue.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().removed) {
+                iterator.remove();
+                staleEntries.decrementAndGet();
+            }
+        }
+    }
+
+    private void evictIfNeeded() {
+        Entry entry;
+        while (sizeInBytes.get() > maxSizeInBytes && (entry = evictionQueue.poll()) != null) {
+            if (entry.removed) {
+                staleEntries.decrementAndGet();
+            } else if (entry.referenced) {
+                entry.referenced = false;
+                evictionQueue.offer(entry);
+            } else if (entries.remove(entry.key, entry)) {
+                entry.removed = true;
+                sizeInBytes.addAndGet(-entry.sizeInBytes);
+                evictions.increment();
+            }
+        }
+    }
+
+    // log cache hit/miss ratio every 50k get()s
+    private void logCacheStats() {
+        if (log.isDebugEnabled()) {
+            long hits = getCacheHits();
+            long misses = getCacheMisses();
+            if ((hits + misses) % 50000L == 0) {
+                log.debug("transaction cache hit/miss ratio: {}/{}, {} transactions cached, {} evicted", hits, misses,
+                        size(), getEvictions());
+            }
+        }
+    }
+
+    /**
+     * Hashes that are used as keys in the database don't always have the {@link TransactionHash} type, e.g. when
+     * they were created from raw bytes. Since hashes of different types are never equal, we normalize the keys.
+     */
+    private static Hash toKey(Indexable index) {
+        return index instanceof TransactionHash ? (Hash) index : HashFactory.TRANSACTION.create(index.bytes());
+    }
+
+    /**
+     * Copies the transaction and its metadata. The transaction bytes and the hashes are never modified in place, so
+     * they can be shared between the copies.
+     */
+    private static Transaction copy(Transaction source) {
+        Transaction transaction = new Transaction();
+        transaction.bytes = source.bytes;
+
+        transaction.address = source.address;
+        transaction.bundle = source.bundle;
+        transaction.trunk = source.trunk;
+        transaction.branch = source.branch;
+        transaction.obsoleteTag = source.obsoleteTag;
+        transaction.value = source.value;
+        transaction.currentIndex = source.currentIndex;
+        transaction.lastIndex = source.lastIndex;
+        transaction.timestamp = source.timestamp;
+
+        transaction.tag = source.tag;
+        transaction.attachmentTimestamp = source.attachmentTimestamp;
+        transaction.attachmentTimestampLowerBound = source.attachmentTimestampLowerBound;
+        transaction.attachmentTimestampUpperBound = source.attachmentTimestampUpperBound;
+
+        transaction.validity = source.validity;
+        transaction.type.set(source.type.get());
+        transaction.arrivalTime = source.arrivalTime;
+
+        transaction.parsed.set(source.parsed.get());
+        transaction.solid.set(source.solid.get());
+        transaction.milestone.set(source.milestone.get());
+        transaction.height.set(source.height.get());
+        transaction.sender.set(source.sender.get());
+        transaction.snapshot.set(source.snapshot.get());
+        return transaction;
+    }
+
+    private static class Entry {
+        private final Hash key;
+        private final Transaction transaction;
+        private final int sizeInBytes;
+
+        private volatile boolean referenced;
+        private volatile boolean removed;
+
+        private Entry(Hash key, Transaction transaction) {
+            this.key = key;
+            this.transaction = transaction;
+            this.sizeInBytes = transaction.bytes.length + 2 * transaction.sender.get().length()
+                    + ENTRY_OVERHEAD_BYTES;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.iota.iri.storage.rocksDB;
 
 import com.iota.iri.conf.BaseIotaConfig;
 import com.iota.iri.conf.TestnetConfig;
+import com.iota.iri.model.Hash;
 import com.iota.iri.model.HashFactory;
+import com.iota.iri.model.persistables.Hashes;
 import com.iota.iri.storage.Indexable;
 import com.iota.iri.storage.Persistable;
 import com.iota.iri.storage.PersistenceProvider;
@@ -62,6 +64,12 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
     private static final Logger log = LoggerFactory.getLogger(RocksDBPersistenceProvider.class);
     private static final int BLOOM_FILTER_BITS_PER_KEY = 10;
 
+    /**
+     * Largest prefix of a {@link Hashes} value that is copied into a buffer of the requested size by
+     * {@link #getHashes(Class, Indexable, int, int)}. Larger ranges are read with an exactly sized copy of the value.
+     */
+    private static final long MAX_PARTIAL_HASHES_READ = SizeUnit.MB;
+
     private static final Pair<Indexable, Persistable> PAIR_OF_NULLS = new Pair<>(null, null);
 
     private final List<ColumnFamilyHandle> columnFamilyHandles = new ArrayList<>();
@@ -204,6 +212,70 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         return object;
     }
 
+    @Override
+    public List<Persistable> getAll(Class<?> model, List<Indexable> indexes) throws Exception {
+        ColumnFamilyHandle handle = classTreeMap.get(model);
+        ColumnFamilyHandle referenceHandle = metadataReference.get(model);
+
+        // the values and the metadata of all keys are read with a single call
+        int columns = referenceHandle == null ? 1 : 2;
+        List<ColumnFamilyHandle> handles = new ArrayList<>(indexes.size() * columns);
+        List<byte[]> keys = new ArrayList<>(indexes.size() * columns);
+        for (Indexable index : indexes) {
+            byte[] key = index == null ? new byte[0] : index.bytes();
+            handles.add(handle);
+            keys.add(key);
+            if (referenceHandle != null) {
+                handles.add(referenceHandle);
+                keys.add(key);
+            }
+        }
+        List<byte[]> values = keys.isEmpty() ? Collections.emptyList() : db.multiGetAsList(handles, keys);
+
+        List<Persistable> objects = new ArrayList<>(indexes.size());
+        for (int i = 0; i < values.size(); i += columns) {
+            Persistable object = (Persistable) model.newInstance();
+            object.read(values.get(i));
+            if (referenceHandle != null) {
+                object.readMetadata(values.get(i + 1));
+            }
+            objects.add(object);
+        }
+        return objects;
+    }
+
+    @Override
+    public List<Hash> getHashes(Class<?> model, Indexable index, int offset, int limit) throws Exception {
+        ColumnFamilyHandle handle = classTreeMap.get(model);
+        if (handle == null || offset < 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        // only the entries up to the end of the range are copied out of the database
+        long rangeEnd = ((long) offset + limit) * Hashes.ENTRY_SIZE;
+        byte[] value;
+        int length;
+        if (rangeEnd <= MAX_PARTIAL_HASHES_READ) {
+            value = new byte[(int) rangeEnd];
+            length = db.get(handle, index.bytes(), value);
+        } else {
+            value = db.get(handle, index.bytes());
+            length = value == null ? RocksDB.NOT_FOUND : value.length;
+        }
+        return length == RocksDB.NOT_FOUND ? Collections.emptyList() : Hashes.read(value, length, offset, limit);
+    }
+
+    @Override
+    public int countHashes(Class<?> model, Indexable index) throws Exception {
+        ColumnFamilyHandle handle = classTreeMap.get(model);
+        if (handle == null) {
+            return 0;
+        }
+        // reading into an empty buffer only returns the size of the value
+        int length = db.get(handle, index.bytes(), new byte[0]);
+        return length == RocksDB.NOT_FOUND ? 0 : Hashes.count(length);
+    }
+
     @Override
     public boolean mayExist(Class<?> model, Indexable index) {
         ColumnFamilyHandle handle = classTreeMap.get(model);
@@ -2,6 +2,9 @@ package com.iota.iri.utils;
 
 import com.iota.iri.model.persistables.Transaction;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 /**
  * Provides utility methods to truncate and expand raw transaction data.
  */
@@ -23,22 +26,50 @@ public class TransactionTruncator {
      * @return an array containing the truncated transaction data
      */
     public static byte[] truncateTransaction(byte[] txBytes) {
-        // check how many bytes from the signature can be truncated
-        int bytesToTruncate = 0;
-        for (int i = SIG_DATA_MAX_BYTES_LENGTH - 1; i >= 0; i--) {
-            if (txBytes[i] != 0) {
-                break;
-            }
-            bytesToTruncate++;
-        }
+        int sigDataLength = truncatedSignatureLength(txBytes);
         // allocate space for truncated tx
-        byte[] truncatedTx = new byte[SIG_DATA_MAX_BYTES_LENGTH - bytesToTruncate + NON_SIG_TX_PART_BYTES_LENGTH];
-        System.arraycopy(txBytes, 0, truncatedTx, 0, SIG_DATA_MAX_BYTES_LENGTH - bytesToTruncate);
-        System.arraycopy(txBytes, SIG_DATA_MAX_BYTES_LENGTH, truncatedTx, SIG_DATA_MAX_BYTES_LENGTH - bytesToTruncate,
+        byte[] truncatedTx = new byte[sigDataLength + NON_SIG_TX_PART_BYTES_LENGTH];
+        System.arraycopy(txBytes, 0, truncatedTx, 0, sigDataLength);
+        System.arraycopy(txBytes, SIG_DATA_MAX_BYTES_LENGTH, truncatedTx, sigDataLength,
                 NON_SIG_TX_PART_BYTES_LENGTH);
         return truncatedTx;
     }
 
+    /**
+     * Computes the length of the given byte encoded transaction once it is truncated.
+     *
+     * @param txBytes the transaction bytes to truncate
+     * @return the amount of bytes of the truncated transaction
+     */
+    public static int truncatedLength(byte[] txBytes) {
+        return truncatedSignatureLength(txBytes) + NON_SIG_TX_PART_BYTES_LENGTH;
+    }
+
+    /**
+     * Truncates the given byte encoded transaction directly into the given buffer, without allocating an intermediate
+     * array.
+     *
+     * @param txBytes the transaction bytes to truncate
+     * @param dest    the buffer to put the truncated transaction data into, it needs to have at least
+     *                {@link #truncatedLength(byte[])} bytes remaining
+     */
+    public static void truncateTransaction(byte[] txBytes, ByteBuffer dest) {
+        dest.put(txBytes, 0, truncatedSignatureLength(txBytes));
+        dest.put(txBytes, SIG_DATA_MAX_BYTES_LENGTH, NON_SIG_TX_PART_BYTES_LENGTH);
+    }
+
+    /**
+     * Checks how many bytes of the signature message fragment are kept, which are all bytes up to the last non zero
+     * byte.
+     */
+    private static int truncatedSignatureLength(byte[] txBytes) {
+        int length = SIG_DATA_MAX_BYTES_LENGTH;
+        while (length > 0 && txBytes[length - 1] == 0) {
+            length--;
+        }
+        return length;
+    }
+
     /**
      * Expands an array containing a truncated transaction using a given reference size
      * to determine the amount of bytes to pad.
@@ -64,6 +95,26 @@ public class TransactionTruncator {
         return txDataBytes;
     }
 
+    /**
+     * Expands a truncated transaction from the given buffer into the given array, without allocating intermediate
+     * arrays. The position of the buffer is not modified.
+     *
+     * @param data            the buffer holding the truncated transaction data at its position
+     * @param truncatedLength the amount of bytes of the truncated transaction data
+     * @param txDataBytes     the array of {@link Transaction#SIZE} bytes to put the expanded transaction data into
+     */
+    public static void expandTransaction(ByteBuffer data, int truncatedLength, byte[] txDataBytes) {
+        int sigMsgFragBytesToCopy = truncatedLength - NON_SIG_TX_PART_BYTES_LENGTH;
+        if (sigMsgFragBytesToCopy < 0 || sigMsgFragBytesToCopy > SIG_DATA_MAX_BYTES_LENGTH) {
+            throw new IllegalArgumentException("invalid truncated transaction length: " + truncatedLength);
+        }
+        ByteBuffer source = data.duplicate();
+        source.get(txDataBytes, 0, sigMsgFragBytesToCopy);
+        // empty signature message fragment equals padding with 1312x 0 bytes
+        Arrays.fill(txDataBytes, sigMsgFragBytesToCopy, SIG_DATA_MAX_BYTES_LENGTH, (byte) 0);
+        source.get(txDataBytes, SIG_DATA_MAX_BYTES_LENGTH, NON_SIG_TX_PART_BYTES_LENGTH);
+    }
+
     /**
      * Expands an array containing a truncated transaction.
      *
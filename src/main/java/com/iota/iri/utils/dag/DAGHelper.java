@@ -26,6 +26,11 @@ public class DAGHelper {
      */
     protected Tangle tangle;
 
+    /**
+     * Maximum amount of transactions that are loaded from the database in one batch while traversing the graph.
+     */
+    private static final int TRAVERSAL_BATCH_SIZE = 100;
+
     /**
      * This method allows us to retrieve the DAGHelper instance that corresponds to the given parameters.
      *
@@ -62,6 +67,35 @@ public class DAGHelper {
         this.tangle = tangle;
     }
 
+    /**
+     * Takes the next transactions that were not processed yet from the queue and loads them from the database in one
+     * batch.
+     *
+     * The hashes are marked as processed when they are taken from the queue, so the batch only contains every
+     * transaction once. The loaded transactions keep the {@link Hash} instances of the queue, which allows the callers
+     * to recognize the starting transaction by its identity.
+     *
+     * @param startingTransactionHash the starting point of the traversal, which is never considered as processed
+     * @param transactionsToExamine queue of the transactions that are waiting to be examined
+     * @param processedTransactions a set of hashes that shall be considered as "processed" already
+     * @return the loaded transactions in the order of the queue
+     * @throws Exception if the transactions can't be loaded
+     */
+    private List<TransactionViewModel> loadNextTransactions(Hash startingTransactionHash,
+                                                            Queue<Hash> transactionsToExamine,
+                                                            Set<Hash> processedTransactions) throws Exception {
+        List<Hash> nextTransactionHashes = new ArrayList<>();
+        Hash currentTransactionHash;
+        while(nextTransactionHashes.size() < TRAVERSAL_BATCH_SIZE &&
+                (currentTransactionHash = transactionsToExamine.poll()) != null) {
+            if(currentTransactionHash == startingTransactionHash || processedTransactions.add(currentTransactionHash)) {
+                nextTransactionHashes.add(currentTransactionHash);
+            }
+        }
+
+        return TransactionViewModel.fromHashes(tangle, nextTransactionHashes);
+    }
+
     //region TRAVERSE APPROVERS (BOTTOM -> TOP) ////////////////////////////////////////////////////////////////////////
 
     /**
@@ -92,10 +126,10 @@ public class DAGHelper {
                                   Set<Hash> processedTransactions) throws TraversalException {
         Queue<Hash> transactionsToExamine = new ArrayDeque<>(Collections.singleton(startingTransactionHash));
         try {
-            Hash currentTransactionHash;
-            while((currentTransactionHash = transactionsToExamine.poll()) != null) {
-                if(currentTransactionHash == startingTransactionHash || processedTransactions.add(currentTransactionHash)) {
-                    TransactionViewModel currentTransaction = TransactionViewModel.fromHash(tangle, currentTransactionHash);
+            while(!transactionsToExamine.isEmpty()) {
+                for (TransactionViewModel currentTransaction : loadNextTransactions(startingTransactionHash,
+                        transactionsToExamine, processedTransactions)) {
+                    Hash currentTransactionHash = currentTransaction.getHash();
                     if(
                         // do not "test" the starting transaction since it is not an "approver"
                         currentTransactionHash == startingTransactionHash || (
@@ -167,10 +201,10 @@ public class DAGHelper {
                                   Set<Hash> processedTransactions) throws TraversalException {
         Queue<Hash> transactionsToExamine = new ArrayDeque<>(Collections.singleton(startingTransactionHash));
         try {
-            Hash currentTransactionHash;
-            while((currentTransactionHash = transactionsToExamine.poll()) != null) {
-                if(currentTransactionHash == startingTransactionHash || processedTransactions.add(currentTransactionHash)) {
-                    TransactionViewModel currentTransaction = TransactionViewModel.fromHash(tangle, currentTransactionHash);
+            while(!transactionsToExamine.isEmpty()) {
+                for (TransactionViewModel currentTransaction : loadNextTransactions(startingTransactionHash,
+                        transactionsToExamine, processedTransactions)) {
+                    Hash currentTransactionHash = currentTransaction.getHash();
                     if(
                         currentTransaction.getType() != TransactionViewModel.PREFILLED_SLOT &&(
                             // do not "test" the starting transaction since it is not an "approvee"
@@ -54,6 +54,51 @@ public class BundleValidatorTest {
         tangle.shutdown();
     }
 
+    /**
+     * Creates a bundle that spends from <code>numberOfInputs</code> addresses of security level 2, so that every input
+     * is signed over two transactions, and sends the funds to one output.
+     */
+    private static List<TransactionViewModel> signedBundle(byte[] normalizedBundle, int numberOfInputs) {
+        int securityLevel = 2;
+        List<TransactionViewModel> bundleTxs = new ArrayList<>();
+        bundleTxs.add(bundleTx(new byte[TransactionViewModel.ADDRESS_TRINARY_SIZE], numberOfInputs,
+                new byte[ISS.FRAGMENT_LENGTH]));
+
+        byte[] seed = new byte[Curl.HASH_LENGTH];
+        Converter.trits("SEED", seed, 0);
+        for (int i = 0; i < numberOfInputs; i++) {
+            byte[] key = ISS.key(SpongeFactory.Mode.KERL, ISS.subseed(SpongeFactory.Mode.KERL, seed, i),
+                    securityLevel);
+            byte[] address = ISS.address(SpongeFactory.Mode.KERL, ISS.digests(SpongeFactory.Mode.KERL, key));
+            for (int j = 0; j < securityLevel; j++) {
+                byte[] signatureFragment = ISS.signatureFragment(SpongeFactory.Mode.KERL,
+                        Arrays.copyOfRange(normalizedBundle, j * ISS.NUMBER_OF_FRAGMENT_CHUNKS,
+                                (j + 1) * ISS.NUMBER_OF_FRAGMENT_CHUNKS),
+                        Arrays.copyOfRange(key, j * ISS.FRAGMENT_LENGTH, (j + 1) * ISS.FRAGMENT_LENGTH));
+                bundleTxs.add(bundleTx(address, j == 0 ? -1 : 0, signatureFragment));
+            }
+        }
+        return bundleTxs;
+    }
+
+    private static TransactionViewModel bundleTx(byte[] address, long value, byte[] signatureFragment) {
+        byte[] trits = new byte[TransactionViewModel.TRINARY_SIZE];
+        System.arraycopy(signatureFragment, 0, trits, TransactionViewModel.SIGNATURE_MESSAGE_FRAGMENT_TRINARY_OFFSET,
+                ISS.FRAGMENT_LENGTH);
+        System.arraycopy(address, 0, trits, TransactionViewModel.ADDRESS_TRINARY_OFFSET,
+                TransactionViewModel.ADDRESS_TRINARY_SIZE);
+        Converter.copyTrits(value, trits, TransactionViewModel.VALUE_TRINARY_OFFSET,
+                TransactionViewModel.VALUE_USABLE_TRINARY_SIZE);
+        TransactionViewModel tvm = new TransactionViewModel(trits,
+                TransactionHash.calculate(SpongeFactory.Mode.CURLP81, trits));
+        tvm.setMetadata();
+        return tvm;
+    }
+
+    private static byte[] normalizedBundle(String bundleHash) {
+        return ISS.normalizedBundle(HashFactory.BUNDLE.create(bundleHash).trits());
+    }
+
     private List<TransactionViewModel> persistAndMapTxs(String[] trytes) {
         return Arrays.stream(trytes)
                 .map(Converter::allocatingTritsFromTrytes)
@@ -179,6 +224,29 @@ public class BundleValidatorTest {
                 bundleTxs.get(0).getValidity());
     }
 
+    @Test
+    public void validateReusesResultOfPreviousValidation() throws Exception {
+        String[] trytes = {
+                "999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999GNXKWQPHMFCEZZCKUCCD9PROQVPCTBVVAPHCLVOPYYQLQRMPGTQXBVZLKGGT9NXHUAASFIAVEOZTBSM9DA99999999999999999999999999RENGLE9BEAT9999999999999999FDKW9AD99999999999B99999999RJPQGE9AXNBBLPQ9IFJXFJTXJAIGDDXAWXGAVU9PJQNYFADJDIDBTJKSAEBBX9NWJGZVAVXYWXPCEFFH9DKZYSMJAQRLXZHCNPTJPJLOONNDZHGNTBIINGYKZQAAWF9LWQTHUQSAXMLQN9DKCQWHIJXNGLGQVA9999XIFVJWCABR9XQKOWCXJAZDZWMWWBVHROBOPISAWDIJTSFPVAUZNJUMNUCOFIBIAAVIOWDTCNIPRVA9999TANGLE9BEAT9999999999999999SVIDBWNOF999999999K99999999POWSRVIO9VMIJ99UGNETMNPNNNE",
+                "YU9WINMHSBIJ9HRBKDEHZYOCDGOZ9HZSSVXAYYOD9AMAFBCROMLSFDFIAQKEXAVFDLJYVABRSONSTTXLCQJTSDRFDEXZIORLRSQDZQODNCHAAFUPGBCEVYNRSJQGUZRAQIIEZPFQGWPQIBMDVNZGQAKCU9VLHGYSNDPHCMOCTRYQOYHFPRQSGHSDEF9MSHGXYGUTHSBSF9SOSJQFOZXMQGCUXAYWLBJHXOHTOM9ITZPISEXLAYAZBHTZDDCOIHKDBL9AAXZEDFHDYCPXLDGR9JTVXDXBC9DRDVREEEVGVPWVEZHJBYQYTGDEWQHVEDTAVLWW9WBXOIGDGUAAAVKFMPVKSYBVOIWPYGCMACEAAHGUIQVFLFMSCPKTYQWJDGMDNLMDIUUYI9SZOFQPLKKACESSWIXPFYZWDHETYUGEVASPHBGQPJPWVESSUUEVUYDYNQUQURSMCEPKIHYXNFHZSHIIDTMEZQ9IPSHTBDK9UHRSIIEJRILBCMVUMGAGBMHKEMUUKQDCYAVIAN9MBWJCAUSSJRSAUEUBGEFFCFSOBVGLXBAIDOH9NXWQUSIFUINEVZUWELLVIOSSQRVHMTDBCATBWFSDJJDLURAUKEQEIRICSCXAOJNPWHQKYVTRLCRKHLFHHHPYSMUEAPMQPMPS9CHCIYXEYRNIOOGRWKVHUGIWJZIGPWGZGBGYTVC9UVEJ9JBIYMDHYXLWIDXHZVFCCPLYXDPQPJGMKNZMMONGNXSNNPCGEGRJTMCPTJONGPAEDMSHMGAPGBDWVCSCTJAECSHTEGBMVCDZMQYZ9IHERWGCKAIMFOJRAEDRDSWJASV9XYS9CTOEETPQHRKJZ9FPWTVCGLEJQJXVVDTYZ9DNSHQAINKROQQIPTFGTABEELYPBQHGNNB9NCL9BVTG9MH99BPIRNNGC9MQQRH9YUDYSUJIDSZKCIGEKFSJ9PXUYKVPUZYFIREUAMUZE9EIMJK9YGAZXZBPRXIRDCEVDHWOCFIJTVRCRZRRJGFLILKVNMJAX9MUMTXCWTUTP9NXBZUMAYYY9DNVZTCROBCMMHVKSQRXMGROCMMCDENWQWBV9LEIJONWTQXOUQZOTGEJHJELYZOPICLDWPHVCMBFSYHPIJYZQDEGYITVPYNQMXPRTPKADLUKW9AEMSMGIWCUMOQMUDN9HZGYKTNVVNLOQAFVETEDJMJVKYCE9RE9AJP9RMYFKGDEC9GIGAFXEXIYXPFBOMRPULVJMYTQEPDMMIABDHJGRNNCKADZAUFV9WCWFYFHXLCED9E9SKKYHVKDTGNCHEKFJL9YJHTSRUVKEPHPCQSFNBXKOJNGBSEOZLVVGNUQTRACVGEKDSORUHVSDSQNUZASWXRADGAUDYDPODDEDNDDT9OAEARSBLPVSYAOEYYZJIZIZDENQOKMXATCTD9NEFVQWNCET9N9IXWCCWHYUBDTDJUZFXWMATRYSGJUQAFKAPIQIIXVFFEFNLGDPAIGKONUWLUTQTKZJYDEGPASTOMM9QTGOMYHFUKMNEVWPCMTLPDSOEEWDBRHZPZJIFMBUTY9QPRLPSVURIRMCWLH9YIZBOTJQMMF9ZP9VCCEGWVKSSQNANP9ZXVCAFGAVBXDJHUMKTKUBZRNKUGJTVUPDZMUK9KZI9EKY9DQDUNA9ZVPCROKYYPISSTDOJZJXMXZWSGZBEPKAUYPBPUTDVQKUYXWYTZXLYTCLLKLJUUJGFFCMZFKDTJET9KEDRMWZSAEFCSXLMRHRLG9EKLRZJ9NZQEONGFQSKSQMWRZXWVEGHCF9ZKGQITDLGFTZLCQMXVGVYIPKSUPPAOIKVWARJHAEJUZOOJFCFJTGQZWROSCEQSITQWZTQDFKECATBWSIRDFVWH9TXXUVEBRRKOTFSGBMGCMZDK9BJRVEUYOVNSLZNNSTWOB9CFNDJHJENDWSTIMMSWD9HSA9LDGTJDJFRGQCWOHYJNMFFLLDMVQEMCMNVQWMOGCEZUTK9MPULTDMKTIVFNVWXDNTRHNREHEDWIZCCRFVM9TXCTLBLYEKTRVVWHKZDOSYOBNLEKPNXMDZGLSVBBNBJIBZYBXZCENKVIXMNGUJUYFGFYFBKELSBZROQWKMESZTWDEEUCSXOWFSNJUGGJANMJFCBJV9GMDDJCAJHWKYQFJLFWZESTSIRBZQWYHGQDFUUWF9F9HXSBZRKBDLRWXSMKW99KPWJOQYPMHB9KWALSVLFNANYSMNWSJLUOCBKAWAJHNWMLPLXHVEPTKBPWLWHMDZ99999999999999999999999999999999999999999999999999999FDKW9AD99A99999999B99999999RJPQGE9AXNBBLPQ9IFJXFJTXJAIGDDXAWXGAVU9PJQNYFADJDIDBTJKSAEBBX9NWJGZVAVXYWXPCEFFH99XJLIVAZYJGPKEHANESX9DORLEIOIFL9WVQBBNUDRZDGJMVSRTSFKOJPIMEXPBCPGKUUEKRGAXOB99999XIFVJWCABR9XQKOWCXJAZDZWMWWBVHROBOPISAWDIJTSFPVAUZNJUMNUCOFIBIAAVIOWDTCNIPRVA9999999999999999999999999999999RSIDBWNOF999999999K99999999POWSRVIO9VMIJ99FKKNKGPNNNNP",
+                "COSNPEACSPESTKTUS9CSMOCWVUBLERQJQGLLA9AYRRXMOVOBULQZZZJPLNELEX9EVZDAFOHBB9FBAYOTDB9YGJAVTDWNPJVVGEPFJ9QBYLXAYZEETY9GMYQRIRAIPWMJUFMFRSQRCEIOWISMBJKGCIGIIYNMXAYLXZIBNKANT9DSQXPBUPWGUJTOMD9JKSNFZJJFBZYBWRWQIZFOZXQWNJTRZTUPHVEGTAOLMBEPXOB9TCEBNIWXQUHNQJZHAOWGVOOOTSCTEUEMXJUODZP9CDLCMEXAW9YJGVNREENETEYXOAKZVRJVUSCRUSRCNZUGUOLCNHQITWYPJVJGPVULASTONDZRDVCNGJSN9DMMUORCOIBTITSPBXSAVTOHSAXHMGH99APRTQIVCEI9NWYKDOZCCWBNZGGCUCISSMGJHJ9OVSFBZVFMBODKRKSLIDESGFDQITCYFARWYTLFKSPLNVQ9LTYFODCHBAJKCWVZNBLOJH9ABFGDFOXHDNHZILINMYMVZYWTFJJOLADPTZRPJEMGPFQNYTFDGOKMDTDSKPTHIDWLMRSSACZMTHUCWVZHCYSPJRATABZ9JHWEBGTTQORGFOYDWUIYFYGOGGTYGYYI9RPKPMCTYNYKHHNWQKJTDQDHTRUYQPMCDDLVUUHUBPWGPMNQYPKHDHGIUSXJGNUXIYGZRGVYPTTV9KXJDLGVVXRIWIGKZJVCQ9DUWAYNDRKYCGKZDEOKZQCXELSQXLGLAPBDIWRTKGSIRNAZ9XFEGMWOWLPUA9TSGYRDOU9GKY9JJDKCJKKGJCRARGSNECJ9SEVAGPPJMBTMGNWSLNSFBOEYMIQBKOVSCTDIWCOQTHBVTZOFNNIYKKJLAROKIRFFPCLSOWO9BVNNJSXEYLJASPUEFKCEI9SGWADNGS9MZAKFTCAYNRVKGDIGYDTPGJXWFAEFGG9BX9XCNBZGQULH9IPPIQ9VFVAXGELUMCTE9TOFOGCTFYBYEBFOKKAESIIHEWLYLQKWDHPYNELJKMZHDSDSK9ZWFP99FQFLUXGTSVDMGHIFZFUCYTYPVEFEDM9TOHCQVIBXARYWZEKTWEOVSBYZTJZRUFZJCLRBTOWPTKY99CYQTGPMAKFYALIWPEQLUB9RGANTKDDMSDSJOTNPFZCXKJUGTJWWPK9FAJGPJOEBRHL9ZU9XRBDJBVMFIZIZFGKETH9RJUSDIOWDZIXFOJLT9DSIAWSCEYBNOGOAZQPZKVZTBXGACCBVQGFNGXNQFTVPUGUOHNBKTUERLSTDXGRKZSATIRHDBSXARYATBHOLUHCQGPRMQGSJUAXUCWKDXAUGORHFVVVDZQEYYGSV9IUM9VTMHJCIKBQD9TQLLYTZHAKDHPFGYMRGJOEDJKQTBBNFCKDEPYTPWUJEOPRJWHAILMVW9AXS9HAT9GCGRXZEHWNDOVGKGPWFXFC9IKLVZJCTGZUJFRHGL9FZWZYP9TPOWGOUTQ9INYBVTD9N9OV9AM9GYRJ99MRWRWLOAKJXMDTFNS9NZQAYGVZRJ9WVSIDRRQLGKH9VPUVKFWZMSRVVLKXUGJAZESC9LEYDNNDWS9WTWNFPCR9YKPOMIJAVHCRCJVBDFWSTDN9BPJRDMGZFXWTY9GUX9WEPJQMXSECFPREXAJ9DU9OLMNQFTF99QYZOGDUTMBHMNMCNUQTU9FTNEUNBT9NQO9YADGY9C9LQR9DYVJZE9GMMYAOUSWUIVJ9EAR9EEFCO9SZTQ9JQHPIJGXIOQZHOSUSVMHBOLTYSEONVLRISNAN9KJHHFFISTYIHYVAMXLPNALDELETXVSWGUWOIVKNAKZKNNRVNJKE9WMNQBXFGXSYZQQSIODAKINA9CPBOGAYKJ9V9GS9HERXSVYPEILYXC9GURBREBCXRZJVXHUOPGYFLPIFBCOTMHFTAAUQUZVEKOWYFFGSCXDFDBTSGZRMPQR9EYSZYGQETCWFDRXVOXXCUBOQTBQGVLAONSTSLURFYSDPAVNCXNWVPQOUORMVSLYISQUQKXFYYMJSGHQP9VAAZABEAGJMCPIEBZQSYCPS9CNKFBDRDTDA9C9MVKGUISRX9ODVUJNPDWMZ9ESYXJ99ETDGSTJZMZYJEGRUWTORMCLNHLDQ9YIJWPMDYGGJQHMFPJ9VKINJUESTCBJQXFTCJFNUXPZONVKXJRAYGKIWHXSBZRKBDLRWXSMKW99KPWJOQYPMHB9KWALSVLFNANYSMNWSJLUOCBKAWAJHNWMLPLXHVEPTKBPWLWHMD999999999999999999999999999999999999999999999999999999FDKW9AD99B99999999B99999999RJPQGE9AXNBBLPQ9IFJXFJTXJAIGDDXAWXGAVU9PJQNYFADJDIDBTJKSAEBBX9NWJGZVAVXYWXPCEFFH9XIFVJWCABR9XQKOWCXJAZDZWMWWBVHROBOPISAWDIJTSFPVAUZNJUMNUCOFIBIAAVIOWDTCNIPRVA9999FTXZAEQIKGFJABOGCCQGOMKNASGWCQWMNIMRDTHKPJMTKDGMEQNZOAYARIYEWFZYJALRKFODOITTZ9999999999999999999999999999999LLHDBWNOF999999999K99999999POWSRVIO9VMIJ99UMGMTTTPNNNV",
+        };
+        List<TransactionViewModel> transactions = persistAndMapTxs(trytes);
+        Hash tailHash = transactions.get(0).getHash();
+        List<TransactionViewModel> bundleTxs = bundleValidator.validate(tangle, true, snapshot, tailHash);
+
+        assertEquals("result of the validation with all checks should be reused", bundleTxs,
+                bundleValidator.validate(tangle, false, snapshot, tailHash));
+        Mockito.verify(bundleValidator, Mockito.times(1)).validate(Mockito.eq(tangle), Mockito.eq(tailHash),
+                Mockito.anyInt(), Mockito.anyList());
+
+        bundleValidator.evictValidationResults(Collections.singleton(tailHash));
+        assertEquals("bundle should be validated again", bundleTxs,
+                bundleValidator.validate(tangle, true, snapshot, tailHash));
+        Mockito.verify(bundleValidator, Mockito.times(2)).validate(Mockito.eq(tangle), Mockito.eq(tailHash),
+                Mockito.anyInt(), Mockito.anyList());
+    }
+
     @Test
     public void validateBiggerValidBundle() throws Exception {
         String[] trytes = {
@@ -422,6 +490,9 @@ public class BundleValidatorTest {
         BundleValidator.validateBundleHash(transactions, normalizedBundle);
         BundleValidator.Validity validity = BundleValidator.validateSignatures(transactions, normalizedBundle);
         assertEquals("the signatures should be valid", BundleValidator.Validity.VALID, validity);
+        validity = BundleValidator.validateSignatures(transactions, normalizedBundle, false);
+        assertEquals("the signatures should be valid when verified sequentially", BundleValidator.Validity.VALID,
+                validity);
     }
 
     @Test
@@ -438,6 +509,9 @@ public class BundleValidatorTest {
         BundleValidator.validateBundleHash(transactions, normalizedBundle);
         BundleValidator.Validity validity = BundleValidator.validateSignatures(transactions, normalizedBundle);
         assertEquals("the signatures should be invalid", BundleValidator.Validity.INVALID, validity);
+        validity = BundleValidator.validateSignatures(transactions, normalizedBundle, false);
+        assertEquals("the signatures should be invalid when verified sequentially", BundleValidator.Validity.INVALID,
+                validity);
     }
 
     @Test
@@ -686,4 +760,34 @@ public class BundleValidatorTest {
         }
     }
 
+    @Test
+    public void validateSignaturesOfSeveralInputsInParallel() {
+        byte[] normalizedBundle = normalizedBundle(
+                "BUNDLEHASH9BUNDLEHASH9BUNDLEHASH9BUNDLEHASH9BUNDLEHASH9BUNDLEHASH9BUNDLEHASH9ABCD");
+        List<TransactionViewModel> bundleTxs = signedBundle(normalizedBundle, 4);
+
+        assertEquals("the signatures of all inputs should be valid", BundleValidator.Validity.VALID,
+                BundleValidator.validateSignatures(bundleTxs, normalizedBundle, true));
+        assertEquals("the sequential validation should agree", BundleValidator.Validity.VALID,
+                BundleValidator.validateSignatures(bundleTxs, normalizedBundle, false));
+    }
+
+    @Test
+    public void validateSignaturesInParallelWithInvalidSignatureOfLaterInput() {
+        byte[] normalizedBundle = normalizedBundle(
+                "BUNDLEHASH9BUNDLEHASH9BUNDLEHASH9BUNDLEHASH9BUNDLEHASH9BUNDLEHASH9BUNDLEHASH9ABCD");
+        List<TransactionViewModel> bundleTxs = signedBundle(normalizedBundle, 4);
+        // the second fragment of the third input, which is verified by the pool and not the calling thread
+        TransactionViewModel corrupted = bundleTxs.get(6);
+        byte[] signatureFragment = Arrays.copyOfRange(corrupted.trits(),
+                TransactionViewModel.SIGNATURE_MESSAGE_FRAGMENT_TRINARY_OFFSET, ISS.FRAGMENT_LENGTH);
+        signatureFragment[0] = (byte) (signatureFragment[0] == 1 ? 0 : 1);
+        bundleTxs.set(6, bundleTx(corrupted.getAddressHash().trits(), 0, signatureFragment));
+
+        assertEquals("the signature of the third input should be invalid", BundleValidator.Validity.INVALID,
+                BundleValidator.validateSignatures(bundleTxs, normalizedBundle, true));
+        assertEquals("the sequential validation should agree", BundleValidator.Validity.INVALID,
+                BundleValidator.validateSignatures(bundleTxs, normalizedBundle, false));
+    }
+
 }
@@ -14,6 +14,8 @@ import com.iota.iri.model.IntegerIndex;
 import com.iota.iri.model.StateDiff;
 import com.iota.iri.model.persistables.Milestone;
 import com.iota.iri.model.persistables.Transaction;
+import com.iota.iri.storage.Indexable;
+import com.iota.iri.storage.Persistable;
 import com.iota.iri.storage.Tangle;
 import com.iota.iri.utils.Converter;
 import com.iota.iri.utils.Pair;
@@ -143,6 +145,13 @@ public class TangleMockUtils {
         try {
             Mockito.when(tangle.load(Transaction.class, hash)).thenReturn(transaction);
             Mockito.when(tangle.getLatest(Transaction.class, Hash.class)).thenReturn(new Pair<>(hash, transaction));
+            Mockito.when(tangle.loadAll(Mockito.eq(Transaction.class), Mockito.anyList())).thenAnswer(invocation -> {
+                List<Persistable> transactions = new ArrayList<>();
+                for (Indexable index : invocation.<List<Indexable>>getArgument(1)) {
+                    transactions.add(tangle.load(Transaction.class, index));
+                }
+                return transactions;
+            });
         } catch (Exception e) {
             // the exception can not be raised since we mock
         }
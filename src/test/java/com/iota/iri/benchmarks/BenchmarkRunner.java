@@ -1,5 +1,6 @@
 package com.iota.iri.benchmarks;
 
+import com.iota.iri.benchmarks.dbbenchmark.ReceivedStageBenchmark;
 import com.iota.iri.benchmarks.dbbenchmark.RocksDbBenchmark;
 import org.junit.Test;
 import org.openjdk.jmh.annotations.Mode;
@@ -18,6 +19,7 @@ public class BenchmarkRunner {
 
         Options opts = new OptionsBuilder()
                 .include(RocksDbBenchmark.class.getName() + ".*")
+                .include(ReceivedStageBenchmark.class.getName() + ".*")
                 .mode(Mode.AverageTime)
                 .timeUnit(TimeUnit.MILLISECONDS)
                 .warmupIterations(getWarmUpIterations(5))
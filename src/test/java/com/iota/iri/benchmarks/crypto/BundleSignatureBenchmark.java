@@ -0,0 +1,90 @@
+package com.iota.iri.benchmarks.crypto;
+
+import com.iota.iri.BundleValidator;
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.crypto.Curl;
+import com.iota.iri.crypto.ISS;
+import com.iota.iri.crypto.SpongeFactory;
+import com.iota.iri.model.TransactionHash;
+import com.iota.iri.utils.Converter;
+import org.junit.Assert;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class BundleSignatureBenchmark {
+
+  /**
+   * A bundle with the given amount of inputs of security level 1, signed for a random bundle hash.
+   */
+  @State(Scope.Benchmark)
+  public static class SignedBundle {
+
+    @Param({"1", "2", "5", "10", "20", "30"})
+    public int inputs;
+
+    private List<TransactionViewModel> transactions;
+
+    private byte[] normalizedBundle;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      Random random = new Random(inputs);
+      byte[] bundleHash = randomTrits(random, Curl.HASH_LENGTH);
+      normalizedBundle = ISS.normalizedBundle(bundleHash);
+      byte[] normalizedFragment = Arrays.copyOf(normalizedBundle, ISS.NUMBER_OF_FRAGMENT_CHUNKS);
+      byte[] seed = randomTrits(random, Curl.HASH_LENGTH);
+
+      transactions = new ArrayList<>();
+      for (int i = 0; i < inputs; i++) {
+        byte[] subseed = ISS.subseed(SpongeFactory.Mode.KERL, seed, i);
+        byte[] key = ISS.key(SpongeFactory.Mode.KERL, subseed, 1);
+        byte[] address = ISS.address(SpongeFactory.Mode.KERL, ISS.digests(SpongeFactory.Mode.KERL, key));
+        byte[] signature = ISS.signatureFragment(SpongeFactory.Mode.KERL, normalizedFragment, key);
+
+        byte[] trits = new byte[TransactionViewModel.TRINARY_SIZE];
+        System.arraycopy(signature, 0, trits, TransactionViewModel.SIGNATURE_MESSAGE_FRAGMENT_TRINARY_OFFSET,
+            signature.length);
+        System.arraycopy(address, 0, trits, TransactionViewModel.ADDRESS_TRINARY_OFFSET, address.length);
+        Converter.copyTrits(-1, trits, TransactionViewModel.VALUE_TRINARY_OFFSET,
+            TransactionViewModel.VALUE_USABLE_TRINARY_SIZE);
+        transactions.add(new TransactionViewModel(trits, TransactionHash.calculate(SpongeFactory.Mode.CURLP81, trits)));
+      }
+      Assert.assertEquals(BundleValidator.Validity.VALID,
+          BundleValidator.validateSignatures(transactions, normalizedBundle, false));
+    }
+
+    private static byte[] randomTrits(Random random, int length) {
+      byte[] trits = new byte[length];
+      for (int i = 0; i < length; i++) {
+        trits[i] = (byte) (random.nextInt(3) - 1);
+      }
+      return trits;
+    }
+  }
+
+  /**
+   * Benchmark the verification of the signatures one after another on the calling thread.
+   */
+  @Benchmark
+  public BundleValidator.Validity validateSignaturesSequentially(SignedBundle bundle) {
+    return BundleValidator.validateSignatures(bundle.transactions, bundle.normalizedBundle, false);
+  }
+
+  /**
+   * Benchmark the verification of the signatures on the shared signature validation pool.
+   */
+  @Benchmark
+  public BundleValidator.Validity validateSignaturesInParallel(SignedBundle bundle) {
+    return BundleValidator.validateSignatures(bundle.transactions, bundle.normalizedBundle, true);
+  }
+
+}
@@ -0,0 +1,66 @@
+package com.iota.iri.benchmarks.crypto;
+
+import com.iota.iri.crypto.ISS;
+import com.iota.iri.crypto.ISSInPlace;
+import com.iota.iri.crypto.Kerl;
+import com.iota.iri.crypto.Sponge;
+import com.iota.iri.crypto.SpongeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+public class KerlBenchmark {
+
+  /**
+   * Random input of the size of a signature fragment, and a normalized bundle hash to verify it against.
+   */
+  @State(Scope.Thread)
+  public static class Input {
+
+    private final Sponge kerl = SpongeFactory.create(SpongeFactory.Mode.KERL);
+
+    private final byte[] trits = new byte[ISS.FRAGMENT_LENGTH];
+
+    private final byte[] normalizedBundle = new byte[ISS.NUMBER_OF_FRAGMENT_CHUNKS];
+
+    private final byte[] hash = new byte[Kerl.HASH_LENGTH];
+
+    private final byte[] buffer = new byte[ISS.FRAGMENT_LENGTH];
+
+    @Setup(Level.Trial)
+    public void setup() {
+      Random random = new Random(0);
+      for (int i = 0; i < trits.length; i++) {
+        trits[i] = (byte) (random.nextInt(3) - 1);
+      }
+      for (int i = 0; i < normalizedBundle.length; i++) {
+        normalizedBundle[i] = (byte) (random.nextInt(27) - 13);
+      }
+    }
+  }
+
+  /**
+   * Benchmark absorb and squeeze methods of Kerl hash function.
+   */
+  @Benchmark
+  public byte[] kerl(Input input) {
+    input.kerl.reset();
+    input.kerl.absorb(input.trits, 0, input.trits.length);
+    input.kerl.squeeze(input.hash, 0, input.hash.length);
+    return input.hash;
+  }
+
+  /**
+   * Benchmark the digest of a signature fragment, which hashes each of its chunks up to 26 times.
+   */
+  @Benchmark
+  public byte[] signatureDigest(Input input) {
+    ISSInPlace.digest(input.kerl, input.normalizedBundle, 0, input.trits, 0, input.hash, input.buffer);
+    return input.hash;
+  }
+
+}
@@ -0,0 +1,39 @@
+package com.iota.iri.benchmarks.dbbenchmark;
+
+import com.iota.iri.benchmarks.dbbenchmark.states.ReceivedState;
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.network.pipeline.ProcessingContext;
+import com.iota.iri.network.pipeline.ReceivedPayload;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures storing received transactions with the {@link com.iota.iri.network.pipeline.ReceivedStage}. The amount of
+ * database writes per stored transaction is printed after every iteration.
+ */
+public class ReceivedStageBenchmark {
+
+    @Benchmark
+    public void receiveOneByOne(ReceivedState state) {
+        for (TransactionViewModel tvm : state.getTransactions()) {
+            state.getReceivedStage().process(createContext(tvm));
+        }
+    }
+
+    @Benchmark
+    public void receiveBatch(ReceivedState state) {
+        List<ProcessingContext> ctxs = new ArrayList<>(state.getTransactions().size());
+        for (TransactionViewModel tvm : state.getTransactions()) {
+            ctxs.add(createContext(tvm));
+        }
+        state.getReceivedStage().processBatch(ctxs);
+    }
+
+    private static ProcessingContext createContext(TransactionViewModel tvm) {
+        // a fresh view model, as the stage sets the metadata of the received transaction
+        TransactionViewModel received = new TransactionViewModel(tvm.trits(), tvm.getHash());
+        return new ProcessingContext(new ReceivedPayload(null, received));
+    }
+}
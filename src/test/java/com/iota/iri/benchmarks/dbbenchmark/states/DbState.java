@@ -53,7 +53,7 @@ public abstract class DbState {
                 lsFolder.getAbsolutePath(), lsLogFolder.getAbsolutePath(), null, BaseIotaConfig.Defaults.DB_CACHE_SIZE, LocalSnapshotsPersistenceProvider.COLUMN_FAMILIES, null);
         lsDbProvider.init();
 
-        tangle = new Tangle();
+        tangle = createTangle();
         IotaConfig config = new MainnetConfig();
         lsFolder.mkdirs();
         lsLogFolder.mkdirs();
@@ -90,6 +90,10 @@ public abstract class DbState {
         tangle.clearMetadata(Transaction.class);
     }
 
+    protected Tangle createTangle() {
+        return new Tangle();
+    }
+
     public Tangle getTangle() {
         return tangle;
     }
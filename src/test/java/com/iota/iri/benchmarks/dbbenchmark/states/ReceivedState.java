@@ -0,0 +1,102 @@
+package com.iota.iri.benchmarks.dbbenchmark.states;
+
+import com.iota.iri.TransactionTestUtils;
+import com.iota.iri.controllers.TipsViewModel;
+import com.iota.iri.model.persistables.Transaction;
+import com.iota.iri.network.TransactionRequester;
+import com.iota.iri.network.pipeline.ReceivedStage;
+import com.iota.iri.service.milestone.MilestoneService;
+import com.iota.iri.service.validation.impl.TransactionSolidifierImpl;
+import com.iota.iri.storage.Indexable;
+import com.iota.iri.storage.Persistable;
+import com.iota.iri.storage.Tangle;
+import com.iota.iri.utils.Pair;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class ReceivedState extends DbState {
+
+    private ReceivedStage receivedStage;
+
+    @Override
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        super.setup();
+        TransactionRequester transactionRequester = new TransactionRequester(getTangle(), getSnapshotProvider());
+        TransactionSolidifierImpl txSolidifier = new TransactionSolidifierImpl(getTangle(), getSnapshotProvider(),
+                transactionRequester, new TipsViewModel());
+        receivedStage = new ReceivedStage(getTangle(), txSolidifier, getSnapshotProvider(), transactionRequester,
+                Mockito.mock(MilestoneService.class), TransactionTestUtils.getTransactionHash());
+    }
+
+    @Override
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        super.teardown();
+    }
+
+    @Override
+    @TearDown(Level.Iteration)
+    public void clearDb() throws Exception {
+        WriteCountingTangle tangle = (WriteCountingTangle) getTangle();
+        System.out.println("writes per stored transaction = [" + tangle.getWritesPerStoredTransaction() + "]");
+        tangle.reset();
+        super.clearDb();
+    }
+
+    @Override
+    protected Tangle createTangle() {
+        return new WriteCountingTangle();
+    }
+
+    public ReceivedStage getReceivedStage() {
+        return receivedStage;
+    }
+
+    /**
+     * Counts the database writes and the transactions which were stored with them.
+     */
+    private static class WriteCountingTangle extends Tangle {
+
+        private long writes;
+        private long storedTransactions;
+
+        @Override
+        public Boolean saveBatch(List<Pair<Indexable, Persistable>> models) throws Exception {
+            writes++;
+            for (Pair<Indexable, Persistable> model : models) {
+                if (model.hi instanceof Transaction) {
+                    storedTransactions++;
+                }
+            }
+            return super.saveBatch(models);
+        }
+
+        @Override
+        public Boolean save(Persistable model, Indexable index) throws Exception {
+            writes++;
+            if (model instanceof Transaction) {
+                storedTransactions++;
+            }
+            return super.save(model, index);
+        }
+
+        @Override
+        public void update(Persistable model, Indexable index, String item) throws Exception {
+            writes++;
+            super.update(model, index, item);
+        }
+
+        private double getWritesPerStoredTransaction() {
+            return storedTransactions == 0 ? 0 : (double) writes / storedTransactions;
+        }
+
+        private void reset() {
+            writes = 0;
+            storedTransactions = 0;
+        }
+    }
+}
@@ -103,6 +103,88 @@ public class KerlTest {
         Assert.assertTrue("Overflow in long math", expected.equals(result));
     }
 
+    @Test
+    public void bytesFromTritsMatchesBigInt() throws Exception {
+        byte[] trits = new byte[Kerl.HASH_LENGTH];
+        byte[] expected = new byte[Kerl.BYTE_HASH_LENGTH];
+        byte[] actual = new byte[Kerl.BYTE_HASH_LENGTH];
+        int[] limbs = new int[Kerl.OFFSET_INT_LENGTH];
+        for (int i = 0; i < 100_000; i++) {
+            switch (i) {
+                case 0:
+                    Arrays.fill(trits, (byte) 1);
+                    break;
+                case 1:
+                    Arrays.fill(trits, (byte) -1);
+                    break;
+                case 2:
+                    Arrays.fill(trits, (byte) 0);
+                    break;
+                default:
+                    trits = getRandomTrits(Kerl.HASH_LENGTH);
+            }
+            trits[Kerl.HASH_LENGTH - 1] = 0;
+
+            Kerl.bytesFromBigInt(Kerl.bigIntFromTrits(trits, 0, trits.length), expected);
+            Kerl.bytesFromTrits(trits, 0, actual, limbs);
+            Assert.assertArrayEquals("trits that failed: " + Converter.trytes(trits), expected, actual);
+        }
+    }
+
+    @Test
+    public void tritsFromBytesMatchesBigInt() throws Exception {
+        byte[] bytes = new byte[Kerl.BYTE_HASH_LENGTH];
+        int offset = 5;
+        byte[] expected = new byte[offset + Kerl.HASH_LENGTH];
+        byte[] actual = new byte[offset + Kerl.HASH_LENGTH];
+        int[] limbs = new int[Kerl.OFFSET_INT_LENGTH];
+        for (int i = 0; i < 100_000; i++) {
+            switch (i) {
+                case 0:
+                    // largest positive value
+                    Arrays.fill(bytes, (byte) 0xFF);
+                    bytes[0] = 0x7F;
+                    break;
+                case 1:
+                    // smallest negative value
+                    Arrays.fill(bytes, (byte) 0);
+                    bytes[0] = (byte) 0x80;
+                    break;
+                case 2:
+                    Arrays.fill(bytes, (byte) -1);
+                    break;
+                case 3:
+                    Arrays.fill(bytes, (byte) 0);
+                    bytes[Kerl.BYTE_HASH_LENGTH - 1] = 1;
+                    break;
+                default:
+                    seed.nextBytes(bytes);
+            }
+
+            Kerl.tritsFromBigInt(new BigInteger(bytes), expected, offset, Kerl.HASH_LENGTH);
+            Kerl.tritsFromBytes(bytes, actual, offset, limbs);
+            Assert.assertArrayEquals("bytes that failed: " + Arrays.toString(bytes), expected, actual);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bytesFromTritsRejectsInvalidTrits() {
+        byte[] trits = new byte[Kerl.HASH_LENGTH];
+        trits[7] = 2;
+        Kerl.bytesFromTrits(trits, 0, new byte[Kerl.BYTE_HASH_LENGTH], new int[Kerl.OFFSET_INT_LENGTH]);
+    }
+
+    @Test
+    public void limitBytesFromTrits() {
+        // this confirms that the limb math does not produce an overflow.
+        byte[] trits = new byte[Kerl.HASH_LENGTH];
+        Arrays.fill(trits, 0, Kerl.MAX_POWERS_INT, (byte) 1);
+        byte[] bytes = new byte[Kerl.BYTE_HASH_LENGTH];
+        Kerl.bytesFromTrits(trits, 0, bytes, new int[Kerl.OFFSET_INT_LENGTH]);
+        Assert.assertEquals("Overflow in limb math", Kerl.bigIntFromTrits(trits, 0, trits.length),
+                new BigInteger(bytes));
+    }
+
     //@Test
     public void generateBytesFromBigInt() throws Exception {
         System.out.println("bigInteger,ByteArray");
@@ -0,0 +1,54 @@
+package com.iota.iri.model.persistables;
+
+import static com.iota.iri.TransactionTestUtils.getTransactionHash;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.iota.iri.model.Hash;
+
+public class HashesTest {
+
+    @Test
+    public void testBytes() {
+        Hashes hashes = new Hashes();
+        for (int i = 0; i < 10; i++) {
+            hashes.set.add(getTransactionHash());
+        }
+
+        Hashes copy = new Hashes();
+        copy.read(hashes.bytes());
+
+        assertEquals("hashes should be the same in the copy", new ArrayList<>(hashes.set), new ArrayList<>(copy.set));
+        assertEquals("entries should have a fixed width", 10 * Hashes.ENTRY_SIZE - 1, hashes.bytes().length);
+        assertArrayEquals("empty set should have no bytes", new byte[0], new Hashes().bytes());
+    }
+
+    @Test
+    public void testReadRange() {
+        List<Hash> stored = new ArrayList<>();
+        Hashes hashes = new Hashes();
+        for (int i = 0; i < 10; i++) {
+            stored.add(getTransactionHash());
+            hashes.set.add(stored.get(i));
+        }
+        byte[] bytes = hashes.bytes();
+
+        assertEquals(10, Hashes.count(bytes.length));
+        assertEquals(0, Hashes.count(0));
+        assertEquals("range should be read", stored.subList(2, 5), Hashes.read(bytes, bytes.length, 2, 3));
+        assertEquals("range should end with the last entry", stored.subList(8, 10),
+                Hashes.read(bytes, bytes.length, 8, 5));
+        assertTrue("range after the last entry should be empty", Hashes.read(bytes, bytes.length, 10, 5).isEmpty());
+
+        byte[] prefix = Arrays.copyOf(bytes, 3 * Hashes.ENTRY_SIZE + 10);
+        assertEquals("incomplete entries of a prefix should not be read", stored.subList(0, 3),
+                Hashes.read(prefix, prefix.length, 0, 10));
+    }
+}
@@ -0,0 +1,55 @@
+package com.iota.iri.network;
+
+import com.iota.iri.network.neighbor.impl.NeighborImpl;
+import com.iota.iri.network.pipeline.TransactionProcessingPipeline;
+
+import java.io.IOException;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NeighborEventLoopTest {
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Selector selector;
+
+    @Mock
+    private TransactionProcessingPipeline txPipeline;
+
+    @Mock
+    private NeighborEventLoop.ConnectionCloser connectionCloser;
+
+    @Mock
+    private SocketChannel channel;
+
+    @Mock
+    private NeighborImpl<?> neighbor;
+
+    @Test
+    public void loopThatStoppedBecauseOfAnErrorHandsNewNeighborsBack() throws Exception {
+        Mockito.when(selector.select(Mockito.anyLong())).thenThrow(new IOException("selector failed"));
+        NeighborEventLoop eventLoop = new NeighborEventLoop("event-loop-1", selector, txPipeline,
+                connectionCloser);
+        assertTrue("the loop should take neighbors before it stopped", eventLoop.isRunning());
+
+        eventLoop.run();
+        assertFalse("the loop should not take neighbors after it stopped", eventLoop.isRunning());
+
+        eventLoop.register(channel, neighbor);
+        Mockito.verify(connectionCloser).close(channel, neighbor, true);
+        assertEquals("the loop should not count the neighbor", 0, eventLoop.getMetrics().getNeighbors());
+    }
+}
@@ -138,4 +138,63 @@ public class NeighborRouterTest {
         neighborRouterBThread.join();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void neighborsAreHandedOverToEventLoopsAfterHandshake() throws Exception {
+        Mockito.when(nodeConfigA.getNeighbors()).thenReturn(new ArrayList<>());
+        Mockito.when(nodeConfigA.getNeighboringSocketAddress()).thenReturn("127.0.0.1");
+        Mockito.when(nodeConfigA.getNeighboringSocketPort()).thenReturn(21000);
+        Mockito.when(nodeConfigA.getNeighboringEventLoopThreads()).thenReturn(2);
+        Mockito.when(nodeConfigA.getMaxNeighbors()).thenReturn(1);
+        Mockito.when(nodeConfigA.getCoordinator()).thenReturn(Hash.NULL_HASH);
+        Mockito.when(nodeConfigA.getReconnectAttemptIntervalSeconds()).thenReturn(30);
+        Mockito.when(nodeConfigA.isAutoTetheringEnabled()).thenReturn(true);
+        Mockito.when(nodeConfigA.getMwm()).thenReturn(1);
+        NeighborRouter neighborRouterA = new NeighborRouterImpl(nodeConfigA, nodeConfigA, transactionRequester, txPipeline);
+
+        Mockito.when(nodeConfigB.getNeighbors()).thenReturn(new ArrayList<>());
+        Mockito.when(nodeConfigB.getNeighboringSocketAddress()).thenReturn("127.0.0.1");
+        Mockito.when(nodeConfigB.getNeighboringSocketPort()).thenReturn(22000);
+        Mockito.when(nodeConfigB.getMaxNeighbors()).thenReturn(1);
+        Mockito.when(nodeConfigB.getCoordinator()).thenReturn(Hash.NULL_HASH);
+        Mockito.when(nodeConfigB.getReconnectAttemptIntervalSeconds()).thenReturn(30);
+        Mockito.when(nodeConfigB.isAutoTetheringEnabled()).thenReturn(true);
+        Mockito.when(nodeConfigB.getMwm()).thenReturn(1);
+        NeighborRouter neighborRouterB = new NeighborRouterImpl(nodeConfigB, nodeConfigB, transactionRequester, txPipeline);
+
+        Thread neighborRouterAThread = new Thread(neighborRouterA::route, "A");
+        Thread neighborRouterBThread = new Thread(neighborRouterB::route, "B");
+        neighborRouterAThread.start();
+        neighborRouterBThread.start();
+
+        Thread.sleep(1000);
+
+        List<NeighborEventLoopMetrics> loops = neighborRouterA.getEventLoopMetrics();
+        assertEquals("should have the router loop and two event loops", 3, loops.size());
+
+        neighborRouterA.addNeighbor("tcp://127.0.0.1:22000");
+
+        Thread.sleep(2000);
+
+        assertEquals("neighbor B should be connected", 1, neighborRouterA.getConnectedNeighbors().size());
+        assertEquals("neighbor A should be connected", 1, neighborRouterB.getConnectedNeighbors().size());
+        assertEquals("the router loop should not handle the neighbor anymore", 0, loops.get(0).getNeighbors());
+        assertEquals("one event loop should handle the neighbor", 1,
+                loops.get(1).getNeighbors() + loops.get(2).getNeighbors());
+
+        // the event loop of A hands the neighbor back to the router once the connection is closed by B
+        neighborRouterB.shutdown();
+        neighborRouterBThread.interrupt();
+        neighborRouterBThread.join();
+
+        Thread.sleep(1000);
+
+        assertEquals("should not have any connected neighbors anymore", 0,
+                neighborRouterA.getConnectedNeighbors().size());
+        assertEquals("no event loop should handle the neighbor anymore", 0,
+                loops.get(1).getNeighbors() + loops.get(2).getNeighbors());
+
+        neighborRouterA.shutdown();
+        neighborRouterAThread.interrupt();
+        neighborRouterAThread.join();
+    }
+}
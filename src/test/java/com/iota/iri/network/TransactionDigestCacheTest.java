@@ -0,0 +1,121 @@
+package com.iota.iri.network;
+
+import com.iota.iri.model.Hash;
+
+import org.junit.Test;
+
+import static com.iota.iri.TransactionTestUtils.getTransactionHash;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class TransactionDigestCacheTest {
+
+    @Test
+    public void cachedHashIsReturnedForDigest() {
+        TransactionDigestCache cache = new TransactionDigestCache(100);
+        Hash hash = getTransactionHash();
+        cache.put(42L, hash);
+
+        assertEquals("should return the cached hash", hash, cache.get(42L));
+        assertNull("unknown digest should not be cached", cache.get(43L));
+        assertEquals(1, cache.getCacheHits());
+        assertEquals(1, cache.getCacheMisses());
+
+        cache.resetCacheStats();
+        assertEquals(0, cache.getCacheHits());
+        assertEquals(0, cache.getCacheMisses());
+    }
+
+    @Test
+    public void existingEntryIsNotReplaced() {
+        TransactionDigestCache cache = new TransactionDigestCache(100);
+        Hash hash = getTransactionHash();
+        cache.put(42L, hash);
+        cache.put(42L, getTransactionHash());
+
+        assertEquals("should keep the first hash", hash, cache.get(42L));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void zeroDigestIsNeverCached() {
+        TransactionDigestCache cache = new TransactionDigestCache(100);
+        cache.put(0L, getTransactionHash());
+
+        assertNull(cache.get(0L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void cacheWithoutCapacityStaysEmpty() {
+        TransactionDigestCache cache = new TransactionDigestCache(0);
+        cache.put(42L, getTransactionHash());
+
+        assertNull(cache.get(42L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void oldestEntriesAreEvictedFirst() {
+        int capacity = 1000;
+        TransactionDigestCache cache = new TransactionDigestCache(capacity);
+        int entries = 10 * capacity;
+        Hash[] hashes = new Hash[entries];
+        for (int i = 0; i < entries; i++) {
+            hashes[i] = getTransactionHash();
+            cache.put(i + 1, hashes[i]);
+        }
+
+        assertTrue("cache should not exceed its capacity", cache.size() <= capacity + 16);
+        int cached = 0;
+        for (int i = 0; i < entries; i++) {
+            Hash hash = cache.get(i + 1);
+            if (hash != null) {
+                assertEquals("digest should map to its own hash", hashes[i], hash);
+                cached++;
+            }
+        }
+        assertEquals(cache.size(), cached);
+        for (int i = entries - capacity / 2; i < entries; i++) {
+            assertEquals("recent entries should still be cached", hashes[i], cache.get(i + 1));
+        }
+        assertNull("oldest entry should be evicted", cache.get(1));
+    }
+
+    @Test
+    public void concurrentAccessKeepsEntriesConsistent() throws Exception {
+        TransactionDigestCache cache = new TransactionDigestCache(10_000);
+        int threads = 4;
+        int entriesPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long offset = (long) t * entriesPerThread;
+                futures.add(executor.submit(() -> {
+                    for (long digest = offset + 1; digest <= offset + entriesPerThread; digest++) {
+                        Hash hash = getTransactionHash();
+                        cache.put(digest, hash);
+                        Hash cached = cache.get(digest);
+                        assertTrue("digest should never map to another hash", cached == null || cached == hash);
+                        cache.get(digest - offset);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue("cache should not exceed its capacity", cache.size() <= 10_000);
+        assertEquals((long) threads * entriesPerThread * 2, cache.getCacheHits() + cache.getCacheMisses());
+    }
+}
@@ -8,8 +8,10 @@ import com.iota.iri.network.neighbor.NeighborState;
 import com.iota.iri.network.pipeline.TransactionProcessingPipeline;
 import com.iota.iri.network.protocol.Handshake;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 
@@ -23,6 +25,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
@@ -111,7 +114,7 @@ public class NeighborImplTest {
             @Override
             public int read(ByteBuffer dst) {
                 int bytesWritten = 0;
-                while (dst.hasRemaining()) {
+                while (dst.hasRemaining() && emptyTxPacket.hasRemaining()) {
                     dst.put(emptyTxPacket.get());
                     bytesWritten++;
                 }
@@ -123,7 +126,7 @@ public class NeighborImplTest {
         neighbor.setState(NeighborState.READY_FOR_MESSAGES);
 
         try {
-            assertEquals("should read the entire message", txMessageMaxSize, neighbor.read());
+            assertEquals("should read the entire packet", emptyTxPacket.capacity(), neighbor.read());
         } catch (IOException e) {
             fail("didn't expect an exception");
         }
@@ -132,6 +135,49 @@ public class NeighborImplTest {
         Mockito.verify(pipeline).process(neighbor, expected);
     }
 
+    @Test
+    public void readingSeveralTransactionsAtOncePutsAllInThePipeline() {
+        ByteBuffer packets = ByteBuffer.allocate(3 * createEmptyTxPacket().capacity());
+        for (int i = 0; i < 3; i++) {
+            ByteBuffer packet = createEmptyTxPacket();
+            // mark the transactions to distinguish them
+            packet.put(3, (byte) i);
+            packets.put(packet);
+        }
+        packets.flip();
+        // the last packet is only partially available at first
+        packets.limit(packets.capacity() - 100);
+        Neighbor neighbor = new NeighborImpl<>(selector, new FakeChannel() {
+
+            @Override
+            public int read(ByteBuffer dst) {
+                int bytesWritten = 0;
+                while (dst.hasRemaining() && packets.hasRemaining()) {
+                    dst.put(packets.get());
+                    bytesWritten++;
+                }
+                return bytesWritten;
+            }
+        }, localAddr, serverSocketPort, pipeline);
+        neighbor.setState(NeighborState.READY_FOR_MESSAGES);
+
+        try {
+            assertEquals("should read all available bytes at once", packets.capacity() - 100, neighbor.read());
+            Mockito.verify(pipeline, Mockito.times(2)).process(Mockito.eq(neighbor), Mockito.any(ByteBuffer.class));
+
+            packets.limit(packets.capacity());
+            assertEquals("should read the rest of the last packet", 100, neighbor.read());
+        } catch (IOException e) {
+            fail("didn't expect an exception");
+        }
+
+        for (int i = 0; i < 3; i++) {
+            ByteBuffer expected = ByteBuffer.allocate(txMessageMaxSize);
+            expected.put(0, (byte) i);
+            Mockito.verify(pipeline).process(neighbor, expected);
+        }
+    }
+
     @Test
     public void writeWithAMessageInTheSendQueueWritesItToTheChannel() {
         Neighbor neighbor = new NeighborImpl<>(selector, new FakeChannel() {
@@ -156,6 +202,112 @@ public class NeighborImplTest {
         }
     }
 
+    @Test
+    public void writeOfAMessageInSeveralPartsContinuesAfterPartialWrites() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Neighbor neighbor = new NeighborImpl<>(selector, new FakeChannel() {
+
+            @Override
+            public int write(ByteBuffer buf) {
+                // only write up to 10 bytes per call
+                int bytesWritten = 0;
+                while (buf.hasRemaining() && bytesWritten < 10) {
+                    out.write(buf.get());
+                    bytesWritten++;
+                }
+                return bytesWritten;
+            }
+        }, localAddr, serverSocketPort, pipeline);
+
+        ByteBuffer packet = createEmptyTxPacket();
+        ByteBuffer head = packet.duplicate();
+        head.limit(15);
+        ByteBuffer tail = packet.duplicate();
+        tail.position(15);
+        neighbor.send(new ByteBuffer[] { head, tail });
+
+        try {
+            int written = 0;
+            int bytesWritten;
+            while ((bytesWritten = neighbor.write()) > 0) {
+                written += bytesWritten;
+            }
+            assertEquals("should have written the entire packet", packet.capacity(), written);
+        } catch (IOException e) {
+            fail("didn't expect an exception");
+        }
+        assertArrayEquals("should have written the parts in order", packet.array(), out.toByteArray());
+    }
+
+    @Test
+    public void writeOfSeveralQueuedMessagesIsDoneWithASingleGatheringWrite() {
+        class GatheringChannel extends FakeChannel implements GatheringByteChannel {
+
+            private int writeCalls;
+
+            @Override
+            public long write(ByteBuffer[] srcs, int offset, int length) {
+                writeCalls++;
+                long bytesWritten = 0;
+                for (int i = offset; i < offset + length; i++) {
+                    bytesWritten += srcs[i].remaining();
+                    srcs[i].position(srcs[i].limit());
+                }
+                return bytesWritten;
+            }
+
+            @Override
+            public long write(ByteBuffer[] srcs) {
+                return write(srcs, 0, srcs.length);
+            }
+        }
+        GatheringChannel channel = new GatheringChannel();
+        Neighbor neighbor = new NeighborImpl<>(selector, channel, localAddr, serverSocketPort, pipeline);
+
+        for (int i = 0; i < 3; i++) {
+            neighbor.send(createEmptyTxPacket());
+        }
+
+        try {
+            assertEquals("should have written all packets", 3 * createEmptyTxPacket().capacity(), neighbor.write());
+            assertEquals("should return zero once all packets were written", 0, neighbor.write());
+        } catch (IOException e) {
+            fail("didn't expect an exception");
+        }
+        assertEquals("should have written all packets with one call", 1, channel.writeCalls);
+    }
+
+    @Test
+    public void sendDropsMessagesExceedingTheSendQueueLimit() {
+        int packetSize = createEmptyTxPacket().capacity();
+        Neighbor neighbor = new NeighborImpl<>(selector, new FakeChannel() {
+
+            @Override
+            public int write(ByteBuffer buf) {
+                int bytesWritten = buf.remaining();
+                buf.position(buf.limit());
+                return bytesWritten;
+            }
+        }, localAddr, serverSocketPort, pipeline, 2 * packetSize);
+
+        for (int i = 0; i < 3; i++) {
+            neighbor.send(createEmptyTxPacket());
+        }
+        assertEquals("should have dropped the packet exceeding the limit", 1,
+                neighbor.getMetrics().getDroppedSendPacketsCount());
+
+        try {
+            assertEquals("should have written the queued packets", 2 * packetSize, neighbor.write());
+            neighbor.send(createEmptyTxPacket());
+            assertEquals("should have written the packet queued after the queue was written", packetSize,
+                    neighbor.write());
+        } catch (IOException e) {
+            fail("didn't expect an exception");
+        }
+        assertEquals("should not have dropped any further packet", 1,
+                neighbor.getMetrics().getDroppedSendPacketsCount());
+    }
+
     @Test
     public void writeWithNoMessageInTheSendQueueReturnsZero() {
         Neighbor neighbor = new NeighborImpl<>(selector, null, localAddr, serverSocketPort, pipeline);
@@ -6,10 +6,12 @@ import com.iota.iri.network.NeighborRouter;
 import com.iota.iri.network.neighbor.Neighbor;
 import com.iota.iri.network.neighbor.impl.NeighborImpl;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
 import com.iota.iri.service.validation.TransactionSolidifier;
+import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -50,9 +52,11 @@ public class BroadcastStageTest {
 
         try {
             // should not have send the tvm to the origin neighbor
-            Mockito.verify(neighborRouter, Mockito.never()).gossipTransactionTo(neighborA, tvm);
+            Mockito.verify(neighborRouter, Mockito.never()).gossipTransactionTo(Mockito.eq(neighborA), Mockito.eq(tvm),
+                    Mockito.any(ByteBuffer.class));
             // should send it to the other neighbors
-            Mockito.verify(neighborRouter).gossipTransactionTo(neighborB, tvm);
+            Mockito.verify(neighborRouter).gossipTransactionTo(Mockito.eq(neighborB), Mockito.eq(tvm),
+                    Mockito.any(ByteBuffer.class));
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -69,11 +73,33 @@ public class BroadcastStageTest {
         broadcastStage.process(ctx);
 
         try {
-            Mockito.verify(neighborRouter).gossipTransactionTo(neighborA, tvm);
-            Mockito.verify(neighborRouter).gossipTransactionTo(neighborB, tvm);
+            Mockito.verify(neighborRouter).gossipTransactionTo(Mockito.eq(neighborA), Mockito.eq(tvm),
+                    Mockito.any(ByteBuffer.class));
+            Mockito.verify(neighborRouter).gossipTransactionTo(Mockito.eq(neighborB), Mockito.eq(tvm),
+                    Mockito.any(ByteBuffer.class));
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void broadcastsSolidTransactionsWithoutForwardingToItself() throws Exception {
+        Mockito.when(neighborRouter.getConnectedNeighbors()).thenReturn(neighbors);
+        TransactionViewModel solidTvm = new TransactionViewModel(new Transaction(), null);
+        Mockito.when(transactionSolidifier.getNextTxInBroadcastQueue()).thenReturn(solidTvm, solidTvm, null);
+
+        BroadcastStage broadcastStage = new BroadcastStage(neighborRouter, transactionSolidifier);
+        TransactionViewModel tvm = new TransactionViewModel(new Transaction(), null);
+        ProcessingContext ctx = new ProcessingContext(null, new BroadcastPayload(null, tvm));
+        broadcastStage.process(ctx);
+
+        Assert.assertEquals("the stage should not forward to its own queue", TransactionProcessingPipeline.Stage.FINISH,
+                ctx.getNextStage());
+        // the transaction of the context and both solid transactions
+        Mockito.verify(neighborRouter, Mockito.times(3)).gossipTransactionTo(Mockito.eq(neighborA),
+                Mockito.any(TransactionViewModel.class), Mockito.any(ByteBuffer.class));
+        Mockito.verify(neighborRouter, Mockito.times(3)).gossipTransactionTo(Mockito.eq(neighborB),
+                Mockito.any(TransactionViewModel.class), Mockito.any(ByteBuffer.class));
+    }
+
+}
@@ -1,7 +1,7 @@
 package com.iota.iri.network.pipeline;
 
 import com.iota.iri.model.Hash;
-import com.iota.iri.network.FIFOCache;
+import com.iota.iri.network.TransactionDigestCache;
 import com.iota.iri.network.SampleTransaction;
 import com.iota.iri.network.neighbor.impl.NeighborImpl;
 import com.iota.iri.network.neighbor.impl.NeighborMetricsImpl;
@@ -25,7 +25,7 @@ public class PreProcessStageTest {
     public MockitoRule mockitoRule = MockitoJUnit.rule();
 
     @Mock
-    private FIFOCache<Long, Hash> recentlySeenBytesCache;
+    private TransactionDigestCache recentlySeenBytesCache;
 
     @Mock
     private NeighborImpl neighbor;
@@ -6,17 +6,24 @@ import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.network.TransactionRequester;
 import com.iota.iri.network.neighbor.Neighbor;
 import com.iota.iri.network.neighbor.impl.NeighborMetricsImpl;
+import com.iota.iri.service.snapshot.Snapshot;
 import com.iota.iri.service.snapshot.SnapshotProvider;
 import com.iota.iri.service.validation.TransactionSolidifier;
 import com.iota.iri.storage.Tangle;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import static com.iota.iri.TransactionTestUtils.getTransactionHash;
+import static com.iota.iri.TransactionTestUtils.getTransactionTritsWithTrunkAndBranch;
 import static org.junit.Assert.assertEquals;
 
 public class ReceivedStageTest {
@@ -52,7 +59,7 @@ public class ReceivedStageTest {
     private Hash cooAddress;
 
     @Test
-    public void newlyStoredTransactionUpdatesAlsoArrivalTimeAndSender() throws Exception {
+    public void newlyStoredTransactionIsStoredWithArrivalTimeAndSender() throws Exception {
         Mockito.when(tvm.store(tangle, snapshotProvider.getInitialSnapshot())).thenReturn(true);
         Mockito.when(neighbor.getMetrics()).thenReturn(neighborMetrics);
         Mockito.when(transactionRequester.removeRecentlyRequestedTransaction(Mockito.any())).thenReturn(true);
@@ -63,8 +70,14 @@ public class ReceivedStageTest {
         ProcessingContext ctx = new ProcessingContext(null, receivedPayload);
         stage.process(ctx);
 
-        Mockito.verify(tvm).setArrivalTime(Mockito.anyLong());
-        Mockito.verify(tvm).update(Mockito.any(), Mockito.any(), Mockito.any());
+        InOrder inOrder = Mockito.inOrder(tvm, txSolidifier);
+        inOrder.verify(tvm).setArrivalTime(Mockito.anyLong());
+        inOrder.verify(tvm).updateSender(Mockito.any());
+        inOrder.verify(txSolidifier).quickSetSolidBeforeStore(tvm);
+        inOrder.verify(tvm).store(tangle, snapshotProvider.getInitialSnapshot());
+        inOrder.verify(txSolidifier).updateStatus(tvm);
+        inOrder.verify(tvm).publish(tangle, "arrivalTime|sender");
+        Mockito.verify(tvm, Mockito.never()).update(Mockito.any(), Mockito.any(), Mockito.any());
         Mockito.verify(transactionRequester).removeRecentlyRequestedTransaction(Mockito.any());
         Mockito.verify(transactionRequester).requestTrunkAndBranch(Mockito.any());
         assertEquals("should submit to broadcast stage next", TransactionProcessingPipeline.Stage.SOLIDIFY,
@@ -85,8 +98,9 @@ public class ReceivedStageTest {
         ProcessingContext ctx = new ProcessingContext(null, receivedPayload);
         stage.process(ctx);
 
-        Mockito.verify(tvm, Mockito.never()).setArrivalTime(Mockito.anyLong());
         Mockito.verify(tvm, Mockito.never()).update(Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verify(tvm, Mockito.never()).publish(Mockito.any(), Mockito.any());
+        Mockito.verify(txSolidifier, Mockito.never()).updateStatus(tvm);
         Mockito.verify(transactionRequester).removeRecentlyRequestedTransaction(Mockito.any());
         Mockito.verify(transactionRequester, Mockito.never()).requestTrunkAndBranch(Mockito.any());
         assertEquals("should submit to broadcast stage next", TransactionProcessingPipeline.Stage.SOLIDIFY,
@@ -96,4 +110,93 @@ public class ReceivedStageTest {
         assertEquals("tvm should still be the same", tvm, solidifyPayload.getTransaction());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void batchOfTransactionsIsStoredWithASingleWrite() throws Exception {
+        Snapshot initialSnapshot = Mockito.mock(Snapshot.class);
+        Mockito.when(snapshotProvider.getInitialSnapshot()).thenReturn(initialSnapshot);
+        Mockito.when(tangle.saveBatch(Mockito.any())).thenReturn(true);
+        Mockito.when(neighbor.getMetrics()).thenReturn(neighborMetrics);
+
+        byte[] tx1Trits = getTransactionTritsWithTrunkAndBranch(Hash.NULL_HASH, Hash.NULL_HASH);
+        TransactionViewModel tx1 = new TransactionViewModel(tx1Trits, getTransactionHash());
+        TransactionViewModel tx2 = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(tx1.getHash(),
+                tx1.getHash()), getTransactionHash());
+        // the same transaction received from two neighbors
+        TransactionViewModel tx1Duplicate = new TransactionViewModel(tx1Trits, tx1.getHash());
+
+        ReceivedStage stage = new ReceivedStage(tangle, txSolidifier, snapshotProvider, transactionRequester,
+                milestoneService, cooAddress);
+        List<ProcessingContext> ctxs = Arrays.asList(
+                new ProcessingContext(null, new ReceivedPayload(neighbor, tx1)),
+                new ProcessingContext(null, new ReceivedPayload(neighbor, tx2)),
+                new ProcessingContext(null, new ReceivedPayload(neighbor, tx1Duplicate)));
+        stage.processBatch(ctxs);
+
+        Mockito.verify(tangle).saveBatch(Mockito.any());
+        Mockito.verify(tangle, Mockito.never()).update(Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verify(txSolidifier).updateStatus(tx1);
+        Mockito.verify(txSolidifier).updateStatus(tx2);
+        Mockito.verify(txSolidifier, Mockito.never()).updateStatus(Mockito.same(tx1Duplicate));
+        Mockito.verify(neighborMetrics, Mockito.times(2)).incrNewTransactionsCount();
+        for (ProcessingContext ctx : ctxs) {
+            assertEquals("every transaction should be submitted to the solidify stage",
+                    TransactionProcessingPipeline.Stage.SOLIDIFY, ctx.getNextStage());
+        }
+    }
+
+    @Test
+    public void transactionFoundSolidIsRevertedWhenStoringFails() throws Exception {
+        Mockito.when(txSolidifier.quickSetSolidBeforeStore(tvm)).thenReturn(true);
+        Mockito.when(tvm.store(tangle, snapshotProvider.getInitialSnapshot())).thenThrow(new Exception("failed"));
+        Mockito.when(neighbor.getMetrics()).thenReturn(neighborMetrics);
+
+        ReceivedStage stage = new ReceivedStage(tangle, txSolidifier, snapshotProvider, transactionRequester,
+                milestoneService, cooAddress);
+        ProcessingContext ctx = new ProcessingContext(null, new ReceivedPayload(neighbor, tvm));
+        stage.process(ctx);
+
+        Mockito.verify(txSolidifier).revertSolidBeforeStore(tvm);
+        Mockito.verify(txSolidifier, Mockito.never()).updateStatus(tvm);
+        Mockito.verify(neighborMetrics).incrInvalidTransactionsCount();
+        assertEquals("should abort", TransactionProcessingPipeline.Stage.ABORT, ctx.getNextStage());
+    }
+
+    @Test
+    public void unsolidTransactionIsNotRevertedWhenStoringFails() throws Exception {
+        Mockito.when(tvm.store(tangle, snapshotProvider.getInitialSnapshot())).thenThrow(new Exception("failed"));
+        Mockito.when(neighbor.getMetrics()).thenReturn(neighborMetrics);
+
+        ReceivedStage stage = new ReceivedStage(tangle, txSolidifier, snapshotProvider, transactionRequester,
+                milestoneService, cooAddress);
+        ProcessingContext ctx = new ProcessingContext(null, new ReceivedPayload(neighbor, tvm));
+        stage.process(ctx);
+
+        Mockito.verify(txSolidifier, Mockito.never()).revertSolidBeforeStore(Mockito.any());
+        assertEquals("should abort", TransactionProcessingPipeline.Stage.ABORT, ctx.getNextStage());
+    }
+
+    @Test
+    public void transactionsFoundSolidAreRevertedWhenPreparingTheBatchFails() throws Exception {
+        Mockito.when(neighbor.getMetrics()).thenReturn(neighborMetrics);
+        TransactionViewModel solidTx = new TransactionViewModel(
+                getTransactionTritsWithTrunkAndBranch(Hash.NULL_HASH, Hash.NULL_HASH), getTransactionHash());
+        Mockito.when(txSolidifier.quickSetSolidBeforeStore(solidTx)).thenReturn(true);
+        // the sender of the second transaction can't be set
+        Mockito.doThrow(new Exception("failed")).when(tvm).updateSender(Mockito.any());
+
+        ReceivedStage stage = new ReceivedStage(tangle, txSolidifier, snapshotProvider, transactionRequester,
+                milestoneService, cooAddress);
+        List<ProcessingContext> ctxs = Arrays.asList(
+                new ProcessingContext(null, new ReceivedPayload(neighbor, solidTx)),
+                new ProcessingContext(null, new ReceivedPayload(neighbor, tvm)));
+        stage.processBatch(ctxs);
+
+        Mockito.verify(txSolidifier).revertSolidBeforeStore(solidTx);
+        Mockito.verify(txSolidifier, Mockito.never()).revertSolidBeforeStore(tvm);
+        Mockito.verify(tangle, Mockito.never()).saveBatch(Mockito.any());
+        for (ProcessingContext ctx : ctxs) {
+            assertEquals("every transaction should be aborted", TransactionProcessingPipeline.Stage.ABORT,
+                    ctx.getNextStage());
+        }
+    }
+}
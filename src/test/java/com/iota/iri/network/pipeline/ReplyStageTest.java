@@ -4,7 +4,7 @@ import com.iota.iri.TangleMockUtils;
 import com.iota.iri.conf.NodeConfig;
 import com.iota.iri.controllers.TipsViewModel;
 import com.iota.iri.model.Hash;
-import com.iota.iri.network.FIFOCache;
+import com.iota.iri.network.TransactionDigestCache;
 import com.iota.iri.network.NeighborRouter;
 import com.iota.iri.network.SampleTransaction;
 import com.iota.iri.network.TransactionRequester;
@@ -53,7 +53,7 @@ public class ReplyStageTest {
     private Snapshot snapshot;
 
     @Mock
-    private FIFOCache<Long, Hash> recentlySeenBytesCache;
+    private TransactionDigestCache recentlySeenBytesCache;
 
     @Mock
     private TransactionRequester transactionRequester;
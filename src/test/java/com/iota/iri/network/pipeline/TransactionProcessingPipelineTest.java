@@ -6,6 +6,8 @@ import com.iota.iri.service.validation.TransactionSolidifier;
 import com.iota.iri.service.validation.TransactionValidator;
 import com.iota.iri.conf.NodeConfig;
 import com.iota.iri.controllers.TipsViewModel;
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.model.persistables.Transaction;
 import com.iota.iri.network.NeighborRouter;
 import com.iota.iri.network.SampleTransaction;
 import com.iota.iri.network.TransactionRequester;
@@ -13,6 +15,14 @@ import com.iota.iri.network.neighbor.Neighbor;
 import com.iota.iri.service.snapshot.SnapshotProvider;
 import com.iota.iri.storage.Tangle;
 
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -378,4 +388,82 @@ public class TransactionProcessingPipelineTest {
         Mockito.verify(validationStage).process(Mockito.any());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void dataFromNeighborsIsDroppedWhenThePipelineIsSaturated() {
+        Mockito.when(nodeConfig.getqSizeNode()).thenReturn(1);
+        TransactionProcessingPipeline pipeline = new TransactionProcessingPipelineImpl(neighborRouter, nodeConfig,
+                transactionValidator, tangle, snapshotProvider, tipsViewModel, milestoneSolidifier,
+                transactionRequester, transactionSolidifier, milestoneService);
+        Assert.assertFalse("pipeline should not be saturated", pipeline.isSaturated());
+
+        // the pipeline is not started, so nothing is taken from the queues
+        pipeline.process(neighbor, SampleTransaction.createSampleTxBuffer());
+        Assert.assertTrue("pipeline should be saturated", pipeline.isSaturated());
+        pipeline.process(neighbor, SampleTransaction.createSampleTxBuffer());
+
+        StageMetrics preProcessStageMetrics = pipeline.getStageMetrics().get(0);
+        Assert.assertEquals("pre-process", preProcessStageMetrics.getName());
+        Assert.assertEquals(1, preProcessStageMetrics.getQueueSize());
+        Assert.assertEquals(1, preProcessStageMetrics.getQueueCapacity());
+        Assert.assertEquals("second message should have been dropped", 1, preProcessStageMetrics.getDroppedCount());
+    }
+
+    @Test
+    public void stagesAreProcessedByTheConfiguredAmountOfThreads() throws InterruptedException {
+        Mockito.when(nodeConfig.getPipelineReceivedThreads()).thenReturn(4);
+        TransactionProcessingPipeline pipeline = new TransactionProcessingPipelineImpl(neighborRouter, nodeConfig,
+                transactionValidator, tangle, snapshotProvider, tipsViewModel, milestoneSolidifier,
+                transactionRequester, transactionSolidifier, milestoneService);
+        injectMockedStagesIntoPipeline(pipeline);
+
+        CountDownLatch allWorkersBusy = new CountDownLatch(4);
+        Mockito.when(receivedStage.process(receivedCtx)).thenAnswer(invocation -> {
+            allWorkersBusy.countDown();
+            allWorkersBusy.await(1, TimeUnit.SECONDS);
+            return abortCtx;
+        });
+        Mockito.when(abortCtx.getNextStage()).thenReturn(TransactionProcessingPipeline.Stage.ABORT);
+
+        pipeline.start();
+        for (int i = 0; i < 4; i++) {
+            pipeline.getReceivedStageQueue().put(receivedCtx);
+        }
+
+        Assert.assertTrue("all received stage threads should process concurrently",
+                allWorkersBusy.await(1, TimeUnit.SECONDS));
+        Assert.assertEquals(4, pipeline.getStageMetrics().stream()
+                .filter(metrics -> metrics.getName().equals("received"))
+                .findFirst().get().getWorkers());
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void broadcastStageKeepsProcessingWhenItsQueueIsFull() throws Exception {
+        Mockito.when(nodeConfig.getqSizeNode()).thenReturn(1);
+        TransactionProcessingPipeline pipeline = new TransactionProcessingPipelineImpl(neighborRouter, nodeConfig,
+                transactionValidator, tangle, snapshotProvider, tipsViewModel, milestoneSolidifier,
+                transactionRequester, transactionSolidifier, milestoneService);
+        injectMockedStagesIntoPipeline(pipeline);
+        pipeline.setBroadcastStage(new BroadcastStage(neighborRouter, transactionSolidifier));
+        Mockito.when(neighborRouter.getConnectedNeighbors()).thenReturn(Collections.singletonMap("A", neighbor));
+
+        // the solidifier has more solid transactions to broadcast than fit into the queue of the broadcast stage
+        Queue<TransactionViewModel> solidTransactions = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < 10; i++) {
+            solidTransactions.add(new TransactionViewModel(new Transaction(), null));
+        }
+        Mockito.when(transactionSolidifier.getNextTxInBroadcastQueue()).thenAnswer(invocation -> solidTransactions.poll());
+
+        pipeline.start();
+        for (int i = 0; i < 3; i++) {
+            ProcessingContext ctx = new ProcessingContext(null,
+                    new BroadcastPayload(null, new TransactionViewModel(new Transaction(), null)));
+            Assert.assertTrue("the broadcast stage should keep taking from its queue",
+                    pipeline.getBroadcastStageQueue().offer(ctx, 1, TimeUnit.SECONDS));
+        }
+
+        Mockito.verify(neighborRouter, Mockito.timeout(1000).times(13)).gossipTransactionTo(Mockito.eq(neighbor),
+                Mockito.any(TransactionViewModel.class), Mockito.any(ByteBuffer.class));
+        pipeline.shutdown();
+    }
+}
@@ -99,6 +99,27 @@ public class ProtocolTest {
         assertEquals("should have correct message length", expectedMessageSize, buf.getShort());
     }
 
+    @Test
+    public void createTransactionGossipPacketFromSharedBody() {
+        Transaction sourceTx = new Transaction();
+        sourceTx.bytes = TransactionTestUtils.constructTransactionBytes();
+        TransactionViewModel tvm = new TransactionViewModel(sourceTx, null);
+        byte[] requestedHash = TransactionTestUtils.getTransactionHash().bytes();
+        ByteBuffer expected = Protocol.createTransactionGossipPacket(tvm, requestedHash);
+
+        ByteBuffer body = Protocol.createTransactionGossipBody(tvm);
+        for (int i = 0; i < 2; i++) {
+            ByteBuffer[] packet = Protocol.createTransactionGossipPacket(body, requestedHash);
+            ByteBuffer buf = ByteBuffer.allocate(expected.capacity());
+            for (ByteBuffer part : packet) {
+                buf.put(part);
+            }
+            buf.flip();
+            assertEquals("packet of a shared body should equal the packet of the transaction", expected, buf);
+        }
+        assertEquals("shared body should not be consumed", 0, body.position());
+    }
+
     @Test
     public void createHeartbeatPacket(){
         Heartbeat heartbeat = new Heartbeat();
@@ -0,0 +1,65 @@
+package com.iota.iri.network.protocol.message;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ByteBufferPoolTest {
+
+    @Test
+    public void releasedBuffersAreReused() {
+        ByteBufferPool pool = new ByteBufferPool(100, 2);
+        ByteBuffer buf = pool.acquire(50);
+        assertTrue("should be a direct buffer", buf.isDirect());
+        assertEquals("should be limited to the requested length", 50, buf.remaining());
+
+        buf.put((byte) 1);
+        pool.release(buf);
+        assertEquals("should keep the released buffer", 1, pool.size());
+
+        ByteBuffer reused = pool.acquire(80);
+        assertSame("should reuse the released buffer", buf, reused);
+        assertEquals("should reset the position of a reused buffer", 0, reused.position());
+        assertEquals("should be limited to the requested length", 80, reused.limit());
+        assertEquals("should have taken the buffer out of the pool", 0, pool.size());
+    }
+
+    @Test
+    public void poolIsLimited() {
+        ByteBufferPool pool = new ByteBufferPool(100, 2);
+        ByteBuffer first = pool.acquire(100);
+        ByteBuffer second = pool.acquire(100);
+        ByteBuffer third = pool.acquire(100);
+        assertNotSame("should allocate a new buffer if the pool is empty", first, second);
+
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+        assertEquals("should only keep the max amount of buffers", 2, pool.size());
+    }
+
+    @Test
+    public void foreignBuffersAreIgnored() {
+        ByteBufferPool pool = new ByteBufferPool(100, 2);
+        pool.release(ByteBuffer.allocate(100));
+        pool.release(ByteBuffer.allocateDirect(50));
+        assertEquals("should not keep buffers which don't belong to the pool", 0, pool.size());
+    }
+
+    @Test
+    public void acquiringMoreThanTheCapacityThrows() {
+        ByteBufferPool pool = new ByteBufferPool(100, 2);
+        try {
+            pool.acquire(101);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        fail("expected an exception to be thrown");
+    }
+}
@@ -4,19 +4,44 @@ import com.iota.iri.service.validation.TransactionSolidifier;
 import com.iota.iri.service.validation.TransactionValidator;
 import com.iota.iri.conf.IotaConfig;
 import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.service.dto.AbstractResponse;
+import com.iota.iri.service.dto.ErrorResponse;
+import com.iota.iri.service.restserver.ApiProcessor;
+import com.iota.iri.service.restserver.RestConnector;
 import com.iota.iri.service.snapshot.SnapshotProvider;
+import com.iota.iri.service.tipselection.TipSelector;
+import com.iota.iri.service.tipselection.impl.TipSelectionCancelledException;
+import com.iota.iri.service.milestone.MilestoneSolidifier;
+import com.iota.iri.model.Hash;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import java.net.InetAddress;
+import java.util.Arrays;
 import java.util.Collections;
-
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -47,7 +72,7 @@ public class APITest {
         API api = new API(config, null, null, null,
                 null, null,
                 snapshotProvider, null, null, null, null,
-                transactionValidator, null, null, transactionSolidifier);
+                transactionValidator, null, null, transactionSolidifier, null);
 
         api.storeTransactionsStatement(Collections.singletonList("FOO"));
 
@@ -55,6 +80,150 @@ public class APITest {
 
     }
 
+    @Test
+    public void findTransactionsIsRejectedWhenTooManyAreProcessed() throws Exception {
+        when(config.getApiReadThreads()).thenReturn(2);
+        when(config.getApiReadQueueSize()).thenReturn(10);
+        when(config.getMaxConcurrentFindTransactions()).thenReturn(1);
+        API api = new API(config, null, null, null, null, null, null, null, null, null, null, null, null, null,
+                null, null);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        api.commandRoute.put(ApiCommand.FIND_TRANSACTIONS, request -> {
+            started.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return AbstractResponse.createEmptyResponse();
+        });
+        api.commandRoute.put(ApiCommand.GET_TRYTES, request -> AbstractResponse.createEmptyResponse());
+
+        RestConnector connector = mock(RestConnector.class);
+        api.init(connector);
+        ArgumentCaptor<ApiProcessor> processor = ArgumentCaptor.forClass(ApiProcessor.class);
+        verify(connector).init(processor.capture());
+        String findTransactions = "{\"command\": \"findTransactions\"}";
+        InetAddress localhost = InetAddress.getLoopbackAddress();
+
+        ExecutorService requests = Executors.newSingleThreadExecutor();
+        try {
+            Future<AbstractResponse> slowRequest = requests.submit(
+                    () -> processor.getValue().processFunction(findTransactions, localhost));
+            started.await();
+
+            assertTrue("findTransactions above the limit should be rejected",
+                    processor.getValue().processFunction(findTransactions, localhost) instanceof ErrorResponse);
+            assertFalse("getTrytes should not be blocked by findTransactions", processor.getValue()
+                    .processFunction("{\"command\": \"getTrytes\"}", localhost) instanceof ErrorResponse);
+
+            finish.countDown();
+            assertFalse(slowRequest.get() instanceof ErrorResponse);
+        } finally {
+            requests.shutdownNow();
+            api.shutDown();
+        }
+    }
+
+    @Test
+    public void tipSelectionIsRejectedWhenTooManyAreWaiting() throws Exception {
+        when(config.getApiReadQueueSize()).thenReturn(0);
+        when(config.getTipSelectionTimeoutSec()).thenReturn(60);
+        SnapshotProvider syncedSnapshotProvider = mock(SnapshotProvider.class, Answers.RETURNS_DEEP_STUBS);
+        when(syncedSnapshotProvider.getLatestSnapshot().getIndex()).thenReturn(1);
+        TipSelector tipSelector = mock(TipSelector.class);
+        API api = new API(config, null, null, null, null, null, syncedSnapshotProvider, null, null, tipSelector,
+                null, null, mock(MilestoneSolidifier.class), null, null, null);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        List<Hash> tips = Arrays.asList(Hash.NULL_HASH, Hash.NULL_HASH);
+        when(tipSelector.getTransactionsToApprove(anyInt(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            finish.await();
+            return tips;
+        });
+
+        ExecutorService requests = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Hash>> slowRequest = requests.submit(
+                    () -> api.getTransactionToApproveTips(3, Optional.empty()));
+            started.await();
+
+            try {
+                api.getTransactionToApproveTips(3, Optional.empty());
+                fail("tip selection beyond the queue size should be rejected");
+            } catch (IllegalStateException e) {
+                // expected
+            }
+
+            finish.countDown();
+            assertEquals(tips, slowRequest.get());
+        } finally {
+            requests.shutdownNow();
+            api.shutDown();
+        }
+    }
+
+    @Test
+    public void queuedTipSelectionTimesOutWithoutWaitingForItsWalk() throws Exception {
+        when(config.getApiReadQueueSize()).thenReturn(1);
+        when(config.getTipSelectionTimeoutSec()).thenReturn(1);
+        SnapshotProvider syncedSnapshotProvider = mock(SnapshotProvider.class, Answers.RETURNS_DEEP_STUBS);
+        when(syncedSnapshotProvider.getLatestSnapshot().getIndex()).thenReturn(1);
+        TipSelector tipSelector = mock(TipSelector.class);
+        API api = new API(config, null, null, null, null, null, syncedSnapshotProvider, null, null, tipSelector,
+                null, null, mock(MilestoneSolidifier.class), null, null, null);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        when(tipSelector.getTransactionsToApprove(anyInt(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            // ignores the interruption of the timed out walk, like a walk that is busy loading transactions
+            while (finish.getCount() > 0) {
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    // continue waiting
+                }
+            }
+            return Arrays.asList(Hash.NULL_HASH, Hash.NULL_HASH);
+        });
+
+        ExecutorService requests = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Hash>> slowRequest = requests.submit(
+                    () -> api.getTransactionToApproveTips(3, Optional.empty()));
+            started.await();
+
+            Future<List<Hash>> queuedRequest = requests.submit(
+                    () -> api.getTransactionToApproveTips(3, Optional.empty()));
+            try {
+                queuedRequest.get(5, TimeUnit.SECONDS);
+                fail("queued tip selection should time out");
+            } catch (ExecutionException e) {
+                assertTrue("queued tip selection should be cancelled",
+                        e.getCause() instanceof TipSelectionCancelledException);
+            } catch (TimeoutException e) {
+                fail("the timeout of a queued tip selection should start when it is submitted");
+            }
+
+            finish.countDown();
+            try {
+                slowRequest.get();
+            } catch (ExecutionException e) {
+                // the slow walk timed out as well
+            }
+            verify(tipSelector, after(200).times(1)).getTransactionsToApprove(anyInt(), any());
+        } finally {
+            finish.countDown();
+            requests.shutdownNow();
+            api.shutDown();
+        }
+    }
+
     private boolean isCloseToCurrentMillis(Long arrival) {
         long now = System.currentTimeMillis();
         return arrival > now - 1000 && arrival <= now;
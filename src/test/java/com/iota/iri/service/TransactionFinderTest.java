@@ -0,0 +1,154 @@
+package com.iota.iri.service;
+
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.crypto.SpongeFactory;
+import com.iota.iri.model.Hash;
+import com.iota.iri.model.TransactionHash;
+import com.iota.iri.service.snapshot.Snapshot;
+import com.iota.iri.service.snapshot.impl.SnapshotMockUtils;
+import com.iota.iri.storage.Tangle;
+import com.iota.iri.storage.rocksDB.RocksDBPersistenceProvider;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.iota.iri.TransactionTestUtils.getTransactionHash;
+import static com.iota.iri.TransactionTestUtils.getTransactionTrits;
+import static com.iota.iri.TransactionTestUtils.getTransactionTritsWithTrunkAndBranch;
+
+public class TransactionFinderTest {
+
+    private final TemporaryFolder dbFolder = new TemporaryFolder();
+    private final TemporaryFolder logFolder = new TemporaryFolder();
+    private Tangle tangle;
+    private Snapshot snapshot;
+
+    @Before
+    public void setUp() throws Exception {
+        dbFolder.create();
+        logFolder.create();
+        tangle = new Tangle();
+        tangle.addPersistenceProvider(new RocksDBPersistenceProvider(
+                dbFolder.getRoot().getAbsolutePath(), logFolder.getRoot().getAbsolutePath(), 1000,
+                Tangle.COLUMN_FAMILIES, Tangle.METADATA_COLUMN_FAMILY));
+        tangle.init();
+        snapshot = SnapshotMockUtils.createSnapshot();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        tangle.shutdown();
+        dbFolder.delete();
+        logFolder.delete();
+    }
+
+    @Test
+    public void findReturnsPagesUntilAllTransactionsWereFound() throws Exception {
+        byte[] template = getTransactionTrits();
+        List<Hash> stored = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            stored.add(store(copyAddressAndTag(template, getTransactionTrits(), false)).getHash());
+        }
+        store(getTransactionTrits());
+        Hash address = new TransactionViewModel(template, Hash.NULL_HASH).getAddressHash();
+
+        List<Hash> found = new ArrayList<>();
+        TransactionFinder.Page page = new TransactionFinder(tangle).addresses(Collections.singleton(address))
+                .find(null, 2);
+        found.addAll(page.getHashes());
+        Assert.assertEquals(2, page.getHashes().size());
+        Assert.assertNotNull("first page should have a cursor", page.getCursor());
+
+        page = new TransactionFinder(tangle).addresses(Collections.singleton(address)).find(page.getCursor(), 2);
+        found.addAll(page.getHashes());
+        Assert.assertEquals(2, page.getHashes().size());
+
+        page = new TransactionFinder(tangle).addresses(Collections.singleton(address)).find(page.getCursor(), 2);
+        found.addAll(page.getHashes());
+        Assert.assertEquals(1, page.getHashes().size());
+        Assert.assertNull("last page should not have a cursor", page.getCursor());
+
+        Assert.assertEquals("all transactions should be found exactly once", stored, found);
+    }
+
+    @Test
+    public void findReturnsIntersectionOfCriteria() throws Exception {
+        byte[] template = getTransactionTrits();
+        List<Hash> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            TransactionViewModel transaction = store(copyAddressAndTag(template, getTransactionTrits(), i < 2));
+            if (i < 2) {
+                expected.add(transaction.getHash());
+            }
+        }
+        TransactionViewModel templateTransaction = new TransactionViewModel(template, Hash.NULL_HASH);
+
+        TransactionFinder.Page page = new TransactionFinder(tangle)
+                .addresses(Collections.singleton(templateTransaction.getAddressHash()))
+                .tags(Collections.singleton(templateTransaction.getTagValue()),
+                        Collections.singleton(templateTransaction.getObsoleteTagValue()))
+                .find(null, 10);
+
+        Assert.assertEquals(new HashSet<>(expected), new HashSet<>(page.getHashes()));
+        Assert.assertNull(page.getCursor());
+    }
+
+    @Test
+    public void findReturnsApproverOfSeveralApproveesOnce() throws Exception {
+        Hash trunk = getTransactionHash();
+        Hash branch = getTransactionHash();
+        Hash approver = store(getTransactionTritsWithTrunkAndBranch(trunk, branch)).getHash();
+
+        TransactionFinder.Page page = new TransactionFinder(tangle).approvees(Arrays.asList(trunk, branch))
+                .find(null, 10);
+
+        Assert.assertEquals(Collections.singletonList(approver), page.getHashes());
+    }
+
+    @Test
+    public void findReturnsApproverWhoseTrunkIsItsBranchOnce() throws Exception {
+        Hash approvee = getTransactionHash();
+        Hash approver = store(getTransactionTritsWithTrunkAndBranch(approvee, approvee)).getHash();
+        Hash otherApprover = store(getTransactionTritsWithTrunkAndBranch(approvee, getTransactionHash())).getHash();
+
+        TransactionFinder.Page page = new TransactionFinder(tangle).approvees(Collections.singleton(approvee))
+                .find(null, 10);
+        Assert.assertEquals(Arrays.asList(approver, otherApprover), page.getHashes());
+
+        page = new TransactionFinder(tangle).approvees(Collections.singleton(approvee)).find(null, 1);
+        Assert.assertEquals(Collections.singletonList(approver), page.getHashes());
+        page = new TransactionFinder(tangle).approvees(Collections.singleton(approvee)).find(page.getCursor(), 1);
+        Assert.assertEquals("the next page should not start with the same approver",
+                Collections.singletonList(otherApprover), page.getHashes());
+    }
+
+    @Test(expected = ValidationException.class)
+    public void findRejectsCursorOfOtherCriterion() throws Exception {
+        new TransactionFinder(tangle).addresses(Collections.singleton(getTransactionHash())).find("bundles:0:0", 10);
+    }
+
+    private TransactionViewModel store(byte[] trits) throws Exception {
+        TransactionViewModel transaction = new TransactionViewModel(trits,
+                TransactionHash.calculate(SpongeFactory.Mode.CURLP81, trits));
+        transaction.store(tangle, snapshot);
+        return transaction;
+    }
+
+    private static byte[] copyAddressAndTag(byte[] source, byte[] destination, boolean copyTag) {
+        System.arraycopy(source, TransactionViewModel.ADDRESS_TRINARY_OFFSET, destination,
+                TransactionViewModel.ADDRESS_TRINARY_OFFSET, TransactionViewModel.ADDRESS_TRINARY_SIZE);
+        if (copyTag) {
+            System.arraycopy(source, TransactionViewModel.TAG_TRINARY_OFFSET, destination,
+                    TransactionViewModel.TAG_TRINARY_OFFSET, TransactionViewModel.TAG_TRINARY_SIZE);
+        }
+        return destination;
+    }
+}
@@ -1,6 +1,9 @@
 package com.iota.iri.service.ledger.impl;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -8,6 +11,7 @@ import static org.mockito.Mockito.when;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -19,10 +23,14 @@ import org.mockito.junit.MockitoRule;
 
 import com.iota.iri.BundleValidator;
 import com.iota.iri.TangleMockUtils;
+import com.iota.iri.TransactionTestUtils;
 import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.model.Hash;
 import com.iota.iri.service.milestone.MilestoneService;
+import com.iota.iri.service.snapshot.Snapshot;
 import com.iota.iri.service.snapshot.SnapshotProvider;
 import com.iota.iri.service.snapshot.SnapshotService;
+import com.iota.iri.service.snapshot.SnapshotState;
 import com.iota.iri.service.spentaddresses.SpentAddressesService;
 import com.iota.iri.storage.Tangle;
 
@@ -74,4 +82,29 @@ public class LedgerServiceImplTest {
         ledgerService.generateBalanceDiff(new HashSet<>(), tailTx.getHash(), milestoneIndex, true);
         verify(spentAddressesService, times(1)).persistValidatedSpentAddressesAsync(eq(bundle));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getUnconfirmedBalanceDiffIsCachedUntilTheLatestSnapshotChanges() throws Exception {
+        // a transaction without value would get a random value, so the bundle only consists of its two transfers
+        List<TransactionViewModel> bundle = TangleMockUtils.mockValidBundle(tangle, bundleValidator, 0,
+                "A", "Z");
+        TransactionViewModel tailTx = bundle.get(0);
+        tailTx.updateSolid(true);
+
+        Snapshot latestSnapshot = mock(Snapshot.class);
+        SnapshotState patchedState = mock(SnapshotState.class);
+        when(snapshotProvider.getLatestSnapshot()).thenReturn(latestSnapshot);
+        when(latestSnapshot.getHash()).thenReturn(TransactionTestUtils.getTransactionHash());
+        when(latestSnapshot.patchedState(any())).thenReturn(patchedState);
+        when(patchedState.isConsistent()).thenReturn(true);
+
+        Map<Hash, Long> diff = ledgerService.getUnconfirmedBalanceDiff(tailTx.getHash());
+        assertEquals("balance changes of the bundle should be returned", 2, diff.size());
+        assertEquals(diff, ledgerService.getUnconfirmedBalanceDiff(tailTx.getHash()));
+        verify(bundleValidator, times(1)).validate(eq(tangle), eq(true), any(), eq(tailTx.getHash()));
+
+        when(latestSnapshot.getHash()).thenReturn(TransactionTestUtils.getTransactionHash());
+        assertEquals(diff, ledgerService.getUnconfirmedBalanceDiff(tailTx.getHash()));
+        verify(bundleValidator, times(2)).validate(eq(tangle), eq(true), any(), eq(tailTx.getHash()));
+    }
+}
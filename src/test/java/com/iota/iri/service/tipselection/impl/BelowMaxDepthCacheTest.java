@@ -0,0 +1,44 @@
+package com.iota.iri.service.tipselection.impl;
+
+import static com.iota.iri.TransactionTestUtils.getTransactionHash;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.iota.iri.model.Hash;
+
+public class BelowMaxDepthCacheTest {
+
+    private final BelowMaxDepthCache cache = new BelowMaxDepthCache();
+
+    @Test
+    public void verdictsAreReturnedForTheSameMilestone() {
+        Hash below = getTransactionHash();
+        Hash ok = getTransactionHash();
+        cache.put(below, 10, true);
+        cache.put(ok, 10, false);
+
+        Assert.assertEquals(Boolean.TRUE, cache.get(below, 10));
+        Assert.assertEquals(Boolean.FALSE, cache.get(ok, 10));
+        Assert.assertNull("unknown transactions should have no verdict", cache.get(getTransactionHash(), 10));
+    }
+
+    @Test
+    public void verdictsAreDiscardedOnNewMilestone() {
+        Hash hash = getTransactionHash();
+        cache.put(hash, 10, true);
+
+        Assert.assertNull("verdict of an old milestone should not be used", cache.get(hash, 11));
+        Assert.assertEquals("cache should be cleared on a new milestone", 0, cache.size());
+    }
+
+    @Test
+    public void verdictsOfOldMilestonesAreIgnored() {
+        Hash hash = getTransactionHash();
+        cache.get(hash, 11);
+        cache.put(hash, 10, true);
+
+        Assert.assertNull(cache.get(hash, 10));
+        Assert.assertNull(cache.get(hash, 11));
+    }
+}
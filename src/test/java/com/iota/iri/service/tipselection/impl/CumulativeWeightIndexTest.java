@@ -0,0 +1,288 @@
+package com.iota.iri.service.tipselection.impl;
+
+import static com.iota.iri.TransactionTestUtils.getTransactionHash;
+import static com.iota.iri.TransactionTestUtils.getTransactionTritsWithTrunkAndBranch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import com.iota.iri.conf.TipSelConfig;
+import com.iota.iri.controllers.MilestoneViewModel;
+import com.iota.iri.controllers.TipsViewModel;
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.model.Hash;
+import com.iota.iri.network.TransactionRequester;
+import com.iota.iri.network.pipeline.ProcessingContext;
+import com.iota.iri.network.pipeline.ReceivedPayload;
+import com.iota.iri.network.pipeline.ReceivedStage;
+import com.iota.iri.service.milestone.MilestoneService;
+import com.iota.iri.service.milestone.MilestoneSolidifier;
+import com.iota.iri.service.snapshot.SnapshotProvider;
+import com.iota.iri.service.snapshot.impl.SnapshotMockUtils;
+import com.iota.iri.service.tipselection.RatingCalculator;
+import com.iota.iri.service.validation.impl.TransactionSolidifierImpl;
+import com.iota.iri.storage.Tangle;
+import com.iota.iri.storage.rocksDB.RocksDBPersistenceProvider;
+
+public class CumulativeWeightIndexTest {
+    private static final TemporaryFolder dbFolder = new TemporaryFolder();
+    private static final TemporaryFolder logFolder = new TemporaryFolder();
+    private static final String TX_CUMULATIVE_WEIGHT_IS_NOT_AS_EXPECTED_FORMAT =
+            "tx%d cumulative weight is not as expected";
+    private static final int START_INDEX = 70000;
+    private static Tangle tangle;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private SnapshotProvider snapshotProvider;
+
+    @Mock
+    private MilestoneSolidifier milestoneSolidifier;
+
+    @Mock
+    private RatingCalculator fallback;
+
+    @Mock
+    private TipSelConfig config;
+
+    private CumulativeWeightIndex cumulativeWeightIndex;
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        tangle.shutdown();
+        dbFolder.delete();
+        logFolder.delete();
+    }
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        tangle = new Tangle();
+        dbFolder.create();
+        logFolder.create();
+        tangle.addPersistenceProvider( new RocksDBPersistenceProvider(
+                dbFolder.getRoot().getAbsolutePath(), logFolder.getRoot().getAbsolutePath(),1000, Tangle.COLUMN_FAMILIES, Tangle.METADATA_COLUMN_FAMILY));
+        tangle.init();
+    }
+
+    @Before
+    public void setUpEach() {
+        // milestones of other tests are cached
+        MilestoneViewModel.clear();
+        SnapshotMockUtils.mockSnapshotProvider(snapshotProvider, START_INDEX);
+        Mockito.when(config.getMaxDepth()).thenReturn(1);
+        cumulativeWeightIndex = new CumulativeWeightIndex(tangle, snapshotProvider, milestoneSolidifier, fallback,
+                config);
+    }
+
+    @Test
+    public void testWeightsAreUpdatedWhenTransactionsBecomeSolid() throws Exception {
+        TransactionViewModel[] transactions = createSubtangle();
+        for (TransactionViewModel transaction : transactions) {
+            cumulativeWeightIndex.onTransactionSolid(transaction);
+        }
+
+        assertWeights(transactions, cumulativeWeightIndex.calculate(transactions[0].getHash()));
+        Mockito.verifyZeroInteractions(fallback);
+    }
+
+    @Test
+    public void testApproversSolidifiedBeforeTheirParentsAreAdded() throws Exception {
+        TransactionViewModel[] transactions = createSubtangle();
+        for (TransactionViewModel transaction : transactions) {
+            transaction.store(tangle, snapshotProvider.getInitialSnapshot());
+        }
+        for (int i = transactions.length - 1; i >= 0; i--) {
+            cumulativeWeightIndex.onTransactionSolid(transactions[i]);
+        }
+
+        assertWeights(transactions, cumulativeWeightIndex.calculate(transactions[0].getHash()));
+        Mockito.verifyZeroInteractions(fallback);
+    }
+
+    @Test
+    public void testUnknownEntryPointIsDelegatedToFallback() throws Exception {
+        Hash entryPoint = getTransactionHash();
+        cumulativeWeightIndex.calculate(entryPoint);
+
+        Mockito.verify(fallback).calculate(entryPoint);
+    }
+
+    @Test
+    public void testTransactionsNotReferencingOldestEntryPointArePruned() throws Exception {
+        TransactionViewModel[] transactions = createSubtangle();
+        TransactionViewModel[] otherTransactions = createSubtangle();
+        new MilestoneViewModel(START_INDEX + 1, transactions[0].getHash()).store(tangle);
+        Mockito.when(milestoneSolidifier.getLatestMilestoneIndex()).thenReturn(START_INDEX + 1);
+
+        for (int i = 0; i < transactions.length; i++) {
+            cumulativeWeightIndex.onTransactionSolid(transactions[i]);
+            cumulativeWeightIndex.onTransactionSolid(otherTransactions[i]);
+        }
+        Assert.assertEquals("both subtangles should be indexed", 10, cumulativeWeightIndex.size());
+
+        // the milestone becomes the oldest entry point that tip selection can choose
+        snapshotProvider.getLatestSnapshot().setIndex(START_INDEX + 2);
+        assertWeights(transactions, cumulativeWeightIndex.calculate(transactions[0].getHash()));
+        Assert.assertEquals("only the future cone of the milestone should be kept", 5,
+                cumulativeWeightIndex.size());
+    }
+
+    @Test
+    public void testChildReceivedRightAfterItsParentWasStoredIsLinkedToIt() throws Exception {
+        TransactionViewModel parent = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(Hash.NULL_HASH,
+                Hash.NULL_HASH), getTransactionHash());
+        TransactionViewModel child = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(parent.getHash(),
+                parent.getHash()), getTransactionHash());
+
+        // the child is received by another thread of the received stage right after the parent was written
+        Tangle receivingTangle = Mockito.spy(tangle);
+        TransactionRequester transactionRequester = new TransactionRequester(receivingTangle, snapshotProvider);
+        TransactionSolidifierImpl txSolidifier = new TransactionSolidifierImpl(receivingTangle, snapshotProvider,
+                transactionRequester, new TipsViewModel());
+        txSolidifier.addSolidTransactionListener(cumulativeWeightIndex::onTransactionSolid);
+        ReceivedStage receivedStage = new ReceivedStage(receivingTangle, txSolidifier, snapshotProvider,
+                transactionRequester, Mockito.mock(MilestoneService.class), getTransactionHash());
+        AtomicBoolean childReceived = new AtomicBoolean();
+        Mockito.doAnswer(invocation -> {
+            Object stored = invocation.callRealMethod();
+            if (childReceived.compareAndSet(false, true)) {
+                receivedStage.process(new ProcessingContext(new ReceivedPayload(null, child)));
+            }
+            return stored;
+        }).when(receivingTangle).saveBatch(Mockito.any());
+
+        receivedStage.process(new ProcessingContext(new ReceivedPayload(null, parent)));
+
+        Assert.assertTrue("the child should be solid", TransactionViewModel.fromHash(tangle, child.getHash()).isSolid());
+        Map<Hash, Integer> txToCw = cumulativeWeightIndex.calculate(parent.getHash());
+        Assert.assertEquals("the child should be rated", Integer.valueOf(1), txToCw.get(child.getHash()));
+        Assert.assertEquals("the parent should be approved by the child", Integer.valueOf(2),
+                txToCw.get(parent.getHash()));
+        Mockito.verifyZeroInteractions(fallback);
+    }
+
+    @Test
+    public void testTransactionThatWasNotStoredIsRemoved() throws Exception {
+        Mockito.when(config.getMaxDepth()).thenReturn(100);
+        TransactionViewModel[] transactions = createSubtangle();
+        new MilestoneViewModel(START_INDEX + 1, transactions[0].getHash()).store(tangle);
+        Mockito.when(milestoneSolidifier.getLatestMilestoneIndex()).thenReturn(START_INDEX + 1);
+        for (TransactionViewModel transaction : transactions) {
+            cumulativeWeightIndex.onTransactionSolid(transaction);
+        }
+        TransactionViewModel notStored = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(
+                transactions[4].getHash(), transactions[3].getHash()), getTransactionHash());
+        cumulativeWeightIndex.onTransactionSolid(notStored);
+
+        // the milestone becomes solid and labels its past cone before the failed store is reported
+        snapshotProvider.getLatestSnapshot().setIndex(START_INDEX + 1);
+        cumulativeWeightIndex.calculate(transactions[0].getHash());
+        cumulativeWeightIndex.onTransactionNotStored(notStored);
+
+        Assert.assertEquals("the transaction should be removed", transactions.length, cumulativeWeightIndex.size());
+        assertWeights(transactions, cumulativeWeightIndex.calculate(transactions[0].getHash()));
+        Mockito.verifyZeroInteractions(fallback);
+    }
+
+    @Test
+    public void testWeightsOfDeepSubtangleWithMilestonesAreExact() throws Exception {
+        Mockito.when(config.getMaxDepth()).thenReturn(100);
+        int firstMilestoneIndex = START_INDEX + 1000;
+        snapshotProvider.getLatestSnapshot().setIndex(firstMilestoneIndex);
+        Random random = new Random(42);
+
+        // a chain of 2000 transactions, each one also approving a random older transaction, with a milestone every
+        // 100 transactions that becomes solid a bit later
+        List<TransactionViewModel> transactions = new ArrayList<>();
+        Map<Hash, Set<Hash>> pastCones = new HashMap<>();
+        Hash trunk = Hash.NULL_HASH;
+        int milestoneIndex = firstMilestoneIndex;
+        for (int i = 0; i < 2000; i++) {
+            Hash branch = transactions.isEmpty() ? Hash.NULL_HASH
+                    : transactions.get(random.nextInt(transactions.size())).getHash();
+            TransactionViewModel transaction = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(trunk,
+                    branch), getTransactionHash());
+            transactions.add(transaction);
+            Set<Hash> pastCone = new HashSet<>();
+            for (Hash parent : Arrays.asList(trunk, branch)) {
+                if (pastCones.containsKey(parent)) {
+                    pastCone.add(parent);
+                    pastCone.addAll(pastCones.get(parent));
+                }
+            }
+            pastCones.put(transaction.getHash(), pastCone);
+            cumulativeWeightIndex.onTransactionSolid(transaction);
+            trunk = transaction.getHash();
+
+            if (i % 100 == 0) {
+                new MilestoneViewModel(++milestoneIndex, transaction.getHash()).store(tangle);
+            }
+            if (i % 100 == 10) {
+                snapshotProvider.getLatestSnapshot().setIndex(milestoneIndex);
+            }
+        }
+
+        Map<Hash, Integer> txToCw = cumulativeWeightIndex.calculate(transactions.get(0).getHash());
+        Assert.assertEquals("all transactions should be rated", transactions.size(), txToCw.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            Hash hash = transactions.get(i).getHash();
+            long expectedWeight = 1 + pastCones.values().stream().filter(pastCone -> pastCone.contains(hash)).count();
+            Assert.assertEquals(String.format(TX_CUMULATIVE_WEIGHT_IS_NOT_AS_EXPECTED_FORMAT, i), expectedWeight,
+                    txToCw.get(hash).longValue());
+        }
+        Mockito.verifyZeroInteractions(fallback);
+    }
+
+    /**
+     * Creates the following subtangle, referencing the genesis:
+     * <pre>
+     *     tx4 -> tx2, tx3
+     *     tx3 -> tx2, tx1
+     *     tx2 -> tx1
+     *     tx1 -> tx0
+     * </pre>
+     */
+    private static TransactionViewModel[] createSubtangle() {
+        TransactionViewModel[] transactions = new TransactionViewModel[5];
+        transactions[0] = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(Hash.NULL_HASH,
+                Hash.NULL_HASH), getTransactionHash());
+        transactions[1] = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(transactions[0].getHash(),
+                transactions[0].getHash()), getTransactionHash());
+        transactions[2] = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(transactions[1].getHash(),
+                transactions[1].getHash()), getTransactionHash());
+        transactions[3] = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(transactions[2].getHash(),
+                transactions[1].getHash()), getTransactionHash());
+        transactions[4] = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(transactions[2].getHash(),
+                transactions[3].getHash()), getTransactionHash());
+        return transactions;
+    }
+
+    private static void assertWeights(TransactionViewModel[] transactions, Map<Hash, Integer> txToCw) {
+        Assert.assertEquals("all transactions should be rated", transactions.length, txToCw.size());
+        for (int i = 0; i < transactions.length; i++) {
+            Assert.assertEquals(String.format(TX_CUMULATIVE_WEIGHT_IS_NOT_AS_EXPECTED_FORMAT, i),
+                    transactions.length - i, txToCw.get(transactions[i].getHash()).intValue());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.iota.iri.service.tipselection.impl;
+
+import static com.iota.iri.TransactionTestUtils.getTransactionHash;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.iota.iri.model.Hash;
+
+public class SubtangleGraphTest {
+
+    @Test
+    public void testApproversAreStoredPerTransaction() {
+        Hash entryPoint = getTransactionHash();
+        Hash approver1 = getTransactionHash();
+        Hash approver2 = getTransactionHash();
+        Hash approver3 = getTransactionHash();
+
+        SubtangleGraph.Builder builder = new SubtangleGraph.Builder(0);
+        builder.add(entryPoint);
+        builder.addApprover(0, approver1);
+        builder.addApprover(0, approver2);
+        // approver3 references both approvers, it is interned only once
+        builder.addApprover(1, approver3);
+        builder.addApprover(2, approver3);
+        SubtangleGraph graph = builder.build();
+
+        Assert.assertEquals("all transactions should be part of the graph", 4, graph.size());
+        Assert.assertEquals("entry point should have the first id", 0, graph.getId(entryPoint));
+        Assert.assertEquals(2, graph.getApproverCount(0));
+        Assert.assertEquals(approver1, graph.getHash(graph.getApprover(0, 0)));
+        Assert.assertEquals(approver2, graph.getHash(graph.getApprover(0, 1)));
+        Assert.assertEquals(approver3, graph.getHash(graph.getApprover(1, 0)));
+        Assert.assertEquals(approver3, graph.getHash(graph.getApprover(2, 0)));
+        Assert.assertEquals("tip should not have approvers", 0, graph.getApproverCount(graph.getId(approver3)));
+    }
+
+    @Test
+    public void testGraphCanBeUsedAsRatingMap() {
+        Hash entryPoint = getTransactionHash();
+        Hash approver = getTransactionHash();
+
+        SubtangleGraph.Builder builder = new SubtangleGraph.Builder(0);
+        builder.add(entryPoint);
+        builder.addApprover(0, approver);
+        SubtangleGraph graph = builder.build();
+        graph.put(entryPoint, 2);
+
+        Map<Hash, Integer> expected = new HashMap<>();
+        expected.put(entryPoint, 2);
+        expected.put(approver, 1);
+        Assert.assertEquals("graph should contain the ratings of all transactions", expected, graph);
+        Assert.assertFalse("unknown transactions should not be rated", graph.containsKey(getTransactionHash()));
+        Assert.assertNull(graph.get(getTransactionHash()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testTransactionsCanNotBeAddedToTheGraph() {
+        SubtangleGraph.Builder builder = new SubtangleGraph.Builder(0);
+        builder.add(getTransactionHash());
+        builder.build().put(getTransactionHash(), 1);
+    }
+
+    @Test
+    public void testBuilderGrowsBeyondExpectedSize() {
+        Hash[] hashes = new Hash[1000];
+        SubtangleGraph.Builder builder = new SubtangleGraph.Builder(1);
+        hashes[0] = getTransactionHash();
+        builder.add(hashes[0]);
+        for (int i = 1; i < hashes.length; i++) {
+            hashes[i] = getTransactionHash();
+            builder.addApprover(i - 1, hashes[i]);
+        }
+        SubtangleGraph graph = builder.build();
+
+        Assert.assertEquals(hashes.length, graph.size());
+        for (int i = 0; i < hashes.length; i++) {
+            Assert.assertEquals("transaction should keep its id", i, graph.getId(hashes[i]));
+        }
+    }
+}
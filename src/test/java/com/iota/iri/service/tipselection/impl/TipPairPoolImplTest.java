@@ -0,0 +1,91 @@
+package com.iota.iri.service.tipselection.impl;
+
+import static com.iota.iri.TransactionTestUtils.getTransactionHash;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import com.iota.iri.conf.TipSelConfig;
+import com.iota.iri.model.Hash;
+import com.iota.iri.service.milestone.MilestoneSolidifier;
+import com.iota.iri.service.snapshot.SnapshotProvider;
+import com.iota.iri.service.snapshot.impl.SnapshotMockUtils;
+import com.iota.iri.service.tipselection.TipSelector;
+
+public class TipPairPoolImplTest {
+    private static final int START_INDEX = 70000;
+    private static final int DEPTH = 3;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private TipSelector tipSelector;
+
+    @Mock
+    private SnapshotProvider snapshotProvider;
+
+    @Mock
+    private MilestoneSolidifier milestoneSolidifier;
+
+    @Mock
+    private TipSelConfig config;
+
+    private TipPairPoolImpl tipPairPool;
+
+    @Before
+    public void setUp() throws Exception {
+        SnapshotMockUtils.mockSnapshotProvider(snapshotProvider, START_INDEX);
+        snapshotProvider.getLatestSnapshot().setIndex(START_INDEX + 1);
+        Mockito.when(milestoneSolidifier.getLatestMilestoneIndex()).thenReturn(START_INDEX + 1);
+        Mockito.when(config.getMaxDepth()).thenReturn(15);
+        Mockito.when(config.getTipSelectionPoolSize()).thenReturn(2);
+        Mockito.when(tipSelector.getTransactionsToApprove(DEPTH, Optional.empty()))
+                .thenAnswer(invocation -> Arrays.asList(getTransactionHash(), getTransactionHash()));
+
+        tipPairPool = new TipPairPoolImpl(tipSelector, snapshotProvider, milestoneSolidifier, config);
+    }
+
+    @Test
+    public void poolIsFilledForRequestedDepths() throws Exception {
+        Assert.assertNull("pool should be empty before the depth was requested", tipPairPool.poll(DEPTH));
+        tipPairPool.refillPools();
+
+        List<Hash> first = tipPairPool.poll(DEPTH);
+        List<Hash> second = tipPairPool.poll(DEPTH);
+        Assert.assertNotNull("pool should serve a pair", first);
+        Assert.assertNotNull("pool should serve a second pair", second);
+        Assert.assertNotEquals("a pair should only be served once", first, second);
+        Assert.assertNull("pool should be empty after serving all pairs", tipPairPool.poll(DEPTH));
+        Mockito.verify(tipSelector, Mockito.times(2)).getTransactionsToApprove(DEPTH, Optional.empty());
+    }
+
+    @Test
+    public void pairsAreDiscardedWhenMilestoneChanges() throws Exception {
+        tipPairPool.poll(DEPTH);
+        tipPairPool.refillPools();
+
+        snapshotProvider.getLatestSnapshot().setIndex(START_INDEX + 2);
+        Assert.assertNull("pairs of the previous milestone should not be served", tipPairPool.poll(DEPTH));
+    }
+
+    @Test
+    public void poolIsNotFilledWhenNodeIsNotSynchronized() throws Exception {
+        Mockito.when(milestoneSolidifier.getLatestMilestoneIndex()).thenReturn(START_INDEX + 5);
+        tipPairPool.poll(DEPTH);
+        tipPairPool.refillPools();
+
+        Assert.assertNull(tipPairPool.poll(DEPTH));
+        Mockito.verifyZeroInteractions(tipSelector);
+    }
+}
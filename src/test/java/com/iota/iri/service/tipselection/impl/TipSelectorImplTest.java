@@ -1,12 +1,19 @@
 package com.iota.iri.service.tipselection.impl;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.security.InvalidAlgorithmParameterException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Assert;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -20,6 +27,7 @@ import com.iota.iri.conf.TipSelConfig;
 import com.iota.iri.model.Hash;
 import com.iota.iri.model.HashFactory;
 import com.iota.iri.service.ledger.LedgerService;
+import com.iota.iri.service.snapshot.Snapshot;
 import com.iota.iri.service.snapshot.SnapshotProvider;
 import com.iota.iri.service.tipselection.EntryPointSelector;
 import com.iota.iri.service.tipselection.RatingCalculator;
@@ -100,4 +108,34 @@ public class TipSelectorImplTest {
         tipSelector.checkReference(REFERENCE, null, walkValidator);
         //test passes if an exceptions is thrown
     }
-}
\ No newline at end of file
+
+    @Test
+    public void parallelWalksReturnConsistentPair() throws Exception {
+        Hash tip = HashFactory.TRANSACTION.create("TIP");
+        setUpParallelWalks(tip);
+        when(ledgerService.tipsConsistent(anyList())).thenReturn(true);
+
+        List<Hash> tips = tipSelector.getTransactionsToApprove(3, Optional.empty());
+        Assert.assertEquals("both tips should be selected", Arrays.asList(tip, tip), tips);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parallelWalksFailWithoutConsistentPair() throws Exception {
+        setUpParallelWalks(HashFactory.TRANSACTION.create("TIP"));
+        when(ledgerService.tipsConsistent(anyList())).thenReturn(false);
+
+        tipSelector.getTransactionsToApprove(3, Optional.empty());
+        //test passes if an exception is thrown
+    }
+
+    private void setUpParallelWalks(Hash tip) throws Exception {
+        when(config.getAlpha()).thenReturn(0.001d);
+        when(config.getTipSelectionParallelWalks()).thenReturn(2);
+        when(snapshotProvider.getLatestSnapshot()).thenReturn(mock(Snapshot.class));
+        when(entryPointSelector.getEntryPoint(3)).thenReturn(REFERENCE);
+        when(ratingCalculator.calculate(REFERENCE)).thenReturn(Collections.singletonMap(REFERENCE, 1));
+        when(walker.walk(any(), any(), any())).thenReturn(tip);
+        tipSelector = new TipSelectorImpl(tangle, snapshotProvider, ledgerService, entryPointSelector, ratingCalculator,
+                walker, config);
+    }
+}
@@ -169,6 +169,42 @@ public class WalkValidatorImplTest {
                 walkValidator.isValid(hash));
     }
 
+    @Test
+    public void belowMaxDepthVerdictsAreSharedBetweenValidators() throws Exception {
+        TransactionViewModel tx = TransactionTestUtils.createBundleHead(0);
+        tx.store(tangle, snapshotProvider.getInitialSnapshot());
+        tx.setSnapshot(tangle, snapshotProvider.getInitialSnapshot(), 92);
+        Hash[] chain = new Hash[4];
+        Hash hash = tx.getHash();
+        for (int i = 0; i < chain.length; i++) {
+            tx = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(hash, hash), getTransactionHash());
+            TransactionTestUtils.setLastIndex(tx,0);
+            TransactionTestUtils.setCurrentIndex(tx,0);
+            tx.updateSolid(true);
+            hash = tx.getHash();
+            chain[i] = hash;
+            tx.store(tangle, snapshotProvider.getInitialSnapshot());
+        }
+        Mockito.when(ledgerService.isBalanceDiffConsistent(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(true);
+        snapshotProvider.getLatestSnapshot().setIndex(100);
+        BelowMaxDepthCache cache = new BelowMaxDepthCache();
+
+        WalkValidatorImpl walkValidator = new WalkValidatorImpl(tangle, snapshotProvider, ledgerService, config,
+                cache);
+        Assert.assertTrue("Validation failed but should have succeeded since tx is above max depth",
+                walkValidator.isValid(hash));
+        for (int i = 0; i < chain.length; i++) {
+            Assert.assertEquals("tx" + i + " should be known to be above max depth", Boolean.FALSE,
+                    cache.get(chain[i], 100));
+        }
+
+        cache.put(chain[0], 100, true);
+        walkValidator = new WalkValidatorImpl(tangle, snapshotProvider, ledgerService, config, cache);
+        Assert.assertTrue("cached verdict of the tip should be used", walkValidator.isValid(hash));
+        Assert.assertFalse("cached verdict of the first tx should be used", walkValidator.isValid(chain[0]));
+    }
+
     @Test
     public void failBelowMaxDepthWithFreshMilestoneDueToLongChain() throws Exception {
         final int maxAnalyzedTxs = config.getBelowMaxDepthTransactionLimit();
@@ -0,0 +1,72 @@
+package com.iota.iri.service.validation.impl;
+
+import com.iota.iri.TransactionTestUtils;
+import com.iota.iri.model.Hash;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SolidificationFrontierTest {
+
+    private static final int SNAPSHOT_INDEX = 10;
+
+    @Test
+    public void trackedWalkIsTakenOnce() {
+        SolidificationFrontier frontier = new SolidificationFrontier(100);
+        Hash hash = TransactionTestUtils.getTransactionHash();
+        Hash missing = TransactionTestUtils.getTransactionHash();
+        SolidificationFrontier.Walk walk = walk(hash, missing);
+
+        assertNull("Expected no walk for an unknown transaction", frontier.take(hash, SNAPSHOT_INDEX));
+        frontier.track(hash, walk, SNAPSHOT_INDEX);
+        assertEquals("Expected the transaction to wait for its missing transaction",
+                Collections.singleton(hash), frontier.getWaitingTransactions(missing));
+
+        assertSame("Expected the tracked walk", walk, frontier.take(hash, SNAPSHOT_INDEX));
+        assertNull("Expected the walk to be taken only once", frontier.take(hash, SNAPSHOT_INDEX));
+        assertEquals("Expected no waiting transactions after the walk was taken",
+                Collections.emptySet(), frontier.getWaitingTransactions(missing));
+    }
+
+    @Test
+    public void walksAreDiscardedWhenSnapshotChanges() {
+        SolidificationFrontier frontier = new SolidificationFrontier(100);
+        Hash hash = TransactionTestUtils.getTransactionHash();
+        Hash missing = TransactionTestUtils.getTransactionHash();
+        frontier.take(hash, SNAPSHOT_INDEX);
+        frontier.track(hash, walk(hash, missing), SNAPSHOT_INDEX);
+
+        assertNull("Expected walks of an old snapshot to be discarded", frontier.take(hash, SNAPSHOT_INDEX + 1));
+        assertEquals("Expected no waiting transactions of an old snapshot",
+                Collections.emptySet(), frontier.getWaitingTransactions(missing));
+        frontier.track(hash, walk(hash, missing), SNAPSHOT_INDEX);
+        assertEquals("Expected walks of an old snapshot not to be tracked", 0, frontier.size());
+    }
+
+    @Test
+    public void oldestWalksAreEvicted() {
+        SolidificationFrontier frontier = new SolidificationFrontier(4);
+        Hash first = TransactionTestUtils.getTransactionHash();
+        Hash second = TransactionTestUtils.getTransactionHash();
+        Hash third = TransactionTestUtils.getTransactionHash();
+        frontier.take(first, SNAPSHOT_INDEX);
+        frontier.track(first, walk(first, TransactionTestUtils.getTransactionHash()), SNAPSHOT_INDEX);
+        frontier.track(second, walk(second, TransactionTestUtils.getTransactionHash()), SNAPSHOT_INDEX);
+        frontier.track(third, walk(third, TransactionTestUtils.getTransactionHash()), SNAPSHOT_INDEX);
+
+        assertEquals("Expected the amount of tracked hashes to be limited", 2, frontier.size());
+        assertNull("Expected the oldest walk to be evicted", frontier.take(first, SNAPSHOT_INDEX));
+    }
+
+    private static SolidificationFrontier.Walk walk(Hash hash, Hash missing) {
+        SolidificationFrontier.Walk walk = new SolidificationFrontier.Walk();
+        walk.analyzed.add(hash);
+        walk.analyzed.add(missing);
+        walk.missing.add(missing);
+        return walk;
+    }
+}
@@ -3,6 +3,7 @@ package com.iota.iri.service.validation.impl;
 import com.iota.iri.controllers.TipsViewModel;
 import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.crypto.SpongeFactory;
+import com.iota.iri.model.Hash;
 import com.iota.iri.model.TransactionHash;
 import com.iota.iri.network.TransactionRequester;
 import com.iota.iri.service.snapshot.SnapshotProvider;
@@ -24,7 +25,10 @@ import org.mockito.junit.MockitoRule;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.iota.iri.TransactionTestUtils.getTransactionHash;
 import static com.iota.iri.TransactionTestUtils.getTransactionTrits;
+import static com.iota.iri.TransactionTestUtils.getTransactionTritsWithTrunkAndBranch;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
@@ -98,6 +102,17 @@ public class TransactionSolidifierImplTest {
         assertFalse("Expected transaction to fail solidity check", txSolidifier.checkSolidity(tx.getHash()));
     }
 
+    @Test
+    public void verifySolidTransactionListenerIsNotified() throws Exception {
+        List<TransactionViewModel> solidTransactions = new ArrayList<>();
+        txSolidifier.addSolidTransactionListener(solidTransactions::add);
+
+        TransactionViewModel tx = getTxWithBranchAndTrunk();
+        assertTrue("Expected transaction to be solid", txSolidifier.checkSolidity(tx.getHash()));
+        assertTrue("Expected listener to be notified about the solid transaction",
+                solidTransactions.contains(tx));
+    }
+
     @Test
     public void addToSolidificationQueue() throws Exception {
         TransactionViewModel mainTx = getTxWithBranchAndTrunk();
@@ -147,6 +162,115 @@ public class TransactionSolidifierImplTest {
         broadcastTransactions.clear();
     }
 
+    @Test
+    public void verifySolidityIsPropagatedToApprovers() throws Exception {
+        TransactionViewModel tx = getTxWithBranchAndTrunk();
+        TransactionViewModel trunkTx = tx.getTrunkTransaction(tangle);
+        trunkTx.updateSolid(true);
+        trunkTx.update(tangle, snapshotProvider.getInitialSnapshot(), "solid");
+        assertFalse("Expected transaction not to be solid yet",
+                TransactionViewModel.fromHash(tangle, tx.getHash()).isSolid());
+
+        for (int i = 0; i < 10; i++) {
+            txSolidifier.addToPropagationQueue(trunkTx.getHash());
+        }
+
+        //Time to process through the steps
+        Thread.sleep(1000);
+
+        assertTrue("Expected solidity to be propagated to the approving transaction",
+                TransactionViewModel.fromHash(tangle, tx.getHash()).isSolid());
+    }
+
+    @Test
+    public void transactionWithSolidParentsIsSolidBeforeStore() throws Exception {
+        TransactionViewModel parentTx = new TransactionViewModel(
+                getTransactionTritsWithTrunkAndBranch(Hash.NULL_HASH, Hash.NULL_HASH), getTransactionHash());
+        assertTrue("Expected transaction referencing solid entry points to be solid",
+                txSolidifier.quickSetSolidBeforeStore(parentTx));
+        assertEquals("Expected height above the solid entry point", 1, parentTx.getHeight());
+        parentTx.store(tangle, snapshotProvider.getInitialSnapshot());
+
+        TransactionViewModel tx = new TransactionViewModel(
+                getTransactionTritsWithTrunkAndBranch(parentTx.getHash(), parentTx.getHash()), getTransactionHash());
+        assertTrue("Expected transaction with solid parents to be solid", txSolidifier.quickSetSolidBeforeStore(tx));
+        assertEquals("Expected height above the trunk", 2, tx.getHeight());
+        tx.store(tangle, snapshotProvider.getInitialSnapshot());
+
+        TransactionViewModel storedTx = TransactionViewModel.fromHash(tangle, tx.getHash());
+        assertTrue("Expected solidity to be stored with the transaction", storedTx.isSolid());
+        assertEquals("Expected height to be stored with the transaction", 2, storedTx.getHeight());
+
+        txSolidifier.updateStatus(tx);
+        while((transactionForBroadcast = txSolidifier.getNextTxInBroadcastQueue()) != null){
+            broadcastTransactions.add(transactionForBroadcast);
+        }
+        assertTrue("Expected transaction stored as solid to be present in the broadcast queue",
+                broadcastTransactions.contains(tx));
+
+        broadcastTransactions.clear();
+    }
+
+    @Test
+    public void transactionWithMissingParentsIsNotSolidBeforeStore() throws Exception {
+        byte[] trits = getTransactionTrits();
+        TransactionViewModel tx = new TransactionViewModel(trits, TransactionHash.calculate(SpongeFactory.Mode.CURLP81, trits));
+
+        assertFalse("Expected transaction with missing parents not to be solid",
+                txSolidifier.quickSetSolidBeforeStore(tx));
+        assertFalse("Expected transaction with missing parents not to be solid", tx.isSolid());
+    }
+
+    @Test
+    public void verifyArrivingTransactionCompletesWaitingTransaction() throws Exception {
+        TransactionViewModel branchTx = getTxWithBranchAndTrunk();
+        byte[] missingTrits = branchTx.getTrunkTransaction(tangle).trits().clone();
+        missingTrits[0] = (byte) (missingTrits[0] == 1 ? 0 : 1);
+        TransactionViewModel missingTx = new TransactionViewModel(missingTrits,
+                TransactionHash.calculate(SpongeFactory.Mode.CURLP81, missingTrits));
+
+        byte[] childTrits = getTransactionTrits();
+        System.arraycopy(missingTx.getHash().trits(), 0, childTrits, TransactionViewModel.TRUNK_TRANSACTION_TRINARY_OFFSET, TransactionViewModel.TRUNK_TRANSACTION_TRINARY_SIZE);
+        System.arraycopy(branchTx.getHash().trits(), 0, childTrits, TransactionViewModel.BRANCH_TRANSACTION_TRINARY_OFFSET, TransactionViewModel.BRANCH_TRANSACTION_TRINARY_SIZE);
+        TransactionViewModel childTx = new TransactionViewModel(childTrits, TransactionHash.calculate(SpongeFactory.Mode.CURLP81, childTrits));
+        childTx.store(tangle, snapshotProvider.getInitialSnapshot());
+
+        assertFalse("Expected transaction to wait for its missing trunk",
+                txSolidifier.checkSolidity(childTx.getHash()));
+        assertFalse("Expected transaction to still wait for its missing trunk",
+                txSolidifier.checkSolidity(childTx.getHash()));
+
+        missingTx.store(tangle, snapshotProvider.getInitialSnapshot());
+        txSolidifier.updateStatus(missingTx);
+
+        //Time to process through the steps
+        Thread.sleep(1000);
+
+        assertTrue("Expected the waiting transaction to be solid after its trunk arrived",
+                TransactionViewModel.fromHash(tangle, childTx.getHash()).isSolid());
+        assertTrue("Expected the branch of the waiting transaction to be solid",
+                TransactionViewModel.fromHash(tangle, branchTx.getHash()).isSolid());
+    }
+
+    @Test
+    public void interruptedCheckIsContinued() throws Exception {
+        Hash parent = Hash.NULL_HASH;
+        for (int i = 0; i < 5; i++) {
+            TransactionViewModel tx = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(parent, parent),
+                    getTransactionHash());
+            tx.store(tangle, snapshotProvider.getInitialSnapshot());
+            parent = tx.getHash();
+        }
+
+        // every check may only analyze one transaction of the chain
+        int checks = 1;
+        while (!txSolidifier.checkSolidity(parent, 2)) {
+            assertTrue("Expected every check to continue where the previous one stopped", ++checks <= 5);
+        }
+        assertTrue("Expected the chain to be solid after it was walked in several checks",
+                TransactionViewModel.fromHash(tangle, parent).isSolid());
+    }
+
     private TransactionViewModel getTxWithBranchAndTrunk() throws Exception {
         TransactionViewModel tx, trunkTx, branchTx;
         String trytes = "999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999CFDEZBLZQYA9999999999999999999999999999999999999999999ZZWQHWD99C99999999C99999999CKWWDBWSCLMQULCTAAJGXDEMFJXPMGMAQIHDGHRBGEMUYNNCOK9YPHKEEFLFCZUSPMCJHAKLCIBQSGWAS999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999";
@@ -4,8 +4,10 @@ import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.crypto.SpongeFactory;
 import com.iota.iri.model.TransactionHash;
 import com.iota.iri.model.persistables.Tag;
+import com.iota.iri.model.persistables.Transaction;
 import com.iota.iri.service.snapshot.Snapshot;
 import com.iota.iri.service.snapshot.impl.SnapshotMockUtils;
+import com.iota.iri.storage.cache.BoundedTransactionCache;
 import com.iota.iri.storage.rocksDB.RocksDBPersistenceProvider;
 import org.junit.After;
 import org.junit.Assert;
@@ -60,6 +62,27 @@ public class TangleTest {
     public void get() throws Exception {
     }
 
+    @Test
+    public void transactionCacheIsWrittenThroughAndInvalidated() throws Exception {
+        TransactionCache cache = new BoundedTransactionCache(1_000_000);
+        tangle.setTransactionCache(cache);
+
+        byte[] trits = getRandomTransactionTrits();
+        TransactionViewModel transactionViewModel = new TransactionViewModel(trits, TransactionHash.calculate(SpongeFactory.Mode.CURLP81, trits));
+        transactionViewModel.store(tangle, snapshot);
+        Assert.assertEquals("stored transaction should be cached", 1, cache.size());
+
+        transactionViewModel.setSnapshot(tangle, snapshot, 5);
+        TransactionViewModel loaded = TransactionViewModel.fromHash(tangle, transactionViewModel.getHash());
+        Assert.assertEquals("update should be written through", 5, loaded.snapshotIndex());
+        Assert.assertEquals("load should be served from the cache", 1, cache.getCacheHits());
+
+        tangle.delete(Transaction.class, transactionViewModel.getHash());
+        Assert.assertEquals("deleted transaction should be invalidated", 0, cache.size());
+        loaded = TransactionViewModel.fromHash(tangle, transactionViewModel.getHash());
+        Assert.assertEquals(TransactionViewModel.PREFILLED_SLOT, loaded.getType());
+    }
+
     public static byte[] getRandomTransactionTrits() {
         byte[] out = new byte[TransactionViewModel.TRINARY_SIZE];
 
@@ -0,0 +1,85 @@
+package com.iota.iri.storage.cache;
+
+import com.iota.iri.TransactionTestUtils;
+import com.iota.iri.model.Hash;
+import com.iota.iri.model.persistables.Transaction;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BoundedTransactionCacheTest {
+
+    private BoundedTransactionCache cache;
+
+    @Before
+    public void setUp() {
+        // room for a bit more than 4 transactions
+        cache = new BoundedTransactionCache(4 * 3000);
+    }
+
+    @Test
+    public void cachedTransactionIsReturnedAsCopy() {
+        Hash hash = TransactionTestUtils.getTransactionHash();
+        Transaction transaction = TransactionTestUtils.getTransaction();
+        cache.put(hash, transaction);
+
+        Transaction cached = cache.get(hash);
+        assertNotNull("transaction should be cached", cached);
+        assertNotSame("cache should not hand out the stored instance", transaction, cached);
+        assertEquals("metadata should be copied", transaction.address, cached.address);
+
+        cached.solid.set(true);
+        assertFalse("changes to a copy should not be visible in the cache", cache.get(hash).solid.get());
+        assertEquals("hits should be counted", 2, cache.getCacheHits());
+    }
+
+    @Test
+    public void missesAreCounted() {
+        assertNull(cache.get(TransactionTestUtils.getTransactionHash()));
+        assertEquals("miss should be counted", 1, cache.getCacheMisses());
+    }
+
+    @Test
+    public void transactionsWithoutBytesAreNotCached() {
+        Hash hash = TransactionTestUtils.getTransactionHash();
+        cache.put(hash, new Transaction());
+        assertNull(cache.get(hash));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void invalidateRemovesTransaction() {
+        Hash hash = TransactionTestUtils.getTransactionHash();
+        cache.put(hash, TransactionTestUtils.getTransaction());
+        cache.invalidate(hash);
+
+        assertNull(cache.get(hash));
+        assertEquals("size should be released", 0, cache.getEstimatedSizeInBytes());
+    }
+
+    @Test
+    public void cacheEvictsUnusedTransactionsWhenFull() {
+        Hash first = TransactionTestUtils.getTransactionHash();
+        Hash second = TransactionTestUtils.getTransactionHash();
+        cache.put(first, TransactionTestUtils.getTransaction());
+        cache.put(second, TransactionTestUtils.getTransaction());
+
+        // reading the first transaction gives it a second chance
+        cache.get(first);
+        for (int i = 0; i < 3; i++) {
+            cache.put(TransactionTestUtils.getTransactionHash(), TransactionTestUtils.getTransaction());
+        }
+
+        assertTrue("cache should stay within its limit", cache.getEstimatedSizeInBytes() <= 4 * 3000);
+        assertEquals("one transaction should be evicted", 1, cache.getEvictions());
+        assertNotNull("recently read transaction should be kept", cache.get(first));
+        assertNull("unused transaction should be evicted", cache.get(second));
+    }
+}
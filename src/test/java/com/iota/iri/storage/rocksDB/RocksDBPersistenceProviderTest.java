@@ -1,6 +1,8 @@
 package com.iota.iri.storage.rocksDB;
 
+import com.iota.iri.model.Hash;
 import com.iota.iri.model.IntegerIndex;
+import com.iota.iri.model.persistables.Address;
 import com.iota.iri.model.persistables.Transaction;
 import com.iota.iri.storage.Indexable;
 import com.iota.iri.storage.Persistable;
@@ -11,11 +13,14 @@ import org.junit.*;
 import org.junit.runners.MethodSorters;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static com.iota.iri.TransactionTestUtils.getTransactionHash;
+
 @FixMethodOrder(MethodSorters.NAME_ASCENDING)
 public class RocksDBPersistenceProviderTest {
 
@@ -76,4 +81,54 @@ public class RocksDBPersistenceProviderTest {
                     rocksDBPersistenceProvider.get(Transaction.class, index).bytes());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetHashesReadsRangesOfMergedHashes() throws Exception {
+        Hash address = getTransactionHash();
+        List<Hash> stored = new ArrayList<>();
+        List<Pair<Indexable, Persistable>> models = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            stored.add(getTransactionHash());
+            models.add(new Pair<>(address, new Address(stored.get(i))));
+        }
+        rocksDBPersistenceProvider.saveBatch(models.subList(0, 5));
+        rocksDBPersistenceProvider.saveBatch(models.subList(5, 10));
+
+        Assert.assertEquals("all merged hashes should be counted", 10,
+                rocksDBPersistenceProvider.countHashes(Address.class, address));
+        Assert.assertEquals("range should be read", stored.subList(3, 7),
+                rocksDBPersistenceProvider.getHashes(Address.class, address, 3, 4));
+        Assert.assertEquals("range should end with the last hash", stored.subList(8, 10),
+                rocksDBPersistenceProvider.getHashes(Address.class, address, 8, Integer.MAX_VALUE));
+        Assert.assertTrue("range after the last hash should be empty",
+                rocksDBPersistenceProvider.getHashes(Address.class, address, 10, 5).isEmpty());
+
+        Hash unknown = getTransactionHash();
+        Assert.assertEquals(0, rocksDBPersistenceProvider.countHashes(Address.class, unknown));
+        Assert.assertTrue(rocksDBPersistenceProvider.getHashes(Address.class, unknown, 0, 5).isEmpty());
+    }
+
+    @Test
+    public void testGetAllReadsValuesAndMetadata() throws Exception {
+        List<Pair<Indexable, Persistable>> models = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Persistable tx = new Transaction();
+            byte[] bytes = new byte[Transaction.SIZE];
+            Arrays.fill(bytes, (byte) i);
+            tx.read(bytes);
+            tx.readMetadata(bytes);
+            models.add(new Pair<>(new IntegerIndex(i), tx));
+        }
+        rocksDBPersistenceProvider.saveBatch(models);
+
+        List<Persistable> loaded = rocksDBPersistenceProvider.getAll(Transaction.class,
+                Arrays.asList(new IntegerIndex(3), new IntegerIndex(4), new IntegerIndex(1)));
+
+        Assert.assertEquals("every index should have a result", 3, loaded.size());
+        Assert.assertArrayEquals(models.get(2).hi.bytes(), loaded.get(0).bytes());
+        Assert.assertArrayEquals(models.get(2).hi.metadata(), loaded.get(0).metadata());
+        Assert.assertNull("missing index should be empty", loaded.get(1).bytes());
+        Assert.assertArrayEquals(models.get(0).hi.bytes(), loaded.get(2).bytes());
+        Assert.assertArrayEquals(models.get(0).hi.metadata(), loaded.get(2).metadata());
+    }
+}